@@ -21,6 +21,7 @@
 package ch.devcon5.sonar.plugins.mutationanalysis;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationAnalysisMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationCostComputer;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationDensityComputer;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationScoreComputer;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.QuantitativeMeasureComputer;
@@ -33,6 +34,7 @@ import ch.devcon5.sonar.plugins.mutationanalysis.rules.JavaRulesDefinition;
 import ch.devcon5.sonar.plugins.mutationanalysis.rules.KotlinProfileDefinition;
 import ch.devcon5.sonar.plugins.mutationanalysis.rules.KotlinRulesDefinition;
 import ch.devcon5.sonar.plugins.mutationanalysis.sensors.PitestSensor;
+import ch.devcon5.sonar.plugins.mutationanalysis.ws.MutationAnalysisWebService;
 import org.sonar.api.Plugin;
 import org.sonar.api.Properties;
 import org.sonar.api.Property;
@@ -67,6 +69,38 @@ import org.sonar.api.config.Configuration;
         name = "Output directory for the PIT reports",
         description = "This property is needed when the reports are not located in the default directory (i.e. target/pit-reports)",
         project = true),
+    @Property(key = MutationAnalysisPlugin.REPORT_FORMAT,
+        defaultValue = MutationAnalysisPlugin.DEFAULT_REPORT_FORMAT,
+        name = "Preferred format of the PIT reports",
+        description = "The report format that is searched first in the report directory, either 'xml' (mutations.xml), 'csv' "
+            + "(mutations.csv) or 'json' (mutation-testing-elements schema). If no report of the preferred format is found, "
+            + "the other formats are used.",
+        type = PropertyType.SINGLE_SELECT_LIST,
+        options = {"xml", "csv", "json"},
+        project = true),
+    @Property(key = MutationAnalysisPlugin.AGGREGATED_REPORT,
+        defaultValue = MutationAnalysisPlugin.AGGREGATED_REPORT_AUTO,
+        name = "Aggregated report at the project root",
+        description = "Whether the report in the report directory of the root of a multi-module project is the report "
+            + "aggregated from all modules, which is then used instead of the reports of the modules. 'auto' uses the report "
+            + "if it contains classes of several modules, located in their src/main/java or src/main/kotlin folder, "
+            + "'always' uses any report found at the root and 'never' reads the reports of the modules.",
+        type = PropertyType.SINGLE_SELECT_LIST,
+        options = {"auto", "always", "never"},
+        project = true),
+    @Property(key = MutationAnalysisPlugin.MUTANT_INCLUSIONS,
+        name = "Included mutated classes",
+        description = "Patterns of mutated classes (i.e. com/example/**) or source files (i.e. **/*Service.java) whose mutants are "
+            + "analyzed. Patterns without '/' match the class or file name in any package. If empty, all mutants are included.",
+        multiValues = true,
+        project = true),
+    @Property(key = MutationAnalysisPlugin.MUTANT_EXCLUSIONS,
+        name = "Excluded mutated classes",
+        description = "Patterns of mutated classes (i.e. **/generated/**, *_$$_*) or source files whose mutants are skipped while "
+            + "reading the report. Patterns without '/' match the class or file name in any package. Patterns of sonar.exclusions "
+            + "starting with '**/' are applied as well.",
+        multiValues = true,
+        project = true),
     @Property(key = MutationAnalysisPlugin.PROJECT_ROOT_FOLDER,
         name = "Root folder of multi-module projects",
         description = "This optional property may be used to explicitly define the root project of a multi-module project in case the "
@@ -90,6 +124,61 @@ import org.sonar.api.config.Configuration;
         description = "Factor that is applied to any of the survived mutant rule to calculate effort to fix",
         type = PropertyType.FLOAT,
         project = true),
+    @Property(key = MutationAnalysisPlugin.ISSUE_GRANULARITY,
+        defaultValue = MutationAnalysisPlugin.DEFAULT_ISSUE_GRANULARITY,
+        name = "Issue Granularity",
+        description = "Defines how mutants violating the same rule are reported: one issue per 'mutant', per 'line' or per 'method'. "
+            + "Coalesced issues state the number of mutants and their effort is scaled accordingly. "
+            + "The setting can be overridden per rule using the rule's granularity parameter.",
+        type = PropertyType.SINGLE_SELECT_LIST,
+        options = {"mutant", "line", "method"},
+        project = true),
+    @Property(key = MutationAnalysisPlugin.ISSUES_MAX_PER_FILE,
+        defaultValue = "0",
+        name = "Maximum mutant issues per file",
+        description = "Maximum number of mutant issues created per file. Mutants are ranked (uncovered first, then survived), "
+            + "issues exceeding the limit are summarized by a single issue on the file. 0 means unlimited.",
+        type = PropertyType.INTEGER,
+        project = true),
+    @Property(key = MutationAnalysisPlugin.ISSUES_MAX_PER_ANALYSIS,
+        defaultValue = "0",
+        name = "Maximum mutant issues per analysis",
+        description = "Maximum number of mutant issues created per analysis. Mutants are ranked (uncovered first, then survived), "
+            + "issues exceeding the limit are summarized by a single issue on the project. 0 means unlimited.",
+        type = PropertyType.INTEGER,
+        project = true),
+    @Property(key = MutationAnalysisPlugin.SUMMARY_ONLY,
+        defaultValue = "false",
+        name = "Summary-only mode",
+        description = "Only the project-level mutation numbers required for the mutation coverage (i.e. in a quality gate) are "
+            + "calculated. The reports are streamed and no issues, coverage or per-file measures are created.",
+        type = PropertyType.BOOLEAN,
+        project = true),
+    @Property(key = MutationAnalysisPlugin.LOW_MEMORY_REPORT_SIZE,
+        name = "Low-memory mode: report size",
+        description = "Size of the PIT report in MB above which the mutants are sorted by file on disk and processed file by "
+            + "file instead of being held in memory. Test metrics and exports are not created in this mode. 0 disables the "
+            + "low-memory mode. If not set, the mode is chosen from the size of the reports and the maximum heap.",
+        type = PropertyType.FLOAT,
+        project = true),
+    @Property(key = MutationAnalysisPlugin.LOW_MEMORY_BUFFER_SIZE,
+        defaultValue = MutationAnalysisPlugin.DEFAULT_LOW_MEMORY_BUFFER_SIZE,
+        name = "Low-memory mode: buffer size",
+        description = "Maximum number of mutants held in memory in low-memory mode before they are written to disk.",
+        type = PropertyType.INTEGER,
+        project = true),
+    @Property(key = MutationAnalysisPlugin.EXPORT_TARGETS_FILE,
+        name = "Incremental PIT targets file",
+        description = "Path of a properties file, relative to the module, to which the PIT targetClasses and targetTests "
+            + "affected by the files changed since the last analysis are written. If no target is affected, the file is "
+            + "removed. If not set, no file is written.",
+        project = true),
+    @Property(key = MutationAnalysisPlugin.EXPORT_TEST_ORDER_FILE,
+        name = "Test order file",
+        description = "Path of a csv file, relative to the module, to which the test classes and tests ranked by "
+            + "killed mutants per executed test are written, to run the most efficient tests first. Requires a PIT report with "
+            + "the full mutation matrix. If not set, no file is written.",
+        project = true),
     @Property(key = MutationAnalysisPlugin.FORCE_MISSING_COVERAGE_TO_ZERO,
         name = "Force missing coverage to zero",
         description = "If a project has no mutation report, it's coverage is forced to zero. If disabled, no coverage metric is calculated",
@@ -108,10 +197,28 @@ public final class MutationAnalysisPlugin implements Plugin {
   public static final String EFFORT_MUTANT_KILL = "dc5.mutationAnalysis.effort.mutantKill";
   public static final String EFFORT_FACTOR_MISSING_COVERAGE = "dc5.mutationAnalysis.effort.missingCoverage";
   public static final String EFFORT_FACTOR_SURVIVED_MUTANT = "dc5.mutationAnalysis.effort.survivedMutant";
+  public static final String ISSUE_GRANULARITY = "dc5.mutationAnalysis.issues.granularity";
+  public static final String DEFAULT_ISSUE_GRANULARITY = "mutant";
+  public static final String ISSUES_MAX_PER_FILE = "dc5.mutationAnalysis.issues.maxPerFile";
+  public static final String ISSUES_MAX_PER_ANALYSIS = "dc5.mutationAnalysis.issues.maxPerAnalysis";
+  public static final String SUMMARY_ONLY = "dc5.mutationAnalysis.summaryOnly";
+  public static final String LOW_MEMORY_REPORT_SIZE = "dc5.mutationAnalysis.lowMemory.reportSize";
+  public static final String LOW_MEMORY_BUFFER_SIZE = "dc5.mutationAnalysis.lowMemory.bufferSize";
+  public static final String DEFAULT_LOW_MEMORY_BUFFER_SIZE = "100000";
+  public static final String EXPORT_TARGETS_FILE = "dc5.mutationAnalysis.export.targets";
+  public static final String EXPORT_TEST_ORDER_FILE = "dc5.mutationAnalysis.export.testOrder";
   public static final String FORCE_MISSING_COVERAGE_TO_ZERO = "dc5.mutationAnalysis.missingCoverage.force2zero";
   public static final String PROJECT_ROOT_FOLDER = "dc5.mutationAnalysis.project.root";
   public static final String REPORT_DIRECTORY_KEY = "dc5.mutationAnalysis.pitest.sensor.reports.directory";
   public static final String REPORT_DIRECTORY_DEF = "target/pit-reports";
+  public static final String REPORT_FORMAT = "dc5.mutationAnalysis.pitest.sensor.reports.format";
+  public static final String DEFAULT_REPORT_FORMAT = "xml";
+  public static final String AGGREGATED_REPORT = "dc5.mutationAnalysis.pitest.sensor.reports.aggregated";
+  public static final String AGGREGATED_REPORT_AUTO = "auto";
+  public static final String AGGREGATED_REPORT_ALWAYS = "always";
+  public static final String AGGREGATED_REPORT_NEVER = "never";
+  public static final String MUTANT_INCLUSIONS = "dc5.mutationAnalysis.mutants.inclusions";
+  public static final String MUTANT_EXCLUSIONS = "dc5.mutationAnalysis.mutants.exclusions";
   public static final String DEFAULT_EFFORT_TO_KILL_MUTANT = "5min";
 
   @Override
@@ -135,6 +242,8 @@ public final class MutationAnalysisPlugin implements Plugin {
     context.addExtension(TotalMutationsComputer.class);
     context.addExtension(TestKillRatioComputer.class);
     context.addExtension(QuantitativeMeasureComputer.class);
+    context.addExtension(MutationCostComputer.class);
+    context.addExtension(MutationAnalysisWebService.class);
   }
 
   public static boolean isExperimentalFeaturesEnabled(Configuration config) {
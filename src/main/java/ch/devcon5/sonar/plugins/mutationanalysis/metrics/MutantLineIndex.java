@@ -0,0 +1,119 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.metrics;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+
+/**
+ * Sparse index of the lines of a resource that contain mutants. The distinct lines are kept as sorted array, each line
+ * having a counter per {@link Mutant.State} so that line based information such as coverage or issue locations can be
+ * processed once per line instead of once per mutant.
+ */
+public final class MutantLineIndex {
+
+  private static final int STATES = Mutant.State.values().length;
+
+  private final int[] lines;
+  private final int[] counts;
+
+  /**
+   * Creates the index for the given mutants
+   *
+   * @param mutants
+   *         the mutants of a single resource
+   */
+  public MutantLineIndex(final Collection<Mutant> mutants) {
+    final int[] allLines = new int[mutants.size()];
+    int i = 0;
+    for (final Mutant mutant : mutants) {
+      allLines[i++] = mutant.getLineNumber();
+    }
+    Arrays.sort(allLines);
+    int distinct = 0;
+    for (int j = 0; j < allLines.length; j++) {
+      if (distinct == 0 || allLines[distinct - 1] != allLines[j]) {
+        allLines[distinct++] = allLines[j];
+      }
+    }
+    this.lines = Arrays.copyOf(allLines, distinct);
+    this.counts = new int[distinct * STATES];
+    for (final Mutant mutant : mutants) {
+      counts[indexOf(mutant.getLineNumber()) * STATES + mutant.getState().ordinal()]++;
+    }
+  }
+
+  /**
+   * @return the number of distinct lines containing mutants
+   */
+  public int size() {
+    return lines.length;
+  }
+
+  /**
+   * @param index
+   *         the position of the line in the index, between 0 and {@link #size()}
+   *
+   * @return the line number at the given position, the line numbers are in ascending order
+   */
+  public int getLine(final int index) {
+    return lines[index];
+  }
+
+  /**
+   * @param line
+   *         the line number to search for
+   *
+   * @return the position of the line in the index or a negative value if the line contains no mutants
+   */
+  public int indexOf(final int line) {
+    return Arrays.binarySearch(lines, line);
+  }
+
+  /**
+   * @param index
+   *         the position of the line in the index
+   * @param state
+   *         the state of the mutants to count
+   *
+   * @return the number of mutants on the line with the given state
+   */
+  public int count(final int index, final Mutant.State state) {
+    return counts[index * STATES + state.ordinal()];
+  }
+
+  /**
+   * @param index
+   *         the position of the line in the index
+   *
+   * @return the number of all mutants on the line
+   */
+  public int total(final int index) {
+    int total = 0;
+    for (int i = index * STATES, end = i + STATES; i < end; i++) {
+      total += counts[i];
+    }
+    return total;
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.metrics;
+
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.MUTATIONS_COST_SHARE_KEY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.MUTATIONS_TESTS_PER_MUTANT_KEY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.MUTATIONS_TOTAL_KEY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.TEST_TOTAL_EXECUTED_KEY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.UTILITY_GLOBAL_TESTS_EXECUTED_KEY;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.Streams;
+import org.slf4j.Logger;
+import org.sonar.api.ce.measure.Measure;
+import org.sonar.api.ce.measure.MeasureComputer;
+
+/**
+ * Computer for the cost of the mutation analysis of a component. The cost is measured by the number of tests PIT
+ * executed for the mutants of the component, relative to the number of mutants and to the test executions of the
+ * whole project.
+ */
+public class MutationCostComputer implements MeasureComputer {
+
+  private static final Logger LOG = getLogger(MutationCostComputer.class);
+
+  @Override
+  public MeasureComputerDefinition define(final MeasureComputerDefinitionContext defContext) {
+    return defContext.newDefinitionBuilder()
+        .setInputMetrics(UTILITY_GLOBAL_TESTS_EXECUTED_KEY, TEST_TOTAL_EXECUTED_KEY, MUTATIONS_TOTAL_KEY)
+        .setOutputMetrics(MUTATIONS_COST_SHARE_KEY, MUTATIONS_TESTS_PER_MUTANT_KEY)
+        .build();
+  }
+
+  @Override
+  public void compute(final MeasureComputerContext context) {
+    final Measure testsExecutedMeasure = context.getMeasure(TEST_TOTAL_EXECUTED_KEY);
+    if (testsExecutedMeasure == null || testsExecutedMeasure.getIntValue() == 0) {
+      return;
+    }
+    final double testsExecuted = testsExecutedMeasure.getIntValue();
+
+    final Measure mutationsTotal = context.getMeasure(MUTATIONS_TOTAL_KEY);
+    if (mutationsTotal != null && mutationsTotal.getIntValue() > 0) {
+      final double testsPerMutant = testsExecuted / mutationsTotal.getIntValue();
+      LOG.info("Computed {} tests per mutant for {}", testsPerMutant, context.getComponent());
+      context.addMeasure(MUTATIONS_TESTS_PER_MUTANT_KEY, testsPerMutant);
+    }
+
+    final double testsExecutedGlobal = getTestsExecutedGlobal(context);
+    if (testsExecutedGlobal > 0.0) {
+      final double share = 100.0d * testsExecuted / testsExecutedGlobal;
+      LOG.info("Computed mutation cost share of {}% for {}", share, context.getComponent());
+      context.addMeasure(MUTATIONS_COST_SHARE_KEY, share);
+    }
+  }
+
+  private double getTestsExecutedGlobal(final MeasureComputerContext context) {
+    final Measure globalMeasure = context.getMeasure(UTILITY_GLOBAL_TESTS_EXECUTED_KEY);
+    if (globalMeasure == null) {
+      return Streams.parallelStream(context.getChildrenMeasures(UTILITY_GLOBAL_TESTS_EXECUTED_KEY))
+          .mapToInt(Measure::getIntValue)
+          .findFirst()
+          .orElse(0);
+    }
+    return globalMeasure.getIntValue();
+  }
+
+}
@@ -178,6 +178,27 @@ public final class MutationMetrics {
       .setDescription("Kills per Test")
       .create();
 
+  public static final String TEST_UNIQUE_KILLS_KEY = "dc5_mutationAnalysis_mutations_testkills_unique";
+  public static final Metric<Serializable> TEST_UNIQUE_KILLS = new Metric.Builder(TEST_UNIQUE_KILLS_KEY, "Test: Unique Kills", Metric.ValueType.INT)
+      .setDirection(DIRECTION_BETTER)
+      .setDomain(MUTATION_ANALYSIS_DOMAIN)
+      .setDescription("Mutants killed by no other test class (requires the full mutation matrix)")
+      .create();
+
+  public static final String TEST_REDUNDANT_KEY = "dc5_mutationAnalysis_mutations_tests_redundant";
+  public static final Metric<Serializable> TEST_REDUNDANT = new Metric.Builder(TEST_REDUNDANT_KEY, "Test: Redundant Tests", Metric.ValueType.INT)
+      .setDirection(DIRECTION_WORST)
+      .setDomain(MUTATION_ANALYSIS_DOMAIN)
+      .setDescription("Tests that only kill mutants which are also killed by other tests (requires the full mutation matrix)")
+      .create();
+
+  public static final String TEST_TIMEOUTS_KEY = "dc5_mutationAnalysis_mutations_testtimeouts";
+  public static final Metric<Serializable> TEST_TIMEOUTS = new Metric.Builder(TEST_TIMEOUTS_KEY, "Test: Timeouts", Metric.ValueType.INT)
+      .setDirection(DIRECTION_WORST)
+      .setDomain(MUTATION_ANALYSIS_DOMAIN)
+      .setDescription("Mutants that timed out in the tests of a test class")
+      .create();
+
   public static final String TEST_TOTAL_EXECUTED_KEY = "dc5_mutationAnalysis_mutations_tests_executed";
   public static final Metric<Serializable> TEST_TOTAL_EXECUTED = new Metric.Builder(TEST_TOTAL_EXECUTED_KEY, "Test: Executions", Metric.ValueType.INT)
       .setDirection(DIRECTION_BETTER)
@@ -196,6 +217,27 @@ public final class MutationMetrics {
       .setDecimalScale(1)
       .create();
 
+  public static final String MUTATIONS_COST_SHARE_KEY = "dc5_mutationAnalysis_mutations_cost_share";
+  public static final Metric<Serializable> MUTATIONS_COST_SHARE = new Metric.Builder(MUTATIONS_COST_SHARE_KEY, "Mutation Cost: Total %", Metric.ValueType.PERCENT)
+      .setDirection(DIRECTION_WORST)
+      .setDomain(MUTATION_ANALYSIS_DOMAIN)
+      .setQualitative(true)
+      .setDescription("Share of all test executions of the mutation analysis")
+      .setBestValue(0.)
+      .setWorstValue(100.)
+      .setDecimalScale(1)
+      .create();
+
+  public static final String MUTATIONS_TESTS_PER_MUTANT_KEY = "dc5_mutationAnalysis_mutations_tests_per_mutant";
+  public static final Metric<Serializable> MUTATIONS_TESTS_PER_MUTANT = new Metric.Builder(MUTATIONS_TESTS_PER_MUTANT_KEY, "Mutation Cost: Tests per Mutant", Metric.ValueType.FLOAT)
+      .setDirection(DIRECTION_WORST)
+      .setDomain(MUTATION_ANALYSIS_DOMAIN)
+      .setQualitative(true)
+      .setDescription("Average number of tests executed per mutant")
+      .setBestValue(0.)
+      .setDecimalScale(1)
+      .create();
+
   public static final String UTILITY_GLOBAL_MUTATIONS_KEY = "dc5_mutationAnalysis_mutations_global";
   public static final Metric<Serializable> UTILITY_GLOBAL_MUTATIONS = new Metric.Builder(UTILITY_GLOBAL_MUTATIONS_KEY, "Utility: Total Mutations Global", Metric.ValueType.INT)
       .setDirection(DIRECTION_BETTER)
@@ -212,6 +254,14 @@ public final class MutationMetrics {
       .setHidden(true)
       .create();
 
+  public static final String UTILITY_GLOBAL_TESTS_EXECUTED_KEY = "dc5_mutationAnalysis_tests_executed_global";
+  public static final Metric<Serializable> UTILITY_GLOBAL_TESTS_EXECUTED = new Metric.Builder(UTILITY_GLOBAL_TESTS_EXECUTED_KEY, "Utility: Total Test Executions Global", Metric.ValueType.INT)
+      .setDirection(DIRECTION_BETTER)
+      .setDomain(MUTATION_ANALYSIS_DOMAIN)
+      .setDescription("Utility measure for computation")
+      .setHidden(true)
+      .create();
+
   private static final List<Metric<Serializable>> QUANTITATIVE_METRICS = Collections.unmodifiableList(Arrays.asList(
       MUTATIONS_TOTAL,
       MUTATIONS_NO_COVERAGE,
@@ -223,9 +273,13 @@ public final class MutationMetrics {
       MUTATIONS_MEMORY_ERROR,
       MUTATIONS_SURVIVED,
       TEST_KILLS,
+      TEST_UNIQUE_KILLS,
+      TEST_REDUNDANT,
+      TEST_TIMEOUTS,
       TEST_TOTAL_EXECUTED,
       UTILITY_GLOBAL_MUTATIONS,
-      UTILITY_GLOBAL_ALIVE
+      UTILITY_GLOBAL_ALIVE,
+      UTILITY_GLOBAL_TESTS_EXECUTED
   ));
 
   private static final List<Metric<Serializable>> QUALITATIVE_METRICS = Collections.unmodifiableList(Arrays.asList(
@@ -235,6 +289,8 @@ public final class MutationMetrics {
       MUTATIONS_TEST_STRENGTH,
       MUTATIONS_DENSITY,
       MUTATIONS_ALIVE_PERCENT,
+      MUTATIONS_COST_SHARE,
+      MUTATIONS_TESTS_PER_MUTANT,
       TEST_KILL_RATIO
   ));
 
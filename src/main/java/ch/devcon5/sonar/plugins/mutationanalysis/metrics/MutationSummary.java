@@ -0,0 +1,142 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.metrics;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+
+/**
+ * Aggregated mutation counts of a project or module. Unlike {@link ResourceMutationMetrics} the summary does not
+ * retain the mutants it has counted, so that the mutants of large reports can be streamed through it.
+ */
+public class MutationSummary {
+
+  private int mutationsTotal;
+  private int mutationsNoCoverage;
+  private int mutationsKilled;
+  private int mutationsSurvived;
+  private int mutationsMemoryError;
+  private int mutationsTimedOut;
+  private int mutationsUnknown;
+  private int mutationsDetected;
+  private int numTestsRun;
+
+  /**
+   * Counts the {@link Mutant} in the summary. The mutant itself is not retained.
+   *
+   * @param mutant
+   *         the mutant to be counted
+   */
+  public void addMutant(final Mutant mutant) {
+    if (mutant.isDetected()) {
+      mutationsDetected++;
+    }
+    mutationsTotal++;
+    numTestsRun += mutant.getNumberOfTestsRun();
+    switch (mutant.getState()) {
+      case KILLED:
+        mutationsKilled++;
+        break;
+      case NO_COVERAGE:
+        mutationsNoCoverage++;
+        break;
+      case SURVIVED:
+        mutationsSurvived++;
+        break;
+      case MEMORY_ERROR:
+        mutationsMemoryError++;
+        break;
+      case TIMED_OUT:
+        mutationsTimedOut++;
+        break;
+      case UNKNOWN:
+        mutationsUnknown++;
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * @return number of all mutations counted
+   */
+  public int getMutationsTotal() {
+    return mutationsTotal;
+  }
+
+  /**
+   * @return number of mutations that are not covered
+   */
+  public int getMutationsNoCoverage() {
+    return mutationsNoCoverage;
+  }
+
+  /**
+   * @return number of mutations killed by a test
+   */
+  public int getMutationsKilled() {
+    return mutationsKilled;
+  }
+
+  /**
+   * @return number of mutations that survived a test
+   */
+  public int getMutationsSurvived() {
+    return mutationsSurvived;
+  }
+
+  /**
+   * @return number of mutations killed by a memory error
+   */
+  public int getMutationsMemoryError() {
+    return mutationsMemoryError;
+  }
+
+  /**
+   * @return number of mutations killed by a timeout
+   */
+  public int getMutationsTimedOut() {
+    return mutationsTimedOut;
+  }
+
+  /**
+   * @return number of mutations with unknown status
+   */
+  public int getMutationsUnknown() {
+    return mutationsUnknown;
+  }
+
+  /**
+   * @return the number of mutations detected at all
+   */
+  public int getMutationsDetected() {
+    return mutationsDetected;
+  }
+
+  /**
+   * Returns the total number of tests executed to kill the mutants (or not)
+   * @return
+   *  a number >= 0
+   */
+  public int getNumTestsRun() {
+    return numTestsRun;
+  }
+
+}
@@ -0,0 +1,284 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperator;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
+
+/**
+ * Encoder and decoder for the compact per-file mutant data stored in the {@link MutationMetrics#MUTATIONS_DATA} metric.
+ * <p>
+ * The data is a Base64 encoded byte sequence consisting of
+ * <ul>
+ *   <li>the format version (one byte)</li>
+ *   <li>the dictionary of mutation operators: the number of operators followed by the UTF-8 encoded id of each
+ *   operator, prefixed by its length</li>
+ *   <li>the number of mutants followed by two values per mutant: the distance of its line to the line of the previous
+ *   mutant and its operator's position in the dictionary, shifted left by 4 bits, holding the ordinal of its
+ *   {@link Mutant.State} in the lower nibble</li>
+ * </ul>
+ * All numbers are encoded as unsigned variable-length integers with 7 bits per byte, the mutants are ordered by line.
+ */
+public final class MutationsDataCodec {
+
+  /**
+   * The version of the data format, written as first byte of the data
+   */
+  public static final int VERSION = 1;
+
+  private static final int STATE_BITS = 4;
+  private static final int STATE_MASK = (1 << STATE_BITS) - 1;
+  private static final Mutant.State[] STATES = Mutant.State.values();
+
+  private MutationsDataCodec() {
+  }
+
+  /**
+   * Encodes the mutants of a single resource.
+   *
+   * @param mutants
+   *         the mutants to encode
+   *
+   * @return the Base64 encoded data
+   */
+  public static String encode(final Collection<Mutant> mutants) {
+    final List<Mutant> sorted = new ArrayList<>(mutants);
+    sorted.sort(Comparator.comparingInt(Mutant::getLineNumber));
+    final Map<String, Integer> dictionary = new LinkedHashMap<>();
+    for (final Mutant mutant : sorted) {
+      dictionary.putIfAbsent(mutant.getMutationOperator().getId(), dictionary.size());
+    }
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(16 + dictionary.size() * 16 + sorted.size() * 2);
+    out.write(VERSION);
+    writeVarInt(out, dictionary.size());
+    for (final String operatorId : dictionary.keySet()) {
+      final byte[] id = operatorId.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(out, id.length);
+      out.write(id, 0, id.length);
+    }
+    writeVarInt(out, sorted.size());
+    int previousLine = 0;
+    for (final Mutant mutant : sorted) {
+      final int line = Math.max(mutant.getLineNumber(), previousLine);
+      writeVarInt(out, line - previousLine);
+      final int operator = dictionary.get(mutant.getMutationOperator().getId());
+      writeVarInt(out, operator << STATE_BITS | mutant.getState().ordinal());
+      previousLine = line;
+    }
+    return Base64.getEncoder().encodeToString(out.toByteArray());
+  }
+
+  /**
+   * Decodes data produced by {@link #encode(Collection)}.
+   *
+   * @param data
+   *         the Base64 encoded data
+   *
+   * @return the decoded mutants, ordered by line
+   *
+   * @throws IllegalArgumentException
+   *         if the data is not valid or has an unsupported version
+   */
+  public static List<Entry> decode(final String data) {
+    return Collections.unmodifiableList(stream(data).collect(Collectors.toList()));
+  }
+
+  /**
+   * Decodes data produced by {@link #encode(Collection)} lazily. Only the header with the operator dictionary is
+   * decoded immediately, the mutants are decoded one by one while the stream is consumed so that short-circuiting
+   * operations such as paging don't decode the entire data.
+   *
+   * @param data
+   *         the Base64 encoded data
+   *
+   * @return a sequential stream of the decoded mutants, ordered by line
+   *
+   * @throws IllegalArgumentException
+   *         if the header of the data is not valid or has an unsupported version. Invalid mutant data is reported
+   *         when the stream is consumed.
+   */
+  public static Stream<Entry> stream(final String data) {
+    final Reader in = new Reader(Base64.getDecoder().decode(data));
+    final int version = in.readByte();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported mutations data version " + version);
+    }
+    final String[] dictionary = new String[in.readVarInt()];
+    for (int i = 0; i < dictionary.length; i++) {
+      dictionary[i] = in.readString(in.readVarInt());
+    }
+    final int count = in.readVarInt();
+    return StreamSupport.stream(new EntrySpliterator(in, dictionary, count), false);
+  }
+
+  private static void writeVarInt(final ByteArrayOutputStream out, final int value) {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      out.write((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    out.write(remaining);
+  }
+
+  private static final class EntrySpliterator extends Spliterators.AbstractSpliterator<Entry> {
+
+    private final Reader in;
+    private final String[] dictionary;
+    private final int count;
+    private int position;
+    private int line;
+
+    EntrySpliterator(final Reader in, final String[] dictionary, final int count) {
+      super(count, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED);
+      this.in = in;
+      this.dictionary = dictionary;
+      this.count = count;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Entry> action) {
+      if (position >= count) {
+        return false;
+      }
+      line += in.readVarInt();
+      final int value = in.readVarInt();
+      final int operator = value >>> STATE_BITS;
+      final int state = value & STATE_MASK;
+      if (operator >= dictionary.length || state >= STATES.length) {
+        throw new IllegalArgumentException("Invalid mutant at position " + position);
+      }
+      position++;
+      action.accept(new Entry(line, dictionary[operator], STATES[state]));
+      return true;
+    }
+  }
+
+  private static final class Reader {
+
+    private final byte[] data;
+    private int pos;
+
+    Reader(final byte[] data) {
+      this.data = data;
+    }
+
+    int remaining() {
+      return data.length - pos;
+    }
+
+    int readByte() {
+      if (pos >= data.length) {
+        throw new IllegalArgumentException("Unexpected end of mutations data");
+      }
+      return data[pos++] & 0xFF;
+    }
+
+    int readVarInt() {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        final int b = readByte();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Malformed number in mutations data");
+    }
+
+    String readString(final int length) {
+      if (length > remaining()) {
+        throw new IllegalArgumentException("Unexpected end of mutations data");
+      }
+      final String value = new String(data, pos, length, StandardCharsets.UTF_8);
+      pos += length;
+      return value;
+    }
+  }
+
+  /**
+   * A single decoded mutant
+   */
+  public static final class Entry {
+
+    private final int lineNumber;
+    private final String operatorId;
+    private final Mutant.State state;
+
+    Entry(final int lineNumber, final String operatorId, final Mutant.State state) {
+      this.lineNumber = lineNumber;
+      this.operatorId = operatorId;
+      this.state = state;
+    }
+
+    /**
+     * @return the line of the mutant
+     */
+    public int getLineNumber() {
+      return lineNumber;
+    }
+
+    /**
+     * @return the id of the mutation operator that created the mutant
+     */
+    public String getOperatorId() {
+      return operatorId;
+    }
+
+    /**
+     * @return the mutation operator for the id or {@link MutationOperators#UNKNOWN} if the operator is not known
+     */
+    public MutationOperator getMutationOperator() {
+      return MutationOperators.find(operatorId);
+    }
+
+    /**
+     * @return the state of the mutant
+     */
+    public Mutant.State getState() {
+      return state;
+    }
+
+    @Override
+    public String toString() {
+      return "Entry{line=" + lineNumber + ", operator=" + operatorId + ", state=" + state + '}';
+    }
+  }
+
+}
@@ -26,6 +26,7 @@ import java.util.List;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
 import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.TextRange;
 
 /**
  * Metrics for Mutants found in a single resource. It is used to collect mutant information for a specific resource.
@@ -44,6 +45,8 @@ public class ResourceMutationMetrics {
   private int numTestsRun;
   private double mutationCoverage;
   private final InputFile resource;
+  private MutantLineIndex lineIndex;
+  private TextRange[] lineRanges;
 
   /**
    * Constructor for creating a new metrics holder for the given resource
@@ -63,6 +66,8 @@ public class ResourceMutationMetrics {
    */
   public void addMutant(final Mutant mutant) {
     mutants.add(mutant);
+    lineIndex = null;
+    lineRanges = null;
     if (mutant.isDetected()) {
       mutationsDetected++;
     }
@@ -101,6 +106,41 @@ public class ResourceMutationMetrics {
     return mutants;
   }
 
+  /**
+   * The index of the lines containing mutants. The index is created on first access after a mutant was added.
+   *
+   * @return the line index for all mutants collected so far
+   */
+  public MutantLineIndex getLineIndex() {
+    if (lineIndex == null) {
+      lineIndex = new MutantLineIndex(mutants);
+    }
+    return lineIndex;
+  }
+
+  /**
+   * Selects the text range of a line of the resource. The ranges of lines containing mutants are only computed once.
+   *
+   * @param line
+   *         the line number
+   *
+   * @return the text range spanning the entire line
+   */
+  public TextRange getLineRange(final int line) {
+    final MutantLineIndex index = getLineIndex();
+    final int position = index.indexOf(line);
+    if (position < 0) {
+      return resource.selectLine(line);
+    }
+    if (lineRanges == null) {
+      lineRanges = new TextRange[index.size()];
+    }
+    if (lineRanges[position] == null) {
+      lineRanges[position] = resource.selectLine(line);
+    }
+    return lineRanges[position];
+  }
+
   /**
    * The total number of {@link Mutant}s added to the metric.
    *
@@ -0,0 +1,276 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.model;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A compact, growable set of non-negative int values backed by an array of longs. Unlike {@link java.util.BitSet}
+ * it supports counting the intersection and difference of two sets without creating intermediate sets, which is the
+ * main operation when comparing the mutants killed by different tests.
+ */
+public final class LongBitSet {
+
+  private static final int ADDRESS_BITS = 6;
+  private static final long[] EMPTY = new long[0];
+
+  private long[] words;
+
+  /**
+   * Creates an empty set
+   */
+  public LongBitSet() {
+    this.words = EMPTY;
+  }
+
+  private LongBitSet(final long[] words) {
+    this.words = words;
+  }
+
+  private static int wordIndex(final int bit) {
+    return bit >>> ADDRESS_BITS;
+  }
+
+  /**
+   * Adds the value to the set.
+   *
+   * @param bit the value to add, must not be negative
+   */
+  public void set(final int bit) {
+    if (bit < 0) {
+      throw new IllegalArgumentException("bit must not be negative: " + bit);
+    }
+    final int index = wordIndex(bit);
+    if (index >= words.length) {
+      words = Arrays.copyOf(words, Math.max(index + 1, words.length * 2));
+    }
+    words[index] |= 1L << bit;
+  }
+
+  /**
+   * @param bit the value to check
+   * @return <code>true</code> if the value is contained in the set
+   */
+  public boolean get(final int bit) {
+    final int index = wordIndex(bit);
+    return bit >= 0 && index < words.length && (words[index] & (1L << bit)) != 0;
+  }
+
+  /**
+   * @return the number of values in the set
+   */
+  public int cardinality() {
+    int count = 0;
+    for (final long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * @return <code>true</code> if the set contains no values
+   */
+  public boolean isEmpty() {
+    for (final long word : words) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds all values of the other set to this set.
+   *
+   * @param other the set whose values are added
+   */
+  public void or(final LongBitSet other) {
+    if (other.words.length > words.length) {
+      words = Arrays.copyOf(words, other.words.length);
+    }
+    for (int i = 0; i < other.words.length; i++) {
+      words[i] |= other.words[i];
+    }
+  }
+
+  /**
+   * Retains only the values that are contained in the other set as well.
+   *
+   * @param other the set whose values are retained
+   */
+  public void and(final LongBitSet other) {
+    final int common = Math.min(words.length, other.words.length);
+    for (int i = 0; i < common; i++) {
+      words[i] &= other.words[i];
+    }
+    Arrays.fill(words, common, words.length, 0L);
+  }
+
+  /**
+   * Removes all values of the other set from this set.
+   *
+   * @param other the set whose values are removed
+   */
+  public void andNot(final LongBitSet other) {
+    final int common = Math.min(words.length, other.words.length);
+    for (int i = 0; i < common; i++) {
+      words[i] &= ~other.words[i];
+    }
+  }
+
+  /**
+   * Counts the values contained in both sets, without modifying either set.
+   *
+   * @param other the other set
+   * @return the size of the intersection
+   */
+  public int andCardinality(final LongBitSet other) {
+    final int common = Math.min(words.length, other.words.length);
+    int count = 0;
+    for (int i = 0; i < common; i++) {
+      count += Long.bitCount(words[i] & other.words[i]);
+    }
+    return count;
+  }
+
+  /**
+   * Counts the values of this set that are not contained in the other set, without modifying either set.
+   *
+   * @param other the other set
+   * @return the size of the difference
+   */
+  public int andNotCardinality(final LongBitSet other) {
+    int count = 0;
+    for (int i = 0; i < words.length; i++) {
+      count += Long.bitCount(i < other.words.length ? words[i] & ~other.words[i] : words[i]);
+    }
+    return count;
+  }
+
+  /**
+   * @param other the other set
+   * @return <code>true</code> if all values of this set are contained in the other set
+   */
+  public boolean isSubsetOf(final LongBitSet other) {
+    for (int i = 0; i < words.length; i++) {
+      final long otherWord = i < other.words.length ? other.words[i] : 0L;
+      if ((words[i] & ~otherWord) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Finds the next value in the set, starting at the given value. Use it to iterate over the set:
+   * <pre>
+   * for (int i = set.nextSetBit(0); i &gt;= 0; i = set.nextSetBit(i + 1)) { ... }
+   * </pre>
+   *
+   * @param fromIndex the value to start the search at (inclusive)
+   * @return the next value in the set or -1 if there is none
+   */
+  public int nextSetBit(final int fromIndex) {
+    int index = wordIndex(fromIndex);
+    if (fromIndex < 0 || index >= words.length) {
+      return -1;
+    }
+    long word = words[index] & (-1L << fromIndex);
+    while (true) {
+      if (word != 0) {
+        return (index << ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+      }
+      if (++index == words.length) {
+        return -1;
+      }
+      word = words[index];
+    }
+  }
+
+  /**
+   * @return the values of the set in ascending order
+   */
+  public IntStream stream() {
+    return IntStream.iterate(nextSetBit(0), i -> i >= 0, i -> nextSetBit(i + 1));
+  }
+
+  /**
+   * @return an independent copy of this set
+   */
+  public LongBitSet copy() {
+    return new LongBitSet(words.clone());
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final LongBitSet that = (LongBitSet) o;
+    final int common = Math.min(words.length, that.words.length);
+    for (int i = 0; i < common; i++) {
+      if (words[i] != that.words[i]) {
+        return false;
+      }
+    }
+    return isZeroFrom(words, common) && isZeroFrom(that.words, common);
+  }
+
+  private static boolean isZeroFrom(final long[] words, final int start) {
+    for (int i = start; i < words.length; i++) {
+      if (words[i] != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int length = words.length;
+    while (length > 0 && words[length - 1] == 0) {
+      length--;
+    }
+    long h = 1234;
+    for (int i = length; --i >= 0; ) {
+      h ^= words[i] * (i + 1);
+    }
+    return (int) ((h >> 32) ^ h);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder buf = new StringBuilder();
+    buf.append('{');
+    for (int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+      if (buf.length() > 1) {
+        buf.append(", ");
+      }
+      buf.append(i);
+    }
+    return buf.append('}').toString();
+  }
+
+}
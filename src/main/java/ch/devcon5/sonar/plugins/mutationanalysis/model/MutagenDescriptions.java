@@ -0,0 +1,64 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.sonar.api.internal.apachecommons.io.IOUtils;
+
+/**
+ * Cache of the html descriptions of the mutation operators. The descriptions are shared by the rules of all languages
+ * and rule types, so each description resource is read and decoded only once per JVM, when it is first requested.
+ */
+final class MutagenDescriptions {
+
+  private static final ConcurrentMap<String, String> DESCRIPTIONS = new ConcurrentHashMap<>();
+
+  private MutagenDescriptions() {}
+
+  /**
+   * Gets the description located at the given URL, reading it if it is not yet cached.
+   *
+   * @param location the location of the html description
+   * @return the content of the description
+   * @throws IOException if the description could not be read. Failed reads are not cached.
+   */
+  static String get(final URL location) throws IOException {
+    try {
+      return DESCRIPTIONS.computeIfAbsent(location.toExternalForm(), key -> read(location));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static String read(final URL location) {
+    try {
+      return IOUtils.toString(location, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
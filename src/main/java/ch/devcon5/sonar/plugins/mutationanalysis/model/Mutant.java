@@ -22,7 +22,11 @@ package ch.devcon5.sonar.plugins.mutationanalysis.model;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 
@@ -40,10 +44,17 @@ import org.slf4j.Logger;
  *      &lt;killingTest&gt;io.inkstand.scribble.inject.ResourceInjectionTest.testByMappedName_match(io.inkstand.scribble.inject.ResourceInjectionTest)&lt;/killingTest&gt;
  * &lt;/mutation&gt;
  * </pre>
+ * If PIT was run with the full mutation matrix, the mutant additionally holds the sets of all killing and succeeding
+ * tests as {@link LongBitSet}s of ids of a {@link TestDictionary} that is shared by all mutants of a report. The test
+ * sets are not considered by {@link #equals(Object)}.
  */
 public class Mutant {
 
    private static final int PRIME = 31;
+   /**
+    * Test set of all mutants without a full mutation matrix. It is never modified as the test sets are not exposed.
+    */
+   private static final LongBitSet NO_TESTS = new LongBitSet();
 
    private final int lineNumber;
    private final int index;
@@ -60,6 +71,9 @@ public class Mutant {
    private final String toString;
    private final TestDescriptor testDescriptor;
    private final String description;
+   private final TestDictionary testDictionary;
+   private final LongBitSet killingTests;
+   private final LongBitSet succeedingTests;
 
    /**
     * Creates a new Mutant using the specified builder. This constructor is invoked by the builder.
@@ -82,6 +96,9 @@ public class Mutant {
       this.numberOfTestsRun = builder.numberOfTestsRun;
       this.killingTest = builder.state.isDetected() ? builder.killingTest : "";
       this.description = builder.description;
+      this.testDictionary = builder.testDictionary;
+      this.killingTests = builder.killingTests == null ? NO_TESTS : builder.killingTests;
+      this.succeedingTests = builder.succeedingTests == null ? NO_TESTS : builder.succeedingTests;
       this.toString = "Mutant [sourceFile="
               + builder.sourceFile
               + ", mutatedClass="
@@ -229,6 +246,72 @@ public class Mutant {
       return this.testDescriptor;
    }
 
+   /**
+    * @return <code>true</code> if the mutant was read from a full mutation matrix and provides all killing and
+    * succeeding tests
+    */
+   public boolean hasMutationMatrix() {
+      return testDictionary != null;
+   }
+
+   /**
+    * @return the dictionary of the test ids of the mutation matrix or an empty optional if the mutant has no mutation
+    * matrix
+    */
+   public Optional<TestDictionary> getTestDictionary() {
+      return Optional.ofNullable(testDictionary);
+   }
+
+   /**
+    * Returns all tests that killed the mutant. Without a full mutation matrix, this is the single killing test, if the
+    * mutant was detected.
+    *
+    * @return the names of the killing tests, never <code>null</code>
+    */
+   public List<String> getKillingTests() {
+      if (testDictionary == null) {
+         return killingTest.isEmpty() ? Collections.emptyList() : Collections.singletonList(killingTest);
+      }
+      return toNames(killingTests);
+   }
+
+   /**
+    * Returns all tests that covered the mutant without killing it. The tests are only known from a full mutation
+    * matrix.
+    *
+    * @return the names of the succeeding tests, never <code>null</code>
+    */
+   public List<String> getSucceedingTests() {
+      if (testDictionary == null) {
+         return Collections.emptyList();
+      }
+      return toNames(succeedingTests);
+   }
+
+   /**
+    * Returns the ids of all tests that killed the mutant. The ids refer to the {@link #getTestDictionary() test
+    * dictionary} of the mutant.
+    *
+    * @return the ids in ascending order, empty without a full mutation matrix
+    */
+   public IntStream getKillingTestIds() {
+      return killingTests.stream();
+   }
+
+   /**
+    * Returns the ids of all tests that covered the mutant without killing it. The ids refer to the
+    * {@link #getTestDictionary() test dictionary} of the mutant.
+    *
+    * @return the ids in ascending order, empty without a full mutation matrix
+    */
+   public IntStream getSucceedingTestIds() {
+      return succeedingTests.stream();
+   }
+
+   private List<String> toNames(final LongBitSet tests) {
+      return tests.stream().mapToObj(testDictionary::nameOf).collect(Collectors.toList());
+   }
+
    @Override
    public int hashCode() {
       return this.hashCode;
@@ -429,6 +512,9 @@ public class Mutant {
       private int numberOfTestsRun;
       private String killingTest;
       private String description;
+      private TestDictionary testDictionary;
+      private LongBitSet killingTests;
+      private LongBitSet succeedingTests;
 
       Builder() {
       }
@@ -574,6 +660,45 @@ public class Mutant {
          return this;
       }
 
+      /**
+       * @param dictionary
+       *         the dictionary shared by all mutants of the report, the tests are added to it
+       * @param killingTests
+       *         the names of all tests that killed the mutant, separated by <code>|</code> as written by PIT for the
+       *         full mutation matrix
+       *
+       * @return this builder
+       */
+      public Builder killedByTests(final TestDictionary dictionary, final String killingTests) {
+         this.killingTests = toTestSet(dictionary, killingTests);
+         return this;
+      }
+
+      /**
+       * @param dictionary
+       *         the dictionary shared by all mutants of the report, the tests are added to it
+       * @param succeedingTests
+       *         the names of all tests that covered the mutant without killing it, separated by <code>|</code> as
+       *         written by PIT for the full mutation matrix
+       *
+       * @return this builder
+       */
+      public Builder succeededTests(final TestDictionary dictionary, final String succeedingTests) {
+         this.succeedingTests = toTestSet(dictionary, succeedingTests);
+         return this;
+      }
+
+      private LongBitSet toTestSet(final TestDictionary dictionary, final String tests) {
+         requireNonNull(dictionary, "dictionary must be set");
+         if (this.testDictionary != null && this.testDictionary != dictionary) {
+            throw new IllegalArgumentException("all tests of a mutant must use the same dictionary");
+         }
+         this.testDictionary = dictionary;
+         final LongBitSet set = new LongBitSet();
+         dictionary.addAll(tests, set);
+         return set;
+      }
+
       /**
        *
        * @param numberOfTestsRun
@@ -590,7 +715,9 @@ public class Mutant {
       /**
        * Creates a new {@link ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant} with all the parameters specified.
        * As the {@link ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant} requires all parameter to
-       * be not-null this method will fail if some parameters have not been specified.
+       * be not-null this method will fail if some parameters have not been specified. PIT omits the single killing
+       * test when it writes the full mutation matrix, so if only the killing tests are set, the first of them is used
+       * as killing test.
        *
        * @return a new instance of a {@link ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant}
        */
@@ -601,6 +728,10 @@ public class Mutant {
          requireNonNull(mutatedMethod, "mutatedMethod must be set");
          requireNonNull(methodDescription, "methodDescription must be set");
          requireNonNull(mutationOperator, "mutationOperator must be set");
+         if (killingTest == null && killingTests != null) {
+            final int firstKillingTest = killingTests.nextSetBit(0);
+            killingTest = firstKillingTest < 0 ? "" : testDictionary.nameOf(firstKillingTest);
+         }
          if (!state.isAlive()) {
             requireNonNull(killingTest, "killingTest must be set");
          }
@@ -0,0 +1,235 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The relation between tests and the mutants they killed or covered. Each test is identified by the id of a
+ * {@link TestDictionary}, each mutant by its position in the matrix. For every test the matrix holds the set of killed
+ * and covered mutants as {@link LongBitSet}, so kills, overlaps and unique kills are computed with bitwise operations.
+ * <p>
+ * If the mutants were read from a full mutation matrix, all killing and succeeding tests are considered. Otherwise
+ * the matrix is built from the single killing test of each mutant.
+ */
+public final class MutationMatrix {
+
+  private final List<Mutant> mutants;
+  private final TestDictionary tests = new TestDictionary();
+  private final List<LongBitSet> killedMutants = new ArrayList<>();
+  private final List<LongBitSet> coveredMutants = new ArrayList<>();
+  private final Map<TestDictionary, int[]> testIdMappings = new IdentityHashMap<>();
+  private final LongBitSet killedOnce;
+  private boolean full;
+
+  private MutationMatrix(final Collection<Mutant> mutants) {
+    this.mutants = new ArrayList<>(mutants);
+    for (int i = 0; i < this.mutants.size(); i++) {
+      addMutant(i, this.mutants.get(i));
+    }
+    this.killedOnce = uniqueMembers(killedMutants);
+  }
+
+  /**
+   * Creates the matrix for the mutants. The mutants may originate from different reports and therefore use different
+   * test dictionaries, the tests are merged by their names.
+   *
+   * @param mutants the mutants of the matrix, the order of the collection determines the index of each mutant
+   * @return the matrix of the mutants
+   */
+  public static MutationMatrix of(final Collection<Mutant> mutants) {
+    return new MutationMatrix(mutants);
+  }
+
+  private void addMutant(final int index, final Mutant mutant) {
+    final TestDictionary source = mutant.getTestDictionary().orElse(null);
+    if (source == null) {
+      if (!mutant.getKillingTest().isEmpty()) {
+        final int testId = testId(mutant.getKillingTest());
+        killedMutants.get(testId).set(index);
+        coveredMutants.get(testId).set(index);
+      }
+      return;
+    }
+    full = true;
+    mutant.getKillingTestIds().forEach(id -> {
+      final int testId = toMatrixId(source, id);
+      killedMutants.get(testId).set(index);
+      coveredMutants.get(testId).set(index);
+    });
+    mutant.getSucceedingTestIds().forEach(id -> coveredMutants.get(toMatrixId(source, id)).set(index));
+  }
+
+  private int toMatrixId(final TestDictionary source, final int sourceId) {
+    int[] mapping = testIdMappings.get(source);
+    if (mapping == null || mapping.length <= sourceId) {
+      final int oldLength = mapping == null ? 0 : mapping.length;
+      mapping = mapping == null ? new int[source.size()] : Arrays.copyOf(mapping, source.size());
+      Arrays.fill(mapping, oldLength, mapping.length, -1);
+      testIdMappings.put(source, mapping);
+    }
+    if (mapping[sourceId] < 0) {
+      mapping[sourceId] = testId(source.nameOf(sourceId));
+    }
+    return mapping[sourceId];
+  }
+
+  private int testId(final String name) {
+    final int id = tests.idOf(name);
+    if (id == killedMutants.size()) {
+      killedMutants.add(new LongBitSet());
+      coveredMutants.add(new LongBitSet());
+    }
+    return id;
+  }
+
+  /**
+   * Determines the values that are contained in exactly one of the sets.
+   *
+   * @param sets the sets to compare
+   * @return a new set of the values that are members of a single set only
+   */
+  public static LongBitSet uniqueMembers(final Collection<LongBitSet> sets) {
+    final LongBitSet once = new LongBitSet();
+    final LongBitSet multiple = new LongBitSet();
+    for (final LongBitSet set : sets) {
+      final LongBitSet again = once.copy();
+      again.and(set);
+      multiple.or(again);
+      once.or(set);
+    }
+    once.andNot(multiple);
+    return once;
+  }
+
+  /**
+   * @return <code>true</code> if at least one mutant provided a full mutation matrix
+   */
+  public boolean isFull() {
+    return full;
+  }
+
+  /**
+   * @return the number of mutants in the matrix
+   */
+  public int getMutantCount() {
+    return mutants.size();
+  }
+
+  /**
+   * @param index the index of the mutant
+   * @return the mutant at the index
+   */
+  public Mutant getMutant(final int index) {
+    return mutants.get(index);
+  }
+
+  /**
+   * @return the number of distinct tests in the matrix
+   */
+  public int getTestCount() {
+    return tests.size();
+  }
+
+  /**
+   * @param testId the id of the test
+   * @return the name of the test
+   */
+  public String getTestName(final int testId) {
+    return tests.nameOf(testId);
+  }
+
+  /**
+   * @param testId the id of the test
+   * @return a copy of the set of indices of the mutants killed by the test
+   */
+  public LongBitSet getKilledMutants(final int testId) {
+    return killedMutants.get(testId).copy();
+  }
+
+  /**
+   * @param testId the id of the test
+   * @return a copy of the set of indices of the mutants killed or covered by the test
+   */
+  public LongBitSet getCoveredMutants(final int testId) {
+    return coveredMutants.get(testId).copy();
+  }
+
+  /**
+   * @param testId the id of the test
+   * @return the number of mutants killed by the test
+   */
+  public int getKills(final int testId) {
+    return killedMutants.get(testId).cardinality();
+  }
+
+  /**
+   * @param testId the id of the test
+   * @return the number of mutants killed by this test and no other test
+   */
+  public int getUniqueKills(final int testId) {
+    return killedMutants.get(testId).andCardinality(killedOnce);
+  }
+
+  /**
+   * @param testId the id of a test
+   * @param otherTestId the id of another test
+   * @return the number of mutants killed by both tests
+   */
+  public int getOverlap(final int testId, final int otherTestId) {
+    return killedMutants.get(testId).andCardinality(killedMutants.get(otherTestId));
+  }
+
+  /**
+   * Determines the tests whose killed mutants are all killed by other tests as well, using {@link TestSetCover}.
+   *
+   * @return the names of the redundant tests
+   */
+  public Set<String> getRedundantTests() {
+    final Map<String, LongBitSet> killsByTest = new LinkedHashMap<>();
+    for (int testId = 0; testId < tests.size(); testId++) {
+      killsByTest.put(tests.nameOf(testId), killedMutants.get(testId));
+    }
+    return TestSetCover.findRedundant(killsByTest);
+  }
+
+  /**
+   * Groups the killed mutants by the class of the tests.
+   *
+   * @return the set of mutants killed by any test of the class, by test class name
+   */
+  public Map<String, LongBitSet> getKilledMutantsByTestClass() {
+    final Map<String, LongBitSet> result = new LinkedHashMap<>();
+    for (int testId = 0; testId < tests.size(); testId++) {
+      final String className = new TestDescriptor(tests.nameOf(testId)).getClassName();
+      result.computeIfAbsent(className, k -> new LongBitSet()).or(killedMutants.get(testId));
+    }
+    return result;
+  }
+
+}
@@ -24,14 +24,12 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.sonar.api.internal.apachecommons.io.IOUtils;
 import org.sonar.api.rules.Rule;
 
 /**
@@ -114,14 +112,14 @@ public final class MutationOperator {
 
   /**
    * The description of the {@link MutationOperator}. The method loads the content defined in the resource that is
-   * referred to by the description URL.
+   * referred to by the description URL. The content is read once and cached for all further calls.
    *
    * @return the description as a string
    */
   public String getMutagenDescription() {
     return getMutagenDescriptionLocation().map(u -> {
       try {
-        return IOUtils.toString(u, StandardCharsets.UTF_8);
+        return MutagenDescriptions.get(u);
       } catch (IOException e) {
         LOG.warn("Cannot read mutagen description for mutagen {}", id, e);
         return "No description";
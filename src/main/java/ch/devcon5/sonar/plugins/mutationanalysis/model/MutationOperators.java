@@ -21,10 +21,15 @@
 package ch.devcon5.sonar.plugins.mutationanalysis.model;
 
 import static javax.xml.xpath.XPathConstants.NODESET;
+import static org.slf4j.LoggerFactory.getLogger;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,6 +39,7 @@ import java.util.Set;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
+import org.slf4j.Logger;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
@@ -49,17 +55,71 @@ public final class MutationOperators {
   public static final MutationOperator UNKNOWN = new MutationOperator("UNKNOWN", "Unknown mutagen",
       Collections.singleton("unknown.mutation.operator"), "An unknown mutagen has been applied", null);
 
+  private static final Logger LOG = getLogger(MutationOperators.class);
+
   /**
    * URL of the mutagen definitions.
    */
   private static final URL MUTAGEN_DEF = MutationOperator.class.getResource("mutagen-def.xml");
 
+  /**
+   * URL of the mutagen index, that is precompiled from the mutagen definitions during the build. It is missing if the
+   * classes are not built by maven, i.e. in an IDE.
+   */
+  private static final URL MUTAGEN_INDEX = MutationOperator.class.getResource("mutagen-def.idx");
+
   /**
    * Contains all instances of {@link MutationOperator}s defined in the mutagen-def.xml
    */
   private static final Map<String, MutationOperator> INSTANCES;
   static {
-    try (InputStream stream = MUTAGEN_DEF.openStream()) {
+    try {
+      if (MUTAGEN_INDEX == null) {
+        LOG.warn("Precompiled mutagen index mutagen-def.idx not found, parsing the mutagen definitions instead");
+      }
+      INSTANCES = Collections.unmodifiableMap(MUTAGEN_INDEX != null ? readIndex(MUTAGEN_INDEX) : parseDefinitions(MUTAGEN_DEF));
+    } catch (IOException | XPathExpressionException e) {
+      throw new MutationOperatorsInitializationException("Could not load mutagen definitions", e);
+    }
+  }
+
+  private MutationOperators() {}
+
+  /**
+   * Reads the mutation operators from the precompiled index. Each line of the index defines one operator by the tab
+   * separated fields id, name, description classpath, violation description and one or more class names.
+   *
+   * @param index the location of the index
+   * @return the mutation operators by id
+   * @throws IOException if the index could not be read
+   */
+  static Map<String, MutationOperator> readIndex(final URL index) throws IOException {
+    final Map<String, MutationOperator> mutagens = new HashMap<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isEmpty()) {
+          continue;
+        }
+        final String[] fields = line.split("\t");
+        final Set<String> classNames = new HashSet<>(Arrays.asList(fields).subList(4, fields.length));
+        final URL mutagenDescLoc = fields[2].isEmpty() ? null : MutationOperator.class.getResource(fields[2]);
+        mutagens.put(fields[0], new MutationOperator(fields[0], fields[1], classNames, fields[3], mutagenDescLoc));
+      }
+    }
+    return mutagens;
+  }
+
+  /**
+   * Parses the mutation operators from the mutagen definitions xml.
+   *
+   * @param definitions the location of the mutagen-def.xml
+   * @return the mutation operators by id
+   * @throws IOException if the definitions could not be read
+   * @throws XPathExpressionException if there was an exception evaluating an xpath expression
+   */
+  static Map<String, MutationOperator> parseDefinitions(final URL definitions) throws IOException, XPathExpressionException {
+    try (InputStream stream = definitions.openStream()) {
       final Map<String, MutationOperator> mutagens = new HashMap<>();
       final XPathFactory xPathFactory = XPathFactory.newInstance();
       final XPath xp = xPathFactory.newXPath();
@@ -69,14 +129,10 @@ public final class MutationOperators {
         final MutationOperator mutationOperator = toMutagen(xPathFactory, mutagenNode);
         mutagens.put(mutationOperator.getId(), mutationOperator);
       }
-      INSTANCES = Collections.unmodifiableMap(mutagens);
-    } catch (IOException | XPathExpressionException e) {
-      throw new MutationOperatorsInitializationException("Could not load mutagen definitions", e);
+      return mutagens;
     }
   }
 
-  private MutationOperators() {}
-
   /**
    * Converts a MutationOperator from the given {@link Node}
    *
@@ -0,0 +1,92 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary of test names. Each distinct test name is stored once and identified by a dense id, so that sets of
+ * tests can be represented as {@link LongBitSet}s. The dictionary only grows, ids remain stable. It is not thread-safe.
+ */
+public final class TestDictionary {
+
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final List<String> names = new ArrayList<>();
+
+  /**
+   * Returns the id of the test, the test is added to the dictionary if it is not known yet.
+   *
+   * @param name the name of the test, i.e. <code>com.example.FooTest.testBar(com.example.FooTest)</code>
+   * @return the id of the test
+   */
+  public int idOf(final String name) {
+    final Integer id = ids.get(name);
+    if (id != null) {
+      return id;
+    }
+    final int newId = names.size();
+    ids.put(name, newId);
+    names.add(name);
+    return newId;
+  }
+
+  /**
+   * @param id the id of a test
+   * @return the name of the test
+   */
+  public String nameOf(final int id) {
+    return names.get(id);
+  }
+
+  /**
+   * @return the number of tests in the dictionary
+   */
+  public int size() {
+    return names.size();
+  }
+
+  /**
+   * Adds all tests of a list as it is written by PIT for the full mutation matrix (test names separated by
+   * <code>|</code>) to the dictionary and the set.
+   *
+   * @param tests the separated list of test names, may be empty
+   * @param target the set receiving the ids of the tests
+   */
+  public void addAll(final String tests, final LongBitSet target) {
+    int start = 0;
+    final int length = tests.length();
+    while (start < length) {
+      int end = tests.indexOf('|', start);
+      if (end < 0) {
+        end = length;
+      }
+      final String name = tests.substring(start, end).trim();
+      if (!name.isEmpty()) {
+        target.set(idOf(name));
+      }
+      start = end + 1;
+    }
+  }
+
+}
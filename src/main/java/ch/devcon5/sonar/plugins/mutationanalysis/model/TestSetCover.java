@@ -0,0 +1,95 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Determines a small set of tests that kills the same mutants as all tests together. The set is found with the greedy
+ * set cover approximation: the test killing the most mutants not yet killed by the selected tests is selected until no
+ * test adds further kills. Tests that are not selected are redundant, as all mutants they kill are also killed by the
+ * selected tests.
+ * <p>
+ * As the number of additional kills of a test can only decrease while tests are selected, the additional kills are
+ * evaluated lazily: a test is only re-evaluated when it is the best candidate based on its previous evaluation. This
+ * keeps the number of bitset operations close to the number of tests.
+ */
+public final class TestSetCover {
+
+  private static final Comparator<int[]> BY_GAIN = Comparator.<int[]>comparingInt(candidate -> -candidate[0])
+      .thenComparingInt(candidate -> candidate[1]);
+
+  private TestSetCover() {
+  }
+
+  /**
+   * Finds the redundant tests.
+   *
+   * @param killedMutants the set of killed mutants by test. For tests with the same number of kills, tests that come
+   * first in the iteration order of the map are preferred.
+   * @param <K> the type identifying a test, i.e. the test name
+   * @return the tests whose kills are all killed by the tests of the cover, in the iteration order of the map. Tests
+   * that kill no mutant at all are not considered redundant.
+   */
+  public static <K> Set<K> findRedundant(final Map<K, LongBitSet> killedMutants) {
+    final List<K> tests = new ArrayList<>(killedMutants.keySet());
+    final List<LongBitSet> kills = new ArrayList<>(killedMutants.values());
+    final boolean[] selected = new boolean[tests.size()];
+
+    // each candidate is a pair of the last known gain and the index of the test
+    final PriorityQueue<int[]> candidates = new PriorityQueue<>(BY_GAIN);
+    for (int i = 0; i < tests.size(); i++) {
+      final int gain = kills.get(i).cardinality();
+      if (gain > 0) {
+        candidates.add(new int[]{gain, i});
+      }
+    }
+
+    final LongBitSet covered = new LongBitSet();
+    while (!candidates.isEmpty()) {
+      final int[] candidate = candidates.poll();
+      final LongBitSet candidateKills = kills.get(candidate[1]);
+      final int gain = candidateKills.andNotCardinality(covered);
+      if (gain == candidate[0]) {
+        selected[candidate[1]] = true;
+        covered.or(candidateKills);
+      } else if (gain > 0) {
+        candidate[0] = gain;
+        candidates.add(candidate);
+      }
+    }
+
+    final Set<K> redundant = new LinkedHashSet<>();
+    for (int i = 0; i < tests.size(); i++) {
+      if (!selected[i] && !kills.get(i).isEmpty()) {
+        redundant.add(tests.get(i));
+      }
+    }
+    return redundant;
+  }
+
+}
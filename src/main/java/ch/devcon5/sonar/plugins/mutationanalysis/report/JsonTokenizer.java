@@ -0,0 +1,446 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Minimal pull tokenizer for JSON documents. The document is read through a fixed size buffer and values are only
+ * materialized when they are requested, values that are skipped - including strings of arbitrary length - are
+ * consumed without being stored. The memory used is therefore independent of the size of the document and only
+ * grows with the nesting depth and the length of the requested values.
+ * <p>
+ * The tokenizer is not thread-safe. Syntax errors are reported as {@link IllegalArgumentException} containing the
+ * offset of the error in the document.
+ */
+public final class JsonTokenizer implements Closeable {
+
+  /**
+   * The tokens of a JSON document
+   */
+  public enum Token {
+    BEGIN_OBJECT,
+    END_OBJECT,
+    BEGIN_ARRAY,
+    END_ARRAY,
+    NAME,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL,
+    END_DOCUMENT
+  }
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private static final int EMPTY_DOCUMENT = 0;
+  private static final int NONEMPTY_DOCUMENT = 1;
+  private static final int EMPTY_ARRAY = 2;
+  private static final int NONEMPTY_ARRAY = 3;
+  private static final int EMPTY_OBJECT = 4;
+  private static final int DANGLING_NAME = 5;
+  private static final int NONEMPTY_OBJECT = 6;
+
+  private final Reader reader;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private final StringBuilder text = new StringBuilder();
+  private int pos;
+  private int limit;
+  private long offset;
+  private int[] scopes = new int[32];
+  private int depth = 1;
+  private Token peeked;
+
+  public JsonTokenizer(final Reader reader) {
+    this.reader = reader;
+    this.scopes[0] = EMPTY_DOCUMENT;
+  }
+
+  /**
+   * @return the type of the next token without consuming it
+   * @throws IOException if the document could not be read
+   */
+  public Token peek() throws IOException {
+    if (peeked == null) {
+      peeked = readToken();
+    }
+    return peeked;
+  }
+
+  /**
+   * @return <code>true</code> if the current object or array has another element
+   * @throws IOException if the document could not be read
+   */
+  public boolean hasNext() throws IOException {
+    final Token token = peek();
+    return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+  }
+
+  public void beginObject() throws IOException {
+    expect(Token.BEGIN_OBJECT);
+    push(EMPTY_OBJECT);
+  }
+
+  public void endObject() throws IOException {
+    expect(Token.END_OBJECT);
+    depth--;
+  }
+
+  public void beginArray() throws IOException {
+    expect(Token.BEGIN_ARRAY);
+    push(EMPTY_ARRAY);
+  }
+
+  public void endArray() throws IOException {
+    expect(Token.END_ARRAY);
+    depth--;
+  }
+
+  /**
+   * @return the name of the next property of the current object
+   * @throws IOException if the document could not be read
+   */
+  public String nextName() throws IOException {
+    expect(Token.NAME);
+    return readString();
+  }
+
+  /**
+   * Reads the next value as string. Numbers and booleans are returned in their literal representation.
+   *
+   * @return the next value or <code>null</code> if the value is the null literal
+   * @throws IOException if the document could not be read
+   */
+  public String nextString() throws IOException {
+    final Token token = peek();
+    peeked = null;
+    switch (token) {
+      case STRING:
+        return readString();
+      case NUMBER:
+        return readNumber();
+      case BOOLEAN:
+        return readLiteral();
+      case NULL:
+        readLiteral();
+        return null;
+      default:
+        throw error("expected a value but was " + token);
+    }
+  }
+
+  /**
+   * @return the next value as integer, decimal values are truncated
+   * @throws IOException if the document could not be read
+   */
+  public int nextInt() throws IOException {
+    final String value = nextString();
+    if (value == null) {
+      throw error("expected a number but was null");
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      try {
+        return (int) Double.parseDouble(value);
+      } catch (NumberFormatException e2) {
+        throw error("expected a number but was '" + value + "'");
+      }
+    }
+  }
+
+  /**
+   * Skips the next value including all nested values without storing any of them.
+   *
+   * @throws IOException if the document could not be read
+   */
+  public void skipValue() throws IOException {
+    int level = 0;
+    do {
+      final Token token = peek();
+      switch (token) {
+        case BEGIN_OBJECT:
+          beginObject();
+          level++;
+          break;
+        case BEGIN_ARRAY:
+          beginArray();
+          level++;
+          break;
+        case END_OBJECT:
+          endObject();
+          level--;
+          break;
+        case END_ARRAY:
+          endArray();
+          level--;
+          break;
+        case NAME:
+        case STRING:
+          peeked = null;
+          skipString();
+          break;
+        case NUMBER:
+          peeked = null;
+          readNumber();
+          break;
+        case BOOLEAN:
+        case NULL:
+          peeked = null;
+          readLiteral();
+          break;
+        default:
+          throw error("unexpected end of document");
+      }
+    } while (level > 0);
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private void expect(final Token expected) throws IOException {
+    final Token token = peek();
+    if (token != expected) {
+      throw error("expected " + expected + " but was " + token);
+    }
+    peeked = null;
+  }
+
+  private void push(final int scope) {
+    if (depth == scopes.length) {
+      scopes = Arrays.copyOf(scopes, depth * 2);
+    }
+    scopes[depth++] = scope;
+  }
+
+  private Token readToken() throws IOException {
+    final int scope = scopes[depth - 1];
+    int c;
+    switch (scope) {
+      case EMPTY_ARRAY:
+        scopes[depth - 1] = NONEMPTY_ARRAY;
+        c = nextNonWhitespace();
+        if (c == ']') {
+          return Token.END_ARRAY;
+        }
+        break;
+      case NONEMPTY_ARRAY:
+        c = nextNonWhitespace();
+        if (c == ']') {
+          return Token.END_ARRAY;
+        }
+        if (c != ',') {
+          throw error("expected ',' or ']'");
+        }
+        c = nextNonWhitespace();
+        break;
+      case EMPTY_OBJECT:
+      case NONEMPTY_OBJECT:
+        c = nextNonWhitespace();
+        if (c == '}') {
+          return Token.END_OBJECT;
+        }
+        if (scope == NONEMPTY_OBJECT) {
+          if (c != ',') {
+            throw error("expected ',' or '}'");
+          }
+          c = nextNonWhitespace();
+        }
+        if (c != '"') {
+          throw error("expected a name");
+        }
+        scopes[depth - 1] = DANGLING_NAME;
+        return Token.NAME;
+      case DANGLING_NAME:
+        if (nextNonWhitespace() != ':') {
+          throw error("expected ':'");
+        }
+        scopes[depth - 1] = NONEMPTY_OBJECT;
+        c = nextNonWhitespace();
+        break;
+      case EMPTY_DOCUMENT:
+        scopes[depth - 1] = NONEMPTY_DOCUMENT;
+        c = nextNonWhitespace();
+        break;
+      default:
+        c = read();
+        while (isWhitespace(c)) {
+          c = read();
+        }
+        if (c == -1) {
+          return Token.END_DOCUMENT;
+        }
+        throw error("unexpected content after the document");
+    }
+    return readValueToken(c);
+  }
+
+  private Token readValueToken(final int c) {
+    switch (c) {
+      case '{':
+        return Token.BEGIN_OBJECT;
+      case '[':
+        return Token.BEGIN_ARRAY;
+      case '"':
+        return Token.STRING;
+      case 't':
+      case 'f':
+        pos--;
+        return Token.BOOLEAN;
+      case 'n':
+        pos--;
+        return Token.NULL;
+      default:
+        if (c == '-' || (c >= '0' && c <= '9')) {
+          pos--;
+          return Token.NUMBER;
+        }
+        throw error("unexpected character");
+    }
+  }
+
+  /**
+   * Reads the remainder of a string whose opening quote has already been consumed.
+   */
+  private String readString() throws IOException {
+    text.setLength(0);
+    int c;
+    while ((c = read()) != '"') {
+      if (c == -1) {
+        throw error("unterminated string");
+      }
+      text.append(c == '\\' ? readEscaped() : (char) c);
+    }
+    return text.toString();
+  }
+
+  private void skipString() throws IOException {
+    int c;
+    while ((c = read()) != '"') {
+      if (c == -1) {
+        throw error("unterminated string");
+      }
+      if (c == '\\') {
+        readEscaped();
+      }
+    }
+  }
+
+  private char readEscaped() throws IOException {
+    final int c = read();
+    switch (c) {
+      case '"':
+      case '\\':
+      case '/':
+        return (char) c;
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      case 'u':
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+          final int digit = Character.digit(read(), 16);
+          if (digit < 0) {
+            throw error("invalid unicode escape");
+          }
+          value = (value << 4) | digit;
+        }
+        return (char) value;
+      default:
+        throw error("invalid escape sequence");
+    }
+  }
+
+  private String readNumber() throws IOException {
+    text.setLength(0);
+    int c = read();
+    while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+      text.append((char) c);
+      c = read();
+    }
+    unread(c);
+    return text.toString();
+  }
+
+  private String readLiteral() throws IOException {
+    text.setLength(0);
+    int c = read();
+    while (c >= 'a' && c <= 'z') {
+      text.append((char) c);
+      c = read();
+    }
+    unread(c);
+    final String literal = text.toString();
+    if (!"true".equals(literal) && !"false".equals(literal) && !"null".equals(literal)) {
+      throw error("invalid literal '" + literal + "'");
+    }
+    return literal;
+  }
+
+  private int nextNonWhitespace() throws IOException {
+    int c = read();
+    while (isWhitespace(c)) {
+      c = read();
+    }
+    if (c == -1) {
+      throw error("unexpected end of document");
+    }
+    return c;
+  }
+
+  private static boolean isWhitespace(final int c) {
+    return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+  }
+
+  private int read() throws IOException {
+    if (pos == limit) {
+      offset += limit;
+      pos = 0;
+      limit = Math.max(0, reader.read(buffer, 0, buffer.length));
+      if (limit == 0) {
+        return -1;
+      }
+    }
+    return buffer[pos++];
+  }
+
+  private void unread(final int c) {
+    if (c != -1) {
+      pos--;
+    }
+  }
+
+  private IllegalArgumentException error(final String message) {
+    return new IllegalArgumentException("Invalid JSON at offset " + (offset + pos) + ": " + message);
+  }
+}
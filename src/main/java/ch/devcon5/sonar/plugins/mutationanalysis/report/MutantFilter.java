@@ -0,0 +1,125 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.sonar.api.utils.WildcardPattern;
+
+/**
+ * Filter on the mutated class and source file of mutants that is evaluated by the report parsers before a mutant is
+ * built, so that mutants of excluded classes are skipped as early as possible.
+ * <p>
+ * The patterns are ant-style wildcard patterns, i.e. {@code **}{@code /generated/**}, that are matched against the
+ * mutated class as path (i.e. {@code com/example/Foo$Bar}) and the source file including its package path (i.e.
+ * {@code com/example/Foo.java}). Patterns without a {@code /} match the class or file name in any package.
+ */
+public final class MutantFilter {
+
+  private static final MutantFilter ACCEPT_ALL = new MutantFilter(new ArrayList<>(), new ArrayList<>());
+
+  private final List<WildcardPattern> inclusions;
+  private final List<WildcardPattern> exclusions;
+
+  private MutantFilter(final List<WildcardPattern> inclusions, final List<WildcardPattern> exclusions) {
+    this.inclusions = inclusions;
+    this.exclusions = exclusions;
+  }
+
+  /**
+   * @return a filter accepting every mutant
+   */
+  public static MutantFilter acceptAll() {
+    return ACCEPT_ALL;
+  }
+
+  /**
+   * Creates a new filter. Blank patterns are ignored.
+   *
+   * @param inclusions the patterns of which one must match, if there are any
+   * @param exclusions the patterns of which none must match
+   * @return a filter for the patterns
+   */
+  public static MutantFilter of(final Collection<String> inclusions, final Collection<String> exclusions) {
+    final List<WildcardPattern> included = toPatterns(inclusions);
+    final List<WildcardPattern> excluded = toPatterns(exclusions);
+    if (included.isEmpty() && excluded.isEmpty()) {
+      return ACCEPT_ALL;
+    }
+    return new MutantFilter(included, excluded);
+  }
+
+  private static List<WildcardPattern> toPatterns(final Collection<String> patterns) {
+    final List<WildcardPattern> result = new ArrayList<>();
+    for (final String pattern : patterns) {
+      final String trimmed = pattern.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      result.add(WildcardPattern.create(trimmed.indexOf('/') < 0 ? "**/" + trimmed : trimmed, "/"));
+    }
+    return result;
+  }
+
+  /**
+   * @return <code>true</code> if the filter accepts all mutants and needs not to be evaluated
+   */
+  public boolean isAcceptAll() {
+    return inclusions.isEmpty() && exclusions.isEmpty();
+  }
+
+  /**
+   * Determines whether mutants of the mutated class should be processed.
+   *
+   * @param mutatedClass the fully qualified name of the mutated class
+   * @param sourceFile the name of the source file, may be <code>null</code> if not known
+   * @return <code>true</code> if the mutant is included and not excluded
+   */
+  public boolean accepts(final String mutatedClass, final String sourceFile) {
+    if (isAcceptAll()) {
+      return true;
+    }
+    final String classPath = mutatedClass.replace('.', '/');
+    final String sourcePath = toSourcePath(classPath, sourceFile);
+    return (inclusions.isEmpty() || matchesAny(inclusions, classPath, sourcePath))
+        && !matchesAny(exclusions, classPath, sourcePath);
+  }
+
+  private static String toSourcePath(final String classPath, final String sourceFile) {
+    if (sourceFile == null) {
+      return null;
+    }
+    final int packageEnd = classPath.lastIndexOf('/');
+    return packageEnd < 0 ? sourceFile : classPath.substring(0, packageEnd + 1) + sourceFile;
+  }
+
+  private static boolean matchesAny(final List<WildcardPattern> patterns, final String classPath,
+      final String sourcePath) {
+    for (final WildcardPattern pattern : patterns) {
+      if (pattern.match(classPath) || (sourcePath != null && pattern.match(sourcePath))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
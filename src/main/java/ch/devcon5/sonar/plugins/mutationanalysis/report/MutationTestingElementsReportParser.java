@@ -0,0 +1,504 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperator;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parser for reports in the JSON schema of <a href="https://github.com/stryker-mutator/mutation-testing-elements">
+ * mutation-testing-elements</a>, which is written by Stryker and by the JSON report plugins of PIT. The report is read
+ * with a streaming tokenizer, each mutant is passed to the consumer as soon as it has been read, and the sources of the
+ * files embedded in the report are skipped without being stored, so reports of any size are parsed in constant
+ * memory.
+ * <br>
+ * <pre>
+ * {"schemaVersion": "1", "files": {"src/main/java/ch/example/Example.java": {"language": "java", "source": "...",
+ *   "mutants": [{"id": "1", "mutatorName": "NegateConditionalsMutator", "status": "Killed", "killedBy": ["3"],
+ *                "location": {"start": {"line": 12, "column": 9}, "end": {"line": 12, "column": 20}}}]}}}
+ * </pre>
+ * The schema does not describe the mutated class or method. The class is derived from the path of the file, relative
+ * to its source folder such as <code>src/main/java</code>, the method and its description are set to an empty
+ * string. The index of the mutant is the column of its location. The mutators are resolved by their id, class name or
+ * simple class name. The <code>killedBy</code> property holds the ids of the tests of the <code>testFiles</code>, which
+ * are usually located after the files in the report. So the report is read twice: the first pass only collects the
+ * names of the tests, the second one reads the mutants. The killing test is the first test of <code>killedBy</code>
+ * whose id is found in the <code>testFiles</code>, named in the format of PIT
+ * <code>ch.example.ExampleTest.testMethod(ch.example.ExampleTest)</code> with the class derived from the path of the
+ * test file. If no id is found, the killing test is left empty. Ignored and pending mutants are skipped.
+ */
+public class MutationTestingElementsReportParser {
+
+  /**
+   * SLF4J Logger for this class
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(MutationTestingElementsReportParser.class);
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * the source folders stripped from the paths of the files, in the order they are searched
+   */
+  private static final String[] SOURCE_FOLDERS = {
+      "/src/main/java/", "/src/main/kotlin/", "/src/test/java/", "/src/test/kotlin/", "/java/", "/kotlin/"};
+
+  private final MutantFilter filter;
+
+  /**
+   * the mutation operators by the mutator names of the report, so each name is only resolved once
+   */
+  private final Map<String, MutationOperator> operators = new HashMap<>();
+
+  /**
+   * Creates a parser that reads all mutants of a report.
+   */
+  public MutationTestingElementsReportParser() {
+    this(MutantFilter.acceptAll());
+  }
+
+  /**
+   * Creates a parser that only reads the mutants accepted by the filter. The mutants of rejected files are skipped
+   * without being read.
+   *
+   * @param filter
+   *         the filter for the mutated class and source file
+   */
+  public MutationTestingElementsReportParser(final MutantFilter filter) {
+    this.filter = filter;
+  }
+
+  /**
+   * Parses the contents of the report file into a list of {@link Mutant}s.
+   *
+   * @param report
+   *         the {@link Path} to the JSON report file to be parsed
+   *
+   * @return a {@link Collection} of {@link Mutant}s
+   *
+   * @throws IOException
+   *         if the report file could not be read
+   */
+  public Collection<Mutant> parseMutants(final Path report) throws IOException {
+    final Collection<Mutant> result = new ArrayList<>();
+    if (!parseMutants(report, result::add)) {
+      return Collections.emptyList();
+    }
+    return result;
+  }
+
+  /**
+   * Parses the contents of the report file and passes each {@link Mutant} to the consumer as soon as it has been read.
+   * Gzip compressed reports are decompressed while being read.
+   *
+   * @param report
+   *         the {@link Path} to the JSON report file to be parsed
+   * @param consumer
+   *         the consumer receiving the mutants in the order of the report
+   *
+   * @return <code>true</code> if the report was parsed completely, <code>false</code> if it does not exist or is no
+   * valid report. In the latter case the consumer may already have received some of the mutants
+   *
+   * @throws IOException
+   *         if the report file could not be read
+   */
+  public boolean parseMutants(final Path report, final Consumer<Mutant> consumer) throws IOException {
+    if (report == null || !Files.exists(report)) {
+      LOG.debug("No report {} found", report);
+      return false;
+    }
+    try {
+      final Map<String, String> testNames;
+      try (JsonTokenizer json = openReport(report)) {
+        testNames = readTestNames(json);
+      }
+      try (JsonTokenizer json = openReport(report)) {
+        readReport(json, testNames, consumer);
+      }
+      return true;
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Parsing report failed: {}", e.getMessage());
+      LOG.debug("Parsing error ", e);
+      return false;
+    }
+  }
+
+  private static JsonTokenizer openReport(final Path report) throws IOException {
+    return new JsonTokenizer(new BufferedReader(
+        new InputStreamReader(PitestReportParser.openReport(report), StandardCharsets.UTF_8), BUFFER_SIZE));
+  }
+
+  /**
+   * Reads the names of the tests of all test files of the report. All other properties of the report, including the
+   * files and their mutants, are skipped.
+   *
+   * @param json
+   *         the tokenizer positioned at the start of the report
+   *
+   * @return the names of the tests by their ids
+   *
+   * @throws IOException
+   *         if the report could not be read
+   * @throws IllegalArgumentException
+   *         if the report is no valid JSON document
+   */
+  Map<String, String> readTestNames(final JsonTokenizer json) throws IOException {
+    final Map<String, String> testNames = new HashMap<>();
+    json.beginObject();
+    while (json.hasNext()) {
+      if ("testFiles".equals(json.nextName())) {
+        json.beginObject();
+        while (json.hasNext()) {
+          readTestFile(json, toClassName(json.nextName()), testNames);
+        }
+        json.endObject();
+      } else {
+        json.skipValue();
+      }
+    }
+    json.endObject();
+    return testNames;
+  }
+
+  private void readTestFile(final JsonTokenizer json, final String testClass, final Map<String, String> testNames)
+      throws IOException {
+    json.beginObject();
+    while (json.hasNext()) {
+      if ("tests".equals(json.nextName())) {
+        json.beginArray();
+        while (json.hasNext()) {
+          readTest(json, testClass, testNames);
+        }
+        json.endArray();
+      } else {
+        json.skipValue();
+      }
+    }
+    json.endObject();
+  }
+
+  private void readTest(final JsonTokenizer json, final String testClass, final Map<String, String> testNames)
+      throws IOException {
+    String id = null;
+    String name = null;
+    json.beginObject();
+    while (json.hasNext()) {
+      switch (json.nextName()) {
+        case "id":
+          id = json.nextString();
+          break;
+        case "name":
+          name = json.nextString();
+          break;
+        default:
+          json.skipValue();
+      }
+    }
+    json.endObject();
+    if (id != null && name != null) {
+      testNames.put(id, toTestName(testClass, name));
+    }
+  }
+
+  /**
+   * Creates the name of a test in the format of PIT, i.e. <code>ch.example.ExampleTest.test(ch.example.ExampleTest)</code>
+   * from the free text name of the schema. Dots and dollars of the name are replaced, so the class of the test is
+   * derived from the name correctly.
+   *
+   * @param testClass
+   *         the class of the test, derived from the path of the test file, may be empty if the file is not known
+   * @param name
+   *         the name of the test, which may already be prefixed with the class
+   *
+   * @return the name of the test
+   */
+  static String toTestName(final String testClass, final String name) {
+    if (testClass.isEmpty()) {
+      return name;
+    }
+    final String method = name.startsWith(testClass + '.') ? name.substring(testClass.length() + 1) : name;
+    final int parameters = method.indexOf('(');
+    final String methodName = (parameters == -1 ? method : method.substring(0, parameters)).replace('.', '_')
+        .replace('$', '_');
+    return testClass + '.' + methodName + (parameters == -1 ? "(" + testClass + ")" : method.substring(parameters));
+  }
+
+  /**
+   * Reads the mutants of all files of the report.
+   *
+   * @param json
+   *         the tokenizer positioned at the start of the report
+   * @param testNames
+   *         the names of the tests of the report by their ids
+   * @param consumer
+   *         the consumer receiving the mutants
+   *
+   * @throws IOException
+   *         if the report could not be read
+   * @throws IllegalArgumentException
+   *         if the report is no valid JSON document
+   */
+  void readReport(final JsonTokenizer json, final Map<String, String> testNames, final Consumer<Mutant> consumer)
+      throws IOException {
+    json.beginObject();
+    while (json.hasNext()) {
+      if ("files".equals(json.nextName())) {
+        json.beginObject();
+        while (json.hasNext()) {
+          readFile(json, json.nextName(), testNames, consumer);
+        }
+        json.endObject();
+      } else {
+        json.skipValue();
+      }
+    }
+    json.endObject();
+  }
+
+  private void readFile(final JsonTokenizer json, final String path, final Map<String, String> testNames,
+      final Consumer<Mutant> consumer) throws IOException {
+    final String sourceFile = toSourceFile(path);
+    final String mutatedClass = toClassName(path);
+    if (!filter.accepts(mutatedClass, sourceFile)) {
+      json.skipValue();
+      return;
+    }
+    json.beginObject();
+    while (json.hasNext()) {
+      if ("mutants".equals(json.nextName())) {
+        json.beginArray();
+        while (json.hasNext()) {
+          final Mutant mutant = readMutant(json, sourceFile, mutatedClass, testNames);
+          if (mutant != null) {
+            LOG.debug("Found mutant {}", mutant);
+            consumer.accept(mutant);
+          }
+        }
+        json.endArray();
+      } else {
+        json.skipValue();
+      }
+    }
+    json.endObject();
+  }
+
+  /**
+   * Reads a single mutant.
+   *
+   * @return the mutant or <code>null</code> if the mutant has been ignored or was not tested
+   */
+  private Mutant readMutant(final JsonTokenizer json, final String sourceFile, final String mutatedClass,
+      final Map<String, String> testNames) throws IOException {
+    String mutatorName = null;
+    String status = null;
+    String description = null;
+    String killingTest = "";
+    final int[] location = new int[2];
+    int testsRun = 0;
+    json.beginObject();
+    while (json.hasNext()) {
+      switch (json.nextName()) {
+        case "mutatorName":
+          mutatorName = json.nextString();
+          break;
+        case "status":
+          status = json.nextString();
+          break;
+        case "description":
+          description = json.nextString();
+          break;
+        case "testsCompleted":
+          testsRun = json.nextInt();
+          break;
+        case "killedBy":
+          killingTest = readKillingTest(json, testNames);
+          break;
+        case "location":
+          readLocationStart(json, location);
+          break;
+        default:
+          json.skipValue();
+      }
+    }
+    json.endObject();
+
+    final Mutant.State state = toState(status);
+    if (state == null) {
+      return null;
+    }
+    if (mutatorName == null || location[0] <= 0) {
+      throw new IllegalArgumentException("Mutant in " + sourceFile + " without mutatorName or location");
+    }
+    final Mutant.Builder builder = Mutant.builder()
+        .inSourceFile(sourceFile)
+        .inClass(mutatedClass)
+        .usingMutator(toMutationOperator(mutatorName))
+        .inMethod("")
+        .withMethodParameters("")
+        .inLine(location[0])
+        .atIndex(location[1])
+        .numberOfTestsRun(testsRun)
+        .mutantStatus(state)
+        .killedBy(killingTest);
+    if (description != null) {
+      builder.withDescription(description);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Reads the ids of the killing tests and resolves the first id that is known.
+   *
+   * @return the name of the killing test or an empty string if none of the ids is known
+   */
+  private static String readKillingTest(final JsonTokenizer json, final Map<String, String> testNames)
+      throws IOException {
+    if (json.peek() != JsonTokenizer.Token.BEGIN_ARRAY) {
+      json.skipValue();
+      return "";
+    }
+    String killingTest = null;
+    json.beginArray();
+    while (json.hasNext()) {
+      if (killingTest == null) {
+        killingTest = testNames.get(json.nextString());
+      } else {
+        json.skipValue();
+      }
+    }
+    json.endArray();
+    return killingTest == null ? "" : killingTest;
+  }
+
+  /**
+   * Reads the line and column of the start of a location into the first two elements of the array.
+   */
+  private static void readLocationStart(final JsonTokenizer json, final int[] start) throws IOException {
+    json.beginObject();
+    while (json.hasNext()) {
+      if ("start".equals(json.nextName())) {
+        json.beginObject();
+        while (json.hasNext()) {
+          final String name = json.nextName();
+          if ("line".equals(name)) {
+            start[0] = json.nextInt();
+          } else if ("column".equals(name)) {
+            start[1] = json.nextInt();
+          } else {
+            json.skipValue();
+          }
+        }
+        json.endObject();
+      } else {
+        json.skipValue();
+      }
+    }
+    json.endObject();
+  }
+
+  /**
+   * Maps the status of the schema onto the state of a mutant.
+   *
+   * @return the state or <code>null</code> for ignored and pending mutants
+   */
+  static Mutant.State toState(final String status) {
+    if (status == null) {
+      return Mutant.State.UNKNOWN;
+    }
+    switch (status) {
+      case "Killed":
+        return Mutant.State.KILLED;
+      case "Survived":
+        return Mutant.State.SURVIVED;
+      case "NoCoverage":
+        return Mutant.State.NO_COVERAGE;
+      case "Timeout":
+        return Mutant.State.TIMED_OUT;
+      case "Ignored":
+      case "Pending":
+        return null;
+      default:
+        return Mutant.State.UNKNOWN;
+    }
+  }
+
+  private MutationOperator toMutationOperator(final String mutatorName) {
+    return operators.computeIfAbsent(mutatorName, name -> {
+      MutationOperator operator = MutationOperators.find(name);
+      if (operator == MutationOperators.UNKNOWN) {
+        final String simpleName = "." + name;
+        operator = MutationOperators.allMutationOperators()
+            .stream()
+            .filter(op -> op.getClassNames().stream().anyMatch(className -> className.endsWith(simpleName)))
+            .findFirst()
+            .orElse(MutationOperators.UNKNOWN);
+      }
+      if (operator == MutationOperators.UNKNOWN) {
+        LOG.warn("Found unknown mutation operator: {}", name);
+      }
+      return operator;
+    });
+  }
+
+  /**
+   * @return the name of the file without its path
+   */
+  static String toSourceFile(final String path) {
+    final String normalized = path.replace('\\', '/');
+    return normalized.substring(normalized.lastIndexOf('/') + 1);
+  }
+
+  /**
+   * Derives the fully qualified name of the class from the path of its source file, i.e.
+   * <code>src/main/java/ch/example/Example.java</code> is <code>ch.example.Example</code>
+   *
+   * @return the class name
+   */
+  static String toClassName(final String path) {
+    String name = "/" + path.replace('\\', '/');
+    final int extension = name.lastIndexOf('.');
+    if (extension > name.lastIndexOf('/')) {
+      name = name.substring(0, extension);
+    }
+    for (final String sourceFolder : SOURCE_FOLDERS) {
+      final int folder = name.lastIndexOf(sourceFolder);
+      if (folder != -1) {
+        return name.substring(folder + sourceFolder.length()).replace('/', '.');
+      }
+    }
+    return name.substring(1).replace('/', '.');
+  }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parser for the CSV reports of PIT. The CSV report is considerably smaller than the XML report and is read line by
+ * line. Each line describes a single mutant and has the format
+ * <br>
+ * <pre>
+ * sourceFile,mutatedClass,mutator,mutatedMethod,lineNumber,status,killingTest
+ * ResourceInjection.java,io.inkstand.scribble.inject.ResourceInjection,org.pitest.mutationtest.engine.gregor.mutators.ReturnValsMutator,authenticationType,164,KILLED,io.inkstand.scribble.inject.ResourceInjectionTest.testByMappedName_match(io.inkstand.scribble.inject.ResourceInjectionTest)
+ * </pre>
+ * The CSV report contains neither the method description, the mutator index, the description nor the number of tests
+ * run. The method description is set to an empty string, the numbers to 0.
+ */
+public class PitestCsvReportParser {
+
+  /**
+   * SLF4J Logger for this class
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(PitestCsvReportParser.class);
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private static final int FIELD_COUNT = 7;
+
+  private static final char SEPARATOR = ',';
+
+  /**
+   * The value PIT writes as killing test for mutants that have not been killed
+   */
+  private static final String NO_KILLING_TEST = "none";
+
+  private final MutantFilter filter;
+
+  /**
+   * Creates a parser that reads all mutants of a report.
+   */
+  public PitestCsvReportParser() {
+    this(MutantFilter.acceptAll());
+  }
+
+  /**
+   * Creates a parser that only reads the mutants accepted by the filter. Lines of rejected mutants are skipped before
+   * a mutant is built.
+   *
+   * @param filter
+   *         the filter for the mutated class and source file
+   */
+  public PitestCsvReportParser(final MutantFilter filter) {
+    this.filter = filter;
+  }
+
+  /**
+   * Parses the contents of the report file into a list of {@link Mutant}s. The report file must be a PIT CSV report.
+   *
+   * @param report
+   *         the {@link Path} to the PIT report file to be parsed
+   *
+   * @return a {@link Collection} of {@link Mutant}s
+   *
+   * @throws IOException
+   *         if the report file could not be read
+   */
+  public Collection<Mutant> parseMutants(final Path report) throws IOException {
+    final Collection<Mutant> result = new ArrayList<>();
+    if (!parseMutants(report, result::add)) {
+      return Collections.emptyList();
+    }
+    return result;
+  }
+
+  /**
+   * Parses the contents of the report file and passes each {@link Mutant} to the consumer as soon as its line has been
+   * read. Gzip compressed reports are decompressed while being read.
+   *
+   * @param report
+   *         the {@link Path} to the PIT report file to be parsed
+   * @param consumer
+   *         the consumer receiving the mutants in the order of the report
+   *
+   * @return <code>true</code> if the report was parsed completely, <code>false</code> if it does not exist or contains
+   * an invalid line. In the latter case the consumer may already have received some of the mutants
+   *
+   * @throws IOException
+   *         if the report file could not be read
+   */
+  public boolean parseMutants(final Path report, final Consumer<Mutant> consumer) throws IOException {
+    if (report == null || !Files.exists(report)) {
+      LOG.debug("No report {} found", report);
+      return false;
+    }
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(PitestReportParser.openReport(report), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+      readMutants(reader, consumer);
+      return true;
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Parsing report failed: {}", e.getMessage());
+      LOG.debug("Parsing error ", e);
+      return false;
+    }
+  }
+
+  /**
+   * Reads the mutants line by line from the reader. Empty lines are skipped.
+   *
+   * @param reader
+   *         the reader providing the csv data
+   * @param consumer
+   *         the consumer receiving the mutants
+   *
+   * @throws IOException
+   *         if the data could not be read
+   * @throws IllegalArgumentException
+   *         if a line is no valid mutant. The message contains the line number
+   */
+  void readMutants(final BufferedReader reader, final Consumer<Mutant> consumer) throws IOException {
+    final String[] fields = new String[FIELD_COUNT];
+    int lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isEmpty()) {
+        continue;
+      }
+      try {
+        split(line, fields);
+        if (!filter.accepts(fields[1], fields[0])) {
+          continue;
+        }
+        final Mutant mutant = toMutant(fields);
+        LOG.debug("Found mutant {}", mutant);
+        consumer.accept(mutant);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Invalid mutant in line " + lineNumber + ": " + e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Splits the line into the fields of a mutant. As the killing test is the last field and may contain separators
+   * itself (i.e. names of parameterized tests), the remainder of the line after the 6th separator is the killing
+   * test.
+   *
+   * @param line
+   *         the line to split
+   * @param fields
+   *         the array receiving the fields, its length determines the number of fields
+   */
+  private static void split(final String line, final String[] fields) {
+    int start = 0;
+    final int last = fields.length - 1;
+    for (int i = 0; i < last; i++) {
+      final int end = line.indexOf(SEPARATOR, start);
+      if (end < 0) {
+        throw new IllegalArgumentException("expected " + fields.length + " fields");
+      }
+      fields[i] = line.substring(start, end);
+      start = end + 1;
+    }
+    fields[last] = line.substring(start);
+  }
+
+  private static Mutant toMutant(final String[] fields) {
+    return Mutant.builder()
+        .inSourceFile(fields[0])
+        .inClass(fields[1])
+        .usingMutator(fields[2])
+        .inMethod(fields[3])
+        .withMethodParameters("")
+        .inLine(Integer.parseInt(fields[4]))
+        .mutantStatus(fields[5])
+        .killedBy(NO_KILLING_TEST.equals(fields[6]) ? "" : fields[6])
+        .build();
+  }
+
+}
@@ -26,15 +26,28 @@ import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.TestDictionary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,6 +83,10 @@ public class PitestReportParser {
 
    private static final String ELEMENT_KILLING_TEST = "killingTest";
 
+   private static final String ELEMENT_KILLING_TESTS = "killingTests";
+
+   private static final String ELEMENT_SUCCEEDING_TESTS = "succeedingTests";
+
    private static final String ELEMENT_DESCRIPTION = "description";
 
    private static final String ELEMENT_INDEX = "index";
@@ -90,6 +107,66 @@ public class PitestReportParser {
 
    private static final String NAMESPACE_URI = null;
 
+   private final MutantFilter filter;
+
+   /**
+    * Dictionary for the tests of the full mutation matrix, shared by all mutants read by this parser
+    */
+   private final TestDictionary testDictionary = new TestDictionary();
+
+   /**
+    * Suffix of gzip compressed reports, i.e. mutations.xml.gz
+    */
+   static final String GZIP_SUFFIX = ".gz";
+
+   /**
+    * Size of the buffers used for reading compressed reports. Compressed reports are usually large, so a large buffer
+    * reduces the number of reads and inflater invocations
+    */
+   private static final int GZIP_BUFFER_SIZE = 1 << 16;
+
+   /**
+    * Size of the ISIZE field at the end of a gzip file, holding the uncompressed size modulo 2^32
+    */
+   private static final int GZIP_ISIZE_BYTES = 4;
+
+   /**
+    * Root element enclosing the mutation elements of a range of the report
+    */
+   private static final byte[] FRAGMENT_START = "<mutations>".getBytes(StandardCharsets.UTF_8);
+
+   private static final byte[] FRAGMENT_END = "</mutations>".getBytes(StandardCharsets.UTF_8);
+
+   /**
+    * Maximum size of a single memory-mapped chunk of the report. A buffer can't map more than 2 GB, so larger ranges
+    * are mapped in several chunks
+    */
+   static final long MAX_MAPPED_CHUNK = 1L << 30;
+
+   /**
+    * The factory for the xml readers. It is looked up once, as the ranged parser reads each indexed range with a reader
+    * of its own. The factory is not modified after its configuration, so readers may be created concurrently.
+    */
+   private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+   /**
+    * Creates a parser that reads all mutants of a report.
+    */
+   public PitestReportParser() {
+      this(MutantFilter.acceptAll());
+   }
+
+   /**
+    * Creates a parser that only reads the mutants accepted by the filter. The filter is evaluated as soon as the
+    * mutated class of a mutant has been read, the remainder of rejected mutants is skipped.
+    *
+    * @param filter
+    *         the filter for the mutated class and source file
+    */
+   public PitestReportParser(final MutantFilter filter) {
+      this.filter = filter;
+   }
+
    /**
     * Parses the contents of the report file into a list of {@link ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant}s. The report file must be a PIT report.
     *
@@ -102,19 +179,192 @@ public class PitestReportParser {
     *         if the report file could not be read
     */
    public Collection<Mutant> parseMutants(final Path report) throws IOException {
-      Collection<Mutant> result;
+      final Collection<Mutant> result = new ArrayList<>();
+      if (!parseMutants(report, result::add)) {
+         return Collections.emptyList();
+      }
+      return result;
+   }
+
+   /**
+    * Parses the contents of the report file and passes each {@link Mutant} to the consumer as soon as it has been
+    * read, without collecting the mutants in memory. The report file must be a PIT report.
+    *
+    * @param report
+    *         the {@link Path} to the PIT report file to be parsed
+    * @param consumer
+    *         the consumer receiving the mutants in the order of the report
+    *
+    * @return <code>true</code> if the report was parsed completely, <code>false</code> if it does not exist or parsing failed. In the latter case the
+    * consumer may already have received some of the mutants
+    *
+    * @throws IOException
+    *         if the report file could not be read
+    */
+   public boolean parseMutants(final Path report, final Consumer<Mutant> consumer) throws IOException {
       if (report == null || !Files.exists(report)) {
          LOG.debug("No report {} found", report);
-         return Collections.emptyList();
+         return false;
       }
-      try (InputStream stream = Files.newInputStream(report)) {
-         result = readMutants(stream);
+      try (InputStream stream = openReport(report)) {
+         readMutants(stream, consumer);
+         return true;
       } catch (XMLStreamException e) {
          LOG.warn("Parsing report failed: {}", e.getMessage());
          LOG.debug("Parsing error ", e);
-         result = Collections.emptyList();
+         return false;
+      }
+   }
+
+   /**
+    * Parses only the mutants of the requested classes and their nested classes. For uncompressed reports, the byte
+    * ranges of the classes are looked up in the {@link ReportIndex} of the report, which is built on the first call,
+    * and only these ranges are parsed from the memory-mapped report, so the effort is proportional to the number of
+    * requested mutants rather than to the size of the report. Compressed reports don't allow random access and are
+    * parsed entirely.
+    *
+    * @param report
+    *         the {@link Path} to the PIT report file to be parsed
+    * @param classNames
+    *         the fully qualified names of the top-level classes whose mutants should be parsed
+    * @param consumer
+    *         the consumer receiving the mutants in the order of the report
+    *
+    * @return <code>true</code> if the report was parsed completely, <code>false</code> if it does not exist or parsing failed. In the latter case the
+    * consumer may already have received some of the mutants
+    *
+    * @throws IOException
+    *         if the report file could not be read
+    */
+   public boolean parseMutants(final Path report, final Collection<String> classNames, final Consumer<Mutant> consumer) throws IOException {
+      if (report == null || !Files.exists(report)) {
+         LOG.debug("No report {} found", report);
+         return false;
+      }
+      if (isCompressed(report)) {
+         return parseMutants(report, mutant -> {
+            if (isRequested(classNames, mutant.getMutatedClass())) {
+               consumer.accept(mutant);
+            }
+         });
+      }
+      final List<long[]> ranges = ReportIndex.load(report).select(entry -> isRequested(classNames, entry.getMutatedClass()));
+      LOG.debug("Parsing {} ranges of report {} for {} classes", ranges.size(), report, classNames.size());
+      try (FileChannel channel = FileChannel.open(report, StandardOpenOption.READ)) {
+         for (final long[] range : ranges) {
+            readMutants(openRange(channel, range[0], range[1], MAX_MAPPED_CHUNK), consumer);
+         }
+         return true;
+      } catch (XMLStreamException e) {
+         LOG.warn("Parsing report failed: {}", e.getMessage());
+         LOG.debug("Parsing error ", e);
+         return false;
+      }
+   }
+
+   /**
+    * Opens a range of the report as a stream of mutation elements enclosed by a root element, so that the range can be
+    * read as a valid document. The range is memory-mapped in chunks of the given size, which don't need to be aligned
+    * with the mutation elements.
+    *
+    * @param channel
+    *         the channel of the uncompressed report
+    * @param start
+    *         the offset of the first byte of the range
+    * @param end
+    *         the offset after the last byte of the range
+    * @param chunkSize
+    *         the maximum number of bytes mapped by a single buffer
+    *
+    * @return the stream of the range
+    *
+    * @throws IOException
+    *         if the range could not be mapped
+    */
+   static InputStream openRange(final FileChannel channel, final long start, final long end, final long chunkSize) throws IOException {
+      final List<InputStream> streams = new ArrayList<>();
+      streams.add(new ByteArrayInputStream(FRAGMENT_START));
+      for (long position = start; position < end; position += chunkSize) {
+         final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, end - position));
+         streams.add(new ByteBufferInputStream(buffer));
+      }
+      streams.add(new ByteArrayInputStream(FRAGMENT_END));
+      return new SequenceInputStream(Collections.enumeration(streams));
+   }
+
+   private static boolean isRequested(final Collection<String> classNames, final String mutatedClass) {
+      final int nested = mutatedClass.indexOf('$');
+      return classNames.contains(nested == -1 ? mutatedClass : mutatedClass.substring(0, nested));
+   }
+
+   private static boolean isCompressed(final Path report) {
+      final Path filename = report.getFileName();
+      return filename != null && filename.toString().endsWith(GZIP_SUFFIX);
+   }
+
+   /**
+    * Determines the size of the report data. For compressed reports the uncompressed size is read from the ISIZE field
+    * of the gzip trailer, so the size of a compressed report can be compared with the size of a plain report. As ISIZE
+    * is the size modulo 2^32, reports that are larger than 4 GB uncompressed are estimated by the smallest matching size
+    * that is not below the compressed size.
+    *
+    * @param report
+    *         the path to the report file
+    *
+    * @return the size of the (uncompressed) report data in bytes
+    *
+    * @throws IOException
+    *         if the size of the report could not be determined
+    */
+   public static long getUncompressedSize(final Path report) throws IOException {
+      final long size = Files.size(report);
+      if (!isCompressed(report) || size < GZIP_ISIZE_BYTES) {
+         return size;
+      }
+      final ByteBuffer trailer = ByteBuffer.allocate(GZIP_ISIZE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      try (FileChannel channel = FileChannel.open(report, StandardOpenOption.READ)) {
+         while (trailer.hasRemaining()
+               && channel.read(trailer, size - GZIP_ISIZE_BYTES + trailer.position()) >= 0) {
+            // read until the trailer is complete
+         }
+      }
+      trailer.flip();
+      long uncompressedSize = trailer.getInt() & 0xFFFFFFFFL;
+      while (uncompressedSize < size) {
+         uncompressedSize += 1L << 32;
+      }
+      return uncompressedSize;
+   }
+
+   /**
+    * Opens the report for reading. Reports with a {@code .gz} suffix are decompressed while being read, so that
+    * compressed reports don't have to be extracted to disk before the analysis.
+    *
+    * @param report
+    *         the path to the report file
+    *
+    * @return an input stream of the (uncompressed) report data
+    *
+    * @throws IOException
+    *         if the report could not be opened or is no valid gzip file
+    */
+   static InputStream openReport(final Path report) throws IOException {
+      final InputStream raw = Files.newInputStream(report);
+      if (!isCompressed(report)) {
+         return raw;
+      }
+      LOG.debug("Decompressing report {}", report);
+      try {
+         return new BufferedInputStream(new GZIPInputStream(raw, GZIP_BUFFER_SIZE), GZIP_BUFFER_SIZE);
+      } catch (IOException | RuntimeException e) {
+         // the gzip header is read on construction, the raw stream has no owner yet if that fails
+         try {
+            raw.close();
+         } catch (IOException suppressed) {
+            e.addSuppressed(suppressed);
+         }
+         throw e;
       }
-      return result;
    }
 
    /**
@@ -127,37 +377,57 @@ public class PitestReportParser {
     * @throws XMLStreamException
     */
    Collection<Mutant> readMutants(final InputStream stream) throws XMLStreamException {
-      final XMLInputFactory inf = XMLInputFactory.newInstance();
-      inf.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
-      final XMLStreamReader reader = inf.createXMLStreamReader(stream);
+      final Collection<Mutant> result = new ArrayList<>();
+      readMutants(stream, result::add);
+      return result;
+   }
+
+   /**
+    * Reads mutants from the input stream which is assumed to be a stream of xml data and passes each mutant to the consumer.
+    * @param stream
+    *  the input stream containing the xml data
+    * @param consumer
+    *  the consumer receiving the mutants parsed from the stream
+    * @throws XMLStreamException
+    */
+   void readMutants(final InputStream stream, final Consumer<Mutant> consumer) throws XMLStreamException {
+      final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(stream);
       try {
-         return readMutants(reader);
+         readMutants(reader, consumer);
       } catch (IllegalArgumentException e){
          throw new XMLStreamException(e.getMessage(), reader.getLocation(),e);
       }
    }
 
+   private static XMLInputFactory createXmlInputFactory() {
+      final XMLInputFactory inf = XMLInputFactory.newInstance();
+      inf.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+      return inf;
+   }
+
    /**
     * Reads the Mutants from the XML Stream. The method reads the stream for occurrences of &lt;mutation&gt; elements
     * and then parses the element's contents into a {@link Mutant} instance.
     *
     * @param reader
     *         the XMLStream to read
-    *
-    * @return a {@link Collection} of {@link Mutant}s found on the stream
+    * @param consumer
+    *         the consumer receiving the {@link Mutant}s found on the stream
     *
     * @throws XMLStreamException
     */
-   private Collection<Mutant> readMutants(final XMLStreamReader reader) throws XMLStreamException {
-      final Collection<Mutant> result = new ArrayList<>();
+   private void readMutants(final XMLStreamReader reader, final Consumer<Mutant> consumer) throws XMLStreamException {
       int event;
+      int skipped = 0;
       while (reader.hasNext()) {
          event = reader.next();
-         if (event == START_ELEMENT) {
-            startElement(reader, result);
+         if (event == START_ELEMENT && !startElement(reader, consumer)) {
+            skipped++;
          }
       }
-      return result;
+      if (skipped > 0) {
+         LOG.debug("Skipped {} mutants of excluded classes", skipped);
+      }
    }
 
    /**
@@ -165,18 +435,24 @@ public class PitestReportParser {
     *
     * @param reader
     *         the reader whose cursor is at the new element's position
-    * @param result
-    *         the collection of mutants. if the new element declares a mutant, a new mutant will be added to the
-    *         collection
+    * @param consumer
+    *         the consumer of mutants. if the new element declares a mutant, the new mutant will be passed to the
+    *         consumer
+    *
+    * @return <code>false</code> if the element declared a mutant that was skipped because of the filter
     *
     * @throws XMLStreamException
     */
-   private void startElement(final XMLStreamReader reader, final Collection<Mutant> result) throws XMLStreamException {
+   private boolean startElement(final XMLStreamReader reader, final Consumer<Mutant> consumer) throws XMLStreamException {
       if (ELEMENT_MUTATION.equals(reader.getLocalName())) {
          final Mutant mutant = parseMutant(reader);
+         if (mutant == null) {
+            return false;
+         }
          LOG.debug("Found mutant {}", mutant);
-         result.add(mutant);
+         consumer.accept(mutant);
       }
+      return true;
    }
 
    /**
@@ -184,7 +460,7 @@ public class PitestReportParser {
     *
     * @param reader
     *
-    * @return
+    * @return the parsed mutant or <code>null</code> if the mutated class is not accepted by the filter
     *
     * @throws XMLStreamException
     */
@@ -192,10 +468,24 @@ public class PitestReportParser {
       final Mutant.Builder builder = Mutant.builder()
                                            .mutantStatus(getMutantStatus(reader))
                                            .numberOfTestsRun(getNumberOfTestsRun(reader));
+      String sourceFile = null;
       while (true) {
          int event = reader.next();
          if (event == START_ELEMENT) {
-            buildMutant(reader, builder);
+            final String element = reader.getLocalName();
+            if (ELEMENT_SOURCE_FILE.equals(element)) {
+               sourceFile = reader.getElementText();
+               builder.inSourceFile(sourceFile);
+            } else if (ELEMENT_MUTATED_CLASS.equals(element)) {
+               final String mutatedClass = reader.getElementText();
+               if (!filter.accepts(mutatedClass, sourceFile)) {
+                  skipMutation(reader);
+                  return null;
+               }
+               builder.inClass(mutatedClass);
+            } else {
+               buildMutant(reader, builder);
+            }
          } else if (event == END_ELEMENT && ELEMENT_MUTATION.equals(reader.getLocalName())) {
             break;
          }
@@ -203,6 +493,22 @@ public class PitestReportParser {
       return builder.build();
    }
 
+   /**
+    * Advances the reader to the end of the current <code>&lt;mutation&gt;</code> element without evaluating its
+    * remaining contents.
+    *
+    * @param reader
+    *         the reader whose cursor is inside a <code>&lt;mutation&gt;</code> element
+    *
+    * @throws XMLStreamException
+    */
+   private void skipMutation(final XMLStreamReader reader) throws XMLStreamException {
+      int event;
+      do {
+         event = reader.next();
+      } while (event != END_ELEMENT || !ELEMENT_MUTATION.equals(reader.getLocalName()));
+   }
+
    /**
     * Builds the {@link Mutant} by calling the builder methods of the builder on occurrence of the according mutant
     * elements
@@ -216,12 +522,6 @@ public class PitestReportParser {
     */
    private void buildMutant(final XMLStreamReader reader, final Mutant.Builder builder) throws XMLStreamException {
       switch (reader.getLocalName()) {
-         case ELEMENT_SOURCE_FILE:
-            builder.inSourceFile(reader.getElementText());
-            break;
-         case ELEMENT_MUTATED_CLASS:
-            builder.inClass(reader.getElementText());
-            break;
          case ELEMENT_MUTATED_METHOD:
             builder.inMethod(reader.getElementText());
             break;
@@ -240,6 +540,12 @@ public class PitestReportParser {
          case ELEMENT_KILLING_TEST:
             builder.killedBy(reader.getElementText());
             break;
+         case ELEMENT_KILLING_TESTS:
+            builder.killedByTests(testDictionary, reader.getElementText());
+            break;
+         case ELEMENT_SUCCEEDING_TESTS:
+            builder.succeededTests(testDictionary, reader.getElementText());
+            break;
          case ELEMENT_DESCRIPTION:
             builder.withDescription(reader.getElementText());
             break;
@@ -276,4 +582,31 @@ public class PitestReportParser {
       return 0;
    }
 
+   /**
+    * Input stream reading the remaining bytes of a byte buffer, i.e. a memory-mapped range of the report.
+    */
+   private static final class ByteBufferInputStream extends InputStream {
+
+      private final ByteBuffer buffer;
+
+      ByteBufferInputStream(final ByteBuffer buffer) {
+         this.buffer = buffer;
+      }
+
+      @Override
+      public int read() {
+         return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+      }
+
+      @Override
+      public int read(final byte[] bytes, final int offset, final int length) {
+         if (!buffer.hasRemaining()) {
+            return -1;
+         }
+         final int count = Math.min(length, buffer.remaining());
+         buffer.get(bytes, offset, count);
+         return count;
+      }
+   }
+
 }
@@ -21,32 +21,109 @@
 package ch.devcon5.sonar.plugins.mutationanalysis.report;
 
 import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Searches the latest xml file in the reports directory.
+ * Searches the latest report file in the reports directory. Reports of the preferred {@link ReportFormat} are searched
+ * first, if there are none, the other formats are searched. Gzip compressed reports are considered as well.
+ * <p>
+ * Reports with the name written by PIT (i.e. {@code mutations.xml}) are preferred over other files of the same format,
+ * such as the {@code linecoverage.xml}. The search descends at most {@link #DEFAULT_MAX_DEPTH} directories and skips
+ * the asset directories of html reports and the package directories of PIT's html report. The modification times are taken from the attributes read
+ * during the search. The report found for a directory is cached, so each directory is only searched once per
+ * finder.
  */
 public class ReportFinder {
 
+  /**
+   * The default number of directory levels below the report directory that are searched.
+   */
+  public static final int DEFAULT_MAX_DEPTH = 8;
+
   /**
    * SLF4J Logger for this class
    */
   private static final Logger LOG = LoggerFactory.getLogger(ReportFinder.class);
 
   /**
-   * Finds the PIT report in the given report directory.
+   * Names of directories containing assets of html reports, which never contain reports
+   */
+  private static final Set<String> ASSET_DIRECTORIES = Collections.unmodifiableSet(new HashSet<>(
+      Arrays.asList("css", "js", "images", "img", "fonts", "assets", "META-INF")));
+
+  /**
+   * Name of the index page of the package directories of PIT's html report
+   */
+  private static final String HTML_INDEX = "index.html";
+
+  /**
+   * Pattern of the annotated sources in the package directories of PIT's html report
+   */
+  private static final String HTML_SOURCES = "*.{java,kt}.html";
+
+  private final ReportFormat preferredFormat;
+
+  private final int maxDepth;
+
+  private final Map<Path, Optional<Path>> reports = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a report finder preferring xml reports.
+   */
+  public ReportFinder() {
+    this(ReportFormat.XML);
+  }
+
+  /**
+   * Creates a report finder preferring the given format.
+   *
+   * @param preferredFormat
+   *         the format to search first
+   */
+  public ReportFinder(final ReportFormat preferredFormat) {
+    this(preferredFormat, DEFAULT_MAX_DEPTH);
+  }
+
+  /**
+   * Creates a report finder preferring the given format that searches the given number of directory levels.
+   *
+   * @param preferredFormat
+   *         the format to search first
+   * @param maxDepth
+   *         the maximum number of directory levels below the report directory to search
+   */
+  public ReportFinder(final ReportFormat preferredFormat, final int maxDepth) {
+    this.preferredFormat = preferredFormat;
+    this.maxDepth = maxDepth;
+  }
+
+  /**
+   * Finds the PIT report in the given report directory. The result is cached, subsequent calls for the same directory
+   * return the same report without searching the directory again.
    *
    * @param reportDirectory
    *         the report directory to search for the report. The report directory must not be <code>null</code>, must
@@ -62,7 +139,26 @@ public class ReportFinder {
       LOG.warn("ReportDirectory {} is not a valid directory", reportDirectory);
       return null;
     }
-    return findMostRecentReport(reportDirectory, "*.xml");
+    final Path key = reportDirectory.toAbsolutePath().normalize();
+    final Optional<Path> cached = reports.get(key);
+    if (cached != null) {
+      return cached.orElse(null);
+    }
+    Path report = findMostRecentReport(reportDirectory, preferredFormat);
+    for (final ReportFormat format : ReportFormat.values()) {
+      if (report != null) {
+        break;
+      }
+      if (format != preferredFormat) {
+        report = findMostRecentReport(reportDirectory, format);
+      }
+    }
+    reports.put(key, Optional.ofNullable(report));
+    return report;
+  }
+
+  private Path findMostRecentReport(final Path reportDirectory, final ReportFormat format) throws IOException {
+    return findMostRecentReport(reportDirectory, new ReportFinderVisitor(format.getPattern(), format.getReportName()));
   }
 
   /**
@@ -79,60 +175,115 @@ public class ReportFinder {
    * @throws java.io.IOException if the report or the directory of the report can not be accessed
    */
   protected Path findMostRecentReport(final Path reportDirectory, final String pattern) throws IOException {
-    Path mostRecent = null;
-    ReportFinderVisitor reportFinderVisitor = new ReportFinderVisitor(pattern);
-    Files.walkFileTree(reportDirectory, reportFinderVisitor);
-    for (final Path report : reportFinderVisitor.getReports()) {
-      if (mostRecent == null || isNewer(mostRecent, report)) {
-        mostRecent = report;
-      }
-    }
-    return mostRecent;
+    return findMostRecentReport(reportDirectory, new ReportFinderVisitor(pattern));
   }
 
-  /**
-   * Determines if the otherPath is newer than the referencePath.
-   *
-   * @param referencePath
-   *         the path to compare the other path against
-   * @param otherPath
-   *         the other path to be compared against the reference path
-   *
-   * @return <code>true</code> if the otherPath is newer than the referencePath
-   *
-   * @throws IOException if the last modification time can not be determined
-   */
-  protected boolean isNewer(final Path referencePath, final Path otherPath) throws IOException {
-    return Files.getLastModifiedTime(referencePath).compareTo(Files.getLastModifiedTime(otherPath)) < 0;
+  private Path findMostRecentReport(final Path reportDirectory, final ReportFinderVisitor visitor) throws IOException {
+    Files.walkFileTree(reportDirectory, EnumSet.noneOf(FileVisitOption.class), maxDepth, visitor);
+    LOG.debug("Found {} reports in {}, most recent {}", visitor.getReports().size(), reportDirectory,
+        visitor.getMostRecent());
+    return visitor.getMostRecent();
   }
 
   /**
-   * Recursive search report xml
+   * Recursive search report xml. The visitor keeps track of the most recent report while visiting the files, using
+   * the modification time of the attributes read by the walk. Reports with the name written by PIT are preferred over
+   * other files matching the pattern.
    */
   static class ReportFinderVisitor extends SimpleFileVisitor<Path> {
 
     private final PathMatcher matcher;
 
+    private final String reportName;
+
     private final List<Path> reports = new ArrayList<>();
 
+    private Path root;
+
+    private Path mostRecent;
+
+    private FileTime mostRecentTime;
+
+    private boolean mostRecentNamed;
+
     public List<Path> getReports() {
       return reports;
     }
 
+    /**
+     * @return the most recent report, preferring reports with the name written by PIT, or <code>null</code> if no file
+     *     matched the pattern
+     */
+    public Path getMostRecent() {
+      return mostRecent;
+    }
+
     ReportFinderVisitor(String pattern) {
+      this(pattern, null);
+    }
+
+    ReportFinderVisitor(String pattern, String reportName) {
       matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+      this.reportName = reportName;
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+      if (root == null) {
+        root = dir;
+        return FileVisitResult.CONTINUE;
+      }
+      final Path name = dir.getFileName();
+      return name != null && isPruned(dir, name.toString()) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
     }
 
     @Override
     public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
       requireNonNull(file, "file must not be null");
       final Path filename = file.getFileName();
-      if (Objects.nonNull(filename) && matcher.matches(filename)) {
+      if (Objects.nonNull(filename) && (attrs == null || !attrs.isDirectory()) && matcher.matches(filename)) {
         reports.add(file);
+        offer(file, filename.toString(), attrs == null ? FileTime.fromMillis(0L) : attrs.lastModifiedTime());
       }
       return FileVisitResult.CONTINUE;
     }
 
+    private void offer(final Path file, final String filename, final FileTime lastModified) {
+      final boolean named = reportName != null
+          && (filename.equals(reportName) || filename.equals(reportName + PitestReportParser.GZIP_SUFFIX));
+      if (mostRecent == null
+          || (named && !mostRecentNamed)
+          || (named == mostRecentNamed && lastModified.compareTo(mostRecentTime) > 0)) {
+        mostRecent = file;
+        mostRecentTime = lastModified;
+        mostRecentNamed = named;
+      }
+    }
+
+    /**
+     * Directories of html assets and the package directories of PIT's html report are not searched. Other directories
+     * are searched regardless of their name, i.e. <code>pit-1.15</code>.
+     */
+    private static boolean isPruned(final Path dir, final String directoryName) {
+      return ASSET_DIRECTORIES.contains(directoryName) || isHtmlPackageDirectory(dir);
+    }
+
+    /**
+     * Checks if the directory is a package directory of PIT's html report, which contains an <code>index.html</code>
+     * next to the annotated sources, i.e. <code>Example.java.html</code>.
+     */
+    private static boolean isHtmlPackageDirectory(final Path dir) {
+      if (!Files.isRegularFile(dir.resolve(HTML_INDEX))) {
+        return false;
+      }
+      try (DirectoryStream<Path> sources = Files.newDirectoryStream(dir, HTML_SOURCES)) {
+        return sources.iterator().hasNext();
+      } catch (IOException | DirectoryIteratorException e) {
+        LOG.debug("Could not list directory {}", dir, e);
+        return false;
+      }
+    }
+
     private static <T> void requireNonNull(T obj, String message) {
       if (obj == null) {
         throw new IllegalArgumentException(message);
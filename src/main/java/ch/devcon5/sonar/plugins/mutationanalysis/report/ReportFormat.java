@@ -0,0 +1,113 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * The formats of PIT reports supported by the plugin. Each format may be gzip compressed.
+ */
+public enum ReportFormat {
+
+  /**
+   * The default mutations.xml report
+   */
+  XML("*.{xml,xml.gz}", ".xml"),
+  /**
+   * The mutations.csv report, written by PIT with outputFormats=CSV
+   */
+  CSV("*.{csv,csv.gz}", ".csv"),
+  /**
+   * A report in the JSON schema of mutation-testing-elements, i.e. written by the JSON report plugins of PIT
+   */
+  JSON("*.{json,json.gz}", ".json");
+
+  /**
+   * the base name of the reports written by PIT
+   */
+  private static final String REPORT_BASE_NAME = "mutations";
+
+  private final String pattern;
+  private final String extension;
+
+  ReportFormat(final String pattern, final String extension) {
+    this.pattern = pattern;
+    this.extension = extension;
+  }
+
+  /**
+   * @return the name of the (uncompressed) report files of this format written by PIT, i.e. {@code mutations.xml}
+   */
+  public String getReportName() {
+    return REPORT_BASE_NAME + extension;
+  }
+
+  /**
+   * @return the globbing pattern matching the (compressed) report files of this format
+   */
+  public String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Parses the String to a format. The comparison is case-insensitive.
+   *
+   * @param name the name of the format, i.e. "csv"
+   * @param defaultValue the format to use if the name is <code>null</code> or no valid format
+   * @return the matching format or the default value
+   */
+  public static ReportFormat parse(final String name, final ReportFormat defaultValue) {
+    if (name != null) {
+      final String normalized = name.trim().toUpperCase(Locale.ENGLISH);
+      for (final ReportFormat format : values()) {
+        if (format.name().equals(normalized)) {
+          return format;
+        }
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Determines the format of a report by its file name. A trailing {@code .gz} suffix is ignored. Files with an unknown
+   * extension are considered to be xml reports.
+   *
+   * @param report the path to the report
+   * @return the format of the report
+   */
+  public static ReportFormat of(final Path report) {
+    final Path filename = report.getFileName();
+    if (filename != null) {
+      String name = filename.toString().toLowerCase(Locale.ENGLISH);
+      if (name.endsWith(PitestReportParser.GZIP_SUFFIX)) {
+        name = name.substring(0, name.length() - PitestReportParser.GZIP_SUFFIX.length());
+      }
+      for (final ReportFormat format : values()) {
+        if (name.endsWith(format.extension)) {
+          return format;
+        }
+      }
+    }
+    return XML;
+  }
+
+}
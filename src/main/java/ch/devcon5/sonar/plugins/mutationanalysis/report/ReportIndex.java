@@ -0,0 +1,412 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the byte ranges of the mutants in an uncompressed PIT xml report. As PIT writes the mutants grouped by
+ * class, each run of consecutive mutants of the same class and source file is a single entry of the index, so that
+ * the mutants of a few classes can be parsed without reading the entire report.
+ * <p>
+ * The index is stored as sidecar file next to the report, i.e. <code>mutations.xml.idx</code>, and is rebuilt if the
+ * size or modification time of the report changed.
+ */
+public final class ReportIndex {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ReportIndex.class);
+
+  /**
+   * Suffix of the sidecar file of the index
+   */
+  static final String INDEX_SUFFIX = ".idx";
+
+  private static final String VERSION = "v1";
+
+  /**
+   * Number of the tab separated fields of an entry in the sidecar file
+   */
+  private static final int FIELD_COUNT = 4;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Maximum length of the tag names that are of interest for the index
+   */
+  private static final int MAX_TAG_NAME = 16;
+
+  private final List<Entry> entries;
+
+  private ReportIndex(final List<Entry> entries) {
+    this.entries = entries;
+  }
+
+  /**
+   * Loads the index of the report from its sidecar file. If there is no sidecar file or it is outdated, the index is
+   * built from the report and written to the sidecar file.
+   *
+   * @param report the uncompressed xml report
+   * @return the index of the report
+   * @throws IOException if the report could not be read
+   */
+  public static ReportIndex load(final Path report) throws IOException {
+    final Path sidecar = getSidecar(report);
+    final String header = getHeader(report);
+    if (Files.exists(sidecar)) {
+      final ReportIndex index = read(sidecar, header);
+      if (index != null) {
+        LOG.debug("Using report index {}", sidecar);
+        return index;
+      }
+    }
+    final ReportIndex index = build(report);
+    try {
+      index.write(sidecar, header);
+    } catch (IOException e) {
+      LOG.debug("Could not write report index {}", sidecar, e);
+    }
+    return index;
+  }
+
+  /**
+   * Builds the index by scanning the bytes of the report for the <code>mutation</code>, <code>mutatedClass</code> and
+   * <code>sourceFile</code> elements.
+   *
+   * @param report the uncompressed xml report
+   * @return the index of the report
+   * @throws IOException if the report could not be read
+   */
+  public static ReportIndex build(final Path report) throws IOException {
+    try (InputStream stream = Files.newInputStream(report)) {
+      return new Scanner().scan(stream);
+    }
+  }
+
+  static Path getSidecar(final Path report) {
+    return report.resolveSibling(report.getFileName().toString() + INDEX_SUFFIX);
+  }
+
+  private static String getHeader(final Path report) throws IOException {
+    return new StringBuilder().append(VERSION)
+        .append('\t')
+        .append(Files.size(report))
+        .append('\t')
+        .append(Files.getLastModifiedTime(report).toMillis())
+        .toString();
+  }
+
+  /**
+   * Reads the index from the sidecar file.
+   *
+   * @param sidecar the sidecar file of the index
+   * @param header the expected header describing the report
+   * @return the index or <code>null</code> if the sidecar is outdated, truncated or corrupt, so that the index is
+   * rebuilt
+   * @throws IOException if the sidecar could not be read
+   */
+  private static ReportIndex read(final Path sidecar, final String header) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(sidecar, StandardCharsets.UTF_8)) {
+      if (!header.equals(reader.readLine())) {
+        return null;
+      }
+      final List<Entry> entries = new ArrayList<>();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final String[] fields = line.split("\\t", -1);
+        if (fields.length != FIELD_COUNT) {
+          LOG.debug("Ignoring report index {}, line {} has {} fields", sidecar, entries.size() + 2, fields.length);
+          return null;
+        }
+        try {
+          entries.add(new Entry(fields[2], fields[3].isEmpty() ? null : fields[3], Long.parseLong(fields[0]),
+              Long.parseLong(fields[1])));
+        } catch (NumberFormatException e) {
+          LOG.debug("Ignoring report index {}, line {} has an invalid range", sidecar, entries.size() + 2, e);
+          return null;
+        }
+      }
+      return new ReportIndex(entries);
+    }
+  }
+
+  /**
+   * Writes the index to the sidecar file. The index is written to a temporary file in the directory of the sidecar
+   * first, which is then moved atomically, so that concurrent analyses never read a partially written index.
+   *
+   * @param sidecar the sidecar file of the index
+   * @param header the header describing the report
+   * @throws IOException if the sidecar could not be written
+   */
+  private void write(final Path sidecar, final String header) throws IOException {
+    final Path temp = Files.createTempFile(sidecar.toAbsolutePath().getParent(),
+        sidecar.getFileName().toString(), ".tmp");
+    try {
+      try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        writer.write(header);
+        writer.newLine();
+        for (final Entry entry : entries) {
+          writer.write(new StringBuilder().append(entry.getStart())
+              .append('\t')
+              .append(entry.getEnd())
+              .append('\t')
+              .append(entry.getMutatedClass())
+              .append('\t')
+              .append(entry.getSourceFile() == null ? "" : entry.getSourceFile())
+              .toString());
+          writer.newLine();
+        }
+      }
+      Files.move(temp, sidecar, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * @return all entries of the index in the order of the report
+   */
+  public List<Entry> getEntries() {
+    return Collections.unmodifiableList(entries);
+  }
+
+  /**
+   * Selects the byte ranges of the entries matching the predicate. Ranges of consecutive matching entries are merged.
+   *
+   * @param predicate the predicate selecting the entries
+   * @return the byte ranges as pairs of start (inclusive) and end (exclusive) offset, in the order of the report
+   */
+  public List<long[]> select(final Predicate<Entry> predicate) {
+    final List<long[]> ranges = new ArrayList<>();
+    long[] current = null;
+    for (final Entry entry : entries) {
+      if (!predicate.test(entry)) {
+        current = null;
+      } else if (current == null) {
+        current = new long[]{entry.getStart(), entry.getEnd()};
+        ranges.add(current);
+      } else {
+        current[1] = entry.getEnd();
+      }
+    }
+    return ranges;
+  }
+
+  /**
+   * A run of consecutive mutants of the same class and source file in the report.
+   */
+  public static final class Entry {
+
+    private final String mutatedClass;
+    private final String sourceFile;
+    private final long start;
+    private long end;
+
+    Entry(final String mutatedClass, final String sourceFile, final long start, final long end) {
+      this.mutatedClass = mutatedClass;
+      this.sourceFile = sourceFile;
+      this.start = start;
+      this.end = end;
+    }
+
+    /**
+     * @return the fully qualified name of the mutated class
+     */
+    public String getMutatedClass() {
+      return mutatedClass;
+    }
+
+    /**
+     * @return the name of the source file or <code>null</code> if the report contains none
+     */
+    public String getSourceFile() {
+      return sourceFile;
+    }
+
+    /**
+     * @return the byte offset of the first <code>mutation</code> element of the run
+     */
+    public long getStart() {
+      return start;
+    }
+
+    /**
+     * @return the byte offset after the end of the last <code>mutation</code> element of the run
+     */
+    public long getEnd() {
+      return end;
+    }
+
+    private boolean isContinuedBy(final String mutatedClass, final String sourceFile) {
+      return this.mutatedClass.equals(mutatedClass)
+          && (this.sourceFile == null ? sourceFile == null : this.sourceFile.equals(sourceFile));
+    }
+  }
+
+  /**
+   * Scans the bytes of a report for the start and end of each mutation and the text of the mutated class and source
+   * file elements. As all relevant tags are ASCII, the scanner works directly on the UTF-8 encoded bytes.
+   */
+  private static final class Scanner {
+
+    private static final int TEXT = 0;
+    private static final int TAG_NAME = 1;
+    private static final int TAG = 2;
+    private static final int CAPTURE = 3;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final StringBuilder tagName = new StringBuilder();
+    private final ByteArrayBuilder captured = new ByteArrayBuilder();
+
+    private int state = TEXT;
+    private long tagStart;
+    private String captureTarget;
+    private long mutationStart = -1;
+    private String mutatedClass;
+    private String sourceFile;
+
+    ReportIndex scan(final InputStream stream) throws IOException {
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      long offset = 0;
+      int read;
+      while ((read = stream.read(buffer)) != -1) {
+        for (int i = 0; i < read; i++) {
+          accept(buffer[i], offset + i);
+        }
+        offset += read;
+      }
+      return new ReportIndex(entries);
+    }
+
+    private void accept(final byte b, final long position) {
+      switch (state) {
+        case CAPTURE:
+          if (b == '<') {
+            endCapture();
+            startTag(position);
+          } else {
+            captured.append(b);
+          }
+          break;
+        case TAG_NAME:
+          if (b == '>' || b == ' ' || b == '\t' || b == '\r' || b == '\n' || (b == '/' && tagName.length() > 0)) {
+            endTagName(b == '>', position);
+          } else if (tagName.length() < MAX_TAG_NAME) {
+            tagName.append((char) b);
+          }
+          break;
+        case TAG:
+          if (b == '>') {
+            state = TEXT;
+          }
+          break;
+        default:
+          if (b == '<') {
+            startTag(position);
+          }
+          break;
+      }
+    }
+
+    private void startTag(final long position) {
+      tagStart = position;
+      tagName.setLength(0);
+      state = TAG_NAME;
+    }
+
+    private void endTagName(final boolean closed, final long position) {
+      final String name = tagName.toString();
+      state = closed ? TEXT : TAG;
+      if ("mutation".equals(name)) {
+        mutationStart = tagStart;
+        mutatedClass = null;
+        sourceFile = null;
+      } else if ("/mutation".equals(name) && closed && mutationStart >= 0) {
+        endMutation(position + 1);
+      } else if (closed && ("mutatedClass".equals(name) || "sourceFile".equals(name))) {
+        captureTarget = name;
+        captured.reset();
+        state = CAPTURE;
+      }
+    }
+
+    private void endCapture() {
+      final String text = captured.toString().trim();
+      if ("mutatedClass".equals(captureTarget)) {
+        mutatedClass = text;
+      } else {
+        sourceFile = text;
+      }
+    }
+
+    private void endMutation(final long end) {
+      if (mutatedClass != null) {
+        final Entry last = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+        if (last != null && last.isContinuedBy(mutatedClass, sourceFile)) {
+          last.end = end;
+        } else {
+          entries.add(new Entry(mutatedClass, sourceFile, mutationStart, end));
+        }
+      }
+      mutationStart = -1;
+    }
+  }
+
+  /**
+   * Growable byte buffer for the captured element texts, decoded as UTF-8.
+   */
+  private static final class ByteArrayBuilder {
+
+    private byte[] bytes = new byte[256];
+    private int length;
+
+    void append(final byte b) {
+      if (length == bytes.length) {
+        final byte[] grown = new byte[bytes.length * 2];
+        System.arraycopy(bytes, 0, grown, 0, length);
+        bytes = grown;
+      }
+      bytes[length++] = b;
+    }
+
+    void reset() {
+      length = 0;
+    }
+
+    @Override
+    public String toString() {
+      return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+  }
+
+}
@@ -23,8 +23,13 @@ package ch.devcon5.sonar.plugins.mutationanalysis.report;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,23 +57,176 @@ public final class Reports {
    * @throws IOException if the search for the report failed or the report could not be read.
    */
   public static Collection<Mutant> readMutants(final Path reportsDirectory) throws IOException {
+    return readMutants(reportsDirectory, ReportFormat.XML);
+  }
+
+  /**
+   * Reads the {@link ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant}s from the report in the reports directory,
+   * preferring reports of the given format.
+   *
+   * @param reportsDirectory the {@link Path} to the directory containing the report.
+   * @param preferredFormat the report format to search first
+   * @return a collection of all mutants declared in the report or an empty list if no report was found
+   * @throws IOException if the search for the report failed or the report could not be read.
+   */
+  public static Collection<Mutant> readMutants(final Path reportsDirectory, final ReportFormat preferredFormat)
+      throws IOException {
+    final Collection<Mutant> result = new ArrayList<>();
+    readMutants(reportsDirectory, preferredFormat, result::add);
+    return result;
+  }
+
+  /**
+   * Reads the {@link ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant}s from the report in the reports directory
+   * and passes them one by one to the consumer, without keeping them in memory. The method searches for the most
+   * recent {@code mutations.xml} report.
+   *
+   * @param reportsDirectory the {@link Path} to the directory containing the report.
+   * @param consumer the consumer receiving the mutants of the report
+   * @throws IOException if the search for the report failed or the report could not be read.
+   */
+  public static void readMutants(final Path reportsDirectory, final Consumer<Mutant> consumer) throws IOException {
+    readMutants(reportsDirectory, ReportFormat.XML, consumer);
+  }
+
+  /**
+   * Reads the {@link ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant}s from the report in the reports directory
+   * and passes them one by one to the consumer. The method searches for the most recent report of the preferred
+   * format, if there is none, reports of the other formats are used. The parser is chosen by the file name of the
+   * report.
+   *
+   * @param reportsDirectory the {@link Path} to the directory containing the report or the path of the report itself.
+   * @param preferredFormat the report format to search first
+   * @param consumer the consumer receiving the mutants of the report
+   * @throws IOException if the search for the report failed or the report could not be read.
+   */
+  public static void readMutants(final Path reportsDirectory, final ReportFormat preferredFormat,
+      final Consumer<Mutant> consumer) throws IOException {
+    readMutants(reportsDirectory, preferredFormat, MutantFilter.acceptAll(), consumer);
+  }
+
+  /**
+   * Reads the {@link ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant}s accepted by the filter from the report in
+   * the reports directory and passes them one by one to the consumer. Mutants rejected by the filter are skipped by the
+   * parser before they are built.
+   *
+   * @param reportsDirectory the {@link Path} to the directory containing the report or the path of the report itself.
+   * @param preferredFormat the report format to search first
+   * @param filter the filter for the mutated classes
+   * @param consumer the consumer receiving the mutants of the report
+   * @throws IOException if the search for the report failed or the report could not be read.
+   */
+  public static void readMutants(final Path reportsDirectory, final ReportFormat preferredFormat,
+      final MutantFilter filter, final Consumer<Mutant> consumer) throws IOException {
+    readMutants(reportsDirectory, new ReportFinder(preferredFormat), filter, consumer);
+  }
+
+  /**
+   * Reads the {@link ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant}s accepted by the filter from the report
+   * the finder locates in the reports directory. Other than a new finder, a finder that is reused for several reads
+   * only searches each directory once.
+   *
+   * @param reportsDirectory the {@link Path} to the directory containing the report or the path of the report itself.
+   * @param finder the finder searching the report in the directory
+   * @param filter the filter for the mutated classes
+   * @param consumer the consumer receiving the mutants of the report
+   * @throws IOException if the search for the report failed or the report could not be read.
+   */
+  public static void readMutants(final Path reportsDirectory, final ReportFinder finder, final MutantFilter filter,
+      final Consumer<Mutant> consumer) throws IOException {
     LOG.debug("Searching pit reports in {}", reportsDirectory);
 
-    final Path xmlReport;
+    final Path report;
     if (reportsDirectory.toFile().isDirectory()) {
-      xmlReport = new ReportFinder().findReport(reportsDirectory);
+      report = finder.findReport(reportsDirectory);
     } else {
-      xmlReport = reportsDirectory;
+      report = reportsDirectory;
     }
 
-    if (xmlReport == null) {
-      LOG.warn("No XML PIT report found in directory {} !", reportsDirectory);
+    if (report == null) {
+      LOG.warn("No PIT report found in directory {} !", reportsDirectory);
       LOG.warn(
           "Checkout plugin documentation for more detailed explanations: https://github.com/devcon5io/mutation-analysis-plugin");
-      return Collections.emptyList();
+      return;
+    }
+
+    final ReportFormat format = ReportFormat.of(report);
+    if (format == ReportFormat.CSV) {
+      new PitestCsvReportParser(filter).parseMutants(report, consumer);
+    } else if (format == ReportFormat.JSON) {
+      new MutationTestingElementsReportParser(filter).parseMutants(report, consumer);
+    } else {
+      new PitestReportParser(filter).parseMutants(report, consumer);
     }
+  }
 
-    return new PitestReportParser().parseMutants(xmlReport);
+  /**
+   * Checks whether any class of a report matches the predicate. Uncompressed xml reports are checked using their
+   * {@link ReportIndex} and the check stops at the first match, other reports are parsed entirely. Each class is tested
+   * once.
+   *
+   * @param report the path of the report
+   * @param filter the filter for the mutated classes
+   * @param predicate the predicate tested with the name of each mutated class and its source file
+   * @return <code>true</code> if the predicate matched any class of the report
+   * @throws IOException if the report could not be read.
+   */
+  public static boolean anyClassMatches(final Path report, final MutantFilter filter,
+      final BiPredicate<String, String> predicate) throws IOException {
+    final Path filename = report.getFileName();
+    if (ReportFormat.of(report) == ReportFormat.XML && filename != null
+        && !filename.toString().endsWith(PitestReportParser.GZIP_SUFFIX)) {
+      for (final ReportIndex.Entry entry : ReportIndex.load(report).getEntries()) {
+        if (filter.accepts(entry.getMutatedClass(), entry.getSourceFile())
+            && predicate.test(entry.getMutatedClass(), entry.getSourceFile())) {
+          return true;
+        }
+      }
+      return false;
+    }
+    final Set<String> classNames = new HashSet<>();
+    final AtomicBoolean matched = new AtomicBoolean();
+    readMutants(report, ReportFormat.of(report), filter, mutant -> {
+      if (!matched.get() && classNames.add(mutant.getMutatedClass())) {
+        matched.set(predicate.test(mutant.getMutatedClass(), mutant.getSourceFile()));
+      }
+    });
+    return matched.get();
+  }
+
+  /**
+   * Reads the {@link Mutant}s of the classes selected by the selector from a report, i.e. the classes of a single
+   * module from an aggregated report. Uncompressed xml reports are read using their {@link ReportIndex}, so only the
+   * selected classes are parsed. Other reports are parsed entirely and the mutants of the classes that are not
+   * selected are dropped. Classes are selected together with their nested classes.
+   *
+   * @param report the path of the report
+   * @param filter the filter for the mutated classes
+   * @param selector the predicate selecting the classes by the name of the mutated class and its source file
+   * @param consumer the consumer receiving the mutants of the selected classes
+   * @throws IOException if the report could not be read.
+   */
+  public static void readMutants(final Path report, final MutantFilter filter,
+      final BiPredicate<String, String> selector, final Consumer<Mutant> consumer) throws IOException {
+    final Path filename = report.getFileName();
+    if (ReportFormat.of(report) == ReportFormat.XML && filename != null
+        && !filename.toString().endsWith(PitestReportParser.GZIP_SUFFIX)) {
+      final Set<String> classNames = new HashSet<>();
+      for (final ReportIndex.Entry entry : ReportIndex.load(report).getEntries()) {
+        if (selector.test(entry.getMutatedClass(), entry.getSourceFile())) {
+          final int nested = entry.getMutatedClass().indexOf('$');
+          classNames.add(nested == -1 ? entry.getMutatedClass() : entry.getMutatedClass().substring(0, nested));
+        }
+      }
+      LOG.debug("Reading {} classes from report {}", classNames.size(), report);
+      new PitestReportParser(filter).parseMutants(report, classNames, consumer);
+    } else {
+      readMutants(report, ReportFormat.of(report), filter, mutant -> {
+        if (selector.test(mutant.getMutatedClass(), mutant.getSourceFile())) {
+          consumer.accept(mutant);
+        }
+      });
+    }
   }
 
 }
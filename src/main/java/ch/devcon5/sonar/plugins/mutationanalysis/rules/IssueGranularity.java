@@ -0,0 +1,71 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.rules;
+
+import java.util.Locale;
+
+/**
+ * Defines how mutants violating the same rule are coalesced into issues. With the finest granularity, one issue is
+ * created per mutant, the coarser granularities create one issue per line or per method that carries the number of
+ * mutants it represents.
+ */
+public enum IssueGranularity {
+
+  /**
+   * One issue per mutant (default)
+   */
+  MUTANT,
+  /**
+   * One issue per line containing at least one violating mutant
+   */
+  LINE,
+  /**
+   * One issue per method containing at least one violating mutant
+   */
+  METHOD;
+
+  /**
+   * Parses the String to a granularity. The comparison is case-insensitive.
+   *
+   * @param name the name of the granularity, i.e. "line"
+   * @param defaultValue the granularity to use if the name is <code>null</code>, empty or no valid granularity
+   * @return the matching granularity or the default value
+   */
+  public static IssueGranularity parse(final String name, final IssueGranularity defaultValue) {
+    if (name != null) {
+      final String normalized = name.trim().toUpperCase(Locale.ENGLISH);
+      for (final IssueGranularity granularity : values()) {
+        if (granularity.name().equals(normalized)) {
+          return granularity;
+        }
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * @return the lower case key of the granularity as used in the configuration and rule parameters
+   */
+  public String key() {
+    return name().toLowerCase(Locale.ENGLISH);
+  }
+
+}
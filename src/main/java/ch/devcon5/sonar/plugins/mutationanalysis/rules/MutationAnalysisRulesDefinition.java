@@ -23,6 +23,7 @@ package ch.devcon5.sonar.plugins.mutationanalysis.rules;
 import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.DEFAULT_EFFORT_TO_KILL_MUTANT;
 import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.EFFORT_MUTANT_KILL;
 
+import ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperator;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
 import java.nio.charset.StandardCharsets;
@@ -31,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import org.sonar.api.config.Configuration;
 import org.sonar.api.rule.RuleStatus;
 import org.sonar.api.rules.RuleType;
+import org.sonar.api.server.rule.RuleParamType;
 import org.sonar.api.server.rule.RulesDefinitionXmlLoader;
 
 /**
@@ -63,10 +65,32 @@ public abstract class MutationAnalysisRulesDefinition implements org.sonar.api.s
    * The parameter for the Mutant Coverage rule defining the threshold when an issue is created
    */
   public static final String PARAM_MUTANT_COVERAGE_THRESHOLD = "mutant.coverage.threshold";
+  /**
+   * The parameter for all mutant rules defining how violating mutants are coalesced into issues. If not set, the
+   * project-wide issue granularity is used.
+   */
+  public static final String PARAM_ISSUE_GRANULARITY = "mutant.issue.granularity";
   /**
    * Rule key for the mutants with unknown status rule.
    */
   public static final String RULE_UNKNOWN_MUTANT_STATUS = "mutant.unknownStatus";
+  /**
+   * Rule key for the redundant tests rule.
+   */
+  public static final String RULE_REDUNDANT_TEST = "test.redundant";
+  /**
+   * Rule key for the test timeout rule.
+   */
+  public static final String RULE_TEST_TIMEOUT = "test.timeout";
+  /**
+   * Rule key for the mutation analysis cost hotspot rule.
+   */
+  public static final String RULE_MUTATION_COST = "mutation.cost";
+  /**
+   * The parameter for the Mutation Analysis Cost Hotspot rule defining by which factor the test executions of a class
+   * must exceed the median of all classes for an issue to be created
+   */
+  public static final String PARAM_MUTATION_COST_FACTOR = "mutation.cost.factor";
   /**
    * Prefix for mutator rules
    */
@@ -113,6 +137,9 @@ public abstract class MutationAnalysisRulesDefinition implements org.sonar.api.s
           .linearWithOffset(settings.get(EFFORT_MUTANT_KILL)
               .orElse(DEFAULT_EFFORT_TO_KILL_MUTANT), "7min"));
       rule.setGapDescription("Effort to kill the mutant(s)");
+      if (rule.key().startsWith(MUTANT_RULES_PREFIX) && !RULE_MUTANT_COVERAGE.equals(rule.key())) {
+        addIssueGranularityParam(rule);
+      }
     }
     repository.done();
     LOG.info("Defining Mutation Analysis rule repository {} done", repository);
@@ -120,6 +147,20 @@ public abstract class MutationAnalysisRulesDefinition implements org.sonar.api.s
 
   protected abstract String getLanguageKey();
 
+  /**
+   * Adds the optional parameter to the mutant rule that allows to override the issue granularity for this rule.
+   *
+   * @param rule the mutant rule to add the parameter to
+   */
+  private void addIssueGranularityParam(final NewRule rule) {
+    rule.createParam(PARAM_ISSUE_GRANULARITY)
+        .setName("Issue Granularity")
+        .setDescription("Create one issue per 'mutant', per 'line' or per 'method'. If not set, the project setting "
+            + MutationAnalysisPlugin.ISSUE_GRANULARITY + " is used.")
+        .setType(RuleParamType.singleListOfValues(IssueGranularity.MUTANT.key(), IssueGranularity.LINE.key(),
+            IssueGranularity.METHOD.key()));
+  }
+
   /**
    * Enriches the mutator rules with the descriptions from the mutators
    *
@@ -153,7 +194,9 @@ public abstract class MutationAnalysisRulesDefinition implements org.sonar.api.s
         .setType(type)
         .setName(name)
         .setTags("pitest", "test", "test-quality", "mutator", "mutation-operator");
-    mutationOperator.getMutagenDescriptionLocation().ifPresent(rule::setHtmlDescription);
+    if (mutationOperator.getMutagenDescriptionLocation().isPresent()) {
+      rule.setHtmlDescription(mutationOperator.getMutagenDescription());
+    }
     if (mutationOperator.getId().startsWith("EXPERIMENTAL")) {
       rule.setStatus(RuleStatus.BETA);
     } else {
@@ -0,0 +1,117 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The strategy chosen by the {@link ExecutionPlanner} to process the PIT reports of an analysis, together with the
+ * reasons for the choice.
+ */
+public final class ExecutionPlan {
+
+  /**
+   * How the mutants of the reports are held while they are processed.
+   */
+  public enum MemoryMode {
+    /**
+     * All mutants are collected in memory (default)
+     */
+    IN_MEMORY,
+    /**
+     * The mutants are streamed to disk and processed in batches of files, see {@link MutantSpillStore}
+     */
+    LOW_MEMORY
+  }
+
+  /**
+   * How the reports of the modules of a project are parsed.
+   */
+  public enum ParseStrategy {
+    /**
+     * The reports are parsed one after the other by the sensor thread
+     */
+    SEQUENTIAL,
+    /**
+     * The reports of the modules are parsed concurrently
+     */
+    PARALLEL
+  }
+
+  private final MemoryMode memoryMode;
+  private final ParseStrategy parseStrategy;
+  private final int parallelism;
+  private final List<String> reasons;
+
+  ExecutionPlan(final MemoryMode memoryMode, final ParseStrategy parseStrategy, final int parallelism,
+      final List<String> reasons) {
+    this.memoryMode = memoryMode;
+    this.parseStrategy = parseStrategy;
+    this.parallelism = parallelism;
+    this.reasons = Collections.unmodifiableList(new ArrayList<>(reasons));
+  }
+
+  /**
+   * @return the memory mode for processing the mutants
+   */
+  public MemoryMode getMemoryMode() {
+    return memoryMode;
+  }
+
+  /**
+   * @return the strategy for parsing the reports of the modules
+   */
+  public ParseStrategy getParseStrategy() {
+    return parseStrategy;
+  }
+
+  /**
+   * @return the number of threads used for parsing the reports and evaluating the rules, 1 if everything is processed
+   *     by the sensor thread
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * @return <code>true</code> if more than one thread may be used
+   */
+  public boolean isParallel() {
+    return parallelism > 1;
+  }
+
+  /**
+   * @return the human-readable reasons for the choices of the plan
+   */
+  public List<String> getReasons() {
+    return reasons;
+  }
+
+  @Override
+  public String toString() {
+    return "memory=" + memoryMode.name().toLowerCase(Locale.ENGLISH)
+        + ", parse=" + parseStrategy.name().toLowerCase(Locale.ENGLISH)
+        + ", parallelism=" + parallelism;
+  }
+}
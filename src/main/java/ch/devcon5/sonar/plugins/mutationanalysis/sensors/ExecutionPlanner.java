@@ -0,0 +1,148 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalDouble;
+import org.sonar.api.config.Configuration;
+
+/**
+ * Chooses how the PIT reports of an analysis are processed, based on the size of the reports, the number of modules
+ * and the resources of the JVM running the scanner. Small analyses are processed by the sensor thread without thread
+ * pool overhead, analyses with several large module reports are parsed concurrently and reports that would not fit into
+ * the heap are processed in low-memory mode.
+ */
+public class ExecutionPlanner {
+
+  /**
+   * the estimated number of heap bytes needed per byte of uncompressed report for the mutants and the metrics derived
+   * from them
+   */
+  static final int HEAP_BYTES_PER_REPORT_BYTE = 3;
+
+  /**
+   * the total report size in bytes below which no additional threads are used
+   */
+  static final long SMALL_REPORT_SIZE = 4L * 1024 * 1024;
+
+  private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+  /**
+   * the size of the local report in MB above which the low-memory mode is used, if configured
+   */
+  private final OptionalDouble lowMemoryReportSize;
+
+  public ExecutionPlanner(final Configuration configuration) {
+    this(toOptional(configuration));
+  }
+
+  ExecutionPlanner(final OptionalDouble lowMemoryReportSize) {
+    this.lowMemoryReportSize = lowMemoryReportSize;
+  }
+
+  private static OptionalDouble toOptional(final Configuration configuration) {
+    return configuration.getDouble(MutationAnalysisPlugin.LOW_MEMORY_REPORT_SIZE)
+        .map(OptionalDouble::of)
+        .orElse(OptionalDouble.empty());
+  }
+
+  /**
+   * Creates the plan for processing the reports.
+   *
+   * @param localReportSize the size of the report of the current module in bytes
+   * @param moduleReportSizes the sizes of the reports of all modules of the project in bytes, if they are read.
+   *     Otherwise an empty array.
+   * @param maxMemory the maximum heap of the JVM in bytes, see {@link Runtime#maxMemory()}
+   * @param processors the number of available processors, see {@link Runtime#availableProcessors()}
+   * @return the plan for processing the reports
+   */
+  public ExecutionPlan plan(final long localReportSize, final long[] moduleReportSizes, final long maxMemory,
+      final int processors) {
+    final List<String> reasons = new ArrayList<>();
+    long globalReportSize = 0;
+    int modulesWithReport = 0;
+    for (final long moduleReportSize : moduleReportSizes) {
+      globalReportSize += moduleReportSize;
+      if (moduleReportSize > 0) {
+        modulesWithReport++;
+      }
+    }
+    // the mutants of the module are held twice in memory if the reports of all modules are read as well
+    final long totalReportSize = localReportSize + globalReportSize;
+
+    final ExecutionPlan.MemoryMode memoryMode = planMemoryMode(localReportSize, totalReportSize, maxMemory, reasons);
+
+    final int parallelism;
+    if (processors <= 1) {
+      parallelism = 1;
+      reasons.add("single processor available");
+    } else if (totalReportSize < SMALL_REPORT_SIZE) {
+      parallelism = 1;
+      reasons.add("reports of " + toMb(totalReportSize) + " MB are small");
+    } else {
+      parallelism = processors;
+      reasons.add("reports of " + toMb(totalReportSize) + " MB are processed using " + processors + " processors");
+    }
+
+    final ExecutionPlan.ParseStrategy parseStrategy;
+    if (parallelism > 1 && memoryMode == ExecutionPlan.MemoryMode.IN_MEMORY && modulesWithReport > 1) {
+      parseStrategy = ExecutionPlan.ParseStrategy.PARALLEL;
+      reasons.add(modulesWithReport + " module reports are parsed concurrently");
+    } else {
+      parseStrategy = ExecutionPlan.ParseStrategy.SEQUENTIAL;
+    }
+    return new ExecutionPlan(memoryMode, parseStrategy, parallelism, reasons);
+  }
+
+  private ExecutionPlan.MemoryMode planMemoryMode(final long localReportSize, final long totalReportSize,
+      final long maxMemory, final List<String> reasons) {
+    if (lowMemoryReportSize.isPresent()) {
+      final double threshold = lowMemoryReportSize.getAsDouble();
+      if (threshold <= 0) {
+        reasons.add("low-memory mode disabled");
+        return ExecutionPlan.MemoryMode.IN_MEMORY;
+      }
+      if (localReportSize > threshold * BYTES_PER_MB) {
+        reasons.add("report of " + toMb(localReportSize) + " MB exceeds the configured " + threshold + " MB");
+        return ExecutionPlan.MemoryMode.LOW_MEMORY;
+      }
+      reasons.add("report of " + toMb(localReportSize) + " MB is within the configured " + threshold + " MB");
+      return ExecutionPlan.MemoryMode.IN_MEMORY;
+    }
+    final long heapBudget = maxMemory / 2;
+    final long estimatedHeap = totalReportSize * HEAP_BYTES_PER_REPORT_BYTE;
+    if (estimatedHeap > heapBudget) {
+      reasons.add("estimated " + toMb(estimatedHeap) + " MB for the mutants exceed half of the " + toMb(maxMemory)
+          + " MB heap");
+      return ExecutionPlan.MemoryMode.LOW_MEMORY;
+    }
+    reasons.add("estimated " + toMb(estimatedHeap) + " MB for the mutants fit into the " + toMb(maxMemory)
+        + " MB heap");
+    return ExecutionPlan.MemoryMode.IN_MEMORY;
+  }
+
+  private static String toMb(final long bytes) {
+    return String.format(Locale.ENGLISH, "%.1f", bytes / BYTES_PER_MB);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import org.sonar.api.rule.RuleKey;
+
+/**
+ * Selects the most important mutant issues of an analysis within the analysis-wide issue limit. The issues are offered
+ * one by one, the budget keeps at most as many issues as the limit allows, so the issues of an analysis can be selected
+ * without keeping all of them in memory. Issues that are not selected are only counted for the summary issue.
+ */
+final class IssueBudget {
+
+  /**
+   * Orders the entries like {@link MutantIssue#BY_IMPORTANCE}, issues of equal importance in the order they were
+   * offered.
+   */
+  private static final Comparator<Entry> BY_IMPORTANCE = Comparator.comparingInt(Entry::getRank)
+      .thenComparing(Comparator.comparingInt(Entry::getMutantCount).reversed())
+      .thenComparingLong(Entry::getSequence);
+
+  private final int limit;
+  /**
+   * the selected issues, the least important issue at the head
+   */
+  private final PriorityQueue<Entry> selected = new PriorityQueue<>(BY_IMPORTANCE.reversed());
+  private long offered;
+  private int suppressedIssues;
+  private int suppressedMutants;
+  private Entry mostImportantSuppressed;
+
+  /**
+   * @param limit the maximum number of issues to select
+   */
+  IssueBudget(final int limit) {
+    this.limit = limit;
+  }
+
+  /**
+   * Offers a described mutant issue. If the budget is exhausted, either the issue or the least important selected issue
+   * is suppressed.
+   *
+   * @param mutantIssue the described issue
+   */
+  void offer(final MutantIssue mutantIssue) {
+    final Entry entry = new Entry(mutantIssue, offered++);
+    if (selected.size() < limit) {
+      selected.add(entry);
+    } else if (!selected.isEmpty() && BY_IMPORTANCE.compare(entry, selected.peek()) < 0) {
+      suppress(selected.poll());
+      selected.add(entry);
+    } else {
+      suppress(entry);
+    }
+  }
+
+  private void suppress(final Entry entry) {
+    suppressedIssues++;
+    suppressedMutants += entry.getMutantCount();
+    if (mostImportantSuppressed == null || BY_IMPORTANCE.compare(entry, mostImportantSuppressed) < 0) {
+      mostImportantSuppressed = entry;
+    }
+  }
+
+  /**
+   * @return the descriptors of the selected issues in the order the issues were offered
+   */
+  List<IssueDescriptor> getSelectedIssues() {
+    final List<Entry> entries = new ArrayList<>(selected);
+    entries.sort(Comparator.comparingLong(Entry::getSequence));
+    return entries.stream().map(Entry::getDescriptor).collect(Collectors.toList());
+  }
+
+  /**
+   * @return the number of selected issues
+   */
+  int getSelectedCount() {
+    return selected.size();
+  }
+
+  /**
+   * @return the number of suppressed issues
+   */
+  int getSuppressedIssues() {
+    return suppressedIssues;
+  }
+
+  /**
+   * @return the number of mutants of all suppressed issues
+   */
+  int getSuppressedMutants() {
+    return suppressedMutants;
+  }
+
+  /**
+   * @return the rule of the most important suppressed issue or <code>null</code> if no issue has been suppressed
+   */
+  RuleKey getSuppressedRule() {
+    return mostImportantSuppressed == null ? null : mostImportantSuppressed.getRuleKey();
+  }
+
+  /**
+   * The part of a mutant issue required to rank and save it. The mutants and metrics of the resource are not kept.
+   */
+  private static final class Entry {
+
+    private final IssueDescriptor descriptor;
+    private final RuleKey ruleKey;
+    private final int rank;
+    private final int mutantCount;
+    private final long sequence;
+
+    Entry(final MutantIssue mutantIssue, final long sequence) {
+      this.descriptor = mutantIssue.getDescriptor();
+      this.ruleKey = mutantIssue.getRule().ruleKey();
+      this.rank = mutantIssue.getRank();
+      this.mutantCount = mutantIssue.getMutantCount();
+      this.sequence = sequence;
+    }
+
+    IssueDescriptor getDescriptor() {
+      return descriptor;
+    }
+
+    RuleKey getRuleKey() {
+      return ruleKey;
+    }
+
+    int getRank() {
+      return rank;
+    }
+
+    int getMutantCount() {
+      return mutantCount;
+    }
+
+    long getSequence() {
+      return sequence;
+    }
+  }
+
+}
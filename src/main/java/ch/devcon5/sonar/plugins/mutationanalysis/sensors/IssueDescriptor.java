@@ -0,0 +1,75 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import org.sonar.api.batch.fs.InputComponent;
+import org.sonar.api.batch.fs.TextRange;
+import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.batch.sensor.issue.NewIssue;
+import org.sonar.api.batch.sensor.issue.NewIssueLocation;
+import org.sonar.api.rule.RuleKey;
+
+/**
+ * An immutable description of an issue to be saved. Descriptors are built concurrently while the rules are evaluated,
+ * the issues themselves are created and saved by a single thread.
+ */
+final class IssueDescriptor {
+
+  private final RuleKey ruleKey;
+  private final InputComponent component;
+  private final TextRange range;
+  private final String message;
+  private final Double gap;
+
+  /**
+   * @param ruleKey the key of the violated rule
+   * @param component the component the issue is reported on
+   * @param range the range of the issue location or <code>null</code> to report the issue on the entire component
+   * @param message the message of the issue
+   * @param gap the effort to fix the issue or <code>null</code> if the issue has no gap
+   */
+  IssueDescriptor(final RuleKey ruleKey, final InputComponent component, final TextRange range, final String message, final Double gap) {
+    this.ruleKey = ruleKey;
+    this.component = component;
+    this.range = range;
+    this.message = message;
+    this.gap = gap;
+  }
+
+  /**
+   * Creates and saves the issue.
+   *
+   * @param context the current sensor context
+   */
+  void save(final SensorContext context) {
+    final NewIssue newIssue = context.newIssue().forRule(ruleKey);
+    final NewIssueLocation location = newIssue.newLocation().on(component);
+    if (range != null) {
+      location.at(range);
+    }
+    location.message(message);
+    if (gap != null) {
+      newIssue.gap(gap);
+    }
+    newIssue.at(location).save();
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.rules.IssueGranularity;
+import java.util.Comparator;
+import java.util.List;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.rule.ActiveRule;
+
+/**
+ * A pending issue for one or more mutants that violate the same rule on the same resource. Pending issues are collected
+ * before they are saved so that they can be ranked and limited to the configured issue budgets.
+ */
+class MutantIssue {
+
+  /**
+   * Orders issues by importance: uncovered mutants first, then survived mutants, then mutants with unknown status. Issues
+   * with the same rank are ordered by the number of mutants they represent, descending.
+   */
+  static final Comparator<MutantIssue> BY_IMPORTANCE = Comparator.comparingInt(MutantIssue::getRank)
+      .thenComparing(Comparator.comparingInt(MutantIssue::getMutantCount).reversed());
+
+  private final ActiveRule rule;
+  private final ResourceMutationMetrics resourceMetrics;
+  private final IssueGranularity granularity;
+  private final List<Mutant> mutants;
+  private final int rank;
+  private final IssueDescriptor descriptor;
+
+  MutantIssue(final ActiveRule rule, final ResourceMutationMetrics resourceMetrics, final IssueGranularity granularity, final List<Mutant> mutants) {
+    this(rule, resourceMetrics, granularity, mutants, mutants.stream().mapToInt(m -> rankOf(m.getState())).min().orElse(Integer.MAX_VALUE), null);
+  }
+
+  private MutantIssue(final ActiveRule rule, final ResourceMutationMetrics resourceMetrics, final IssueGranularity granularity, final List<Mutant> mutants, final int rank, final IssueDescriptor descriptor) {
+    this.rule = rule;
+    this.resourceMetrics = resourceMetrics;
+    this.granularity = granularity;
+    this.mutants = mutants;
+    this.rank = rank;
+    this.descriptor = descriptor;
+  }
+
+  /**
+   * Creates a copy of this issue with the descriptor of the issue to be saved.
+   *
+   * @param descriptor the descriptor containing the message and location of the issue
+   * @return a new pending issue
+   */
+  MutantIssue describedBy(final IssueDescriptor descriptor) {
+    return new MutantIssue(rule, resourceMetrics, granularity, mutants, rank, descriptor);
+  }
+
+  private static int rankOf(final Mutant.State state) {
+    switch (state) {
+      case NO_COVERAGE:
+        return 0;
+      case SURVIVED:
+        return 1;
+      case UNKNOWN:
+        return 2;
+      default:
+        return 3;
+    }
+  }
+
+  ActiveRule getRule() {
+    return rule;
+  }
+
+  InputFile getResource() {
+    return resourceMetrics.getResource();
+  }
+
+  /**
+   * @return the metrics of the resource, providing the line index of its mutants
+   */
+  ResourceMutationMetrics getResourceMetrics() {
+    return resourceMetrics;
+  }
+
+  IssueGranularity getGranularity() {
+    return granularity;
+  }
+
+  /**
+   * @return the mutants reported by this issue, never empty
+   */
+  List<Mutant> getMutants() {
+    return mutants;
+  }
+
+  int getMutantCount() {
+    return mutants.size();
+  }
+
+  /**
+   * @return the descriptor of the issue to be saved or <code>null</code> if the issue has not been described yet
+   */
+  IssueDescriptor getDescriptor() {
+    return descriptor;
+  }
+
+  /**
+   * @return the rank of the most important mutant of the issue, lower is more important
+   */
+  int getRank() {
+    return rank;
+  }
+
+}
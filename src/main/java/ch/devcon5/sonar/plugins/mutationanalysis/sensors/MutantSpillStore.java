@@ -0,0 +1,350 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperator;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+import org.slf4j.Logger;
+
+/**
+ * Disk-backed store for the mutants of a report that is too large to be held in memory. Mutants are added with the id
+ * of the file they belong to and are kept in a bounded buffer in a compact binary record format. When the buffer is
+ * full, the records are sorted by file id and written as run file to the temporary directory. Finally, the runs are
+ * merged so that the mutants are read back file by file, in the order they were added.
+ * <p>
+ * The full mutation matrix of the mutants is not stored.
+ */
+public class MutantSpillStore implements Closeable {
+
+  private static final Logger LOG = getLogger(MutantSpillStore.class);
+
+  private static final Comparator<Record> BY_FILE = Comparator.comparingInt(r -> r.fileId);
+
+  private final Path directory;
+  private final int bufferSize;
+  private final List<Record> buffer = new ArrayList<>();
+  private final List<Path> runs = new ArrayList<>();
+  private long bytesWritten;
+  private long size;
+
+  /**
+   * Creates a new store
+   *
+   * @param tempDirectory the directory in which the run files are created, a dedicated directory is created in it
+   * @param bufferSize the maximum number of mutants held in memory before they are written to a run file
+   * @throws IOException if the directory for the run files could not be created
+   */
+  public MutantSpillStore(final Path tempDirectory, final int bufferSize) throws IOException {
+    Files.createDirectories(tempDirectory);
+    this.directory = Files.createTempDirectory(tempDirectory, "mutants");
+    this.bufferSize = Math.max(1, bufferSize);
+  }
+
+  /**
+   * Adds the mutant of a file to the store
+   *
+   * @param fileId the id of the file the mutant belongs to, the mutants are read back in ascending order of the ids
+   * @param mutant the mutant to add
+   * @throws IOException if the buffer could not be written to disk
+   */
+  public void add(final int fileId, final Mutant mutant) throws IOException {
+    buffer.add(new Record(fileId, encode(mutant)));
+    size++;
+    if (buffer.size() >= bufferSize) {
+      writeRun();
+    }
+  }
+
+  /**
+   * @return the number of mutants added to the store
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * @return the number of run files written to disk
+   */
+  public int getRunCount() {
+    return runs.size();
+  }
+
+  /**
+   * @return the number of bytes written to the run files
+   */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * Reads the mutants back file by file. The files are processed in ascending order of their ids, the mutants of each
+   * file are passed in the order they were added. Only the mutants of a single file are held in memory at a time,
+   * apart from the buffer of each run that is merged.
+   *
+   * @param consumer the consumer receiving the id of each file and its mutants
+   * @throws IOException if the run files could not be read
+   */
+  public void forEachFile(final BiConsumer<Integer, List<Mutant>> consumer) throws IOException {
+    if (runs.isEmpty()) {
+      buffer.sort(BY_FILE);
+      final List<Mutant> mutants = new ArrayList<>();
+      int current = -1;
+      for (final Record record : buffer) {
+        if (record.fileId != current && !mutants.isEmpty()) {
+          consumer.accept(current, new ArrayList<>(mutants));
+          mutants.clear();
+        }
+        current = record.fileId;
+        mutants.add(decode(record.data));
+      }
+      if (!mutants.isEmpty()) {
+        consumer.accept(current, mutants);
+      }
+      buffer.clear();
+      return;
+    }
+    writeRun();
+    mergeRuns(consumer);
+  }
+
+  private void mergeRuns(final BiConsumer<Integer, List<Mutant>> consumer) throws IOException {
+    final PriorityQueue<RunReader> queue = new PriorityQueue<>(
+        Comparator.<RunReader>comparingInt(r -> r.current.fileId).thenComparingInt(r -> r.index));
+    try {
+      for (int i = 0; i < runs.size(); i++) {
+        final RunReader reader = new RunReader(runs.get(i), i);
+        if (reader.next()) {
+          queue.add(reader);
+        } else {
+          reader.close();
+        }
+      }
+      while (!queue.isEmpty()) {
+        final int fileId = queue.peek().current.fileId;
+        final List<Mutant> mutants = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().current.fileId == fileId) {
+          final RunReader reader = queue.poll();
+          do {
+            mutants.add(decode(reader.current.data));
+          } while (reader.next() && reader.current.fileId == fileId);
+          if (reader.current != null) {
+            queue.add(reader);
+          } else {
+            reader.close();
+          }
+        }
+        consumer.accept(fileId, mutants);
+      }
+    } finally {
+      for (final RunReader reader : queue) {
+        reader.close();
+      }
+    }
+  }
+
+  private void writeRun() throws IOException {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    buffer.sort(BY_FILE);
+    final Path run = directory.resolve("run-" + runs.size() + ".bin");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+      for (final Record record : buffer) {
+        out.writeInt(record.fileId);
+        out.writeInt(record.data.length);
+        out.write(record.data);
+      }
+      bytesWritten += out.size();
+    }
+    LOG.debug("Wrote {} mutants to {}", buffer.size(), run);
+    runs.add(run);
+    buffer.clear();
+  }
+
+  @Override
+  public void close() throws IOException {
+    buffer.clear();
+    for (final Path run : runs) {
+      Files.deleteIfExists(run);
+    }
+    runs.clear();
+    Files.deleteIfExists(directory);
+  }
+
+  /**
+   * Encodes a mutant in the binary record format. Numbers are written as variable length integers, strings with their
+   * length and UTF-8 encoded.
+   *
+   * @param mutant the mutant to encode
+   * @return the record of the mutant
+   */
+  static byte[] encode(final Mutant mutant) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+    out.write(mutant.getState().ordinal());
+    writeVarInt(out, mutant.getLineNumber());
+    writeVarInt(out, mutant.getIndex());
+    writeVarInt(out, mutant.getNumberOfTestsRun());
+    writeString(out, mutant.getMutationOperator().getId());
+    writeString(out, mutant.getMutatorSuffix());
+    writeString(out, mutant.getSourceFile());
+    writeString(out, mutant.getMutatedClass());
+    writeString(out, mutant.getMutatedMethod());
+    writeString(out, mutant.getMethodDescription());
+    writeString(out, mutant.getKillingTest());
+    final String description = mutant.getDescription().orElse(null);
+    out.write(description == null ? 0 : 1);
+    if (description != null) {
+      writeString(out, description);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Decodes a mutant from a record created by {@link #encode(Mutant)}.
+   *
+   * @param data the record of the mutant
+   * @return the mutant
+   */
+  static Mutant decode(final byte[] data) {
+    final int[] pos = {0};
+    final Mutant.State state = Mutant.State.values()[data[pos[0]++]];
+    final int line = readVarInt(data, pos);
+    final int index = readVarInt(data, pos);
+    final int testsRun = readVarInt(data, pos);
+    final MutationOperator operator = MutationOperators.find(readString(data, pos));
+    final String suffix = readString(data, pos);
+    final Mutant.Builder builder = Mutant.builder()
+        .mutantStatus(state)
+        .inSourceFile(readString(data, pos))
+        .inClass(readString(data, pos))
+        .inMethod(readString(data, pos))
+        .withMethodParameters(readString(data, pos))
+        .killedBy(readString(data, pos))
+        .inLine(line)
+        .atIndex(index)
+        .numberOfTestsRun(testsRun);
+    if (suffix.isEmpty()) {
+      builder.usingMutator(operator);
+    } else {
+      builder.usingMutator(operator.getClassNames().iterator().next() + "_" + suffix);
+    }
+    if (data[pos[0]++] != 0) {
+      builder.withDescription(readString(data, pos));
+    }
+    return builder.build();
+  }
+
+  private static void writeVarInt(final ByteArrayOutputStream out, final int value) {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      out.write((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    out.write(remaining);
+  }
+
+  private static int readVarInt(final byte[] data, final int[] pos) {
+    int value = 0;
+    for (int shift = 0; ; shift += 7) {
+      final int b = data[pos[0]++];
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+  }
+
+  private static void writeString(final ByteArrayOutputStream out, final String value) {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(out, bytes.length);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  private static String readString(final byte[] data, final int[] pos) {
+    final int length = readVarInt(data, pos);
+    final String value = new String(data, pos[0], length, StandardCharsets.UTF_8);
+    pos[0] += length;
+    return value;
+  }
+
+  private static final class Record {
+
+    private final int fileId;
+    private final byte[] data;
+
+    Record(final int fileId, final byte[] data) {
+      this.fileId = fileId;
+      this.data = data;
+    }
+  }
+
+  private static final class RunReader implements Closeable {
+
+    private final DataInputStream in;
+    private final int index;
+    private Record current;
+
+    RunReader(final Path run, final int index) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+      this.index = index;
+    }
+
+    boolean next() {
+      try {
+        final int fileId = in.readInt();
+        final byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        current = new Record(fileId, data);
+      } catch (EOFException e) {
+        current = null;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return current != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+
+}
@@ -23,10 +23,16 @@ package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
 import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.REPOSITORY_KEY;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin;
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationSummary;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -61,6 +67,10 @@ public class PitestSensor implements Sensor {
   private final ReportCollector reportCollector;
   private final SourceMetricsWriter sourceMetricsWriter;
   private final TestMetricsWriter testMetricsWriter;
+  private final SummaryMetricsWriter summaryMetricsWriter;
+  private final TargetsExporter targetsExporter;
+  private final TestOrderExporter testOrderExporter;
+  private final ExecutionPlanner executionPlanner;
 
   /**
    * Constructor that is invoked by Sonar to create the sensor instance.
@@ -73,9 +83,13 @@ public class PitestSensor implements Sensor {
     this.resourceResolver = new ResourceResolver(fileSystem);
     this.settings = configuration;
     this.rulesProcessor = new RulesProcessor(configuration, rulesProfile);
-    this.reportCollector = new ReportCollector(configuration, fileSystem);
+    this.reportCollector = new ReportCollector(configuration, fileSystem, this.resourceResolver);
     this.sourceMetricsWriter = new SourceMetricsWriter();
     this.testMetricsWriter = new TestMetricsWriter(fileSystem);
+    this.summaryMetricsWriter = new SummaryMetricsWriter();
+    this.targetsExporter = new TargetsExporter(fileSystem);
+    this.testOrderExporter = new TestOrderExporter();
+    this.executionPlanner = new ExecutionPlanner(configuration);
   }
 
   @Override
@@ -123,18 +137,28 @@ public class PitestSensor implements Sensor {
       return;
     }
 
+    if (isSummaryOnly()) {
+      executeSummaryOnly(context);
+      return;
+    }
+
     try {
+      final ExecutionPlan plan = planExecution(context);
+      this.rulesProcessor.setParallel(plan.isParallel());
+      if (plan.getMemoryMode() == ExecutionPlan.MemoryMode.LOW_MEMORY) {
+        executeLowMemory(context);
+        return;
+      }
       LOG.debug("Reading mutants");
-      final Collection<Mutant> globalMutants = this.reportCollector.collectGlobalMutants(context);
+      final Collection<Mutant> globalMutants = this.reportCollector.collectGlobalMutants(context,
+          plan.getParseStrategy() == ExecutionPlan.ParseStrategy.PARALLEL ? plan.getParallelism() : 1);
       final Collection<Mutant> localMutants = this.reportCollector.collectLocalMutants();
 
       LOG.debug("collecting metrics");
       final Collection<ResourceMutationMetrics> metrics = collectMetrics(localMutants);
 
-      getLanguageKeys().forEach(language -> {
-        LOG.debug("applying {} rules", language);
-        this.rulesProcessor.processRules(metrics, context, language);
-      });
+      LOG.debug("applying {} rules", getLanguageKeys());
+      this.rulesProcessor.processRules(metrics, context, getLanguageKeys());
 
       LOG.debug("saving metrics");
       this.sourceMetricsWriter.writeMetrics(metrics, context, globalMutants);
@@ -145,6 +169,16 @@ public class PitestSensor implements Sensor {
       } else {
         LOG.debug("Experimental features disabled");
       }
+
+      settings.get(MutationAnalysisPlugin.EXPORT_TARGETS_FILE).ifPresent(targetsFile -> {
+        LOG.debug("exporting PIT targets");
+        this.targetsExporter.export(metrics, getLanguageKeys(),
+            context.fileSystem().baseDir().toPath().resolve(targetsFile));
+      });
+      settings.get(MutationAnalysisPlugin.EXPORT_TEST_ORDER_FILE).ifPresent(testOrderFile -> {
+        LOG.debug("exporting test order");
+        this.testOrderExporter.export(metrics, context.fileSystem().baseDir().toPath().resolve(testOrderFile));
+      });
       LOG.debug("Done");
     } catch (final IOException e) {
       LOG.error("Could not read mutants", e);
@@ -155,6 +189,173 @@ public class PitestSensor implements Sensor {
     return !getLanguageKeys().isEmpty();
   }
 
+  private boolean isSummaryOnly() {
+    return settings.getBoolean(MutationAnalysisPlugin.SUMMARY_ONLY).orElse(false);
+  }
+
+  /**
+   * Plans how the reports are processed, based on the size of the reports, the number of modules whose reports are read
+   * and the resources of the JVM. The reports of the other modules are only considered if they are read, that is if
+   * experimental features are enabled.
+   *
+   * @param context the current sensor context
+   * @return the plan for processing the reports
+   * @throws IOException if the search for the report of the module failed
+   */
+  private ExecutionPlan planExecution(final SensorContext context) throws IOException {
+    final long[] moduleReportSizes;
+    if (MutationAnalysisPlugin.isExperimentalFeaturesEnabled(this.settings)) {
+      moduleReportSizes = this.reportCollector.getGlobalReportSizes(context);
+    } else {
+      moduleReportSizes = new long[0];
+    }
+    final Runtime runtime = Runtime.getRuntime();
+    final ExecutionPlan plan = this.executionPlanner.plan(this.reportCollector.getLocalReportSize(), moduleReportSizes,
+        runtime.maxMemory(), runtime.availableProcessors());
+    LOG.info("Execution plan: {} ({})", plan, String.join(", ", plan.getReasons()));
+    return plan;
+  }
+
+  /**
+   * Processes the mutants of a report that is too large to be held in memory. The mutants are streamed from the report
+   * into a {@link MutantSpillStore} that sorts them by file on disk. Afterwards the files are read back one by one and
+   * the rules and metrics are processed in batches of files holding a bounded number of mutants. The mutant issues of
+   * all batches are ranked against the analysis-wide issue limit and saved after the last batch. Test metrics and
+   * exports require the mutants of all files and are not created in this mode.
+   *
+   * @param context the current sensor context
+   * @throws IOException if the report or the temporary files could not be read or written
+   */
+  private void executeLowMemory(final SensorContext context) throws IOException {
+    LOG.info("Processing mutants in low-memory mode");
+    logSkippedInLowMemoryMode();
+    resetPeakHeapUsage();
+    final int bufferSize = settings.getInt(MutationAnalysisPlugin.LOW_MEMORY_BUFFER_SIZE)
+        .orElse(Integer.parseInt(MutationAnalysisPlugin.DEFAULT_LOW_MEMORY_BUFFER_SIZE));
+    final SpilledFiles files = new SpilledFiles();
+    final MutationSummary localSummary = new MutationSummary();
+    try (MutantSpillStore store = new MutantSpillStore(context.fileSystem().workDir().toPath(), bufferSize)) {
+      LOG.debug("Sorting mutants by file");
+      this.reportCollector.streamLocalMutants(
+          mutant -> this.resourceResolver.resolve(mutant.getMutatedClass(), mutant.getSourceFile()).ifPresent(file -> {
+            try {
+              store.add(files.add(file, mutant.getNumberOfTestsRun()), mutant);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+            localSummary.addMutant(mutant);
+          }));
+      this.resourceResolver.logMissStatistics();
+
+      final MutationSummary globalSummary;
+      if (MutationAnalysisPlugin.isExperimentalFeaturesEnabled(this.settings)) {
+        globalSummary = new MutationSummary();
+        this.reportCollector.streamGlobalMutants(context, globalSummary::addMutant);
+      } else {
+        globalSummary = localSummary;
+      }
+      final double medianTestsRun = RulesProcessor.getMedianTestsRun(files.getMainTestsRun());
+
+      LOG.debug("Processing {} mutants of {} files", store.size(), files.size());
+      final List<ResourceMutationMetrics> batch = new ArrayList<>();
+      final int[] batchMutants = {0};
+      store.forEachFile((fileId, mutants) -> {
+        final ResourceMutationMetrics resourceMetrics = new ResourceMutationMetrics(files.get(fileId));
+        mutants.forEach(resourceMetrics::addMutant);
+        batch.add(resourceMetrics);
+        batchMutants[0] += mutants.size();
+        if (batchMutants[0] >= bufferSize) {
+          processBatch(batch, context, globalSummary, medianTestsRun);
+          batch.clear();
+          batchMutants[0] = 0;
+        }
+      });
+      processBatch(batch, context, globalSummary, medianTestsRun);
+      this.rulesProcessor.completeBatches(context);
+
+      LOG.info("Processed {} mutants of {} files in low-memory mode using {} runs ({} bytes), peak heap usage {} MB",
+          store.size(), files.size(), store.getRunCount(), store.getBytesWritten(), getPeakHeapUsage() / (1024 * 1024));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Logs the results that are configured but not created in low-memory mode. If the mode has been chosen automatically
+   * from the size of the reports, a warning is logged, as the results are missing without having been disabled.
+   */
+  private void logSkippedInLowMemoryMode() {
+    final List<String> skipped = new ArrayList<>();
+    if (MutationAnalysisPlugin.isExperimentalFeaturesEnabled(this.settings)) {
+      skipped.add("test metrics");
+    }
+    if (settings.get(MutationAnalysisPlugin.EXPORT_TARGETS_FILE).isPresent()) {
+      skipped.add("targets export");
+    }
+    if (settings.get(MutationAnalysisPlugin.EXPORT_TEST_ORDER_FILE).isPresent()) {
+      skipped.add("test order export");
+    }
+    if (skipped.isEmpty()) {
+      return;
+    }
+    if (settings.get(MutationAnalysisPlugin.LOW_MEMORY_REPORT_SIZE).isPresent()) {
+      LOG.info("Not created in low-memory mode: {}", String.join(", ", skipped));
+    } else {
+      LOG.warn("Low-memory mode has been chosen automatically for the size of the reports, not created: {}. "
+              + "Set {} to 0 to disable the low-memory mode", String.join(", ", skipped),
+          MutationAnalysisPlugin.LOW_MEMORY_REPORT_SIZE);
+    }
+  }
+
+  private void processBatch(final List<ResourceMutationMetrics> batch, final SensorContext context,
+      final MutationSummary globalSummary, final double medianTestsRun) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    this.rulesProcessor.processBatch(batch, context, getLanguageKeys(), medianTestsRun);
+    this.sourceMetricsWriter.writeMetrics(batch, context, globalSummary);
+  }
+
+  private static void resetPeakHeapUsage() {
+    for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  /**
+   * @return the sum of the peak usage of all heap memory pools since the last reset, in bytes
+   */
+  private static long getPeakHeapUsage() {
+    long peak = 0;
+    for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+    return peak;
+  }
+
+  /**
+   * Streams the mutants of all reports of the project into a summary that is saved on the project. As measures on
+   * non-root modules are not supported, the summary is only created when the root module is analyzed.
+   *
+   * @param context the current sensor context
+   */
+  private void executeSummaryOnly(final SensorContext context) {
+    if (!context.module().key().equals(context.project().key())) {
+      LOG.info("Summary-only mode, skipping module {}", context.module());
+      return;
+    }
+    LOG.debug("Counting mutants");
+    final MutationSummary summary = new MutationSummary();
+    this.reportCollector.streamGlobalMutants(context, summary::addMutant);
+    LOG.info("Summary of {} mutants: {} detected, {} survived", summary.getMutationsTotal(),
+        summary.getMutationsDetected(), summary.getMutationsSurvived());
+    this.summaryMetricsWriter.writeMetrics(summary, context);
+  }
+
   /**
    * Collect the metrics per resource (from the context) for the given mutants found on the project.
    *
@@ -164,9 +365,10 @@ public class PitestSensor implements Sensor {
   private Collection<ResourceMutationMetrics> collectMetrics(final Collection<Mutant> mutants) {
     final Map<InputFile, ResourceMutationMetrics> metricsByResource = new HashMap<>();
     for (final Mutant mutant : mutants) {
-      this.resourceResolver.resolve(mutant.getMutatedClass())
+      this.resourceResolver.resolve(mutant.getMutatedClass(), mutant.getSourceFile())
           .ifPresent(file -> metricsByResource.computeIfAbsent(file, ResourceMutationMetrics::new).addMutant(mutant));
     }
+    this.resourceResolver.logMissStatistics();
     return metricsByResource.values();
   }
 
@@ -175,4 +377,45 @@ public class PitestSensor implements Sensor {
     return getClass().getSimpleName();
   }
 
+  /**
+   * The files of the mutants of a low-memory analysis. Each file is assigned an id in the order it is first seen.
+   */
+  private static final class SpilledFiles {
+
+    private final Map<InputFile, Integer> ids = new HashMap<>();
+    private final List<InputFile> files = new ArrayList<>();
+    private int[] testsRun = new int[16];
+
+    int add(final InputFile file, final int numberOfTestsRun) {
+      final int id = ids.computeIfAbsent(file, f -> {
+        files.add(f);
+        return files.size() - 1;
+      });
+      if (id >= testsRun.length) {
+        testsRun = Arrays.copyOf(testsRun, testsRun.length * 2);
+      }
+      testsRun[id] += numberOfTestsRun;
+      return id;
+    }
+
+    InputFile get(final int id) {
+      return files.get(id);
+    }
+
+    int size() {
+      return files.size();
+    }
+
+    int[] getMainTestsRun() {
+      final int[] mainTestsRun = new int[files.size()];
+      int count = 0;
+      for (int id = 0; id < files.size(); id++) {
+        if (files.get(id).type() == InputFile.Type.MAIN) {
+          mainTestsRun[count++] = testsRun[id];
+        }
+      }
+      return Arrays.copyOf(mainTestsRun, count);
+    }
+  }
+
 }
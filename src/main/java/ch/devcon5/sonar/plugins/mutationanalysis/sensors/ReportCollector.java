@@ -27,6 +27,10 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.report.MutantFilter;
+import ch.devcon5.sonar.plugins.mutationanalysis.report.PitestReportParser;
+import ch.devcon5.sonar.plugins.mutationanalysis.report.ReportFinder;
+import ch.devcon5.sonar.plugins.mutationanalysis.report.ReportFormat;
 import ch.devcon5.sonar.plugins.mutationanalysis.report.Reports;
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -39,10 +43,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -50,6 +61,7 @@ import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import org.slf4j.Logger;
+import org.sonar.api.CoreProperties;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.config.Configuration;
@@ -71,27 +83,103 @@ public class ReportCollector {
   public static final String SETTINGS_GRADLE = "settings.gradle";
   private static final String XPATH_RELATIVE_PARENT_PATH = "//*[local-name() = 'project']/*[local-name() = 'parent']/*[local-name() = 'relativePath']";
   private static final String XPATH_MODULE = "//*[local-name() = 'module']";
+  /**
+   * the source folders of a module in which the classes of an aggregated report are located
+   */
+  private static final String[] SOURCE_FOLDERS = {"src/main/java", "src/main/kotlin"};
   private static final Logger LOG = getLogger(ReportCollector.class);
   private final Configuration settings;
   private final FileSystem fileSystem;
   private final XPath xpath;
+  private final MutantFilter mutantFilter;
+  /**
+   * the resolver of the sensor, which selects the classes of the module from an aggregated report
+   */
+  private final ResourceResolver resourceResolver;
+  /**
+   * the finder for the reports of the analysis, which caches the report found in each directory
+   */
+  private final ReportFinder reportFinder;
+  /**
+   * the aggregated report at the project root, <code>null</code> until it has been searched
+   */
+  private Optional<Path> aggregateReport;
 
   public ReportCollector(final Configuration configuration, FileSystem fileSystem) {
+    this(configuration, fileSystem, new ResourceResolver(fileSystem));
+  }
+
+  /**
+   * @param configuration the configuration of the analysis
+   * @param fileSystem the file system of the module
+   * @param resourceResolver the resolver used by the sensor for the mutants, so the classes of the module are only
+   * resolved and cached once
+   */
+  public ReportCollector(final Configuration configuration, FileSystem fileSystem,
+      final ResourceResolver resourceResolver) {
     this.settings = configuration;
     this.fileSystem = fileSystem;
+    this.resourceResolver = resourceResolver;
     this.xpath = XPathFactory.newInstance().newXPath();
+    this.mutantFilter = createMutantFilter(configuration);
+    this.reportFinder = new ReportFinder(getReportFormat());
+  }
+
+  /**
+   * Creates the filter for the mutated classes from the configured inclusions and exclusions. Patterns of
+   * {@code sonar.exclusions} starting with <code>**&#47;</code> don't depend on the source directory and are applied to
+   * the package path of the source files as well, so the mutants of these files are skipped by the parser.
+   *
+   * @param configuration the configuration to read the patterns from
+   * @return the filter for mutants
+   */
+  static MutantFilter createMutantFilter(final Configuration configuration) {
+    final List<String> exclusions = new ArrayList<>(
+        Arrays.asList(configuration.getStringArray(MutationAnalysisPlugin.MUTANT_EXCLUSIONS)));
+    for (final String sonarExclusion : configuration.getStringArray(CoreProperties.PROJECT_EXCLUSIONS_PROPERTY)) {
+      if (sonarExclusion.trim().startsWith("**/")) {
+        exclusions.add(sonarExclusion);
+      }
+    }
+    return MutantFilter.of(Arrays.asList(configuration.getStringArray(MutationAnalysisPlugin.MUTANT_INCLUSIONS)),
+        exclusions);
   }
 
   public Collection<Mutant> collectGlobalMutants(final SensorContext context) {
+    return collectGlobalMutants(context, 1);
+  }
+
+  /**
+   * Collects the mutants of the reports of all modules of the project, if experimental features are enabled. The
+   * reports of the modules are parsed concurrently if a parallelism greater than 1 is given. The mutants are returned in
+   * the order of the modules regardless of the parallelism.
+   *
+   * @param context The context from which to gather the reports
+   * @param parallelism the maximum number of reports parsed concurrently
+   * @return the mutants of all modules or an empty collection if experimental features are disabled
+   */
+  public Collection<Mutant> collectGlobalMutants(final SensorContext context, final int parallelism) {
     final Collection<Mutant> globalMutants;
     if (MutationAnalysisPlugin.isExperimentalFeaturesEnabled(this.settings)) {
-      globalMutants = collectReports(context);
+      globalMutants = parallelism > 1 ? collectReports(context, parallelism) : collectReports(context);
     } else {
       globalMutants = Collections.emptyList();
     }
     return globalMutants;
   }
 
+  /**
+   * Streams the mutants of the reports of all modules of the project to the consumer. Other than
+   * {@link #collectGlobalMutants(SensorContext)} the mutants are not collected in memory and the reports are read
+   * regardless of whether experimental features are enabled.
+   *
+   * @param context The context from which to gather the reports
+   * @param consumer the consumer receiving the mutants of all reports
+   */
+  public void streamGlobalMutants(final SensorContext context, final Consumer<Mutant> consumer) {
+    findReportDirectories(context).forEach(reportPath -> readMutantsFromReport(reportPath, consumer));
+  }
+
   /**
    * Reads the Mutants from the PIT reports for the current maven project the sensor analyzes
    *
@@ -99,7 +187,157 @@ public class ReportCollector {
    * @throws IOException if the search for the report file failed
    */
   public Collection<Mutant> collectLocalMutants() throws IOException {
-    return Reports.readMutants(getReportDirectory());
+    final Collection<Mutant> result = new ArrayList<>();
+    streamLocalMutants(result::add);
+    return result;
+  }
+
+  /**
+   * Reads the mutants from the PIT report of the current module and passes them one by one to the consumer, without
+   * keeping them in memory. If the module has no report of its own but the project has an aggregated report, only the
+   * mutants of the classes of the module are read from the aggregated report.
+   *
+   * @param consumer the consumer receiving the mutants of the report
+   * @throws IOException if the search for the report failed or the report could not be read
+   */
+  public void streamLocalMutants(final Consumer<Mutant> consumer) throws IOException {
+    final Optional<Path> aggregate = getAggregateSlice();
+    if (aggregate.isPresent()) {
+      LOG.info("Reading the mutants of the module from the aggregated report {}", aggregate.get());
+      Reports.readMutants(aggregate.get(), mutantFilter, resourceResolver::isResolvable, consumer);
+    } else {
+      Reports.readMutants(getReportDirectory(), reportFinder, mutantFilter, consumer);
+    }
+  }
+
+  /**
+   * Determines the size of the PIT report of the current module. If the mutants of the module are read from the
+   * aggregated report, the size of the aggregated report is returned. Compressed reports are measured by the size of
+   * their uncompressed data, which determines the memory needed for their mutants.
+   *
+   * @return the (uncompressed) size of the report in bytes or 0 if there is no report
+   * @throws IOException if the search for the report failed
+   */
+  public long getLocalReportSize() throws IOException {
+    return getReportSize(getAggregateSlice().orElseGet(this::getReportDirectory));
+  }
+
+  /**
+   * Determines whether the mutants of the current module have to be read from the aggregated report. This is the case
+   * if the project has an aggregated report and the module either has no report of its own or is the project root
+   * containing the aggregated report.
+   *
+   * @return the aggregated report to read the mutants of the module from or an empty optional if the module's own
+   * report is read
+   * @throws IOException if the search for the report of the module failed
+   */
+  private Optional<Path> getAggregateSlice() throws IOException {
+    final Optional<Path> aggregate = findAggregateReport();
+    if (aggregate.isPresent()) {
+      final Path report = reportFinder.findReport(getReportDirectory());
+      if (report == null || isSamePath(report, aggregate.get())) {
+        return aggregate;
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Searches the report aggregated by <code>pitest-maven:report-aggregate</code>, which is located in the report
+   * directory of the root of a multi-module project. The report contains the mutants of all modules, so it is used as
+   * the only source of the mutants of the project instead of the reports of the modules. As the root of a project may
+   * contain code with a PIT run of its own, a report found at the root is only considered aggregated if it contains
+   * classes of at least two modules, unless configured otherwise. The result of the search is cached.
+   *
+   * @return the aggregated report or an empty optional if the project is no multi-module project or there is no
+   * aggregated report at its root
+   */
+  Optional<Path> findAggregateReport() {
+    if (aggregateReport == null) {
+      final String mode = settings.get(MutationAnalysisPlugin.AGGREGATED_REPORT)
+          .orElse(MutationAnalysisPlugin.AGGREGATED_REPORT_AUTO);
+      final Path root = getProjectRootFromSettings().orElseGet(() -> findProjectRoot(fileSystem.baseDir().toPath()));
+      Optional<Path> report = Optional.empty();
+      if (!MutationAnalysisPlugin.AGGREGATED_REPORT_NEVER.equals(mode) && !getModulePaths(root).isEmpty()) {
+        final Path reportDirectory = root.resolve(getReportDirectoryPath());
+        try {
+          if (reportDirectory.toFile().isDirectory()) {
+            report = Optional.ofNullable(reportFinder.findReport(reportDirectory));
+          }
+          if (report.isPresent() && !MutationAnalysisPlugin.AGGREGATED_REPORT_ALWAYS.equals(mode)
+              && !containsSeveralModules(report.get(), root)) {
+            LOG.info("Report {} at the project root contains no classes of several modules, reading the reports of "
+                + "the modules", report.get());
+            report = Optional.empty();
+          }
+        } catch (IOException e) {
+          LOG.debug("Could not search the aggregated report in {}", reportDirectory, e);
+          report = Optional.empty();
+        }
+      }
+      report.ifPresent(path -> LOG.info("Using aggregated report {} for all modules", path));
+      aggregateReport = report;
+    }
+    return aggregateReport;
+  }
+
+  /**
+   * Checks whether the report contains classes of at least two modules of the project. The classes are located by
+   * their source file in the source folders of the modules.
+   *
+   * @param report the report to check
+   * @param root the root of the multi-module project
+   * @return <code>true</code> if classes of more than one module have been found
+   * @throws IOException if the report could not be read
+   */
+  private boolean containsSeveralModules(final Path report, final Path root) throws IOException {
+    final List<Path> modules = findModuleRoots(root).skip(1).collect(Collectors.toList());
+    final Set<Path> reportedModules = new HashSet<>();
+    final Set<String> sourcePaths = new HashSet<>();
+    return Reports.anyClassMatches(report, mutantFilter, (mutatedClass, sourceFile) -> {
+      final String sourcePath = sourceFile == null ? null : getSourcePath(mutatedClass, sourceFile);
+      if (sourcePath != null && sourcePaths.add(sourcePath)) {
+        modules.stream()
+            .filter(module -> Arrays.stream(SOURCE_FOLDERS)
+                .anyMatch(folder -> module.resolve(folder).resolve(sourcePath).toFile().isFile()))
+            .findFirst()
+            .ifPresent(reportedModules::add);
+      }
+      return reportedModules.size() > 1;
+    });
+  }
+
+  private String getSourcePath(final String mutatedClass, final String sourceFile) {
+    final int packageEnd = mutatedClass.lastIndexOf('.');
+    return packageEnd == -1 ? sourceFile : mutatedClass.substring(0, packageEnd + 1).replace('.', '/') + sourceFile;
+  }
+
+  /**
+   * Determines the sizes of the PIT reports of all modules of the project. The reports are searched the same way as
+   * for {@link #collectGlobalMutants(SensorContext)}.
+   *
+   * @param context The context from which to gather the reports
+   * @return the (uncompressed) size of the report of each module in bytes, 0 for modules without report
+   */
+  public long[] getGlobalReportSizes(final SensorContext context) {
+    return findReportDirectories(context).mapToLong(reportDirectory -> {
+      try {
+        return getReportSize(reportDirectory);
+      } catch (IOException e) {
+        LOG.debug("Could not determine the size of the report in {}", reportDirectory, e);
+        return 0L;
+      }
+    }).toArray();
+  }
+
+  private long getReportSize(final Path reportDirectory) throws IOException {
+    final Path report;
+    if (reportDirectory.toFile().isDirectory()) {
+      report = reportFinder.findReport(reportDirectory);
+    } else {
+      report = reportDirectory;
+    }
+    return report != null && report.toFile().isFile() ? PitestReportParser.getUncompressedSize(report) : 0L;
   }
 
   /**
@@ -109,13 +347,50 @@ public class ReportCollector {
    * @param context The context from which to gather the reports
    */
   private Collection<Mutant> collectReports(final SensorContext context) {
+    return findReportDirectories(context).flatMap(this::readMutantsFromReport).collect(Collectors.toList());
+  }
+
+  private Collection<Mutant> collectReports(final SensorContext context, final int parallelism) {
+    final List<Path> reportPaths = findReportDirectories(context).collect(Collectors.toList());
+    final int threads = Math.min(parallelism, Math.max(1, reportPaths.size()));
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final List<Future<List<Mutant>>> modules = new ArrayList<>();
+      for (final Path reportPath : reportPaths) {
+        modules.add(executor.submit(() -> readMutantsFromReport(reportPath).collect(Collectors.toList())));
+      }
+      final List<Mutant> result = new ArrayList<>();
+      for (final Future<List<Mutant>> module : modules) {
+        result.addAll(module.get());
+      }
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading the reports", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Could not read the reports", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Determines the reports of all modules of the project. If the project has an aggregated report, only the aggregated
+   * report is returned, as it already contains the mutants of all modules.
+   *
+   * @param context The context from which to gather the reports
+   * @return the report directories of all modules or the aggregated report
+   */
+  private Stream<Path> findReportDirectories(final SensorContext context) {
+    final Optional<Path> aggregate = findAggregateReport();
+    if (aggregate.isPresent()) {
+      return Stream.of(aggregate.get());
+    }
     final Path root = getProjectRootFromSettings().orElseGet(
         () -> findProjectRoot(context.fileSystem().baseDir().toPath()));
     LOG.info("Using {} as project root", root);
     final String reportDirectoryPath = getReportDirectoryPath();
-    return findModuleRoots(root).map(module -> module.resolve(reportDirectoryPath)).flatMap(this::readMutantsFromReport)
-        .collect(Collectors.toList());
-
+    return findModuleRoots(root).map(module -> module.resolve(reportDirectoryPath));
   }
 
   private Optional<Path> getProjectRootFromSettings() {
@@ -259,7 +534,7 @@ public class ReportCollector {
   Stream<Mutant> readMutantsFromReport(final Path reportPath) {
     Stream<Mutant> result;
     try {
-      result = Reports.readMutants(reportPath).stream();
+      result = readMutants(reportPath).stream();
     } catch (IOException e) {
       //this branch is really hard to reach through unit tests. And should only occur, if something is really wrong with the underlying filesystem
       LOG.debug("Could not read report from path {}", reportPath, e);
@@ -268,11 +543,30 @@ public class ReportCollector {
     return result;
   }
 
+  //package protected visibility for testing exception handling
+  void readMutantsFromReport(final Path reportPath, final Consumer<Mutant> consumer) {
+    try {
+      Reports.readMutants(reportPath, reportFinder, mutantFilter, consumer);
+    } catch (IOException e) {
+      LOG.debug("Could not read report from path {}", reportPath, e);
+    }
+  }
+
   private String getReportDirectoryPath() {
     return settings.get(MutationAnalysisPlugin.REPORT_DIRECTORY_KEY)
         .orElse(MutationAnalysisPlugin.REPORT_DIRECTORY_DEF);
   }
 
+  private Collection<Mutant> readMutants(final Path reportPath) throws IOException {
+    final Collection<Mutant> result = new ArrayList<>();
+    Reports.readMutants(reportPath, reportFinder, mutantFilter, result::add);
+    return result;
+  }
+
+  private ReportFormat getReportFormat() {
+    return ReportFormat.parse(settings.get(MutationAnalysisPlugin.REPORT_FORMAT).orElse(null), ReportFormat.XML);
+  }
+
   private Stream<Path> findModuleRoots(final Path root) {
     return Stream.concat(Stream.of(root), getModulePaths(root).stream().flatMap(this::findModuleRoots));
   }
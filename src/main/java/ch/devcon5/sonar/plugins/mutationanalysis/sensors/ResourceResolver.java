@@ -20,29 +20,131 @@
 
 package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
 
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.sonar.api.batch.fs.FilePredicate;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.fs.InputFile;
 
 /**
  * Resolver that resolves any given Java or Kotlin class to its source class. If the class is a nested class,
- * then its parent is returned
+ * then its parent is returned. If the source file name of the class is known, the class is resolved by the source file
+ * in the package path first, which also resolves Kotlin top-level functions, multi-class files and generated classes.
+ * <p>
+ * The result of each lookup, including failed lookups, is cached, so each class or source file is only looked up
+ * once. The resolutions that failed are counted per class and can be reported with {@link #logMissStatistics()}. As
+ * the classes are resolved once for each mutant, this is the number of mutants that are dropped.
  */
 public class ResourceResolver {
 
+  private static final Logger LOG = getLogger(ResourceResolver.class);
+
+  /**
+   * the maximum number of unresolved classes listed in the miss statistics
+   */
+  private static final int MAX_LISTED_MISSES = 10;
+
   private final FileSystem fs;
+  private final Map<String, Optional<InputFile>> lookups = new HashMap<>();
+  private final Map<String, Integer> misses = new LinkedHashMap<>();
 
   public ResourceResolver(final FileSystem fs) {
     this.fs = fs;
   }
 
   public Optional<InputFile> resolve(String classname) {
-    return Optional.ofNullable(fs.inputFile(fs.predicates()
-        .or(fs.predicates().matchesPathPattern("**/" + getPathToSourceFile(classname, "java")),
-            fs.predicates().matchesPathPattern("**/" + getPathToSourceFile(classname, "kt")))));
+    return countMiss(classname, resolveByClassName(classname));
+  }
+
+  /**
+   * Resolves the class by the name of the source file in the package path of the class, as reported by PIT. If no such
+   * file exists, the class is resolved by its name.
+   *
+   * @param classname the fully qualified name of the class
+   * @param sourceFile the name of the source file of the class without path, i.e. <code>Example.kt</code>
+   * @return the resolved source file
+   */
+  public Optional<InputFile> resolve(String classname, String sourceFile) {
+    return countMiss(classname, find(classname, sourceFile));
+  }
+
+  /**
+   * Checks whether the class can be resolved, like {@link #resolve(String, String)}, but without counting a miss. It is
+   * used to select the classes of the module from a report that contains the classes of other modules as well.
+   *
+   * @param classname the fully qualified name of the class
+   * @param sourceFile the name of the source file of the class without path, i.e. <code>Example.kt</code>
+   * @return <code>true</code> if the class could be resolved to a source file
+   */
+  public boolean isResolvable(String classname, String sourceFile) {
+    return find(classname, sourceFile).isPresent();
+  }
+
+  /**
+   * @return the number of failed resolutions per class that could not be resolved, in the order of the first miss
+   */
+  public Map<String, Integer> getMisses() {
+    return Collections.unmodifiableMap(misses);
+  }
+
+  /**
+   * Logs the number of classes that could not be resolved and the number of mutants dropped with them, listing the
+   * classes with the most misses.
+   */
+  public void logMissStatistics() {
+    if (misses.isEmpty()) {
+      return;
+    }
+    final List<Map.Entry<String, Integer>> entries = new ArrayList<>(misses.entrySet());
+    entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+    final StringBuilder listed = new StringBuilder();
+    for (int i = 0, len = Math.min(entries.size(), MAX_LISTED_MISSES); i < len; i++) {
+      final Map.Entry<String, Integer> entry = entries.get(i);
+      listed.append(i == 0 ? "" : ", ").append(entry.getKey()).append(" (").append(entry.getValue()).append(')');
+    }
+    LOG.info("Could not resolve {} classes to a source file, {} mutants dropped: {}", misses.size(),
+        misses.values().stream().mapToInt(Integer::intValue).sum(), listed);
   }
 
-  private String getPathToSourceFile(String classname, String language) {
+  private Optional<InputFile> find(final String classname, final String sourceFile) {
+    if (sourceFile != null && !sourceFile.trim().isEmpty()) {
+      final String sourcePath = getPackagePath(classname) + sourceFile.trim();
+      final Optional<InputFile> file = lookup(sourcePath, () -> fs.predicates().matchesPathPattern("**/" + sourcePath));
+      if (file.isPresent()) {
+        return file;
+      }
+    }
+    return resolveByClassName(classname);
+  }
+
+  private Optional<InputFile> resolveByClassName(final String classname) {
+    final String mainClassPath = getMainClassPath(classname);
+    return lookup(mainClassPath, () -> fs.predicates()
+        .or(fs.predicates().matchesPathPattern("**/" + mainClassPath + ".java"),
+            fs.predicates().matchesPathPattern("**/" + mainClassPath + ".kt")));
+  }
+
+  private Optional<InputFile> lookup(final String key, final Supplier<FilePredicate> predicate) {
+    return lookups.computeIfAbsent(key, k -> Optional.ofNullable(fs.inputFile(predicate.get())));
+  }
+
+  private Optional<InputFile> countMiss(final String classname, final Optional<InputFile> file) {
+    if (!file.isPresent()) {
+      misses.merge(classname, 1, Integer::sum);
+    }
+    return file;
+  }
+
+  private String getMainClassPath(String classname) {
     final int nestedClass = classname.indexOf('$');
     final String mainClass;
     if (nestedClass != -1) {
@@ -50,7 +152,15 @@ public class ResourceResolver {
     } else {
       mainClass = classname;
     }
-    return mainClass.trim().replace(".", "/") + "." + language;
+    return mainClass.trim().replace(".", "/");
+  }
+
+  private String getPackagePath(String classname) {
+    final int packageEnd = classname.lastIndexOf('.');
+    if (packageEnd == -1) {
+      return "";
+    }
+    return classname.substring(0, packageEnd + 1).trim().replace(".", "/");
   }
 
 }
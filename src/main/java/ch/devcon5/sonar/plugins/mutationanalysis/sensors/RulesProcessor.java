@@ -20,23 +20,40 @@
 
 package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
 
+import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.PARAM_ISSUE_GRANULARITY;
 import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.PARAM_MUTANT_COVERAGE_THRESHOLD;
+import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.PARAM_MUTATION_COST_FACTOR;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.rules.IssueGranularity;
 import ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
+import org.sonar.api.batch.fs.InputComponent;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.TextRange;
 import org.sonar.api.batch.rule.ActiveRule;
 import org.sonar.api.batch.rule.ActiveRules;
 import org.sonar.api.batch.sensor.SensorContext;
-import org.sonar.api.batch.sensor.issue.NewIssue;
-import org.sonar.api.batch.sensor.issue.NewIssueLocation;
 import org.sonar.api.config.Configuration;
+import org.sonar.api.rule.RuleKey;
 
 /**
  *
@@ -45,6 +62,22 @@ public class RulesProcessor {
 
   private static final Logger LOG = getLogger(RulesProcessor.class);
 
+  /**
+   * the default factor by which the tests run for a class must exceed the median to be a cost hotspot
+   */
+  private static final String DEFAULT_MUTATION_COST_FACTOR = "10.0";
+
+  /**
+   * the number of methods listed in the issue message of a cost hotspot
+   */
+  private static final int MAX_COST_HOTSPOT_METHODS = 3;
+
+  /**
+   * the formatters of the issue messages by pattern and locale. DecimalFormat is not thread-safe, so each thread
+   * describing issues has its own formatters.
+   */
+  private static final ThreadLocal<Map<String, DecimalFormat>> FORMATS = ThreadLocal.withInitial(HashMap::new);
+
   private final Configuration settings;
 
   /**
@@ -52,9 +85,40 @@ public class RulesProcessor {
    */
   private final ActiveRules rulesProfile;
 
+  /**
+   * the number of mutant issues that may still be created in the current analysis
+   */
+  private int remainingAnalysisIssues;
+
+  /**
+   * whether the issues of the resources are described concurrently
+   */
+  private boolean parallel = true;
+
+  /**
+   * the issue settings of the analysis processed in batches, <code>null</code> if no batch is being processed
+   */
+  private IssueSettings batchSettings;
+
+  /**
+   * the budget of the mutant issues of all batches of the analysis
+   */
+  private IssueBudget batchBudget;
+
   public RulesProcessor(final Configuration configuration, final ActiveRules rulesProfile) {
     this.settings = configuration;
     this.rulesProfile = rulesProfile;
+    this.remainingAnalysisIssues = getIssueLimit(MutationAnalysisPlugin.ISSUES_MAX_PER_ANALYSIS);
+  }
+
+  /**
+   * Sets whether the issues of the resources are described concurrently. Small analyses are faster without the
+   * overhead of the parallel stream.
+   *
+   * @param parallel <code>true</code> to describe the issues concurrently (default)
+   */
+  public void setParallel(final boolean parallel) {
+    this.parallel = parallel;
   }
 
   /**
@@ -64,6 +128,92 @@ public class RulesProcessor {
    * @param context the current sensor context
    */
   public void processRules(final Collection<ResourceMutationMetrics> metrics, final SensorContext context, String language) {
+    processRules(metrics, context, Collections.singletonList(language));
+  }
+
+  /**
+   * Applies the active rules of all languages to the resources based on each resource's metrics. The mutant issues of
+   * all languages are ranked together against the analysis-wide issue limit, so a single summary issue is created for
+   * the issues suppressed in all languages. The issues of each resource are saved together, in the order of the active
+   * rules, so the saved issues don't depend on whether the resources have been evaluated concurrently.
+   *
+   * @param metrics the metrics for each individual resource
+   * @param context the current sensor context
+   * @param languages the languages of the resources to process
+   */
+  public void processRules(final Collection<ResourceMutationMetrics> metrics, final SensorContext context, final Collection<String> languages) {
+    final IssueSettings issueSettings = readIssueSettings();
+    final double medianTestsRun = getMedianTestsRun(metrics);
+    final List<EvaluatedResource> evaluatedResources = new ArrayList<>();
+    for (final String language : languages) {
+      evaluatedResources.addAll(evaluate(metrics, language, medianTestsRun, issueSettings));
+    }
+    saveWithinAnalysisLimit(evaluatedResources, issueSettings, context);
+  }
+
+  /**
+   * Applies the active rules of all languages to a batch of the resources of an analysis that is processed in several
+   * batches. Other than {@link #processRules(Collection, SensorContext, Collection)} the median of the tests run per
+   * resource is not determined from the given resources. The threshold, cost and summary issues of the batch are saved
+   * immediately. If the number of issues per analysis is limited, the mutant issues are ranked against the limit across
+   * all batches and are saved by {@link #completeBatches(SensorContext)}, so only the selected issues are kept in memory.
+   *
+   * @param metrics the metrics for each individual resource of the batch
+   * @param context the current sensor context
+   * @param languages the languages of the resources to process
+   * @param medianTestsRun the median number of tests run for the mutants of all main resources of the analysis
+   */
+  public void processBatch(final Collection<ResourceMutationMetrics> metrics, final SensorContext context, final Collection<String> languages, final double medianTestsRun) {
+    if (batchSettings == null) {
+      batchSettings = readIssueSettings();
+      batchBudget = new IssueBudget(remainingAnalysisIssues);
+    }
+    final List<EvaluatedResource> evaluatedResources = new ArrayList<>();
+    for (final String language : languages) {
+      evaluatedResources.addAll(evaluate(metrics, language, medianTestsRun, batchSettings));
+    }
+    if (remainingAnalysisIssues == Integer.MAX_VALUE) {
+      // without a limit, no issue is suppressed and the issues of each resource are saved completely
+      saveWithinAnalysisLimit(evaluatedResources, batchSettings, context);
+      return;
+    }
+    for (final EvaluatedResource evaluatedResource : evaluatedResources) {
+      evaluatedResource.getIssues()
+          .stream()
+          .filter(issue -> !evaluatedResource.isMutantIssue(issue))
+          .forEach(issue -> issue.save(context));
+      evaluatedResource.getMutantIssues().forEach(batchBudget::offer);
+    }
+  }
+
+  /**
+   * Completes the processing of the batches of an analysis. The mutant issues selected within the analysis-wide issue
+   * limit are saved in the order they were found, followed by a single summary issue for all suppressed issues.
+   *
+   * @param context the current sensor context
+   */
+  public void completeBatches(final SensorContext context) {
+    if (batchSettings == null) {
+      return;
+    }
+    batchBudget.getSelectedIssues().forEach(issue -> issue.save(context));
+    remainingAnalysisIssues -= batchBudget.getSelectedCount();
+    saveSummaryIssue(batchBudget, batchSettings, context);
+    batchSettings = null;
+    batchBudget = null;
+  }
+
+  /**
+   * Applies the active rules of the language to the resources of the language. The issues are described, but not
+   * saved.
+   *
+   * @param metrics the metrics for each individual resource
+   * @param language the language of the resources to process
+   * @param medianTestsRun the median number of tests run for the mutants of all main resources of the analysis
+   * @param issueSettings the settings for creating issues
+   * @return the evaluated resources of the language in the order of the metrics
+   */
+  private List<EvaluatedResource> evaluate(final Collection<ResourceMutationMetrics> metrics, final String language, final double medianTestsRun, final IssueSettings issueSettings) {
     final Collection<ActiveRule> activeRules = this.rulesProfile.findByRepository(
         MutationAnalysisRulesDefinition.REPOSITORY_KEY + "." + language);
     if (activeRules.isEmpty()) {
@@ -73,44 +223,179 @@ public class RulesProcessor {
           language);
     }
 
-    metrics.stream()
+    // the issues may be described in parallel per resource, but are saved by the calling thread in resource order
+    final List<ResourceMutationMetrics> resources = new ArrayList<>(metrics);
+    return (parallel ? resources.parallelStream() : resources.stream())
         .filter(resourceMetrics -> language.equals(resourceMetrics.getResource().language()))
-        .forEach(resourceMetrics -> applyRules(resourceMetrics, activeRules, context));
+        .map(resourceMetrics -> applyRules(resourceMetrics, activeRules, medianTestsRun, issueSettings))
+        .collect(Collectors.toList());
   }
 
   /**
-   * Applies the active rules on resource metrics.
+   * Reads the settings for creating issues once per analysis, so that the rules can be evaluated concurrently without
+   * accessing the configuration.
+   *
+   * @return the issue settings
+   */
+  private IssueSettings readIssueSettings() {
+    return new IssueSettings(settings.getDouble(MutationAnalysisPlugin.EFFORT_FACTOR_SURVIVED_MUTANT).orElse(1.0),
+        settings.getDouble(MutationAnalysisPlugin.EFFORT_FACTOR_MISSING_COVERAGE).orElse(1.0),
+        getIssueLimit(MutationAnalysisPlugin.ISSUES_MAX_PER_FILE),
+        IssueGranularity.parse(settings.get(MutationAnalysisPlugin.ISSUE_GRANULARITY)
+            .orElse(MutationAnalysisPlugin.DEFAULT_ISSUE_GRANULARITY), IssueGranularity.MUTANT));
+  }
+
+  /**
+   * Applies the active rules on resource metrics. The method does not access the sensor context and may be invoked
+   * concurrently for different resources.
    *
    * @param resourceMetrics the mutants for found for the issuable
    * @param activeRules the active rules to apply
-   * @param context the current sensor context
+   * @param medianTestsRun the median number of tests run for the mutants of a class
+   * @param issueSettings the settings for creating issues
+   * @return the issues of the resource in the order of the active rules, including the described mutant issues that are
+   * within the per-file issue limit
    */
-  private void applyRules(final ResourceMutationMetrics resourceMetrics, final Collection<ActiveRule> activeRules, final SensorContext context) {
+  private EvaluatedResource applyRules(final ResourceMutationMetrics resourceMetrics, final Collection<ActiveRule> activeRules, final double medianTestsRun, final IssueSettings issueSettings) {
+    final List<MutantIssue> mutantIssues = new ArrayList<>();
     for (final ActiveRule rule : activeRules) {
-      applyRule(resourceMetrics, rule, context);
+      applyMutantRule(resourceMetrics, rule, issueSettings, mutantIssues);
+    }
+    // the per-file limit is applied on the mutant issues of all rules, its summary issue precedes the issues of the rules
+    final List<IssueDescriptor> issues = new ArrayList<>();
+    final Set<MutantIssue> retainedIssues = new HashSet<>(
+        limitPerFile(resourceMetrics.getResource(), mutantIssues, issueSettings, issues));
+
+    final List<MutantIssue> describedIssues = new ArrayList<>();
+    int next = 0;
+    for (final ActiveRule rule : activeRules) {
+      applyThresholdRule(resourceMetrics, rule, issueSettings, issues);
+      applyCostRule(resourceMetrics, rule, medianTestsRun, issues);
+      for (; next < mutantIssues.size() && mutantIssues.get(next).getRule() == rule; next++) {
+        final MutantIssue mutantIssue = mutantIssues.get(next);
+        if (retainedIssues.contains(mutantIssue)) {
+          final MutantIssue describedIssue = mutantIssue.describedBy(
+              describe(mutantIssue, issueSettings.getMutantEffortFactor()));
+          issues.add(describedIssue.getDescriptor());
+          describedIssues.add(describedIssue);
+        }
+      }
+    }
+    return new EvaluatedResource(issues, describedIssues);
+  }
+
+  /**
+   * Limits the mutant issues of a single resource to the configured maximum number of issues per file. The issues are
+   * ranked by importance, the least important issues are suppressed and reported by a single summary issue on the
+   * resource.
+   *
+   * @param resource the resource the issues are reported on
+   * @param mutantIssues the mutant issues of the resource
+   * @param issueSettings the settings for creating issues
+   * @param issues the issues of the resource to which the summary issue is added
+   * @return the issues within the limit
+   */
+  private List<MutantIssue> limitPerFile(final InputFile resource, final List<MutantIssue> mutantIssues, final IssueSettings issueSettings, final List<IssueDescriptor> issues) {
+    final int limit = issueSettings.getFileIssueLimit();
+    if (mutantIssues.size() <= limit) {
+      return mutantIssues;
+    }
+    final List<MutantIssue> ranked = new ArrayList<>(mutantIssues);
+    ranked.sort(MutantIssue.BY_IMPORTANCE);
+    final List<MutantIssue> suppressed = ranked.subList(limit, ranked.size());
+    LOG.info("Suppressing {} mutant issues on {}, limit of {} issues per file reached", suppressed.size(), resource, limit);
+    issues.add(summaryIssue(resource, suppressed.get(0).getRule().ruleKey(), suppressed.size(),
+        suppressed.stream().mapToInt(MutantIssue::getMutantCount).sum(), limit, "file",
+        issueSettings.getMutantEffortFactor()));
+    return new ArrayList<>(ranked.subList(0, limit));
+  }
+
+  /**
+   * Saves the issues of the evaluated resources. The mutant issues of all resources are ranked against the
+   * analysis-wide issue limit first, then the issues of each resource are saved in their order, skipping the mutant
+   * issues that have not been selected. If issues have been suppressed, they are reported by a single summary issue on
+   * the project, which is saved last.
+   *
+   * @param evaluatedResources the evaluated resources in the order their issues are saved
+   * @param issueSettings the settings for creating issues
+   * @param context the current sensor context
+   */
+  private void saveWithinAnalysisLimit(final List<EvaluatedResource> evaluatedResources, final IssueSettings issueSettings, final SensorContext context) {
+    final IssueBudget budget = new IssueBudget(remainingAnalysisIssues);
+    evaluatedResources.forEach(evaluatedResource -> evaluatedResource.getMutantIssues().forEach(budget::offer));
+    final Set<IssueDescriptor> selectedIssues = new HashSet<>(budget.getSelectedIssues());
+    for (final EvaluatedResource evaluatedResource : evaluatedResources) {
+      evaluatedResource.getIssues()
+          .stream()
+          .filter(issue -> !evaluatedResource.isMutantIssue(issue) || selectedIssues.contains(issue))
+          .forEach(issue -> issue.save(context));
     }
+    remainingAnalysisIssues -= budget.getSelectedCount();
+    saveSummaryIssue(budget, issueSettings, context);
   }
 
   /**
-   * Applies the active rule on the issuable if any of the resource metrics for the issuable violates the rule
+   * Saves a single summary issue on the project for the mutant issues suppressed by the analysis-wide issue limit.
    *
-   * @param resourceMetrics the metrics for the Resource
-   * @param rule the active rule to apply
+   * @param budget the budget to which all mutant issues have been offered
+   * @param issueSettings the settings for creating issues
    * @param context the current sensor context
    */
-  private void applyRule(final ResourceMutationMetrics resourceMetrics, final ActiveRule rule, final SensorContext context) {
-    applyThresholdRule(resourceMetrics, rule, context);
-    applyMutantRule(resourceMetrics, rule, context);
+  private void saveSummaryIssue(final IssueBudget budget, final IssueSettings issueSettings, final SensorContext context) {
+    if (budget.getSuppressedIssues() > 0) {
+      final int limit = getIssueLimit(MutationAnalysisPlugin.ISSUES_MAX_PER_ANALYSIS);
+      LOG.info("Suppressing {} mutant issues, limit of {} issues per analysis reached", budget.getSuppressedIssues(), limit);
+      summaryIssue(context.project(), budget.getSuppressedRule(), budget.getSuppressedIssues(),
+          budget.getSuppressedMutants(), limit, "analysis", issueSettings.getMutantEffortFactor()).save(context);
+    }
   }
 
   /**
-   * Creates the mutation coverage threshold issue if the active rule is the Mutation Coverage rule.
+   * Describes a single issue summarizing the suppressed mutant issues. The issue is reported for the rule of the most
+   * important suppressed issue, its effort covers all suppressed mutants.
+   *
+   * @param component the component on which to report the summary issue
+   * @param ruleKey the rule of the most important suppressed issue
+   * @param suppressedIssues the number of suppressed issues
+   * @param suppressedMutants the number of mutants of the suppressed issues
+   * @param limit the limit that has been exceeded
+   * @param scope the scope of the limit, i.e. "file" or "analysis"
+   * @param effortFactor the effort factor applied to each suppressed mutant
+   * @return the summary issue
+   */
+  private IssueDescriptor summaryIssue(final InputComponent component, final RuleKey ruleKey, final int suppressedIssues, final int suppressedMutants, final int limit, final String scope, final double effortFactor) {
+    return new IssueDescriptor(ruleKey, component, null,
+        new StringBuilder().append(suppressedIssues)
+            .append(" further issues for ")
+            .append(suppressedMutants)
+            .append(" mutants have been suppressed because the limit of ")
+            .append(limit)
+            .append(" issues per ")
+            .append(scope)
+            .append(" has been reached")
+            .toString(),
+        effortFactor * suppressedMutants);
+  }
+
+  /**
+   * Reads an issue limit from the settings.
+   *
+   * @param key the key of the limit setting
+   * @return the configured limit or {@link Integer#MAX_VALUE} if the limit is not set or is not a positive number
+   */
+  private int getIssueLimit(final String key) {
+    return settings.getInt(key).filter(limit -> limit > 0).orElse(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Describes the mutation coverage threshold issue if the active rule is the Mutation Coverage rule.
    *
    * @param resourceMetrics the issuable on which to apply the rule
    * @param rule the metrics for the resource behind the issuable
-   * @param context the rule to apply.
+   * @param issueSettings the settings for creating issues
+   * @param issues the issues of the resource to which the threshold issue is added
    */
-  private void applyThresholdRule(final ResourceMutationMetrics resourceMetrics, final ActiveRule rule, final SensorContext context) {
+  private void applyThresholdRule(final ResourceMutationMetrics resourceMetrics, final ActiveRule rule, final IssueSettings issueSettings, final List<IssueDescriptor> issues) {
     //we can skip the check whether the current rule is the coverage_threshold rule
     //because if it's not, then it won't have the coverage threshold parameter, defaulting to 0
     //an issue is only created if the actual coverage is less than the threshold, which is not possible with 0
@@ -119,12 +404,9 @@ public class RulesProcessor {
     if (resourceMetrics.getMutationCoverage() < threshold) {
       final double minimumKilledMutants = resourceMetrics.getMutationsTotal() * threshold / 100.0d;
       final double additionalRequiredMutants = Math.ceil(minimumKilledMutants - resourceMetrics.getMutationsKilled());
-      NewIssue newIssue = context.newIssue().forRule(rule.ruleKey());
-      newIssue.gap(settings.getDouble(MutationAnalysisPlugin.EFFORT_FACTOR_MISSING_COVERAGE)
-              .orElse(1.0) * additionalRequiredMutants)
-          .at(newIssue.newLocation().on(resourceMetrics.getResource())
-              .message(generateThresholdViolationMessage(actualCoverage, threshold, additionalRequiredMutants)))
-          .save();
+      issues.add(new IssueDescriptor(rule.ruleKey(), resourceMetrics.getResource(), null,
+          generateThresholdViolationMessage(actualCoverage, threshold, additionalRequiredMutants),
+          issueSettings.getCoverageEffortFactor() * additionalRequiredMutants));
     }
   }
 
@@ -138,8 +420,8 @@ public class RulesProcessor {
     // Secondly, despite best practices the StringBuilder is not initialized with an initial size hint as the value of
     // size hint is also an un-killable mutant as it only affects the resizing of the backing array but has no impact to the outcome
     //
-    final DecimalFormat noDecimalPlace = new DecimalFormat("#");
-    final DecimalFormat oneDecimalPlace = new DecimalFormat("#.0");
+    final DecimalFormat noDecimalPlace = getFormat("#");
+    final DecimalFormat oneDecimalPlace = getFormat("#.0");
     return new StringBuilder().append(noDecimalPlace.format(additionalRequiredMutants))
         .append(" more mutants need to be killed to get the mutation coverage from ")
         .append(oneDecimalPlace.format(actualCoverage))
@@ -150,29 +432,189 @@ public class RulesProcessor {
         .toString();
   }
 
+  /**
+   * Gets the formatter of the current thread for the pattern and the default locale.
+   *
+   * @param pattern the pattern of the format
+   * @return the cached formatter
+   */
+  private static DecimalFormat getFormat(final String pattern) {
+    final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+    return FORMATS.get().computeIfAbsent(pattern + '@' + locale, key -> new DecimalFormat(pattern));
+  }
+
+  /**
+   * Determines the median of the number of tests run for the mutants of each main resource.
+   *
+   * @param metrics the metrics of all resources
+   * @return the median number of tests run per resource or 0 if no tests were run at all
+   */
+  private double getMedianTestsRun(final Collection<ResourceMutationMetrics> metrics) {
+    return getMedianTestsRun(metrics.stream()
+        .filter(resourceMetrics -> resourceMetrics.getResource().type() == InputFile.Type.MAIN)
+        .mapToInt(ResourceMutationMetrics::getNumTestsRun)
+        .toArray());
+  }
+
+  /**
+   * Determines the median of the number of tests run for the mutants of each main resource.
+   *
+   * @param testsRunPerResource the number of tests run for the mutants of each main resource, in any order
+   * @return the median number of tests run per resource or 0 if no tests were run at all
+   */
+  static double getMedianTestsRun(final int[] testsRunPerResource) {
+    final int[] testsRun = testsRunPerResource.clone();
+    Arrays.sort(testsRun);
+    if (testsRun.length == 0) {
+      return 0.0;
+    }
+    final int middle = testsRun.length / 2;
+    if (testsRun.length % 2 == 0) {
+      return (testsRun[middle - 1] + testsRun[middle]) / 2.0;
+    }
+    return testsRun[middle];
+  }
+
+  /**
+   * Describes the mutation cost issue if the active rule is the Mutation Analysis Cost Hotspot rule and the tests run
+   * for the mutants of the resource exceed the median of all resources by the configured factor.
+   *
+   * @param resourceMetrics the metrics for the resource
+   * @param rule the rule to apply
+   * @param medianTestsRun the median number of tests run for the mutants of a class
+   * @param issues the issues of the resource to which the cost issue is added
+   */
+  private void applyCostRule(final ResourceMutationMetrics resourceMetrics, final ActiveRule rule, final double medianTestsRun, final List<IssueDescriptor> issues) {
+    if (!MutationAnalysisRulesDefinition.RULE_MUTATION_COST.equals(rule.ruleKey().rule()) || medianTestsRun <= 0.0) {
+      return;
+    }
+    final double factor = Double.parseDouble(Optional.ofNullable(rule.param(PARAM_MUTATION_COST_FACTOR))
+        .orElse(DEFAULT_MUTATION_COST_FACTOR));
+    final int testsRun = resourceMetrics.getNumTestsRun();
+    if (testsRun > medianTestsRun * factor) {
+      issues.add(new IssueDescriptor(rule.ruleKey(), resourceMetrics.getResource(), null,
+          generateCostHotspotMessage(resourceMetrics, testsRun, medianTestsRun), null));
+    }
+  }
+
+  private String generateCostHotspotMessage(final ResourceMutationMetrics resourceMetrics, final int testsRun, final double medianTestsRun) {
+    final Map<String, Integer> testsRunByMethod = new HashMap<>();
+    for (final Mutant mutant : resourceMetrics.getMutants()) {
+      testsRunByMethod.merge(mutant.getMutatedMethod(), mutant.getNumberOfTestsRun(), Integer::sum);
+    }
+    final List<Map.Entry<String, Integer>> methods = new ArrayList<>(testsRunByMethod.entrySet());
+    methods.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+    final DecimalFormat noDecimalPlace = getFormat("#");
+    final DecimalFormat oneDecimalPlace = getFormat("0.0");
+    final StringBuilder message = new StringBuilder().append("The mutation analysis ran ")
+        .append(testsRun)
+        .append(" tests for this class, ")
+        .append(oneDecimalPlace.format(testsRun / medianTestsRun))
+        .append(" times the median of ")
+        .append(noDecimalPlace.format(medianTestsRun))
+        .append(" tests per class. Most expensive methods:");
+    final int methodCount = Math.min(methods.size(), MAX_COST_HOTSPOT_METHODS);
+    for (int i = 0; i < methodCount; i++) {
+      final Map.Entry<String, Integer> method = methods.get(i);
+      message.append(i == 0 ? " " : ", ").append(method.getKey()).append(" (").append(method.getValue()).append(')');
+    }
+    return message.toString();
+  }
+
   /**
    * Applies mutant specific rule on each mutant captured in the resource metric. For each mutant assigned to the
    * resource, it is checked if it violates: <ul> <li>the survived mutant rule</li> <li>the uncovered mutant rule</li>
    * <li>the unknown mutator status rule</li> <li>any of the mutator specific rules</li> </ul>
+   * The violating mutants are coalesced into issues according to the issue granularity of the rule.
    *
    * @param resourceMetrics the resource metric containing the resource that might have an issue and all mutants found
    * for that resource
    * @param rule the rule that might be violated
-   * @param context the current sensor context
+   * @param issueSettings the settings for creating issues
+   * @param mutantIssues the list to which the pending issues for the violating mutants are added
    */
-  private void applyMutantRule(final ResourceMutationMetrics resourceMetrics, final ActiveRule rule, final SensorContext context) {
+  private void applyMutantRule(final ResourceMutationMetrics resourceMetrics, final ActiveRule rule, final IssueSettings issueSettings, final List<MutantIssue> mutantIssues) {
+    final IssueGranularity granularity = getIssueGranularity(rule, issueSettings.getDefaultGranularity());
+    final Map<Object, List<Mutant>> violations = new LinkedHashMap<>();
     for (final Mutant mutant : resourceMetrics.getMutants()) {
       if (violatesSurvivedMutantRule(rule, mutant) || violatesUncoveredMutantRule(rule, mutant)
           || violatesUnknownMutantStatusRule(rule, mutant) || violatesMutatorRule(rule, mutant)) {
-        NewIssue newIssue = context.newIssue().forRule(rule.ruleKey());
-        NewIssueLocation newLocation = newIssue.newLocation().on(resourceMetrics.getResource())
-            .at(resourceMetrics.getResource().selectLine(mutant.getLineNumber()))
-            .message(getViolationDescription(mutant));
-        newIssue.gap(settings.getDouble(MutationAnalysisPlugin.EFFORT_FACTOR_SURVIVED_MUTANT).orElse(1.0))
-            .at(newLocation)
-            .save();
+        violations.computeIfAbsent(getIssueKey(granularity, mutant, violations.size()), k -> new ArrayList<>())
+            .add(mutant);
       }
     }
+    for (final List<Mutant> mutants : violations.values()) {
+      mutantIssues.add(new MutantIssue(rule, resourceMetrics, granularity, mutants));
+    }
+  }
+
+  /**
+   * Describes the issue for the violating mutants.
+   *
+   * @param mutantIssue the pending issue to describe
+   * @param effortFactor the effort factor applied to each mutant of the issue
+   * @return the descriptor of the issue
+   */
+  private IssueDescriptor describe(final MutantIssue mutantIssue, final double effortFactor) {
+    final List<Mutant> mutants = mutantIssue.getMutants();
+    return new IssueDescriptor(mutantIssue.getRule().ruleKey(), mutantIssue.getResource(),
+        getTextRange(mutantIssue.getResourceMetrics(), mutants),
+        getViolationDescription(mutantIssue.getGranularity(), mutants),
+        effortFactor * mutants.size());
+  }
+
+  /**
+   * Determines the issue granularity for the rule. The rule's granularity parameter takes precedence over the project
+   * setting.
+   *
+   * @param rule the rule for which issues are created
+   * @param defaultGranularity the granularity of the project setting
+   * @return the granularity to use for the rule
+   */
+  private IssueGranularity getIssueGranularity(final ActiveRule rule, final IssueGranularity defaultGranularity) {
+    return IssueGranularity.parse(rule.param(PARAM_ISSUE_GRANULARITY), defaultGranularity);
+  }
+
+  /**
+   * Determines the key by which violating mutants are coalesced into a single issue.
+   *
+   * @param granularity the granularity of the issues
+   * @param mutant the violating mutant
+   * @param position the number of issues found so far, used as key for mutant granularity, so that duplicate mutants
+   * still produce separate issues
+   * @return a key that is equal for all mutants that should be reported in the same issue
+   */
+  private Object getIssueKey(final IssueGranularity granularity, final Mutant mutant, final int position) {
+    switch (granularity) {
+      case LINE:
+        return mutant.getLineNumber();
+      case METHOD:
+        return mutant.getMutatedClass() + '#' + mutant.getMutatedMethod() + mutant.getMethodDescription();
+      default:
+        return position;
+    }
+  }
+
+  /**
+   * Determines the range of the issue location, spanning from the first to the last line of the mutants.
+   *
+   * @param resourceMetrics the metrics of the resource containing the mutants, caching the line ranges
+   * @param mutants the mutants reported in one issue, must not be empty
+   * @return the text range of the issue
+   */
+  private TextRange getTextRange(final ResourceMutationMetrics resourceMetrics, final List<Mutant> mutants) {
+    int firstLine = Integer.MAX_VALUE;
+    int lastLine = Integer.MIN_VALUE;
+    for (final Mutant mutant : mutants) {
+      firstLine = Math.min(firstLine, mutant.getLineNumber());
+      lastLine = Math.max(lastLine, mutant.getLineNumber());
+    }
+    final TextRange first = resourceMetrics.getLineRange(firstLine);
+    if (firstLine == lastLine) {
+      return first;
+    }
+    return resourceMetrics.getResource().newRange(first.start(), resourceMetrics.getLineRange(lastLine).end());
   }
 
   /**
@@ -226,6 +668,32 @@ public class RulesProcessor {
         && mutant.getState().isAlive();
   }
 
+  /**
+   * Gets the violation description for the mutants of an issue. A single mutant is described by its mutant specific
+   * description, multiple mutants by the distinct violation descriptions of their mutators and their count.
+   *
+   * @param granularity the granularity of the issue
+   * @param mutants the mutants reported in the issue, must not be empty
+   * @return the description as string
+   */
+  private String getViolationDescription(final IssueGranularity granularity, final List<Mutant> mutants) {
+    if (mutants.size() == 1) {
+      return getViolationDescription(mutants.get(0));
+    }
+    final Set<String> descriptions = new LinkedHashSet<>();
+    for (final Mutant mutant : mutants) {
+      descriptions.add(mutant.getMutationOperator().getViolationDescription());
+    }
+    final StringBuilder message = new StringBuilder(String.join(" ", descriptions))
+        .append(" (")
+        .append(mutants.size())
+        .append(" mutants");
+    if (granularity == IssueGranularity.METHOD) {
+      message.append(" in method ").append(mutants.get(0).getMutatedMethod());
+    }
+    return message.append(')').toString();
+  }
+
   /**
    * Gets the mutant specific violation description of the mutator of the mutant
    *
@@ -241,4 +709,76 @@ public class RulesProcessor {
     return message.toString();
   }
 
+  /**
+   * The settings for creating issues, read once per analysis.
+   */
+  private static final class IssueSettings {
+
+    private final double mutantEffortFactor;
+    private final double coverageEffortFactor;
+    private final int fileIssueLimit;
+    private final IssueGranularity defaultGranularity;
+
+    IssueSettings(final double mutantEffortFactor, final double coverageEffortFactor, final int fileIssueLimit, final IssueGranularity defaultGranularity) {
+      this.mutantEffortFactor = mutantEffortFactor;
+      this.coverageEffortFactor = coverageEffortFactor;
+      this.fileIssueLimit = fileIssueLimit;
+      this.defaultGranularity = defaultGranularity;
+    }
+
+    double getMutantEffortFactor() {
+      return mutantEffortFactor;
+    }
+
+    double getCoverageEffortFactor() {
+      return coverageEffortFactor;
+    }
+
+    int getFileIssueLimit() {
+      return fileIssueLimit;
+    }
+
+    IssueGranularity getDefaultGranularity() {
+      return defaultGranularity;
+    }
+  }
+
+  /**
+   * The result of applying the rules to a single resource.
+   */
+  private static final class EvaluatedResource {
+
+    private final List<IssueDescriptor> issues;
+    private final List<MutantIssue> mutantIssues;
+    private final Set<IssueDescriptor> mutantDescriptors;
+
+    EvaluatedResource(final List<IssueDescriptor> issues, final List<MutantIssue> mutantIssues) {
+      this.issues = issues;
+      this.mutantIssues = mutantIssues;
+      this.mutantDescriptors = mutantIssues.stream().map(MutantIssue::getDescriptor).collect(Collectors.toSet());
+    }
+
+    /**
+     * @return all issues of the resource in the order they are saved
+     */
+    List<IssueDescriptor> getIssues() {
+      return issues;
+    }
+
+    /**
+     * @return the described mutant issues of the resource that are within the per-file limit
+     */
+    List<MutantIssue> getMutantIssues() {
+      return mutantIssues;
+    }
+
+    /**
+     * @param issue an issue of the resource
+     * @return <code>true</code> if the issue is a mutant issue subject to the analysis-wide issue limit
+     */
+    boolean isMutantIssue(final IssueDescriptor issue) {
+      return mutantDescriptors.contains(issue);
+    }
+  }
+
 }
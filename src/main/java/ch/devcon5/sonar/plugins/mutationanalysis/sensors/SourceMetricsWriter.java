@@ -22,7 +22,10 @@ package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutantLineIndex;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationSummary;
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationsDataCodec;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
 import java.util.Collection;
@@ -50,12 +53,38 @@ public class SourceMetricsWriter {
     final int alive = total - (globalMutants.isEmpty()
         ? metrics.stream().mapToInt(rmm -> countDetected(rmm.getMutants())).sum()
         : countDetected(globalMutants));
+    final int testsRun = globalMutants.isEmpty()
+        ? metrics.stream().mapToInt(ResourceMutationMetrics::getNumTestsRun).sum()
+        : globalMutants.stream().mapToInt(Mutant::getNumberOfTestsRun).sum();
+    writeMetrics(metrics, context, total, alive, testsRun);
+  }
+
+  /**
+   * Saves the information of the mutants the sensors context, using the global numbers of a summary that has been
+   * created beforehand. This allows to save the metrics of the resources of an analysis in several batches.
+   *
+   * @param metrics the mutant information of the resources to save
+   * @param context the current {@link org.sonar.api.batch.sensor.SensorContext}
+   * @param global the summary of the global mutants
+   */
+  public void writeMetrics(final Collection<ResourceMutationMetrics> metrics, final SensorContext context, final MutationSummary global) {
+    writeMetrics(metrics, context, global.getMutationsTotal(),
+        global.getMutationsTotal() - global.getMutationsDetected(), global.getNumTestsRun());
+  }
+
+  private void writeMetrics(final Collection<ResourceMutationMetrics> metrics, final SensorContext context,
+      final int total, final int alive, final int testsRun) {
     for (final ResourceMutationMetrics resourceMetrics : metrics) {
       saveResourceMetrics(resourceMetrics, context);
       context.newMeasure().forMetric(MutationMetrics.UTILITY_GLOBAL_MUTATIONS).on(resourceMetrics.getResource())
           .withValue(total).save();
       context.newMeasure().forMetric(MutationMetrics.UTILITY_GLOBAL_ALIVE).on(resourceMetrics.getResource())
           .withValue(alive).save();
+      //reports without the number of tests run have no cost information
+      if (testsRun > 0) {
+        context.newMeasure().forMetric(MutationMetrics.UTILITY_GLOBAL_TESTS_EXECUTED).on(resourceMetrics.getResource())
+            .withValue(testsRun).save();
+      }
     }
   }
 
@@ -78,9 +107,10 @@ public class SourceMetricsWriter {
     LOG.debug("Saving resource metrics for {}", resource);
     if (resourceMetrics.getMutationsKilled() > 0) {
       final NewCoverage newCov = context.newCoverage().onFile(resource);
-      for (Mutant m : resourceMetrics.getMutants()) {
-        if (Mutant.State.KILLED == m.getState()) {
-          newCov.lineHits(m.getLineNumber(), 1);
+      final MutantLineIndex lineIndex = resourceMetrics.getLineIndex();
+      for (int i = 0; i < lineIndex.size(); i++) {
+        if (lineIndex.count(i, Mutant.State.KILLED) > 0) {
+          newCov.lineHits(lineIndex.getLine(i), 1);
         }
       }
       newCov.save();
@@ -106,6 +136,8 @@ public class SourceMetricsWriter {
           .withValue(resourceMetrics.getMutationsDetected()).save();
       context.newMeasure().on(resource).forMetric(MutationMetrics.TEST_TOTAL_EXECUTED)
           .withValue(resourceMetrics.getNumTestsRun()).save();
+      context.newMeasure().on(resource).forMetric(MutationMetrics.MUTATIONS_DATA)
+          .withValue(MutationsDataCodec.encode(resourceMetrics.getMutants())).save();
     }
   }
 
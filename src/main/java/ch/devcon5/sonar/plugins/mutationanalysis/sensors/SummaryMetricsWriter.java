@@ -0,0 +1,73 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationSummary;
+import java.io.Serializable;
+import org.slf4j.Logger;
+import org.sonar.api.batch.fs.InputComponent;
+import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.measures.Metric;
+
+/**
+ * Writes the quantitative mutation metrics of a {@link MutationSummary} on the project. The measures are the input
+ * for the mutation coverage and test strength calculated by the compute engine, so no per-file measures are required
+ * to evaluate a quality gate.
+ */
+public class SummaryMetricsWriter {
+
+  private static final Logger LOG = getLogger(SummaryMetricsWriter.class);
+
+  /**
+   * Saves the summary on the project of the sensor context.
+   *
+   * @param summary the counted mutants of all reports of the project
+   * @param context the current {@link org.sonar.api.batch.sensor.SensorContext}
+   */
+  public void writeMetrics(final MutationSummary summary, final SensorContext context) {
+    if (summary.getMutationsTotal() == 0) {
+      LOG.info("No mutants found, no summary is saved");
+      return;
+    }
+    final InputComponent project = context.project();
+    LOG.debug("Saving summary metrics for {}", project);
+    save(context, project, MutationMetrics.MUTATIONS_TOTAL, summary.getMutationsTotal());
+    save(context, project, MutationMetrics.MUTATIONS_NO_COVERAGE, summary.getMutationsNoCoverage());
+    save(context, project, MutationMetrics.MUTATIONS_KILLED, summary.getMutationsKilled());
+    save(context, project, MutationMetrics.MUTATIONS_SURVIVED, summary.getMutationsSurvived());
+    save(context, project, MutationMetrics.MUTATIONS_ALIVE,
+        summary.getMutationsTotal() - summary.getMutationsDetected());
+    save(context, project, MutationMetrics.MUTATIONS_MEMORY_ERROR, summary.getMutationsMemoryError());
+    save(context, project, MutationMetrics.MUTATIONS_TIMED_OUT, summary.getMutationsTimedOut());
+    save(context, project, MutationMetrics.MUTATIONS_UNKNOWN, summary.getMutationsUnknown());
+    save(context, project, MutationMetrics.MUTATIONS_DETECTED, summary.getMutationsDetected());
+    save(context, project, MutationMetrics.TEST_TOTAL_EXECUTED, summary.getNumTestsRun());
+  }
+
+  private void save(final SensorContext context, final InputComponent component, final Metric<Serializable> metric,
+      final int value) {
+    context.newMeasure().on(component).forMetric(metric).withValue(value).save();
+  }
+
+}
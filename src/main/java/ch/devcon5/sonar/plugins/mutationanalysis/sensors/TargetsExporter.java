@@ -0,0 +1,209 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.TestDescriptor;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.sonar.api.batch.fs.FilePredicates;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Exports the PIT targetClasses and targetTests that are affected by the files changed since the last analysis, so
+ * that the next PIT run only mutates the affected code. A changed source file affects its own classes and the tests
+ * that killed or covered its mutants, a changed test file affects itself and the classes of the mutants it killed or
+ * covered.
+ * <p>
+ * The targets are written as properties file with comma-separated class name patterns, i.e.
+ * <pre>
+ * targetClasses=com.example.Foo,com.example.Foo$*
+ * targetTests=com.example.FooTest,com.example.FooTest$*
+ * </pre>
+ * Files are considered changed if their status is {@link InputFile.Status#ADDED} or {@link InputFile.Status#CHANGED},
+ * which requires a previous analysis of the project. Only files of the analyzed languages are considered.
+ * <p>
+ * PIT treats an empty <code>targetClasses</code> or <code>targetTests</code> as not set and uses its defaults, that is
+ * all classes or all tests. So if a changed test has no known mutants, its tests are run against all classes. If no
+ * changed file affects any target, nothing has to be re-run, the file is not written and an existing file is deleted,
+ * so that a build can skip the PIT run if the file is missing.
+ */
+public class TargetsExporter {
+
+  private static final Logger LOG = getLogger(TargetsExporter.class);
+
+  private static final Pattern PACKAGE_DECLARATION = Pattern.compile("^\\s*package\\s+([\\w.]+)", Pattern.MULTILINE);
+
+  private final FileSystem fileSystem;
+
+  public TargetsExporter(final FileSystem fileSystem) {
+    this.fileSystem = fileSystem;
+  }
+
+  /**
+   * Determines the targets for the changed files and writes them to the target file.
+   *
+   * @param metrics the mutants of the module by resource
+   * @param languages the keys of the languages whose changed files are considered
+   * @param targetFile the properties file to write the targets to
+   */
+  public void export(final Collection<ResourceMutationMetrics> metrics, final Collection<String> languages,
+      final Path targetFile) {
+    final Set<String> targetClasses = new TreeSet<>();
+    final Set<String> targetTests = new TreeSet<>();
+    final Map<String, Set<String>> classesByTest = new HashMap<>();
+    final Map<String, Set<String>> testsByClass = new HashMap<>();
+    for (final ResourceMutationMetrics resourceMetrics : metrics) {
+      for (final Mutant mutant : resourceMetrics.getMutants()) {
+        final String mutatedClass = getTopLevelClass(mutant.getMutatedClass());
+        for (final String test : getTestClasses(mutant)) {
+          classesByTest.computeIfAbsent(test, k -> new TreeSet<>()).add(mutatedClass);
+          testsByClass.computeIfAbsent(mutatedClass, k -> new TreeSet<>()).add(test);
+        }
+      }
+    }
+
+    final FilePredicates predicates = fileSystem.predicates();
+    final Iterable<InputFile> changedFiles = fileSystem.inputFiles(predicates.and(predicates.hasLanguages(languages),
+        predicates.or(predicates.hasStatus(InputFile.Status.ADDED), predicates.hasStatus(InputFile.Status.CHANGED))));
+    int changed = 0;
+    for (final InputFile file : changedFiles) {
+      changed++;
+      final String className = getClassName(file);
+      if (file.type() == InputFile.Type.TEST) {
+        targetTests.add(className);
+        targetClasses.addAll(classesByTest.getOrDefault(className, Collections.emptySet()));
+      } else {
+        targetClasses.add(className);
+        targetTests.addAll(testsByClass.getOrDefault(className, Collections.emptySet()));
+      }
+    }
+    LOG.info("{} changed files affect {} target classes and {} target tests", changed, targetClasses.size(),
+        targetTests.size());
+    if (targetClasses.isEmpty() && targetTests.isEmpty()) {
+      delete(targetFile);
+    } else {
+      write(targetFile, targetClasses, targetTests);
+    }
+  }
+
+  private String getTopLevelClass(final String className) {
+    final int nested = className.indexOf('$');
+    return nested == -1 ? className : className.substring(0, nested);
+  }
+
+  private Set<String> getTestClasses(final Mutant mutant) {
+    final Set<String> tests = new TreeSet<>();
+    mutant.getKillingTests().forEach(test -> tests.add(new TestDescriptor(test).getClassName()));
+    mutant.getSucceedingTests().forEach(test -> tests.add(new TestDescriptor(test).getClassName()));
+    return tests;
+  }
+
+  /**
+   * Determines the fully qualified name of the class declared in the file from the package declaration and the file
+   * name.
+   *
+   * @param file the source file
+   * @return the fully qualified name of the top-level class of the file
+   */
+  private String getClassName(final InputFile file) {
+    final String filename = file.filename();
+    final int extension = filename.lastIndexOf('.');
+    final String simpleName = extension == -1 ? filename : filename.substring(0, extension);
+    try {
+      final Matcher matcher = PACKAGE_DECLARATION.matcher(file.contents());
+      if (matcher.find()) {
+        return matcher.group(1) + '.' + simpleName;
+      }
+    } catch (IOException e) {
+      LOG.warn("Could not read package of {}", file, e);
+    }
+    return simpleName;
+  }
+
+  private void write(final Path targetFile, final Set<String> targetClasses, final Set<String> targetTests) {
+    try {
+      final Path parent = targetFile.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      try (BufferedWriter writer = Files.newBufferedWriter(targetFile, StandardCharsets.UTF_8)) {
+        writer.write("# PIT targets affected by the files changed since the last analysis");
+        writer.newLine();
+        writer.write("targetClasses=");
+        writer.write(toPatterns(targetClasses));
+        writer.newLine();
+        writer.write("targetTests=");
+        writer.write(toPatterns(targetTests));
+        writer.newLine();
+      }
+      LOG.info("PIT targets written to {}", targetFile);
+    } catch (IOException e) {
+      LOG.error("Could not write PIT targets to {}", targetFile, e);
+    }
+  }
+
+  private void delete(final Path targetFile) {
+    try {
+      if (Files.deleteIfExists(targetFile)) {
+        LOG.info("No PIT targets affected, removed {}", targetFile);
+      } else {
+        LOG.info("No PIT targets affected, {} not written", targetFile);
+      }
+    } catch (IOException e) {
+      LOG.error("Could not remove outdated PIT targets {}", targetFile, e);
+    }
+  }
+
+  /**
+   * Creates the PIT class name patterns for the classes including their nested classes
+   *
+   * @param classNames the fully qualified names of the classes
+   * @return the comma-separated patterns
+   */
+  private String toPatterns(final Set<String> classNames) {
+    final StringBuilder patterns = new StringBuilder();
+    for (final String className : classNames) {
+      if (patterns.length() > 0) {
+        patterns.append(',');
+      }
+      patterns.append(className).append(',').append(className).append("$*");
+    }
+    return patterns.toString();
+  }
+
+}
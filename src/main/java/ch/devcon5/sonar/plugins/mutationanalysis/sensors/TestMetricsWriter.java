@@ -24,15 +24,27 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.LongBitSet;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationMatrix;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.TestDescriptor;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.TestSetCover;
+import ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.batch.sensor.issue.NewIssue;
+import org.sonar.api.rule.RuleKey;
 
 /**
  *
@@ -47,18 +59,138 @@ public class TestMetricsWriter {
   }
 
   public void writeMetrics(final Collection<ResourceMutationMetrics> metrics, final SensorContext context, final Collection<Mutant> globalMutants) {
-    Map<TestDescriptor, List<Mutant>> testKills = metrics.stream()
+    final MutationMatrix matrix = MutationMatrix.of(metrics.stream()
         .flatMap(rmm -> rmm.getMutants().stream())
-        .collect(Collectors.groupingBy(m -> new TestDescriptor(m.getKillingTest()), Collectors.toList()));
+        .collect(Collectors.toList()));
+    final Map<String, LongBitSet> testKills = matrix.getKilledMutantsByTestClass();
+    final LongBitSet uniqueKills = MutationMatrix.uniqueMembers(testKills.values());
+    final Set<String> redundantClasses;
+    final Map<String, List<String>> redundantTests;
+    if (matrix.isFull()) {
+      redundantClasses = TestSetCover.findRedundant(testKills);
+      redundantTests = matrix.getRedundantTests().stream()
+          .map(TestDescriptor::new)
+          .collect(Collectors.groupingBy(TestDescriptor::getClassName, LinkedHashMap::new,
+              Collectors.mapping(TestDescriptor::getMethodName, Collectors.toList())));
+      LOG.info("{} of {} test classes and {} of {} tests are redundant", redundantClasses.size(), testKills.size(),
+          redundantTests.values().stream().mapToInt(List::size).sum(), matrix.getTestCount());
+    } else {
+      redundantClasses = Collections.emptySet();
+      redundantTests = Collections.emptyMap();
+    }
 
     final int total = globalMutants.isEmpty() ? sumTotal(metrics) : globalMutants.size();
     testKills.forEach((t, m) -> {
-      LOG.debug("Test {} kills {} mutants ", t.getClassName(), m.size());
-      this.resourceResolver.resolve(t.getClassName()).ifPresent(f -> {
-        context.newMeasure().forMetric(MutationMetrics.TEST_KILLS).on(f).withValue(m.size()).save();
+      final int kills = m.cardinality();
+      LOG.debug("Test {} kills {} mutants ", t, kills);
+      this.resourceResolver.resolve(t).ifPresent(f -> {
+        context.newMeasure().forMetric(MutationMetrics.TEST_KILLS).on(f).withValue(kills).save();
         context.newMeasure().forMetric(MutationMetrics.UTILITY_GLOBAL_MUTATIONS).on(f).withValue(total).save();
+        if (matrix.isFull()) {
+          //without the full matrix, each mutant has a single killing test and all kills are unique
+          context.newMeasure().forMetric(MutationMetrics.TEST_UNIQUE_KILLS).on(f)
+              .withValue(m.andCardinality(uniqueKills)).save();
+          final List<String> redundantMethods = redundantTests.getOrDefault(t, Collections.emptyList());
+          context.newMeasure().forMetric(MutationMetrics.TEST_REDUNDANT).on(f)
+              .withValue(redundantMethods.size()).save();
+          saveRedundantTestIssue(f, kills, redundantClasses.contains(t), redundantMethods, context);
+        }
       });
     });
+    writeTimeoutMetrics(metrics, context);
+  }
+
+  /**
+   * Saves the number of mutants that timed out in the tests of each test class. PIT records the test that timed out
+   * as killing test of the mutant.
+   *
+   * @param metrics the metrics containing all mutants
+   * @param context the current sensor context
+   */
+  private void writeTimeoutMetrics(final Collection<ResourceMutationMetrics> metrics, final SensorContext context) {
+    final Map<String, Map<String, Integer>> timeoutsByTestClass = new LinkedHashMap<>();
+    metrics.stream()
+        .flatMap(rmm -> rmm.getMutants().stream())
+        .filter(mutant -> mutant.getState() == Mutant.State.TIMED_OUT)
+        .flatMap(mutant -> mutant.getKillingTests().stream())
+        .map(TestDescriptor::new)
+        .forEach(test -> timeoutsByTestClass.computeIfAbsent(test.getClassName(), k -> new LinkedHashMap<>())
+            .merge(test.getMethodName(), 1, Integer::sum));
+
+    timeoutsByTestClass.forEach((t, timeoutsByMethod) -> {
+      final int timeouts = timeoutsByMethod.values().stream().mapToInt(Integer::intValue).sum();
+      LOG.debug("Test {} timed out on {} mutants", t, timeouts);
+      this.resourceResolver.resolve(t).ifPresent(f -> {
+        context.newMeasure().forMetric(MutationMetrics.TEST_TIMEOUTS).on(f).withValue(timeouts).save();
+        saveTimeoutIssue(f, timeouts, timeoutsByMethod, context);
+      });
+    });
+  }
+
+  /**
+   * Creates an issue on the test file listing the test methods that timed out, if the test timeout rule is active.
+   *
+   * @param testFile the file of the test class
+   * @param timeouts the number of mutants that timed out in the tests of the class
+   * @param timeoutsByMethod the number of timed out mutants per test method
+   * @param context the current sensor context
+   */
+  private void saveTimeoutIssue(final InputFile testFile, final int timeouts, final Map<String, Integer> timeoutsByMethod, final SensorContext context) {
+    findActiveRule(testFile, MutationAnalysisRulesDefinition.RULE_TEST_TIMEOUT, context).ifPresent(ruleKey -> {
+      final List<Map.Entry<String, Integer>> methods = new ArrayList<>(timeoutsByMethod.entrySet());
+      methods.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+      final StringBuilder message = new StringBuilder().append(timeouts)
+          .append(" mutants timed out in the tests of this class:");
+      for (int i = 0; i < methods.size(); i++) {
+        final Map.Entry<String, Integer> method = methods.get(i);
+        message.append(i == 0 ? " " : ", ").append(method.getKey()).append(" (").append(method.getValue()).append(')');
+      }
+      final NewIssue newIssue = context.newIssue().forRule(ruleKey);
+      newIssue.gap((double) timeouts)
+          .at(newIssue.newLocation().on(testFile).message(message.toString()))
+          .save();
+    });
+  }
+
+  /**
+   * Determines the key of the rule for the language of the file, if the rule is active.
+   *
+   * @param file the file on which an issue should be reported
+   * @param rule the key of the rule within the repository
+   * @param context the current sensor context
+   * @return the key of the active rule or an empty optional if the rule is not active
+   */
+  private Optional<RuleKey> findActiveRule(final InputFile file, final String rule, final SensorContext context) {
+    final RuleKey ruleKey = RuleKey.of(MutationAnalysisRulesDefinition.REPOSITORY_KEY + "." + file.language(), rule);
+    return Optional.ofNullable(context.activeRules().find(ruleKey)).map(activeRule -> ruleKey);
+  }
+
+  /**
+   * Creates an issue on the test file if it contains redundant tests and the redundant tests rule is active.
+   *
+   * @param testFile the file of the test class
+   * @param kills the number of mutants killed by the test class
+   * @param redundantClass <code>true</code> if all mutants killed by the test class are killed by other test classes
+   * @param redundantMethods the names of the redundant test methods of the class
+   * @param context the current sensor context
+   */
+  private void saveRedundantTestIssue(final InputFile testFile, final int kills, final boolean redundantClass, final List<String> redundantMethods, final SensorContext context) {
+    if (!redundantClass && redundantMethods.isEmpty()) {
+      return;
+    }
+    findActiveRule(testFile, MutationAnalysisRulesDefinition.RULE_REDUNDANT_TEST, context).ifPresent(ruleKey -> {
+      final StringBuilder message = new StringBuilder();
+      if (redundantClass) {
+        message.append("All ").append(kills).append(" mutants killed by this test class are killed by other tests");
+      } else {
+        message.append("Redundant tests only killing mutants that are killed by other tests: ")
+            .append(String.join(", ", redundantMethods));
+      }
+      final NewIssue newIssue = context.newIssue().forRule(ruleKey);
+      newIssue.gap((double) (redundantClass ? 1 : redundantMethods.size()))
+          .at(newIssue.newLocation().on(testFile).message(message.toString()))
+          .save();
+    });
   }
 
   private int sumTotal(final Collection<ResourceMutationMetrics> metrics) {
@@ -0,0 +1,207 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.TestDescriptor;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+
+/**
+ * Exports a ranking of the test classes and test methods by their kill efficiency, that is the number of mutants they
+ * killed per test execution spent on them. As PIT stops evaluating a mutant at the first killing test, running the
+ * most efficient tests first shortens the analysis.
+ * <p>
+ * The ranking requires PIT's full mutation matrix. Without it, the only test known for a mutant is its killing test,
+ * while the tests PIT ran before it and all tests that never kill remain unknown, so the killing tests would be charged
+ * the executions of the others. Mutants without the matrix are therefore not ranked, and if no mutant has it, no
+ * ranking is written. The execution cost of a mutant is its <code>numberOfTestsRun</code>, which is distributed evenly
+ * among its killing and succeeding tests, as each of them ran once on the mutant.
+ * <p>
+ * The ranking is written as CSV file with the columns <code>type,test,kills,cost,efficiency</code>, first the test
+ * classes, then the test methods, each sorted by descending efficiency.
+ */
+public class TestOrderExporter {
+
+  private static final Logger LOG = getLogger(TestOrderExporter.class);
+
+  private static final Comparator<RankedTest> BY_EFFICIENCY = Comparator.comparingDouble(RankedTest::getEfficiency)
+      .reversed()
+      .thenComparing(Comparator.comparingInt(RankedTest::getKills).reversed())
+      .thenComparing(RankedTest::getName);
+
+  /**
+   * Ranks the tests that ran on the mutants and writes the ranking to the target file.
+   *
+   * @param metrics the mutants of the module by resource
+   * @param targetFile the csv file to write the ranking to
+   */
+  public void export(final Collection<ResourceMutationMetrics> metrics, final Path targetFile) {
+    final Map<String, RankedTest> methods = new LinkedHashMap<>();
+    final Map<String, RankedTest> classes = new LinkedHashMap<>();
+    int withoutMatrix = 0;
+    for (final ResourceMutationMetrics resourceMetrics : metrics) {
+      for (final Mutant mutant : resourceMetrics.getMutants()) {
+        if (mutant.getTestDictionary().isPresent()) {
+          addMutant(mutant, methods, classes);
+        } else {
+          withoutMatrix++;
+        }
+      }
+    }
+    if (methods.isEmpty() && withoutMatrix > 0) {
+      LOG.warn("Ranking tests requires the full mutation matrix of PIT (fullMutationMatrix=true), {} not written",
+          targetFile);
+      return;
+    }
+    if (withoutMatrix > 0) {
+      LOG.info("{} mutants without full mutation matrix not ranked", withoutMatrix);
+    }
+    final List<RankedTest> rankedClasses = rank(classes);
+    final List<RankedTest> rankedMethods = rank(methods);
+    LOG.info("Ranked {} test classes and {} tests by kill efficiency", rankedClasses.size(), rankedMethods.size());
+    write(targetFile, rankedClasses, rankedMethods);
+  }
+
+  private void addMutant(final Mutant mutant, final Map<String, RankedTest> methods, final Map<String, RankedTest> classes) {
+    final Set<String> killingTests = new HashSet<>(mutant.getKillingTests());
+    final Set<String> tests = new LinkedHashSet<>(mutant.getKillingTests());
+    tests.addAll(mutant.getSucceedingTests());
+    if (tests.isEmpty()) {
+      return;
+    }
+    // reports without the number of tests run are assumed to have run each known test once
+    final double costPerTest = (double) Math.max(mutant.getNumberOfTestsRun(), tests.size()) / tests.size();
+    // several methods of a class may kill the mutant, but the class kills it once
+    final Set<String> killingClasses = new HashSet<>();
+    for (final String test : tests) {
+      final boolean killed = killingTests.contains(test);
+      final String className = new TestDescriptor(test).getClassName();
+      methods.computeIfAbsent(test, RankedTest::new).add(killed, costPerTest);
+      classes.computeIfAbsent(className, RankedTest::new).add(killed && killingClasses.add(className), costPerTest);
+    }
+  }
+
+  private List<RankedTest> rank(final Map<String, RankedTest> tests) {
+    final List<RankedTest> ranked = new ArrayList<>(tests.values());
+    ranked.sort(BY_EFFICIENCY);
+    return ranked;
+  }
+
+  private void write(final Path targetFile, final List<RankedTest> rankedClasses, final List<RankedTest> rankedMethods) {
+    final DecimalFormat format = new DecimalFormat("0.###", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
+    try {
+      final Path parent = targetFile.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      try (BufferedWriter writer = Files.newBufferedWriter(targetFile, StandardCharsets.UTF_8)) {
+        writer.write("type,test,kills,cost,efficiency");
+        writer.newLine();
+        writeRanking(writer, "class", rankedClasses, format);
+        writeRanking(writer, "method", rankedMethods, format);
+      }
+      LOG.info("Test ranking written to {}", targetFile);
+    } catch (IOException e) {
+      LOG.error("Could not write test ranking to {}", targetFile, e);
+    }
+  }
+
+  private void writeRanking(final BufferedWriter writer, final String type, final List<RankedTest> ranking, final DecimalFormat format) throws IOException {
+    for (final RankedTest test : ranking) {
+      writer.write(new StringBuilder().append(type)
+          .append(',')
+          .append(escape(test.getName()))
+          .append(',')
+          .append(test.getKills())
+          .append(',')
+          .append(format.format(test.getCost()))
+          .append(',')
+          .append(format.format(test.getEfficiency()))
+          .toString());
+      writer.newLine();
+    }
+  }
+
+  private String escape(final String value) {
+    if (value.indexOf(',') == -1 && value.indexOf('"') == -1) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+  /**
+   * The kills and the estimated execution cost of a test class or test method.
+   */
+  static final class RankedTest {
+
+    private final String name;
+    private int kills;
+    private double cost;
+
+    RankedTest(final String name) {
+      this.name = name;
+    }
+
+    void add(final boolean killed, final double mutantCost) {
+      if (killed) {
+        kills++;
+      }
+      cost += mutantCost;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    int getKills() {
+      return kills;
+    }
+
+    double getCost() {
+      return cost;
+    }
+
+    double getEfficiency() {
+      return getKills() / cost;
+    }
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.ws;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationsDataCodec;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.RequestHandler;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.api.utils.text.JsonWriter;
+
+/**
+ * Lists the mutants of a single component page by page. The mutants can be filtered by state and mutation operator
+ * and sorted by line, state or operator.
+ */
+public class MutantsAction implements RequestHandler {
+
+  private static final Logger LOG = getLogger(MutantsAction.class);
+
+  public static final String ACTION = "mutants";
+  static final String SINCE = "1.8";
+  public static final String PARAM_COMPONENT = "component";
+  public static final String PARAM_STATES = "states";
+  public static final String PARAM_OPERATORS = "operators";
+  public static final int DEFAULT_PAGE_SIZE = 100;
+  public static final int MAX_PAGE_SIZE = 500;
+
+  private final MutationsDataLoader loader;
+
+  public MutantsAction(final MutationsDataLoader loader) {
+    this.loader = loader;
+  }
+
+  /**
+   * Defines the action and its parameters on the controller.
+   *
+   * @param controller
+   *         the controller of the plugin's web service
+   */
+  public void define(final WebService.NewController controller) {
+    final WebService.NewAction action = controller.createAction(ACTION)
+        .setDescription("Lists the mutants of a file. Requires the 'Browse' permission on the file's project.")
+        .setSince(SINCE)
+        .setResponseExample(MutantsAction.class.getResource("mutants-example.json"))
+        .setHandler(this)
+        .addPagingParams(DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE)
+        .addSortParams(MutantsQuery.Sort.keys(), MutantsQuery.Sort.LINE.key(), true);
+    action.createParam(PARAM_COMPONENT)
+        .setDescription("Key of the file")
+        .setRequired(true)
+        .setExampleValue("my_project:src/main/java/example/Example.java");
+    action.createParam(PARAM_STATES)
+        .setDescription("Comma-separated list of mutant states. If not set, mutants of all states are listed.")
+        .setPossibleValues(EnumSet.allOf(Mutant.State.class));
+    action.createParam(PARAM_OPERATORS)
+        .setDescription("Comma-separated list of mutation operator ids. If not set, mutants of all operators are "
+            + "listed.")
+        .setExampleValue("MATH,NEGATE_CONDITIONALS");
+  }
+
+  @Override
+  public void handle(final Request request, final Response response) {
+    final String componentKey = request.mandatoryParam(PARAM_COMPONENT);
+    final MutantsQuery query = MutantsQuery.builder()
+        .withStates(request.paramAsEnums(PARAM_STATES, Mutant.State.class))
+        .withOperators(request.paramAsStrings(PARAM_OPERATORS))
+        .sortedBy(MutantsQuery.Sort.parse(request.mandatoryParam(WebService.Param.SORT)),
+            request.mandatoryParamAsBoolean(WebService.Param.ASCENDING))
+        .page(request.mandatoryParamAsInt(WebService.Param.PAGE),
+            request.mandatoryParamAsInt(WebService.Param.PAGE_SIZE))
+        .build();
+
+    final Optional<String> data = loader.load(request.localConnector(), componentKey);
+    LOG.debug("Listing mutants of {}, data {}", componentKey, data.isPresent() ? "found" : "not found");
+    final MutantsQuery.Result result = query.select(data.map(MutationsDataCodec::stream).orElseGet(Stream::empty));
+
+    try (JsonWriter json = response.newJsonWriter()) {
+      json.beginObject();
+      json.prop(PARAM_COMPONENT, componentKey);
+      json.name("paging").beginObject()
+          .prop("pageIndex", query.getPage())
+          .prop("pageSize", query.getPageSize())
+          .prop("total", result.getTotal())
+          .endObject();
+      json.name("mutants").beginArray();
+      for (final MutationsDataCodec.Entry entry : result.getEntries()) {
+        json.beginObject()
+            .prop("line", entry.getLineNumber())
+            .prop("operator", entry.getOperatorId())
+            .prop("operatorName", entry.getMutationOperator().getName())
+            .prop("state", entry.getState().name())
+            .prop("detected", entry.getState().isDetected())
+            .endObject();
+      }
+      json.endArray();
+      json.endObject();
+    }
+  }
+
+}
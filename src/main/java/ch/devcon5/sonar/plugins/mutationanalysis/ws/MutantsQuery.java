@@ -0,0 +1,270 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.ws;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationsDataCodec;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Filter, sort order and page of a query for the mutants of a single component.
+ */
+public final class MutantsQuery {
+
+  /**
+   * The sort orders of the query. Mutants with the same sort key are ordered by line.
+   */
+  public enum Sort {
+    LINE {
+      @Override
+      Comparator<MutationsDataCodec.Entry> comparator() {
+        return Comparator.comparingInt(MutationsDataCodec.Entry::getLineNumber);
+      }
+    },
+    STATE {
+      @Override
+      Comparator<MutationsDataCodec.Entry> comparator() {
+        return Comparator.comparing(MutationsDataCodec.Entry::getState)
+            .thenComparingInt(MutationsDataCodec.Entry::getLineNumber);
+      }
+    },
+    OPERATOR {
+      @Override
+      Comparator<MutationsDataCodec.Entry> comparator() {
+        return Comparator.comparing(MutationsDataCodec.Entry::getOperatorId)
+            .thenComparingInt(MutationsDataCodec.Entry::getLineNumber);
+      }
+    };
+
+    abstract Comparator<MutationsDataCodec.Entry> comparator();
+
+    /**
+     * @return the lower case key of the sort order as used in the request parameter
+     */
+    public String key() {
+      return name().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * @return the keys of all sort orders
+     */
+    public static List<String> keys() {
+      return Stream.of(values()).map(Sort::key).collect(Collectors.toList());
+    }
+
+    /**
+     * Parses the sort order from its key. The comparison is case-insensitive.
+     *
+     * @param key
+     *         the key of the sort order, i.e. "line"
+     *
+     * @return the matching sort order
+     *
+     * @throws IllegalArgumentException
+     *         if the key denotes no sort order
+     */
+    public static Sort parse(final String key) {
+      return valueOf(key.trim().toUpperCase(Locale.ENGLISH));
+    }
+  }
+
+  private final Set<Mutant.State> states;
+  private final Set<String> operators;
+  private final Sort sort;
+  private final boolean ascending;
+  private final int page;
+  private final int pageSize;
+
+  private MutantsQuery(final Builder builder) {
+    this.states = builder.states;
+    this.operators = builder.operators;
+    this.sort = builder.sort;
+    this.ascending = builder.ascending;
+    this.page = builder.page;
+    this.pageSize = builder.pageSize;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return the 1-based index of the requested page
+   */
+  public int getPage() {
+    return page;
+  }
+
+  /**
+   * @return the maximum number of mutants per page
+   */
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Selects the requested page from the mutants of a component. As the mutants are provided ordered by line, the
+   * default order is processed without collecting and sorting all matching mutants.
+   *
+   * @param entries
+   *         the mutants of the component, ordered by line
+   *
+   * @return the matching mutants of the page and the total number of matching mutants
+   */
+  public Result select(final Stream<MutationsDataCodec.Entry> entries) {
+    final Stream<MutationsDataCodec.Entry> matching = entries.filter(this::matches);
+    final long offset = (long) (page - 1) * pageSize;
+    if (sort == Sort.LINE && ascending) {
+      final List<MutationsDataCodec.Entry> pageEntries = new ArrayList<>();
+      long total = 0;
+      for (final Iterator<MutationsDataCodec.Entry> it = matching.iterator(); it.hasNext(); total++) {
+        final MutationsDataCodec.Entry entry = it.next();
+        if (total >= offset && pageEntries.size() < pageSize) {
+          pageEntries.add(entry);
+        }
+      }
+      return new Result(total, pageEntries);
+    }
+    final Comparator<MutationsDataCodec.Entry> comparator = ascending
+        ? sort.comparator()
+        : sort.comparator().reversed();
+    final List<MutationsDataCodec.Entry> sorted = matching.sorted(comparator).collect(Collectors.toList());
+    final int from = (int) Math.min(offset, sorted.size());
+    final int to = (int) Math.min(offset + pageSize, sorted.size());
+    return new Result(sorted.size(), new ArrayList<>(sorted.subList(from, to)));
+  }
+
+  private boolean matches(final MutationsDataCodec.Entry entry) {
+    return (states.isEmpty() || states.contains(entry.getState()))
+        && (operators.isEmpty() || operators.contains(entry.getOperatorId()));
+  }
+
+  /**
+   * The mutants of the requested page.
+   */
+  public static final class Result {
+
+    private final long total;
+    private final List<MutationsDataCodec.Entry> entries;
+
+    Result(final long total, final List<MutationsDataCodec.Entry> entries) {
+      this.total = total;
+      this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @return the number of all mutants matching the filter
+     */
+    public long getTotal() {
+      return total;
+    }
+
+    /**
+     * @return the mutants of the page
+     */
+    public List<MutationsDataCodec.Entry> getEntries() {
+      return entries;
+    }
+  }
+
+  public static final class Builder {
+
+    private Set<Mutant.State> states = Collections.emptySet();
+    private Set<String> operators = Collections.emptySet();
+    private Sort sort = Sort.LINE;
+    private boolean ascending = true;
+    private int page = 1;
+    private int pageSize = MutantsAction.DEFAULT_PAGE_SIZE;
+
+    private Builder() {
+    }
+
+    /**
+     * @param states
+     *         the states of the mutants to select, <code>null</code> or an empty collection to select all states
+     *
+     * @return this builder
+     */
+    public Builder withStates(final Collection<Mutant.State> states) {
+      this.states = states == null || states.isEmpty() ? Collections.emptySet() : EnumSet.copyOf(states);
+      return this;
+    }
+
+    /**
+     * @param operators
+     *         the ids of the mutation operators of the mutants to select, <code>null</code> or an empty collection to
+     *         select all operators
+     *
+     * @return this builder
+     */
+    public Builder withOperators(final Collection<String> operators) {
+      this.operators = operators == null ? Collections.emptySet() : new HashSet<>(operators);
+      return this;
+    }
+
+    /**
+     * @param sort
+     *         the sort order
+     * @param ascending
+     *         <code>true</code> for ascending order, <code>false</code> for descending order
+     *
+     * @return this builder
+     */
+    public Builder sortedBy(final Sort sort, final boolean ascending) {
+      this.sort = sort;
+      this.ascending = ascending;
+      return this;
+    }
+
+    /**
+     * @param page
+     *         the 1-based index of the page
+     * @param pageSize
+     *         the maximum number of mutants per page
+     *
+     * @return this builder
+     */
+    public Builder page(final int page, final int pageSize) {
+      if (page < 1 || pageSize < 1) {
+        throw new IllegalArgumentException("Page index and page size must be positive");
+      }
+      this.page = page;
+      this.pageSize = pageSize;
+      return this;
+    }
+
+    public MutantsQuery build() {
+      return new MutantsQuery(this);
+    }
+  }
+
+}
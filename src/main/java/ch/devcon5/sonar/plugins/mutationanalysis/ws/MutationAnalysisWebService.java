@@ -0,0 +1,45 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.ws;
+
+import org.sonar.api.server.ws.WebService;
+
+/**
+ * Web service of the plugin giving access to the individual mutants of a component. The mutants are read from the
+ * compact per-file {@link ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics#MUTATIONS_DATA} measure
+ * stored during the analysis, so the issue index is not involved.
+ */
+public class MutationAnalysisWebService implements WebService {
+
+  public static final String CONTROLLER_PATH = "api/mutation_analysis";
+
+  private final MutantsAction mutantsAction = new MutantsAction(new MutationsDataLoader());
+
+  @Override
+  public void define(final Context context) {
+    final NewController controller = context.createController(CONTROLLER_PATH)
+        .setDescription("Access to the mutants found by the mutation analysis")
+        .setSince(MutantsAction.SINCE);
+    mutantsAction.define(controller);
+    controller.done();
+  }
+
+}
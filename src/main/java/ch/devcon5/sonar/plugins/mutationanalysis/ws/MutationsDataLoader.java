@@ -0,0 +1,216 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.ws;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.report.JsonTokenizer;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.sonar.api.server.ws.LocalConnector;
+
+/**
+ * Loads the {@link MutationMetrics#MUTATIONS_DATA} measure of a component through the measures web service of the
+ * server. The call is made on behalf of the current user, so the permissions of the user on the component apply.
+ * <p>
+ * The measure is hidden and of type DATA. The loader relies on the measures web service returning the value of such a
+ * metric when it is requested explicitly by its key, which is only covered by tests with a stubbed connector.
+ */
+public class MutationsDataLoader {
+
+  static final String MEASURES_PATH = "api/measures/component";
+  private static final String JSON = "application/json";
+
+  /**
+   * Loads the mutations data of a component.
+   *
+   * @param connector
+   *         the connector to the web services of the server
+   * @param componentKey
+   *         the key of the component
+   *
+   * @return the Base64 encoded mutations data or an empty optional if the component has no mutations data
+   *
+   * @throws IllegalArgumentException
+   *         if the component does not exist or is not accessible
+   */
+  public Optional<String> load(final LocalConnector connector, final String componentKey) {
+    final Map<String, String> params = new HashMap<>();
+    params.put("component", componentKey);
+    params.put("metricKeys", MutationMetrics.MUTATIONS_DATA.key());
+    final LocalConnector.LocalResponse response = connector.call(new GetRequest(MEASURES_PATH, params));
+    if (response.getStatus() == HttpURLConnection.HTTP_NOT_FOUND
+        || response.getStatus() == HttpURLConnection.HTTP_FORBIDDEN) {
+      throw new IllegalArgumentException("Component '" + componentKey + "' not found");
+    }
+    if (response.getStatus() != HttpURLConnection.HTTP_OK) {
+      throw new IllegalStateException(
+          "Could not load measures of '" + componentKey + "', status " + response.getStatus());
+    }
+    final String json = new String(response.getBytes(), StandardCharsets.UTF_8);
+    return readMeasureValue(json, MutationMetrics.MUTATIONS_DATA.key());
+  }
+
+  /**
+   * Reads the value of a single measure from the JSON response of the measures web service, which lists the measures
+   * of the component in <code>component.measures[]</code>. All other properties of the response are skipped.
+   *
+   * @param json
+   *         the response of the measures web service
+   * @param metricKey
+   *         the key of the metric
+   *
+   * @return the string value of the measure or an empty optional if the response contains no such measure
+   *
+   * @throws IllegalArgumentException
+   *         if the response is no valid JSON document
+   */
+  static Optional<String> readMeasureValue(final String json, final String metricKey) {
+    try (JsonTokenizer tokenizer = new JsonTokenizer(new StringReader(json))) {
+      tokenizer.beginObject();
+      while (tokenizer.hasNext()) {
+        if ("component".equals(tokenizer.nextName()) && tokenizer.peek() == JsonTokenizer.Token.BEGIN_OBJECT) {
+          return readComponentMeasure(tokenizer, metricKey);
+        }
+        tokenizer.skipValue();
+      }
+      return Optional.empty();
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not read measures response", e);
+    }
+  }
+
+  private static Optional<String> readComponentMeasure(final JsonTokenizer tokenizer, final String metricKey)
+      throws IOException {
+    tokenizer.beginObject();
+    while (tokenizer.hasNext()) {
+      if ("measures".equals(tokenizer.nextName()) && tokenizer.peek() == JsonTokenizer.Token.BEGIN_ARRAY) {
+        tokenizer.beginArray();
+        while (tokenizer.hasNext()) {
+          final Optional<String> value = readMeasure(tokenizer, metricKey);
+          if (value.isPresent()) {
+            return value;
+          }
+        }
+        tokenizer.endArray();
+      } else {
+        tokenizer.skipValue();
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Reads a single measure object, the properties of the measure may appear in any order.
+   *
+   * @param tokenizer
+   *         the tokenizer positioned before the measure object
+   * @param metricKey
+   *         the key of the metric
+   *
+   * @return the value of the measure if it is a measure of the metric
+   *
+   * @throws IOException
+   *         if the response could not be read
+   */
+  private static Optional<String> readMeasure(final JsonTokenizer tokenizer, final String metricKey)
+      throws IOException {
+    String metric = null;
+    String value = null;
+    tokenizer.beginObject();
+    while (tokenizer.hasNext()) {
+      final String name = tokenizer.nextName();
+      if ("metric".equals(name) && isScalar(tokenizer.peek())) {
+        metric = tokenizer.nextString();
+      } else if ("value".equals(name) && isScalar(tokenizer.peek())) {
+        value = tokenizer.nextString();
+      } else {
+        tokenizer.skipValue();
+      }
+    }
+    tokenizer.endObject();
+    return metricKey.equals(metric) ? Optional.ofNullable(value) : Optional.empty();
+  }
+
+  private static boolean isScalar(final JsonTokenizer.Token token) {
+    return token != JsonTokenizer.Token.BEGIN_OBJECT && token != JsonTokenizer.Token.BEGIN_ARRAY;
+  }
+
+  private static final class GetRequest implements LocalConnector.LocalRequest {
+
+    private final String path;
+    private final Map<String, String> params;
+
+    GetRequest(final String path, final Map<String, String> params) {
+      this.path = path;
+      this.params = params;
+    }
+
+    @Override
+    public String getPath() {
+      return path;
+    }
+
+    @Override
+    public String getMediaType() {
+      return JSON;
+    }
+
+    @Override
+    public String getMethod() {
+      return "GET";
+    }
+
+    @Override
+    public boolean hasParam(final String key) {
+      return params.containsKey(key);
+    }
+
+    @Override
+    public String getParam(final String key) {
+      return params.get(key);
+    }
+
+    @Override
+    public List<String> getMultiParam(final String key) {
+      return params.containsKey(key) ? Collections.singletonList(params.get(key)) : Collections.emptyList();
+    }
+
+    @Override
+    public Optional<String> getHeader(final String name) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+      final Map<String, String[]> map = new HashMap<>();
+      params.forEach((k, v) -> map.put(k, new String[] {v}));
+      return map;
+    }
+  }
+
+}
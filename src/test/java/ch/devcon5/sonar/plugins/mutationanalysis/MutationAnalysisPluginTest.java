@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationAnalysisMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationCostComputer;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationDensityComputer;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationScoreComputer;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.QuantitativeMeasureComputer;
@@ -36,6 +37,7 @@ import ch.devcon5.sonar.plugins.mutationanalysis.rules.JavaRulesDefinition;
 import ch.devcon5.sonar.plugins.mutationanalysis.rules.KotlinProfileDefinition;
 import ch.devcon5.sonar.plugins.mutationanalysis.rules.KotlinRulesDefinition;
 import ch.devcon5.sonar.plugins.mutationanalysis.sensors.PitestSensor;
+import ch.devcon5.sonar.plugins.mutationanalysis.ws.MutationAnalysisWebService;
 import ch.devcon5.sonar.plugins.mutationanalysis.testharness.TestConfiguration;
 import org.junit.jupiter.api.Test;
 import org.sonar.api.Plugin;
@@ -72,6 +74,8 @@ class MutationAnalysisPluginTest {
     assertTrue(context.getExtensions().contains(TotalMutationsComputer.class));
     assertTrue(context.getExtensions().contains(TestKillRatioComputer.class));
     assertTrue(context.getExtensions().contains(QuantitativeMeasureComputer.class));
+    assertTrue(context.getExtensions().contains(MutationCostComputer.class));
+    assertTrue(context.getExtensions().contains(MutationAnalysisWebService.class));
   }
 
   @Test
@@ -0,0 +1,91 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class MutantLineIndexTest {
+
+  @Test
+  void new_noMutants_emptyIndex() {
+    //act
+    final MutantLineIndex index = new MutantLineIndex(Collections.emptyList());
+
+    //assert
+    assertEquals(0, index.size());
+    assertTrue(index.indexOf(1) < 0);
+  }
+
+  @Test
+  void new_mutantsOnSameLines_distinctLinesSorted() {
+    //arrange
+    final Mutant killed10 = newMutant(10, Mutant.State.KILLED);
+    final Mutant survived10 = newMutant(10, Mutant.State.SURVIVED);
+    final Mutant killed3 = newMutant(3, Mutant.State.KILLED);
+
+    //act
+    final MutantLineIndex index = new MutantLineIndex(Arrays.asList(killed10, survived10, killed10, killed3));
+
+    //assert
+    assertEquals(2, index.size());
+    assertEquals(3, index.getLine(0));
+    assertEquals(10, index.getLine(1));
+    assertEquals(1, index.indexOf(10));
+    assertTrue(index.indexOf(5) < 0);
+  }
+
+  @Test
+  void count_mutantsOnSameLine_countedPerState() {
+    //arrange
+    final Mutant killed = newMutant(7, Mutant.State.KILLED);
+    final Mutant survived = newMutant(7, Mutant.State.SURVIVED);
+
+    //act
+    final MutantLineIndex index = new MutantLineIndex(Arrays.asList(killed, survived, killed));
+
+    //assert
+    assertEquals(2, index.count(0, Mutant.State.KILLED));
+    assertEquals(1, index.count(0, Mutant.State.SURVIVED));
+    assertEquals(0, index.count(0, Mutant.State.NO_COVERAGE));
+    assertEquals(3, index.total(0));
+  }
+
+  private Mutant newMutant(final int line, final Mutant.State state) {
+    return Mutant.builder()
+        .mutantStatus(state)
+        .inSourceFile("Test.java")
+        .inClass("example.Test")
+        .inMethod("helloWorld")
+        .withMethodParameters("(Ljava/lang/Object;)Z")
+        .usingMutator(MutationOperators.find("MATH"))
+        .killedBy("example.TestTest")
+        .inLine(line)
+        .build();
+  }
+
+}
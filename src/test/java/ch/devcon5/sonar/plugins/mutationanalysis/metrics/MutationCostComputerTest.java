@@ -0,0 +1,117 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.metrics;
+
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.MUTATIONS_COST_SHARE_KEY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.MUTATIONS_TESTS_PER_MUTANT_KEY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.MUTATIONS_TOTAL_KEY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.TEST_TOTAL_EXECUTED_KEY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.UTILITY_GLOBAL_TESTS_EXECUTED_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.testharness.MeasureComputerTestHarness;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.ce.measure.MeasureComputer;
+import org.sonar.api.ce.measure.test.TestMeasureComputerContext;
+import org.sonar.api.ce.measure.test.TestMeasureComputerDefinitionContext;
+
+/**
+ * Mutation Cost Computer Tests
+ */
+class MutationCostComputerTest {
+
+  private MeasureComputerTestHarness<MutationCostComputer> harness;
+  private MutationCostComputer computer;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    this.harness = MeasureComputerTestHarness.createFor(MutationCostComputer.class);
+    this.computer = harness.getComputer();
+  }
+
+  @Test
+  void define() {
+    final TestMeasureComputerDefinitionContext context = new TestMeasureComputerDefinitionContext();
+
+    final MeasureComputer.MeasureComputerDefinition def = computer.define(context);
+
+    assertTrue(def.getInputMetrics()
+        .containsAll(Arrays.asList(UTILITY_GLOBAL_TESTS_EXECUTED_KEY, TEST_TOTAL_EXECUTED_KEY, MUTATIONS_TOTAL_KEY)));
+    assertTrue(def.getOutputMetrics()
+        .containsAll(Arrays.asList(MUTATIONS_COST_SHARE_KEY, MUTATIONS_TESTS_PER_MUTANT_KEY)));
+  }
+
+  @Test
+  void compute_noTestsExecuted_noMeasure() {
+    final TestMeasureComputerContext measureContext = harness.createMeasureContextForSourceFile("compKey");
+    measureContext.addInputMeasure(MUTATIONS_TOTAL_KEY, 30);
+    measureContext.addInputMeasure(TEST_TOTAL_EXECUTED_KEY, 0);
+    measureContext.addInputMeasure(UTILITY_GLOBAL_TESTS_EXECUTED_KEY, 100);
+
+    computer.compute(measureContext);
+
+    assertNull(measureContext.getMeasure(MUTATIONS_TESTS_PER_MUTANT_KEY));
+    assertNull(measureContext.getMeasure(MUTATIONS_COST_SHARE_KEY));
+  }
+
+  @Test
+  void compute_sourceFile_testsPerMutantAndShare() {
+    final TestMeasureComputerContext measureContext = harness.createMeasureContextForSourceFile("compKey");
+    measureContext.addInputMeasure(MUTATIONS_TOTAL_KEY, 20);
+    measureContext.addInputMeasure(TEST_TOTAL_EXECUTED_KEY, 50);
+    measureContext.addInputMeasure(UTILITY_GLOBAL_TESTS_EXECUTED_KEY, 200);
+
+    computer.compute(measureContext);
+
+    assertEquals(2.5, measureContext.getMeasure(MUTATIONS_TESTS_PER_MUTANT_KEY).getDoubleValue(), 0.01);
+    assertEquals(25.0, measureContext.getMeasure(MUTATIONS_COST_SHARE_KEY).getDoubleValue(), 0.01);
+  }
+
+  @Test
+  void compute_directoryWithoutGlobalMeasure_globalTestsFromChildren() {
+    final TestMeasureComputerContext measureContext = harness.createMeasureContextForDirectory("dirKey");
+    measureContext.addInputMeasure(MUTATIONS_TOTAL_KEY, 40);
+    measureContext.addInputMeasure(TEST_TOTAL_EXECUTED_KEY, 80);
+    measureContext.addChildrenMeasures(UTILITY_GLOBAL_TESTS_EXECUTED_KEY, 320, 320);
+
+    computer.compute(measureContext);
+
+    assertEquals(2.0, measureContext.getMeasure(MUTATIONS_TESTS_PER_MUTANT_KEY).getDoubleValue(), 0.01);
+    assertEquals(25.0, measureContext.getMeasure(MUTATIONS_COST_SHARE_KEY).getDoubleValue(), 0.01);
+  }
+
+  @Test
+  void compute_noMutations_onlyShare() {
+    final TestMeasureComputerContext measureContext = harness.createMeasureContextForSourceFile("compKey");
+    measureContext.addInputMeasure(TEST_TOTAL_EXECUTED_KEY, 10);
+    measureContext.addInputMeasure(UTILITY_GLOBAL_TESTS_EXECUTED_KEY, 100);
+
+    computer.compute(measureContext);
+
+    assertNull(measureContext.getMeasure(MUTATIONS_TESTS_PER_MUTANT_KEY));
+    assertEquals(10.0, measureContext.getMeasure(MUTATIONS_COST_SHARE_KEY).getDoubleValue(), 0.01);
+  }
+
+}
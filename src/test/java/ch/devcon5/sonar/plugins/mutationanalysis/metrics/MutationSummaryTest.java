@@ -0,0 +1,73 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
+import org.junit.jupiter.api.Test;
+
+class MutationSummaryTest {
+
+  private final MutationSummary subject = new MutationSummary();
+
+  private Mutant newMutant(Mutant.State state) {
+    return Mutant.builder()
+        .mutantStatus(state)
+        .inSourceFile("Test.java")
+        .inClass("example.Test")
+        .inMethod("helloWorld")
+        .withMethodParameters("(Ljava/lang/Object;)Z")
+        .usingMutator(MutationOperators.find("MATH"))
+        .killedBy("example.TestTest")
+        .numberOfTestsRun(2)
+        .build();
+  }
+
+  @Test
+  void testDefaults() {
+    assertEquals(0, subject.getMutationsTotal());
+    assertEquals(0, subject.getMutationsDetected());
+    assertEquals(0, subject.getNumTestsRun());
+  }
+
+  @Test
+  void addMutant_allStates_counted() {
+    // act
+    for (Mutant.State state : Mutant.State.values()) {
+      subject.addMutant(newMutant(state));
+    }
+    subject.addMutant(newMutant(Mutant.State.KILLED));
+
+    // assert
+    assertEquals(7, subject.getMutationsTotal());
+    assertEquals(2, subject.getMutationsKilled());
+    assertEquals(1, subject.getMutationsNoCoverage());
+    assertEquals(1, subject.getMutationsSurvived());
+    assertEquals(1, subject.getMutationsMemoryError());
+    assertEquals(1, subject.getMutationsTimedOut());
+    assertEquals(1, subject.getMutationsUnknown());
+    assertEquals(4, subject.getMutationsDetected());
+    assertEquals(14, subject.getNumTestsRun());
+  }
+
+}
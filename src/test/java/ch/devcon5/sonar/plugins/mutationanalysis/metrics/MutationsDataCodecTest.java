@@ -0,0 +1,162 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class MutationsDataCodecTest {
+
+  @Test
+  void encode_noMutants_decodedEmpty() {
+    //act
+    final String data = MutationsDataCodec.encode(Collections.emptyList());
+
+    //assert
+    assertTrue(MutationsDataCodec.decode(data).isEmpty());
+  }
+
+  @Test
+  void encode_unorderedMutants_decodedOrderedByLine() {
+    //arrange
+    final List<Mutant> mutants = Arrays.asList(
+        newMutant(300, "MATH", Mutant.State.SURVIVED),
+        newMutant(7, "NEGATE_CONDITIONALS", Mutant.State.KILLED),
+        newMutant(7, "MATH", Mutant.State.NO_COVERAGE),
+        newMutant(150000, "UNKNOWN", Mutant.State.TIMED_OUT));
+
+    //act
+    final List<MutationsDataCodec.Entry> entries = MutationsDataCodec.decode(MutationsDataCodec.encode(mutants));
+
+    //assert
+    assertEquals(4, entries.size());
+    assertEntry(entries.get(0), 7, "NEGATE_CONDITIONALS", Mutant.State.KILLED);
+    assertEntry(entries.get(1), 7, "MATH", Mutant.State.NO_COVERAGE);
+    assertEntry(entries.get(2), 300, "MATH", Mutant.State.SURVIVED);
+    assertEntry(entries.get(3), 150000, "UNKNOWN", Mutant.State.TIMED_OUT);
+    assertEquals(MutationOperators.find("MATH"), entries.get(2).getMutationOperator());
+  }
+
+  @Test
+  void encode_allStates_roundTrip() {
+    //arrange
+    final List<Mutant> mutants = new ArrayList<>();
+    for (final Mutant.State state : Mutant.State.values()) {
+      mutants.add(newMutant(state.ordinal() + 1, "MATH", state));
+    }
+
+    //act
+    final List<MutationsDataCodec.Entry> entries = MutationsDataCodec.decode(MutationsDataCodec.encode(mutants));
+
+    //assert
+    for (final Mutant.State state : Mutant.State.values()) {
+      assertEntry(entries.get(state.ordinal()), state.ordinal() + 1, "MATH", state);
+    }
+  }
+
+  @Test
+  void encode_manyMutantsOnFewLines_compactData() {
+    //arrange
+    final List<Mutant> mutants = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      mutants.add(newMutant(i / 4 + 1, i % 2 == 0 ? "MATH" : "NEGATE_CONDITIONALS", Mutant.State.KILLED));
+    }
+
+    //act
+    final String data = MutationsDataCodec.encode(mutants);
+
+    //assert
+    //two bytes per mutant plus the dictionary
+    assertTrue(Base64.getDecoder().decode(data).length < 2100);
+    assertEquals(1000, MutationsDataCodec.decode(data).size());
+  }
+
+  @Test
+  void decode_unsupportedVersion_exception() {
+    //arrange
+    final String data = Base64.getEncoder().encodeToString(new byte[] {2, 0, 0});
+
+    //act
+    assertThrows(IllegalArgumentException.class, () -> MutationsDataCodec.decode(data));
+  }
+
+  @Test
+  void decode_truncatedData_exception() {
+    //arrange
+    final String encoded = MutationsDataCodec.encode(
+        Collections.singletonList(newMutant(5, "MATH", Mutant.State.KILLED)));
+    final byte[] bytes = Base64.getDecoder().decode(encoded);
+    final String data = Base64.getEncoder().encodeToString(Arrays.copyOf(bytes, bytes.length - 1));
+
+    //act
+    assertThrows(IllegalArgumentException.class, () -> MutationsDataCodec.decode(data));
+  }
+
+  @Test
+  void stream_truncatedData_onlyConsumedMutantsDecoded() {
+    //arrange
+    final String encoded = MutationsDataCodec.encode(Arrays.asList(
+        newMutant(5, "MATH", Mutant.State.KILLED),
+        newMutant(9, "MATH", Mutant.State.SURVIVED)));
+    final byte[] bytes = Base64.getDecoder().decode(encoded);
+    final String data = Base64.getEncoder().encodeToString(Arrays.copyOf(bytes, bytes.length - 2));
+
+    //act
+    final List<MutationsDataCodec.Entry> first = MutationsDataCodec.stream(data).limit(1).collect(Collectors.toList());
+
+    //assert
+    assertEquals(1, first.size());
+    assertEntry(first.get(0), 5, "MATH", Mutant.State.KILLED);
+    assertThrows(IllegalArgumentException.class, () -> MutationsDataCodec.stream(data).collect(Collectors.toList()));
+  }
+
+  private void assertEntry(final MutationsDataCodec.Entry entry, final int line, final String operator,
+      final Mutant.State state) {
+    assertEquals(line, entry.getLineNumber());
+    assertEquals(operator, entry.getOperatorId());
+    assertEquals(state, entry.getState());
+  }
+
+  private Mutant newMutant(final int line, final String operator, final Mutant.State state) {
+    return Mutant.builder()
+        .mutantStatus(state)
+        .inSourceFile("Test.java")
+        .inClass("example.Test")
+        .inMethod("helloWorld")
+        .withMethodParameters("(Ljava/lang/Object;)Z")
+        .usingMutator(MutationOperators.find(operator))
+        .killedBy("example.TestTest")
+        .inLine(line)
+        .build();
+  }
+
+}
@@ -81,6 +81,22 @@ class ResourceMutationMetricsTest {
     assertEquals(3, mutants.size());
   }
 
+  @Test
+  void testGetLineIndex() {
+    // prepare
+    subject.addMutant(defaultMutantBuilder().mutantStatus(Mutant.State.KILLED).killedBy("ATest").inLine(4).build());
+    final MutantLineIndex before = subject.getLineIndex();
+    subject.addMutant(defaultMutantBuilder().mutantStatus(Mutant.State.KILLED).killedBy("ATest").inLine(2).build());
+
+    // act
+    final MutantLineIndex value = subject.getLineIndex();
+
+    // assert
+    assertEquals(1, before.size());
+    assertEquals(2, value.size());
+    assertEquals(2, value.getLine(0));
+  }
+
   @Test
   void testGetMutationsTotal() {
     // prepare
@@ -0,0 +1,142 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LongBitSetTest {
+
+  private static LongBitSet setOf(int... bits) {
+    final LongBitSet set = new LongBitSet();
+    for (int bit : bits) {
+      set.set(bit);
+    }
+    return set;
+  }
+
+  @Test
+  void set_acrossWords_allContained() {
+    final LongBitSet set = setOf(0, 63, 64, 1000);
+
+    assertTrue(set.get(0));
+    assertTrue(set.get(63));
+    assertTrue(set.get(64));
+    assertTrue(set.get(1000));
+    assertFalse(set.get(1));
+    assertFalse(set.get(5000));
+    assertFalse(set.get(-1));
+    assertEquals(4, set.cardinality());
+    assertEquals("{0, 63, 64, 1000}", set.toString());
+  }
+
+  @Test
+  void set_negative_exception() {
+    final LongBitSet set = new LongBitSet();
+
+    assertThrows(IllegalArgumentException.class, () -> set.set(-1));
+  }
+
+  @Test
+  void isEmpty() {
+    assertTrue(new LongBitSet().isEmpty());
+    assertFalse(setOf(200).isEmpty());
+  }
+
+  @Test
+  void cardinalityOperations_noModification() {
+    final LongBitSet a = setOf(1, 2, 3, 100, 200);
+    final LongBitSet b = setOf(2, 3, 4, 200);
+
+    assertEquals(3, a.andCardinality(b));
+    assertEquals(2, a.andNotCardinality(b));
+    assertEquals(1, b.andNotCardinality(a));
+    assertEquals(5, a.cardinality());
+    assertEquals(4, b.cardinality());
+  }
+
+  @Test
+  void isSubsetOf() {
+    assertTrue(setOf(2, 200).isSubsetOf(setOf(1, 2, 200)));
+    assertFalse(setOf(2, 300).isSubsetOf(setOf(1, 2, 200)));
+    assertTrue(new LongBitSet().isSubsetOf(new LongBitSet()));
+  }
+
+  @Test
+  void or_and_andNot() {
+    final LongBitSet set = setOf(1, 2);
+
+    set.or(setOf(2, 130));
+    assertEquals(setOf(1, 2, 130), set);
+
+    set.andNot(setOf(1));
+    assertEquals(setOf(2, 130), set);
+
+    set.and(setOf(2, 3));
+    assertEquals(setOf(2), set);
+  }
+
+  @Test
+  void nextSetBit_iteratesAll() {
+    final LongBitSet set = setOf(5, 64, 127, 128);
+    final StringBuilder buf = new StringBuilder();
+
+    for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+      buf.append(i).append(' ');
+    }
+
+    assertEquals("5 64 127 128 ", buf.toString());
+    assertEquals(-1, set.nextSetBit(129));
+  }
+
+  @Test
+  void stream_ascendingValues() {
+    assertArrayEquals(new int[] {5, 64, 127, 128}, setOf(128, 5, 127, 64).stream().toArray());
+    assertEquals(0, new LongBitSet().stream().count());
+  }
+
+  @Test
+  void copy_independent() {
+    final LongBitSet set = setOf(1);
+    final LongBitSet copy = set.copy();
+
+    copy.set(2);
+
+    assertFalse(set.get(2));
+    assertNotEquals(set, copy);
+  }
+
+  @Test
+  void equalsAndHashCode_ignoreTrailingEmptyWords() {
+    final LongBitSet grown = setOf(1, 500);
+    grown.andNot(setOf(500));
+
+    assertEquals(setOf(1), grown);
+    assertEquals(setOf(1).hashCode(), grown.hashCode());
+  }
+
+}
@@ -20,6 +20,7 @@
 
 package ch.devcon5.sonar.plugins.mutationanalysis.model;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -524,6 +525,71 @@ public class MutantTest {
     assertNotEquals(newDetectedMutant().hashCode(), newUndetectedMutant().hashCode());
   }
 
+  @Test
+  void testBuild_detectedWithKillingTestsOnly_firstKillingTest() {
+    final TestDictionary dictionary = new TestDictionary();
+
+    final Mutant mutant = Mutant.builder()
+        .mutantStatus(Mutant.State.KILLED)
+        .inSourceFile("SomeClass.java")
+        .inClass("com.foo.bar.SomeClass")
+        .inMethod("anyMethod")
+        .withMethodParameters("anyMethodDesc")
+        .inLine(17)
+        .usingMutator(MutationOperators.find("INVERT_NEGS"))
+        .killedByTests(dictionary, "com.foo.bar.FirstTest.test()|com.foo.bar.SecondTest.test()")
+        .build();
+
+    assertEquals("com.foo.bar.FirstTest.test()", mutant.getKillingTest());
+    assertEquals(2, mutant.getKillingTests().size());
+  }
+
+  @Test
+  void testBuild_timedOutWithEmptyKillingTests_emptyKillingTest() {
+    final Mutant mutant = Mutant.builder()
+        .mutantStatus(Mutant.State.TIMED_OUT)
+        .inSourceFile("SomeClass.java")
+        .inClass("com.foo.bar.SomeClass")
+        .inMethod("anyMethod")
+        .withMethodParameters("anyMethodDesc")
+        .inLine(17)
+        .usingMutator(MutationOperators.find("INVERT_NEGS"))
+        .killedByTests(new TestDictionary(), "")
+        .build();
+
+    assertEquals("", mutant.getKillingTest());
+    assertTrue(mutant.getKillingTests().isEmpty());
+  }
+
+  @Test
+  void testGetTestIds_fullMatrix_idsOfDictionary() {
+    final TestDictionary dictionary = new TestDictionary();
+    dictionary.idOf("com.foo.bar.OtherTest.test()");
+
+    final Mutant mutant = Mutant.builder()
+        .mutantStatus(Mutant.State.KILLED)
+        .inSourceFile("SomeClass.java")
+        .inClass("com.foo.bar.SomeClass")
+        .inMethod("anyMethod")
+        .withMethodParameters("anyMethodDesc")
+        .inLine(17)
+        .usingMutator(MutationOperators.find("INVERT_NEGS"))
+        .killedByTests(dictionary, "com.foo.bar.FirstTest.test()")
+        .succeededTests(dictionary, "com.foo.bar.OtherTest.test()|com.foo.bar.SecondTest.test()")
+        .build();
+
+    assertArrayEquals(new int[] {1}, mutant.getKillingTestIds().toArray());
+    assertArrayEquals(new int[] {0, 2}, mutant.getSucceedingTestIds().toArray());
+  }
+
+  @Test
+  void testGetTestIds_withoutMatrix_empty() {
+    final Mutant mutant = newDetectedMutant();
+
+    assertEquals(0, mutant.getKillingTestIds().count());
+    assertEquals(0, mutant.getSucceedingTestIds().count());
+  }
+
   @Test
   void testBuilder() {
     final Mutant.Builder builder = Mutant.builder();
@@ -0,0 +1,104 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MutationMatrixTest {
+
+  private static Mutant.Builder mutant(int line) {
+    return Mutant.builder()
+        .mutantStatus(Mutant.State.KILLED)
+        .inSourceFile("Example.java")
+        .inClass("Example")
+        .inMethod("aMethod")
+        .withMethodParameters("()")
+        .usingMutator("BOOLEAN_FALSE_RETURN")
+        .killedBy("")
+        .inLine(line);
+  }
+
+  @Test
+  void of_singleKillingTests() {
+    final MutationMatrix matrix = MutationMatrix.of(Arrays.asList(
+        mutant(1).killedBy("a.ATest.test1(a.ATest)").build(),
+        mutant(2).killedBy("a.ATest.test1(a.ATest)").build(),
+        mutant(3).killedBy("a.BTest.test(a.BTest)").build(),
+        mutant(4).mutantStatus(Mutant.State.SURVIVED).build()));
+
+    assertFalse(matrix.isFull());
+    assertEquals(4, matrix.getMutantCount());
+    assertEquals(2, matrix.getTestCount());
+    assertEquals("a.ATest.test1(a.ATest)", matrix.getTestName(0));
+    assertEquals(2, matrix.getKills(0));
+    assertEquals(2, matrix.getUniqueKills(0));
+    assertEquals(0, matrix.getOverlap(0, 1));
+  }
+
+  @Test
+  void of_fullMatrix_overlapsAndUniqueKills() {
+    final TestDictionary dictionary = new TestDictionary();
+    final MutationMatrix matrix = MutationMatrix.of(Arrays.asList(
+        mutant(1).killedByTests(dictionary, "a.ATest.t1(a.ATest)|a.BTest.t1(a.BTest)").build(),
+        mutant(2).killedByTests(dictionary, "a.ATest.t1(a.ATest)").build(),
+        mutant(3).killedByTests(dictionary, "a.ATest.t2(a.ATest)")
+            .succeededTests(dictionary, "a.BTest.t1(a.BTest)").build()));
+
+    assertTrue(matrix.isFull());
+    assertEquals(3, matrix.getTestCount());
+    //a.ATest.t1
+    assertEquals(2, matrix.getKills(0));
+    assertEquals(1, matrix.getUniqueKills(0));
+    assertEquals(1, matrix.getOverlap(0, 1));
+    //a.BTest.t1
+    assertEquals(1, matrix.getKills(1));
+    assertEquals(0, matrix.getUniqueKills(1));
+    assertEquals(2, matrix.getCoveredMutants(1).cardinality());
+
+    final Map<String, LongBitSet> byClass = matrix.getKilledMutantsByTestClass();
+    assertEquals(3, byClass.get("a.ATest").cardinality());
+    assertEquals(1, byClass.get("a.BTest").cardinality());
+    final LongBitSet unique = MutationMatrix.uniqueMembers(byClass.values());
+    assertEquals(2, byClass.get("a.ATest").andCardinality(unique));
+    assertEquals(0, byClass.get("a.BTest").andCardinality(unique));
+  }
+
+  @Test
+  void of_differentDictionaries_testsMergedByName() {
+    final TestDictionary dictionary1 = new TestDictionary();
+    final TestDictionary dictionary2 = new TestDictionary();
+    dictionary2.idOf("a.Other.t(a.Other)");
+
+    final MutationMatrix matrix = MutationMatrix.of(Arrays.asList(
+        mutant(1).killedByTests(dictionary1, "a.ATest.t1(a.ATest)").build(),
+        mutant(2).killedByTests(dictionary2, "a.ATest.t1(a.ATest)").build()));
+
+    assertEquals(1, matrix.getTestCount());
+    assertEquals(2, matrix.getKills(0));
+  }
+
+}
@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -108,6 +109,14 @@ class MutationOperatorTest {
     assertNotNull(desc);
   }
 
+  @Test
+  void testGetMutatorDescription_repeatedCalls_cachedDescription() {
+    final MutationOperator mutationOperator = MutationOperators.find("ARGUMENT_PROPAGATION");
+    final String first = mutationOperator.getMutagenDescription();
+    final String second = mutationOperator.getMutagenDescription();
+    assertSame(first, second);
+  }
+
   @Test
   void testGetMutatorDescription_exceptionOccurred_noDescription() throws Exception {
     final MutationOperator mutationOperator = new MutationOperator("test", "aName", singleton("aClass"),
@@ -0,0 +1,115 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Map;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Verifies the precompiled mutagen index against the mutagen definitions and compares the startup time of both. The
+ * startup comparison is a benchmark and only run with the benchmark profile.
+ */
+class MutationOperatorsIndexTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MutationOperatorsIndexTest.class);
+
+  private static final int WARMUP_ITERATIONS = 10;
+  private static final int MEASURED_ITERATIONS = 50;
+
+  @TempDir
+  public Path folder;
+
+  private URL definitions;
+  private URL index;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    //the index is generated with the stylesheet used by the build
+    this.definitions = MutationOperator.class.getResource("mutagen-def.xml");
+    final File indexFile = folder.resolve("mutagen-def.idx").toFile();
+    TransformerFactory.newInstance()
+        .newTransformer(new StreamSource(new File("src/main/xslt/mutagen-index.xsl")))
+        .transform(new StreamSource(definitions.openStream()), new StreamResult(indexFile));
+    this.index = indexFile.toURI().toURL();
+  }
+
+  @Test
+  void readIndex_generatedIndex_sameOperatorsAsDefinitions() throws Exception {
+    //arrange
+    final Map<String, MutationOperator> expected = MutationOperators.parseDefinitions(definitions);
+
+    //act
+    final Map<String, MutationOperator> actual = MutationOperators.readIndex(index);
+
+    //assert
+    assertEquals(expected.keySet(), actual.keySet());
+    for (final MutationOperator operator : expected.values()) {
+      final MutationOperator indexed = actual.get(operator.getId());
+      assertNotNull(indexed);
+      assertEquals(operator.getName(), indexed.getName());
+      assertEquals(operator.getViolationDescription(), indexed.getViolationDescription());
+      assertEquals(operator.getClassNames(), indexed.getClassNames());
+      assertEquals(operator.getMutagenDescriptionLocation(), indexed.getMutagenDescriptionLocation());
+    }
+  }
+
+  @Test
+  @Tag("benchmark")
+  void startupBenchmark_definitionsVsIndex() throws Exception {
+    //arrange
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      MutationOperators.parseDefinitions(definitions);
+      MutationOperators.readIndex(index);
+    }
+
+    //act
+    final long definitionsStart = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      MutationOperators.parseDefinitions(definitions);
+    }
+    final long definitionsTime = (System.nanoTime() - definitionsStart) / MEASURED_ITERATIONS;
+    final long indexStart = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      MutationOperators.readIndex(index);
+    }
+    final long indexTime = (System.nanoTime() - indexStart) / MEASURED_ITERATIONS;
+
+    //assert
+    LOG.info("Mutation operator initialization: xml definitions {} us, precompiled index {} us", definitionsTime / 1000,
+        indexTime / 1000);
+    assertEquals(MutationOperators.allMutationOperators().size(), MutationOperators.readIndex(index).size());
+  }
+
+}
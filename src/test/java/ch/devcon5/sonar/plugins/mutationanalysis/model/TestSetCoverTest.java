@@ -0,0 +1,118 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class TestSetCoverTest {
+
+  @Test
+  void findRedundant_noTests_noRedundantTests() {
+    assertTrue(TestSetCover.findRedundant(new LinkedHashMap<String, LongBitSet>()).isEmpty());
+  }
+
+  @Test
+  void findRedundant_disjointKills_noRedundantTests() {
+    //arrange
+    final Map<String, LongBitSet> kills = new LinkedHashMap<>();
+    kills.put("a", bits(0, 1));
+    kills.put("b", bits(2));
+
+    //act
+    final Set<String> redundant = TestSetCover.findRedundant(kills);
+
+    //assert
+    assertTrue(redundant.isEmpty());
+  }
+
+  @Test
+  void findRedundant_subsetOfOtherTest_redundant() {
+    //arrange
+    final Map<String, LongBitSet> kills = new LinkedHashMap<>();
+    kills.put("a", bits(1));
+    kills.put("b", bits(0, 1, 2));
+    kills.put("c", bits(3));
+
+    //act
+    final Set<String> redundant = TestSetCover.findRedundant(kills);
+
+    //assert
+    assertEquals(Set.of("a"), redundant);
+  }
+
+  @Test
+  void findRedundant_coveredByUnionOfOtherTests_redundant() {
+    //arrange
+    final Map<String, LongBitSet> kills = new LinkedHashMap<>();
+    kills.put("a", bits(0, 1, 2, 3));
+    kills.put("b", bits(3, 4, 5, 6));
+    kills.put("c", bits(2, 3, 4));
+    kills.put("d", bits(100));
+
+    //act
+    final Set<String> redundant = TestSetCover.findRedundant(kills);
+
+    //assert
+    assertEquals(Set.of("c"), redundant);
+  }
+
+  @Test
+  void findRedundant_equalKills_firstTestRequired() {
+    //arrange
+    final Map<String, LongBitSet> kills = new LinkedHashMap<>();
+    kills.put("a", bits(0, 70));
+    kills.put("b", bits(0, 70));
+
+    //act
+    final Set<String> redundant = TestSetCover.findRedundant(kills);
+
+    //assert
+    assertEquals(Set.of("b"), redundant);
+  }
+
+  @Test
+  void findRedundant_testWithoutKills_notRedundant() {
+    //arrange
+    final Map<String, LongBitSet> kills = new LinkedHashMap<>();
+    kills.put("a", bits(0));
+    kills.put("b", new LongBitSet());
+
+    //act
+    final Set<String> redundant = TestSetCover.findRedundant(kills);
+
+    //assert
+    assertTrue(redundant.isEmpty());
+  }
+
+  private LongBitSet bits(final int... values) {
+    final LongBitSet set = new LongBitSet();
+    Arrays.stream(values).forEach(set::set);
+    return set;
+  }
+
+}
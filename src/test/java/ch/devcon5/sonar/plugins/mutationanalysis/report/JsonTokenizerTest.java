@@ -0,0 +1,192 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class JsonTokenizerTest {
+
+  @Test
+  void read_nestedDocument_allValues() throws IOException {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader(
+        " {\"name\" : \"value\", \"numbers\": [1, -2.5e3, 0], \"flags\": {\"t\": true, \"f\": false, \"n\": null},"
+            + " \"empty\": [], \"none\": {}}\n"));
+
+    // act & assert
+    json.beginObject();
+    assertEquals("name", json.nextName());
+    assertEquals("value", json.nextString());
+    assertEquals("numbers", json.nextName());
+    json.beginArray();
+    assertEquals(1, json.nextInt());
+    assertEquals(JsonTokenizer.Token.NUMBER, json.peek());
+    assertEquals("-2.5e3", json.nextString());
+    assertEquals(0, json.nextInt());
+    assertFalse(json.hasNext());
+    json.endArray();
+    assertEquals("flags", json.nextName());
+    json.beginObject();
+    assertEquals("t", json.nextName());
+    assertEquals("true", json.nextString());
+    assertEquals("f", json.nextName());
+    assertEquals(JsonTokenizer.Token.BOOLEAN, json.peek());
+    assertEquals("false", json.nextString());
+    assertEquals("n", json.nextName());
+    assertNull(json.nextString());
+    json.endObject();
+    assertEquals("empty", json.nextName());
+    json.beginArray();
+    json.endArray();
+    assertEquals("none", json.nextName());
+    json.beginObject();
+    json.endObject();
+    assertFalse(json.hasNext());
+    json.endObject();
+    assertEquals(JsonTokenizer.Token.END_DOCUMENT, json.peek());
+  }
+
+  @Test
+  void nextString_escapes_unescaped() throws IOException {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader("[\"a\\\"b\\\\c\\/d\\n\\t\\u00e4\\u20AC\"]"));
+
+    // act
+    json.beginArray();
+    final String value = json.nextString();
+
+    // assert
+    assertEquals("a\"b\\c/d\n\t\u00e4\u20ac", value);
+  }
+
+  @Test
+  void skipValue_nestedValues_skipped() throws IOException {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader(
+        "{\"skip\": {\"a\": [1, {\"b\": \"x\\\"}\"}, [true, null]], \"c\": {}}, \"keep\": 42}"));
+
+    // act
+    json.beginObject();
+    assertEquals("skip", json.nextName());
+    json.skipValue();
+
+    // assert
+    assertEquals("keep", json.nextName());
+    assertEquals(42, json.nextInt());
+    json.endObject();
+  }
+
+  @Test
+  void skipValue_stringLargerThanBuffer_skipped() throws IOException {
+    // prepare
+    final StringBuilder document = new StringBuilder("[\"");
+    for (int i = 0; i < 200_000; i++) {
+      document.append(i % 10 == 0 ? "\\n" : "x");
+    }
+    document.append("\", \"next\"]");
+    final JsonTokenizer json = new JsonTokenizer(new StringReader(document.toString()));
+
+    // act
+    json.beginArray();
+    json.skipValue();
+
+    // assert
+    assertTrue(json.hasNext());
+    assertEquals("next", json.nextString());
+    json.endArray();
+  }
+
+  @Test
+  void nextInt_decimal_truncated() throws IOException {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader("[3.0]"));
+
+    // act
+    json.beginArray();
+
+    // assert
+    assertEquals(3, json.nextInt());
+  }
+
+  @Test
+  void read_missingComma_exceptionWithOffset() throws IOException {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader("{\"a\": 1 \"b\": 2}"));
+    json.beginObject();
+    json.nextName();
+    json.nextInt();
+
+    // act
+    final IllegalArgumentException e = assertThrows(IllegalArgumentException.class, json::hasNext);
+
+    // assert
+    assertEquals("Invalid JSON at offset 9: expected ',' or '}'", e.getMessage());
+  }
+
+  @Test
+  void read_unterminatedString_exception() throws IOException {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader("[\"abc"));
+    json.beginArray();
+
+    // act & assert
+    assertThrows(IllegalArgumentException.class, json::nextString);
+  }
+
+  @Test
+  void read_invalidLiteral_exception() throws IOException {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader("[trux]"));
+    json.beginArray();
+
+    // act & assert
+    assertThrows(IllegalArgumentException.class, json::nextString);
+  }
+
+  @Test
+  void read_unexpectedToken_exception() throws IOException {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader("[1]"));
+
+    // act & assert
+    assertThrows(IllegalArgumentException.class, json::beginObject);
+  }
+
+  @Test
+  void read_trailingContent_exception() throws IOException {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader("{} {}"));
+    json.beginObject();
+    json.endObject();
+
+    // act & assert
+    assertThrows(IllegalArgumentException.class, json::peek);
+  }
+
+}
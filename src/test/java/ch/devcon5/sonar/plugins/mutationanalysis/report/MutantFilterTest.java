@@ -0,0 +1,76 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class MutantFilterTest {
+
+  @Test
+  void of_noPatterns_acceptAll() {
+    final MutantFilter filter = MutantFilter.of(Collections.emptyList(), Arrays.asList(" ", ""));
+
+    assertSame(MutantFilter.acceptAll(), filter);
+    assertTrue(filter.isAcceptAll());
+    assertTrue(filter.accepts("com.example.Foo", "Foo.java"));
+  }
+
+  @Test
+  void accepts_excludedPackage_false() {
+    final MutantFilter filter = MutantFilter.of(Collections.emptyList(), Arrays.asList("**/generated/**"));
+
+    assertFalse(filter.accepts("com.example.generated.Foo", "Foo.java"));
+    assertFalse(filter.accepts("com.example.generated.Foo$Bar", null));
+    assertTrue(filter.accepts("com.example.Foo", "Foo.java"));
+  }
+
+  @Test
+  void accepts_excludedClassNameWithoutPath_matchedInAnyPackage() {
+    final MutantFilter filter = MutantFilter.of(Collections.emptyList(), Arrays.asList("*_$$_*"));
+
+    assertFalse(filter.accepts("com.example.Foo_$$_javassist_1", "Foo.java"));
+    assertTrue(filter.accepts("com.example.Foo", "Foo.java"));
+  }
+
+  @Test
+  void accepts_excludedSourceFile_false() {
+    final MutantFilter filter = MutantFilter.of(Collections.emptyList(), Arrays.asList("**/*Generated.java"));
+
+    assertFalse(filter.accepts("com.example.Foo$1", "FooGenerated.java"));
+    assertTrue(filter.accepts("com.example.Foo$1", "Foo.java"));
+  }
+
+  @Test
+  void accepts_included_onlyMatchingAccepted() {
+    final MutantFilter filter = MutantFilter.of(Arrays.asList("com/example/**"), Arrays.asList("**/internal/**"));
+
+    assertTrue(filter.accepts("com.example.Foo", "Foo.java"));
+    assertFalse(filter.accepts("org.other.Foo", "Foo.java"));
+    assertFalse(filter.accepts("com.example.internal.Foo", "Foo.java"));
+  }
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MutationTestingElementsReportParserTest {
+
+  private MutationTestingElementsReportParser subject;
+
+  @BeforeEach
+  public void setUp() {
+    subject = new MutationTestingElementsReportParser();
+  }
+
+  @Test
+  void parseReport_findMutants() throws Exception {
+    // prepare
+    final Path report = Paths.get(getClass().getResource("MutationTestingElementsReportParserTest_mutations.json").toURI());
+
+    // act
+    final Collection<Mutant> mutants = subject.parseMutants(report);
+
+    // assert
+    assertEquals(5, mutants.size());
+    assertTrue(mutants.contains(Mutant.builder()
+        .mutantStatus(Mutant.State.KILLED)
+        .inSourceFile("Example.java")
+        .inClass("ch.example.Example")
+        .inMethod("")
+        .withMethodParameters("")
+        .inLine(12)
+        .atIndex(9)
+        .numberOfTestsRun(2)
+        .usingMutator(MutationOperators.find("NEGATE_CONDITIONALS"))
+        .withDescription("negated conditional")
+        .killedBy("ch.example.ExampleTest.testCompute(ch.example.ExampleTest)")
+        .build()));
+    assertTrue(mutants.contains(Mutant.builder()
+        .mutantStatus(Mutant.State.SURVIVED)
+        .inSourceFile("Example.java")
+        .inClass("ch.example.Example")
+        .inMethod("")
+        .withMethodParameters("")
+        .inLine(15)
+        .atIndex(5)
+        .usingMutator(MutationOperators.find("MATH"))
+        .build()));
+    assertTrue(mutants.contains(Mutant.builder()
+        .mutantStatus(Mutant.State.NO_COVERAGE)
+        .inSourceFile("Example.java")
+        .inClass("ch.example.Example")
+        .inMethod("")
+        .withMethodParameters("")
+        .inLine(20)
+        .atIndex(3)
+        .usingMutator(MutationOperators.find("VOID_METHOD_CALLS"))
+        .build()));
+    assertTrue(mutants.contains(Mutant.builder()
+        .mutantStatus(Mutant.State.TIMED_OUT)
+        .inSourceFile("Example.java")
+        .inClass("ch.example.Example")
+        .inMethod("")
+        .withMethodParameters("")
+        .inLine(22)
+        .atIndex(7)
+        .usingMutator(MutationOperators.find("CONDITIONALS_BOUNDARY"))
+        .killedBy("")
+        .build()));
+    assertTrue(mutants.contains(Mutant.builder()
+        .mutantStatus(Mutant.State.UNKNOWN)
+        .inSourceFile("Other.kt")
+        .inClass("ch.example.Other")
+        .inMethod("")
+        .withMethodParameters("")
+        .inLine(3)
+        .atIndex(1)
+        .usingMutator(MutationOperators.UNKNOWN)
+        .build()));
+  }
+
+  @Test
+  void parseReport_brokenReport_false() throws Exception {
+    // prepare
+    final Path report = Paths.get(getClass().getResource("MutationTestingElementsReportParserTest_broken.json").toURI());
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    final boolean result = subject.parseMutants(report, mutants::add);
+
+    // assert
+    //the syntax error is found by the pass reading the test names, before any mutant is read
+    assertFalse(result);
+    assertTrue(mutants.isEmpty());
+  }
+
+  @Test
+  void parseReport_nullReport_emptyList() throws Exception {
+    // act
+    final Collection<Mutant> mutants = subject.parseMutants(null);
+
+    // assert
+    assertTrue(mutants.isEmpty());
+  }
+
+  @Test
+  void readReport_filteredFile_skipped() throws Exception {
+    // prepare
+    final MutationTestingElementsReportParser filtering = new MutationTestingElementsReportParser(
+        MutantFilter.of(Collections.emptyList(), Collections.singletonList("**/Example.java")));
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    try (JsonTokenizer json = new JsonTokenizer(new StringReader("{\"files\": {"
+        + "\"src/main/java/ch/example/Example.java\": {\"mutants\": [{\"mutatorName\": \"MATH\", \"status\": \"Killed\","
+        + " \"location\": {\"start\": {\"line\": 1}}}]},"
+        + "\"src/main/java/ch/example/Other.java\": {\"mutants\": [{\"mutatorName\": \"MATH\", \"status\": \"Survived\","
+        + " \"location\": {\"start\": {\"line\": 2}}}]}}}"))) {
+      filtering.readReport(json, Collections.emptyMap(), mutants::add);
+    }
+
+    // assert
+    assertEquals(1, mutants.size());
+    assertEquals("ch.example.Other", mutants.get(0).getMutatedClass());
+    assertEquals(2, mutants.get(0).getLineNumber());
+  }
+
+  @Test
+  void readReport_largeSource_skipped() throws Exception {
+    // prepare
+    final StringBuilder source = new StringBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      source.append("int x").append(i).append(" = \\\"").append(i).append("\\\";\\n");
+    }
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    try (JsonTokenizer json = new JsonTokenizer(new StringReader("{\"files\": {\"Example.java\": {\"source\": \""
+        + source + "\", \"mutants\": [{\"mutatorName\": \"MATH\", \"status\": \"Survived\","
+        + " \"location\": {\"start\": {\"line\": 7}}}]}}}"))) {
+      subject.readReport(json, Collections.emptyMap(), mutants::add);
+    }
+
+    // assert
+    assertEquals(1, mutants.size());
+    assertEquals("Example", mutants.get(0).getMutatedClass());
+    assertEquals(7, mutants.get(0).getLineNumber());
+  }
+
+  @Test
+  void readReport_mutantWithoutLocation_exception() {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader(
+        "{\"files\": {\"Example.java\": {\"mutants\": [{\"mutatorName\": \"MATH\", \"status\": \"Killed\"}]}}}"));
+
+    // act
+    assertThrows(IllegalArgumentException.class, () -> subject.readReport(json, Collections.emptyMap(), m -> {}));
+  }
+
+  @Test
+  void readTestNames_testFiles_namesById() throws Exception {
+    // prepare
+    final JsonTokenizer json = new JsonTokenizer(new StringReader("{\"files\": {\"Example.java\": {\"mutants\": []}},"
+        + " \"testFiles\": {\"src/test/java/ch/example/ExampleTest.java\": {\"source\": \"...\","
+        + " \"tests\": [{\"id\": \"1\", \"name\": \"computes a.b\"}, {\"name\": \"noId\"}]}}}"));
+
+    // act
+    final Map<String, String> testNames = subject.readTestNames(json);
+
+    // assert
+    assertEquals(Collections.singletonMap("1", "ch.example.ExampleTest.computes a_b(ch.example.ExampleTest)"),
+        testNames);
+  }
+
+  @Test
+  void readReport_unknownTestIds_noKillingTest() throws Exception {
+    // prepare
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    try (JsonTokenizer json = new JsonTokenizer(new StringReader("{\"files\": {\"Example.java\": {\"mutants\": ["
+        + "{\"mutatorName\": \"MATH\", \"status\": \"Killed\", \"killedBy\": [\"3\", \"4\"],"
+        + " \"location\": {\"start\": {\"line\": 7}}}]}}}"))) {
+      subject.readReport(json, Collections.singletonMap("4", "ch.example.ExampleTest.test(ch.example.ExampleTest)"),
+          mutants::add);
+    }
+    try (JsonTokenizer json = new JsonTokenizer(new StringReader("{\"files\": {\"Example.java\": {\"mutants\": ["
+        + "{\"mutatorName\": \"MATH\", \"status\": \"Killed\", \"killedBy\": [\"3\"],"
+        + " \"location\": {\"start\": {\"line\": 7}}}]}}}"))) {
+      subject.readReport(json, Collections.emptyMap(), mutants::add);
+    }
+
+    // assert
+    assertEquals("ch.example.ExampleTest.test(ch.example.ExampleTest)", mutants.get(0).getKillingTest());
+    assertEquals("", mutants.get(1).getKillingTest());
+  }
+
+  @Test
+  void toTestName_variousNames() {
+    assertEquals("a.FooTest.test(a.FooTest)", MutationTestingElementsReportParser.toTestName("a.FooTest", "test"));
+    assertEquals("a.FooTest.test(a.FooTest)", MutationTestingElementsReportParser.toTestName("a.FooTest", "a.FooTest.test"));
+    assertEquals("a.FooTest.test(a.FooTest)",
+        MutationTestingElementsReportParser.toTestName("a.FooTest", "a.FooTest.test(a.FooTest)"));
+    assertEquals("a.FooTest.test(int)", MutationTestingElementsReportParser.toTestName("a.FooTest", "test(int)"));
+    assertEquals("a.FooTest.Inner_test(a.FooTest)", MutationTestingElementsReportParser.toTestName("a.FooTest", "Inner$test"));
+    assertEquals("should work", MutationTestingElementsReportParser.toTestName("", "should work"));
+  }
+
+  @Test
+  void toClassName_variousPaths() {
+    assertEquals("ch.example.Example", MutationTestingElementsReportParser.toClassName("src/main/java/ch/example/Example.java"));
+    assertEquals("ch.example.Example", MutationTestingElementsReportParser.toClassName("module/src/test/kotlin/ch/example/Example.kt"));
+    assertEquals("ch.java.Example", MutationTestingElementsReportParser.toClassName("/home/java/src/main/java/ch/java/Example.java"));
+    assertEquals("ch.example.Example", MutationTestingElementsReportParser.toClassName("C:\\project\\java\\ch\\example\\Example.java"));
+    assertEquals("lib.util", MutationTestingElementsReportParser.toClassName("lib/util.js"));
+  }
+
+  @Test
+  void toSourceFile_variousPaths() {
+    assertEquals("Example.java", MutationTestingElementsReportParser.toSourceFile("src/main/java/ch/example/Example.java"));
+    assertEquals("Example.kt", MutationTestingElementsReportParser.toSourceFile("C:\\project\\Example.kt"));
+    assertEquals("Example.java", MutationTestingElementsReportParser.toSourceFile("Example.java"));
+  }
+
+  @Test
+  void toState_allStatuses() {
+    assertEquals(Mutant.State.KILLED, MutationTestingElementsReportParser.toState("Killed"));
+    assertEquals(Mutant.State.SURVIVED, MutationTestingElementsReportParser.toState("Survived"));
+    assertEquals(Mutant.State.NO_COVERAGE, MutationTestingElementsReportParser.toState("NoCoverage"));
+    assertEquals(Mutant.State.TIMED_OUT, MutationTestingElementsReportParser.toState("Timeout"));
+    assertEquals(Mutant.State.UNKNOWN, MutationTestingElementsReportParser.toState("RuntimeError"));
+    assertEquals(Mutant.State.UNKNOWN, MutationTestingElementsReportParser.toState("CompileError"));
+    assertEquals(Mutant.State.UNKNOWN, MutationTestingElementsReportParser.toState(null));
+    assertNull(MutationTestingElementsReportParser.toState("Ignored"));
+    assertNull(MutationTestingElementsReportParser.toState("Pending"));
+  }
+
+}
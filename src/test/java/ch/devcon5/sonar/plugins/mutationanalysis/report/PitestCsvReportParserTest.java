@@ -0,0 +1,129 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PitestCsvReportParserTest {
+
+  private PitestCsvReportParser subject;
+
+  @BeforeEach
+  public void setUp() {
+    subject = new PitestCsvReportParser();
+  }
+
+  @Test
+  void parseReport_findMutants() throws Exception {
+    // prepare
+    final Path report = Paths.get(getClass().getResource("PitestCsvReportParserTest_mutations.csv").toURI());
+
+    // act
+    final Collection<Mutant> mutants = subject.parseMutants(report);
+
+    // assert
+    assertEquals(4, mutants.size());
+    assertTrue(mutants.contains(Mutant.builder()
+        .mutantStatus(Mutant.State.KILLED)
+        .inSourceFile("Mutant.java")
+        .inClass("ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant")
+        .inMethod("equals")
+        .withMethodParameters("")
+        .inLine(162)
+        .usingMutator(MutationOperators.find("org.pitest.mutationtest.engine.gregor.mutators.NegateConditionalsMutator"))
+        .killedBy("ch.devcon5.sonar.plugins.mutationanalysis.model.MutantTest.testEquals_different_false(ch.devcon5.sonar.plugins.mutationanalysis.model.MutantTest)")
+        .build()));
+    assertTrue(mutants.contains(Mutant.builder()
+        .mutantStatus(Mutant.State.SURVIVED)
+        .inSourceFile("Mutant.java")
+        .inClass("ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant")
+        .inMethod("equals")
+        .withMethodParameters("")
+        .inLine(172)
+        .usingMutator(MutationOperators.find("org.pitest.mutationtest.engine.gregor.mutators.NegateConditionalsMutator"))
+        .build()));
+    assertTrue(mutants.contains(Mutant.builder()
+        .mutantStatus(Mutant.State.TIMED_OUT)
+        .inSourceFile("Mutant.java")
+        .inClass("ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant")
+        .inMethod("hashCode")
+        .withMethodParameters("")
+        .inLine(180)
+        .usingMutator(MutationOperators.find("org.pitest.mutationtest.engine.gregor.mutators.MathMutator"))
+        .killedBy("")
+        .build()));
+  }
+
+  @Test
+  void parseReport_brokenCsv_emptyList() throws Exception {
+    final Path report = Paths.get(getClass().getResource("PitestCsvReportParserTest_broken.csv").toURI());
+
+    final Collection<Mutant> result = subject.parseMutants(report);
+
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  void parseReport_nonExistingFile_notParsed() throws Exception {
+    final List<Mutant> mutants = new ArrayList<>();
+
+    assertFalse(subject.parseMutants(Paths.get("anyNonExistingPath"), mutants::add));
+    assertTrue(mutants.isEmpty());
+  }
+
+  @Test
+  void readMutants_killingTestWithSeparator_remainderIsKillingTest() throws Exception {
+    final String csv = "A.java,a.A,MATH,m,1,KILLED,a.ATest.test[1, 2](a.ATest)\n";
+    final List<Mutant> mutants = new ArrayList<>();
+
+    subject.readMutants(new BufferedReader(new StringReader(csv)), mutants::add);
+
+    assertEquals(1, mutants.size());
+    assertEquals("a.ATest.test[1, 2](a.ATest)", mutants.get(0).getKillingTest());
+  }
+
+  @Test
+  void readMutants_brokenCsv_exceptionWithLineNumber() {
+    final String csv = "A.java,a.A,MATH,m,1,KILLED,a.ATest.test(a.ATest)\nA.java,a.A,MATH\n";
+
+    final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> subject.readMutants(new BufferedReader(new StringReader(csv)), m -> {
+        }));
+
+    assertEquals("Invalid mutant in line 2: expected 7 fields", e.getMessage());
+  }
+
+}
@@ -26,12 +26,22 @@ import javax.xml.stream.XMLStreamException;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
@@ -158,6 +168,124 @@ class PitestReportParserTest {
     assertTrue(result.isEmpty());
   }
 
+  @Test
+  void parseReport_gzipCompressedReport_findMutants() throws Exception {
+    // prepare
+    final Path report = folder.resolve("mutations.xml.gz");
+    try (InputStream in = getClass().getResourceAsStream("PitestReportParserTest_mutations.xml");
+        OutputStream out = new GZIPOutputStream(Files.newOutputStream(report))) {
+      IOUtils.copy(in, out);
+    }
+
+    // act
+    final Collection<Mutant> mutants = subject.parseMutants(report);
+
+    // assert
+    assertEquals(3, mutants.size());
+  }
+
+  @Test
+  void openReport_invalidGzipHeader_reportClosedAndException() throws Exception {
+    // prepare
+    final Path report = folder.resolve("mutations.xml.gz");
+    Files.write(report, "<mutations/>".getBytes(StandardCharsets.UTF_8));
+
+    // act
+    assertThrows(IOException.class, () -> PitestReportParser.openReport(report));
+
+    // assert
+    // an open stream would prevent the deletion on platforms locking open files
+    Files.delete(report);
+    assertFalse(Files.exists(report));
+  }
+
+  @Test
+  void getUncompressedSize_gzipCompressedReport_sizeOfReportData() throws Exception {
+    // prepare
+    final Path plain = ReportIndexTest.writeReport(folder);
+    final Path report = folder.resolve("mutations.xml.gz");
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(report))) {
+      for (int i = 0; i < 100; i++) {
+        Files.copy(plain, out);
+      }
+    }
+
+    // act
+    final long size = PitestReportParser.getUncompressedSize(report);
+
+    // assert
+    assertEquals(100 * Files.size(plain), size);
+    assertTrue(Files.size(report) < size);
+  }
+
+  @Test
+  void getUncompressedSize_plainReport_fileSize() throws Exception {
+    // prepare
+    final Path report = ReportIndexTest.writeReport(folder);
+
+    // act
+    final long size = PitestReportParser.getUncompressedSize(report);
+
+    // assert
+    assertEquals(Files.size(report), size);
+  }
+
+  @Test
+  void parseReport_streamMutantsToConsumer() throws Exception {
+    // prepare
+    final Path report = Paths.get(getClass().getResource("PitestReportParserTest_mutations.xml").toURI());
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    final boolean complete = subject.parseMutants(report, mutants::add);
+
+    // assert
+    assertTrue(complete);
+    assertEquals(3, mutants.size());
+  }
+
+  @Test
+  void parseReport_withFilter_excludedMutantsSkipped() throws Exception {
+    // prepare
+    final Path report = Paths.get(getClass().getResource("PitestReportParserTest_mutations.xml").toURI());
+    final PitestReportParser excludingParser = new PitestReportParser(
+        MutantFilter.of(Collections.emptyList(), Arrays.asList("**/model/**")));
+    final PitestReportParser includingParser = new PitestReportParser(
+        MutantFilter.of(Arrays.asList("**/Mutant.java"), Collections.emptyList()));
+
+    // act
+    final Collection<Mutant> excluded = excludingParser.parseMutants(report);
+    final Collection<Mutant> included = includingParser.parseMutants(report);
+
+    // assert
+    assertTrue(excluded.isEmpty());
+    assertEquals(3, included.size());
+  }
+
+  @Test
+  void parseReport_fullMutationMatrix_allKillingAndSucceedingTests() throws Exception {
+    // prepare
+    final Path report = Paths.get(getClass().getResource("PitestReportParserTest_mutationsFullMatrix.xml").toURI());
+
+    // act
+    final List<Mutant> mutants = new ArrayList<>(subject.parseMutants(report));
+
+    // assert
+    assertEquals(2, mutants.size());
+    final Mutant killed = mutants.get(0);
+    assertTrue(killed.hasMutationMatrix());
+    assertEquals("ch.devcon5.MutantTest.testEquals(ch.devcon5.MutantTest)", killed.getKillingTest());
+    assertEquals(Arrays.asList("ch.devcon5.MutantTest.testEquals(ch.devcon5.MutantTest)",
+        "ch.devcon5.MutantTest.testHashCode(ch.devcon5.MutantTest)"), killed.getKillingTests());
+    assertEquals(Arrays.asList("ch.devcon5.OtherTest.testOther(ch.devcon5.OtherTest)"), killed.getSucceedingTests());
+    final Mutant survived = mutants.get(1);
+    assertTrue(survived.getKillingTests().isEmpty());
+    assertEquals(2, survived.getSucceedingTests().size());
+    //the tests of all mutants of a report share the same dictionary
+    assertSame(killed.getTestDictionary().get(), survived.getTestDictionary().get());
+    assertEquals(3, killed.getTestDictionary().get().size());
+  }
+
   @Test
   void parseReport_brokenXml_emptyList() throws Exception {
     final Path report = Paths.get(getClass().getResource("PitestReportParserTest_broken.xml").toURI());
@@ -201,4 +329,62 @@ class PitestReportParserTest {
     assertNotEquals(expectedSecret, actualSecret);
   }
 
-}
\ No newline at end of file
+  @Test
+  void parseMutants_requestedClasses_onlyIndexedRangesParsed() throws Exception {
+    // prepare
+    final Path report = ReportIndexTest.writeReport(folder);
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    final boolean result = subject.parseMutants(report, Collections.singleton("a.A"), mutants::add);
+
+    // assert
+    assertTrue(result);
+    assertTrue(Files.exists(ReportIndex.getSidecar(report)));
+    assertEquals(4, mutants.size());
+    assertEquals("a.A", mutants.get(0).getMutatedClass());
+    assertEquals("a.A$Inner", mutants.get(2).getMutatedClass());
+    assertEquals(5, mutants.get(3).getLineNumber());
+    assertEquals("m\u00e9todo", mutants.get(0).getMutatedMethod());
+  }
+
+  @Test
+  void openRange_rangeMappedInSeveralChunks_mutantsParsed() throws Exception {
+    // prepare
+    final Path report = ReportIndexTest.writeReport(folder);
+    final List<long[]> ranges = ReportIndex.build(report).select(entry -> entry.getMutatedClass().startsWith("a.A"));
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    try (FileChannel channel = FileChannel.open(report, StandardOpenOption.READ)) {
+      for (final long[] range : ranges) {
+        subject.readMutants(PitestReportParser.openRange(channel, range[0], range[1], 7), mutants::add);
+      }
+    }
+
+    // assert
+    assertEquals(4, mutants.size());
+    assertEquals(Arrays.asList(1, 2, 3, 5), mutants.stream().map(Mutant::getLineNumber).collect(Collectors.toList()));
+    assertEquals("removed call to \u00e4", mutants.get(0).getDescription().orElse(null));
+  }
+
+  @Test
+  void parseMutants_requestedClassesOfCompressedReport_filteredWhileParsing() throws Exception {
+    // prepare
+    final Path plain = ReportIndexTest.writeReport(folder);
+    final Path report = folder.resolve("mutations.xml.gz");
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(report))) {
+      Files.copy(plain, out);
+    }
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    final boolean result = subject.parseMutants(report, Collections.singleton("a.B"), mutants::add);
+
+    // assert
+    assertTrue(result);
+    assertEquals(1, mutants.size());
+    assertEquals(4, mutants.get(0).getLineNumber());
+  }
+
+}
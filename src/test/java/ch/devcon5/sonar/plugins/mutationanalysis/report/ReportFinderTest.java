@@ -21,7 +21,6 @@
 package ch.devcon5.sonar.plugins.mutationanalysis.report;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -67,73 +66,84 @@ class ReportFinderTest {
   }
 
   @Test
-  void testFindReport_noReportInDirectory_nullReportPath() throws IOException {
+  void testFindReport_compressedReport() throws IOException {
+    // prepare
+    final Path directory = Files.createDirectories(folder.resolve("target/pitest-reports"));
+    final Path compressedReport = Files.createFile(directory.resolve("mutations.xml.gz"));
+    Files.createFile(directory.resolve("mutations.csv.gz"));
+
     // act
-    final Path report = subject.findReport(folder);
+    final Path report = subject.findReport(directory);
 
     // assert
-    assertNull(report);
+    assertEquals(compressedReport, report);
   }
 
   @Test
-  void testFindReport_noReportDirectory_nullReportPath() throws IOException {
+  void testFindReport_preferredFormat() throws IOException {
     // prepare
-    final Path directory = Paths.get("nonexisting");
+    final Path xmlReport = Files.createFile(folder.resolve("mutations.xml"));
+    final Path csvReport = Files.createFile(folder.resolve("mutations.csv"));
 
     // act
-    final Path report = subject.findReport(directory);
+    final Path preferXml = new ReportFinder(ReportFormat.XML).findReport(folder);
+    final Path preferCsv = new ReportFinder(ReportFormat.CSV).findReport(folder);
 
     // assert
-    assertNull(report);
+    assertEquals(xmlReport, preferXml);
+    assertEquals(csvReport, preferCsv);
   }
 
   @Test
-  void testFindReport_nullPath_nullReportPath() throws IOException {
-    final Path report = subject.findReport(null);
-    assertNull(report);
+  void testFindReport_jsonReport() throws IOException {
+    // prepare
+    final Path jsonReport = Files.createFile(folder.resolve("mutations.json"));
+
+    // act
+    final Path report = new ReportFinder(ReportFormat.XML).findReport(folder);
+
+    // assert
+    assertEquals(jsonReport, report);
+    assertEquals(ReportFormat.JSON, ReportFormat.of(report));
   }
 
   @Test
-  void testIsNewer_newer_true() throws Exception {
+  void testFindReport_preferredFormatMissing_otherFormat() throws IOException {
     // prepare
-    final Path older = Files.createFile(folder.resolve("testIsNewer_older_true_one"));
-    final Path newer = Files.createFile(folder.resolve("testIsNewer_older_true_two"));
-    Files.setLastModifiedTime(older, FileTime.fromMillis(1000L));
-    Files.setLastModifiedTime(newer, FileTime.fromMillis(2000L));
+    final Path csvReport = Files.createFile(folder.resolve("mutations.csv"));
 
     // act
-    final boolean result = subject.isNewer(older, newer);
+    final Path report = new ReportFinder(ReportFormat.XML).findReport(folder);
 
     // assert
-    assertTrue(result);
+    assertEquals(csvReport, report);
   }
 
   @Test
-  void testIsNewer_older_false() throws Exception {
-    // prepare
-    final Path older = Files.createFile(folder.resolve("testIsNewer_older_false_one"));
-    final Path newer = Files.createFile(folder.resolve("testIsNewer_older_false_two"));
-    Files.setLastModifiedTime(older, FileTime.fromMillis(1000L));
-    Files.setLastModifiedTime(newer, FileTime.fromMillis(2000L));
-
+  void testFindReport_noReportInDirectory_nullReportPath() throws IOException {
     // act
-    final boolean result = subject.isNewer(newer, older);
+    final Path report = subject.findReport(folder);
 
     // assert
-    assertFalse(result);
+    assertNull(report);
   }
 
   @Test
-  void testIsNewer_equals_false() throws Exception {
+  void testFindReport_noReportDirectory_nullReportPath() throws IOException {
     // prepare
-    final Path older = Files.createFile(folder.resolve("testIsNewer_equals_false_one"));
-    Files.setLastModifiedTime(older, FileTime.fromMillis(1000L));
+    final Path directory = Paths.get("nonexisting");
 
     // act
-    final boolean result = subject.isNewer(older, older);
+    final Path report = subject.findReport(directory);
 
     // assert
-    assertFalse(result);
+    assertNull(report);
+  }
+
+  @Test
+  void testFindReport_nullPath_nullReportPath() throws IOException {
+    final Path report = subject.findReport(null);
+    assertNull(report);
   }
 
   @Test
@@ -211,6 +221,101 @@ class ReportFinderTest {
     assertEquals(newReport.toPath(), report);
   }
 
+  @Test
+  void testFindReport_newerOtherXmlFile_pitReportPreferred() throws IOException {
+    // prepare
+    final Path mutationsReport = Files.createFile(folder.resolve("mutations.xml"));
+    final Path lineCoverage = Files.createFile(folder.resolve("linecoverage.xml"));
+    Files.setLastModifiedTime(mutationsReport, FileTime.fromMillis(1000L));
+    Files.setLastModifiedTime(lineCoverage, FileTime.fromMillis(2000L));
+
+    // act
+    final Path report = subject.findReport(folder);
+
+    // assert
+    assertEquals(mutationsReport, report);
+  }
+
+  @Test
+  void testFindReport_timestampedReports_mostRecentPitReport() throws IOException {
+    // prepare
+    final Path olderReport = Files.createFile(Files.createDirectories(folder.resolve("202001011200"))
+        .resolve("mutations.xml"));
+    final Path newerReport = Files.createFile(Files.createDirectories(folder.resolve("202001021200"))
+        .resolve("mutations.xml.gz"));
+    final Path newestOther = Files.createFile(folder.resolve("202001021200").resolve("linecoverage.xml"));
+    Files.setLastModifiedTime(olderReport, FileTime.fromMillis(1000L));
+    Files.setLastModifiedTime(newerReport, FileTime.fromMillis(2000L));
+    Files.setLastModifiedTime(newestOther, FileTime.fromMillis(3000L));
+
+    // act
+    final Path report = subject.findReport(folder);
+
+    // assert
+    assertEquals(newerReport, report);
+  }
+
+  @Test
+  void testFindReport_reportsInHtmlDirectories_skipped() throws IOException {
+    // prepare
+    final Path packageDirectory = Files.createDirectories(folder.resolve("ch.example"));
+    Files.createFile(packageDirectory.resolve("index.html"));
+    Files.createFile(packageDirectory.resolve("Example.java.html"));
+    Files.createFile(packageDirectory.resolve("mutations.xml"));
+    Files.createFile(Files.createDirectories(folder.resolve("css")).resolve("mutations.xml"));
+
+    // act
+    final Path report = subject.findReport(folder);
+
+    // assert
+    assertNull(report);
+  }
+
+  @Test
+  void testFindReport_reportInDirectoryWithDotInName_found() throws IOException {
+    // prepare
+    final Path directory = Files.createDirectories(folder.resolve("pit-1.15"));
+    Files.createFile(directory.resolve("index.html"));
+    final Path expected = Files.createFile(directory.resolve("mutations.xml"));
+
+    // act
+    final Path report = subject.findReport(folder);
+
+    // assert
+    assertEquals(expected, report);
+  }
+
+  @Test
+  void testFindReport_reportBelowMaxDepth_notFound() throws IOException {
+    // prepare
+    final Path directory = Files.createDirectories(folder.resolve("a/b/c"));
+    final Path deepReport = Files.createFile(directory.resolve("mutations.xml"));
+
+    // act
+    final Path shallow = new ReportFinder(ReportFormat.XML, 3).findReport(folder);
+    final Path deep = new ReportFinder(ReportFormat.XML, 4).findReport(folder);
+
+    // assert
+    assertNull(shallow);
+    assertEquals(deepReport, deep);
+  }
+
+  @Test
+  void testFindReport_secondCall_cachedResult() throws IOException {
+    // prepare
+    final Path firstReport = Files.createFile(Files.createDirectories(folder.resolve("first")).resolve("mutations.xml"));
+    Files.setLastModifiedTime(firstReport, FileTime.fromMillis(1000L));
+    final Path first = subject.findReport(folder);
+    Files.createFile(Files.createDirectories(folder.resolve("second")).resolve("mutations.xml"));
+
+    // act
+    final Path second = subject.findReport(folder);
+
+    // assert
+    assertEquals(firstReport, first);
+    assertEquals(firstReport, second);
+  }
+
   @Test
   void nullCheck_ReportFinderVisitor() {
     ReportFinderVisitor visitor = new ReportFinderVisitor("mutatations.xml");
@@ -0,0 +1,185 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReportIndexTest {
+
+  @TempDir
+  public Path folder;
+
+  static String mutation(final String mutatedClass, final String sourceFile, final int line) {
+    return "  <mutation detected='true' status='KILLED' numberOfTestsRun='1'>"
+        + "<sourceFile>" + sourceFile + "</sourceFile>"
+        + "<mutatedClass>" + mutatedClass + "</mutatedClass>"
+        + "<mutatedMethod>m\u00e9todo</mutatedMethod>"
+        + "<methodDescription>()V</methodDescription>"
+        + "<lineNumber>" + line + "</lineNumber>"
+        + "<mutator>org.pitest.mutationtest.engine.gregor.mutators.VoidMethodCallMutator</mutator>"
+        + "<index>1</index>"
+        + "<killingTest>a.ATest.test(a.ATest)</killingTest>"
+        + "<description>removed call to \u00e4</description>"
+        + "</mutation>\n";
+  }
+
+  static Path writeReport(final Path folder) throws Exception {
+    final Path report = folder.resolve("mutations.xml");
+    Files.write(report, ("<?xml version='1.0' encoding='UTF-8'?>\n<mutations>\n"
+        + mutation("a.A", "A.java", 1)
+        + mutation("a.A", "A.java", 2)
+        + mutation("a.A$Inner", "A.java", 3)
+        + mutation("a.B", "B.java", 4)
+        + mutation("a.A", "A.java", 5)
+        + "</mutations>\n").getBytes(StandardCharsets.UTF_8));
+    return report;
+  }
+
+  @Test
+  void build_mutantsGroupedByClass_oneEntryPerRun() throws Exception {
+    //arrange
+    final Path report = writeReport(folder);
+
+    //act
+    final ReportIndex index = ReportIndex.build(report);
+
+    //assert
+    final List<ReportIndex.Entry> entries = index.getEntries();
+    assertEquals(4, entries.size());
+    assertEquals("a.A", entries.get(0).getMutatedClass());
+    assertEquals("A.java", entries.get(0).getSourceFile());
+    assertEquals("a.A$Inner", entries.get(1).getMutatedClass());
+    assertEquals("a.B", entries.get(2).getMutatedClass());
+    assertEquals("a.A", entries.get(3).getMutatedClass());
+    final String content = new String(Files.readAllBytes(report), StandardCharsets.UTF_8);
+    final byte[] bytes = Files.readAllBytes(report);
+    final ReportIndex.Entry b = entries.get(2);
+    assertEquals(mutation("a.B", "B.java", 4).trim(),
+        new String(bytes, (int) b.getStart(), (int) (b.getEnd() - b.getStart()), StandardCharsets.UTF_8));
+    assertTrue(content.length() < bytes.length);
+  }
+
+  @Test
+  void select_consecutiveEntries_rangesMerged() throws Exception {
+    //arrange
+    final ReportIndex index = ReportIndex.build(writeReport(folder));
+    final List<ReportIndex.Entry> entries = index.getEntries();
+
+    //act
+    final List<long[]> ranges = index.select(entry -> entry.getMutatedClass().startsWith("a.A"));
+
+    //assert
+    assertEquals(2, ranges.size());
+    assertEquals(entries.get(0).getStart(), ranges.get(0)[0]);
+    assertEquals(entries.get(1).getEnd(), ranges.get(0)[1]);
+    assertEquals(entries.get(3).getStart(), ranges.get(1)[0]);
+  }
+
+  @Test
+  void load_noSidecar_sidecarWrittenAndReused() throws Exception {
+    //arrange
+    final Path report = writeReport(folder);
+
+    //act
+    final ReportIndex built = ReportIndex.load(report);
+    final ReportIndex loaded = ReportIndex.load(report);
+
+    //assert
+    assertTrue(Files.exists(ReportIndex.getSidecar(report)));
+    assertEquals(built.getEntries().size(), loaded.getEntries().size());
+    for (int i = 0; i < built.getEntries().size(); i++) {
+      assertEquals(built.getEntries().get(i).getMutatedClass(), loaded.getEntries().get(i).getMutatedClass());
+      assertEquals(built.getEntries().get(i).getSourceFile(), loaded.getEntries().get(i).getSourceFile());
+      assertEquals(built.getEntries().get(i).getStart(), loaded.getEntries().get(i).getStart());
+      assertEquals(built.getEntries().get(i).getEnd(), loaded.getEntries().get(i).getEnd());
+    }
+  }
+
+  @Test
+  void load_truncatedSidecar_indexRebuilt() throws Exception {
+    //arrange
+    final Path report = writeReport(folder);
+    final Path sidecar = ReportIndex.getSidecar(report);
+    ReportIndex.load(report);
+    final String content = new String(Files.readAllBytes(sidecar), StandardCharsets.UTF_8);
+    Files.write(sidecar, content.substring(0, content.lastIndexOf('\t')).getBytes(StandardCharsets.UTF_8));
+
+    //act
+    final ReportIndex loaded = ReportIndex.load(report);
+
+    //assert
+    assertSameEntries(ReportIndex.build(report), loaded);
+    assertEquals(content, new String(Files.readAllBytes(sidecar), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void load_corruptRangeInSidecar_indexRebuilt() throws Exception {
+    //arrange
+    final Path report = writeReport(folder);
+    final Path sidecar = ReportIndex.getSidecar(report);
+    ReportIndex.load(report);
+    final List<String> lines = Files.readAllLines(sidecar, StandardCharsets.UTF_8);
+    lines.set(1, "x" + lines.get(1));
+    Files.write(sidecar, lines, StandardCharsets.UTF_8);
+
+    //act
+    final ReportIndex loaded = ReportIndex.load(report);
+
+    //assert
+    assertSameEntries(ReportIndex.build(report), loaded);
+  }
+
+  @Test
+  void load_sidecarWritten_noTemporaryFileLeft() throws Exception {
+    //arrange
+    final Path report = writeReport(folder);
+
+    //act
+    ReportIndex.load(report);
+
+    //assert
+    try (Stream<Path> files = Files.list(folder)) {
+      assertEquals(Arrays.asList(report, ReportIndex.getSidecar(report)), files.sorted().collect(Collectors.toList()));
+    }
+  }
+
+  private static void assertSameEntries(final ReportIndex expected, final ReportIndex actual) {
+    assertEquals(expected.getEntries().size(), actual.getEntries().size());
+    for (int i = 0; i < expected.getEntries().size(); i++) {
+      assertEquals(expected.getEntries().get(i).getMutatedClass(), actual.getEntries().get(i).getMutatedClass());
+      assertEquals(expected.getEntries().get(i).getSourceFile(), actual.getEntries().get(i).getSourceFile());
+      assertEquals(expected.getEntries().get(i).getStart(), actual.getEntries().get(i).getStart());
+      assertEquals(expected.getEntries().get(i).getEnd(), actual.getEntries().get(i).getEnd());
+    }
+  }
+
+}
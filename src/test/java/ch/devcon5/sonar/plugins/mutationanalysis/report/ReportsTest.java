@@ -28,9 +28,13 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -76,6 +80,66 @@ class ReportsTest {
     assertEquals(3, mutants.size());
   }
 
+  @Test
+  void testReadMutants_fromJsonFile() throws Exception {
+    // prepare
+    final File file = fileFromResource("MutationTestingElementsReportParserTest_mutations.json", "mutations.json");
+
+    // act
+    final Collection<Mutant> mutants = Reports.readMutants(file.toPath());
+
+    // assert
+    assertNotNull(mutants);
+    assertEquals(5, mutants.size());
+  }
+
+  @Test
+  void testReadMutants_selectedClassesOfAggregatedReport() throws Exception {
+    // prepare
+    final File file = fileFromResource("ReportsTest_aggregated.xml", "mutations.xml");
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    Reports.readMutants(file.toPath(), MutantFilter.acceptAll(),
+        (mutatedClass, sourceFile) -> mutatedClass.startsWith("com.example.core."), mutants::add);
+
+    // assert
+    assertEquals(3, mutants.size());
+    assertTrue(mutants.stream().allMatch(mutant -> "Bar.java".equals(mutant.getSourceFile())));
+  }
+
+  @Test
+  void testReadMutants_selectedClassesOfCompressedAggregatedReport() throws Exception {
+    // prepare
+    final File file = fileFromResource("ReportsTest_aggregated.xml", "mutations.xml");
+    final Path compressed = folder.resolve("mutations.xml.gz");
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+      Files.copy(file.toPath(), out);
+    }
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    Reports.readMutants(compressed, MutantFilter.acceptAll(),
+        (mutatedClass, sourceFile) -> "Foo.java".equals(sourceFile), mutants::add);
+
+    // assert
+    assertEquals(2, mutants.size());
+    assertTrue(mutants.stream().allMatch(mutant -> "com.example.web.Foo".equals(mutant.getMutatedClass())));
+  }
+
+  @Test
+  void testReadMutants_noSelectedClasses_noMutants() throws Exception {
+    // prepare
+    final File file = fileFromResource("ReportsTest_aggregated.xml", "mutations.xml");
+    final List<Mutant> mutants = new ArrayList<>();
+
+    // act
+    Reports.readMutants(file.toPath(), MutantFilter.acceptAll(), (mutatedClass, sourceFile) -> false, mutants::add);
+
+    // assert
+    assertTrue(mutants.isEmpty());
+  }
+
   private File fileFromResource(final String resourcePath, final String fileName) throws IOException {
     final File newFile = Files.createFile(folder.resolve(fileName)).toFile();
     IOUtils.copy(getClass().getResourceAsStream(resourcePath), Files.newOutputStream(newFile.toPath()));
@@ -0,0 +1,53 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class IssueGranularityTest {
+
+  @Test
+  void testParse_enumValues() {
+    assertEquals(IssueGranularity.MUTANT, IssueGranularity.parse("mutant", IssueGranularity.LINE));
+    assertEquals(IssueGranularity.LINE, IssueGranularity.parse("LINE", IssueGranularity.MUTANT));
+    assertEquals(IssueGranularity.METHOD, IssueGranularity.parse(" Method ", IssueGranularity.MUTANT));
+  }
+
+  @Test
+  void testParse_null_default() {
+    assertEquals(IssueGranularity.LINE, IssueGranularity.parse(null, IssueGranularity.LINE));
+  }
+
+  @Test
+  void testParse_unknown_default() {
+    assertEquals(IssueGranularity.METHOD, IssueGranularity.parse("xxx", IssueGranularity.METHOD));
+  }
+
+  @Test
+  void testKey() {
+    assertEquals("mutant", IssueGranularity.MUTANT.key());
+    assertEquals("line", IssueGranularity.LINE.key());
+    assertEquals("method", IssueGranularity.METHOD.key());
+  }
+
+}
@@ -65,7 +65,7 @@ class JavaRulesDefinitionTest {
   }
 
   private void assertRules(final List<RulesDefinition.Rule> rules) {
-    assertEquals(50, rules.size());
+    assertEquals(53, rules.size());
     for (RulesDefinition.Rule rule : rules) {
       assertNotNull(rule.debtRemediationFunction());
       assertNotNull(rule.gapDescription());
@@ -98,7 +98,7 @@ class JavaRulesDefinitionTest {
             .filter(rule -> rule.status() == RuleStatus.READY)
             .filter(RulesDefinition.Rule::activatedByDefault)
             .count());
-    assertEquals(12,
+    assertEquals(15,
         rules.stream()
             .filter(rule -> rule.status() == RuleStatus.BETA)
             .filter(rule -> !rule.activatedByDefault())
@@ -64,7 +64,7 @@ class KotlinRulesDefinitionTest {
     }
 
     private fun assertRules(rules: List<RulesDefinition.Rule>) {
-        assertEquals(50, rules.size.toLong())
+        assertEquals(53, rules.size.toLong())
         for (rule in rules) {
             assertNotNull(rule.debtRemediationFunction())
             assertNotNull(rule.gapDescription())
@@ -77,7 +77,7 @@ class KotlinRulesDefinitionTest {
         assertEquals(24, rules.stream()
                 .filter { rule -> rule.key().startsWith(MUTANT_RULES_PREFIX) }
                 .filter { rule -> RuleType.CODE_SMELL == rule.type() }.count())
-        assertEquals(12, rules.stream().filter { rule -> rule.status() == RuleStatus.BETA }.count())
+        assertEquals(15, rules.stream().filter { rule -> rule.status() == RuleStatus.BETA }.count())
         assertEquals(3, rules.stream().filter { rule -> rule.status() == RuleStatus.DEPRECATED }.count())
     }
 
@@ -0,0 +1,144 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.OptionalDouble;
+import org.junit.jupiter.api.Test;
+
+class ExecutionPlannerTest {
+
+  private static final long MB = 1024L * 1024L;
+  private static final long HEAP = 1024 * MB;
+
+  private final ExecutionPlanner automatic = new ExecutionPlanner(OptionalDouble.empty());
+
+  @Test
+  void plan_smallReport_sequentialInMemory() {
+    //act
+    final ExecutionPlan plan = automatic.plan(100 * 1024, new long[0], HEAP, 8);
+
+    //assert
+    assertEquals(ExecutionPlan.MemoryMode.IN_MEMORY, plan.getMemoryMode());
+    assertEquals(ExecutionPlan.ParseStrategy.SEQUENTIAL, plan.getParseStrategy());
+    assertEquals(1, plan.getParallelism());
+    assertFalse(plan.isParallel());
+    assertEquals("memory=in_memory, parse=sequential, parallelism=1", plan.toString());
+    assertTrue(plan.getReasons().contains("reports of 0.1 MB are small"));
+  }
+
+  @Test
+  void plan_largeReportSingleModule_parallelRulesSequentialParse() {
+    //act
+    final ExecutionPlan plan = automatic.plan(50 * MB, new long[0], HEAP, 4);
+
+    //assert
+    assertEquals(ExecutionPlan.MemoryMode.IN_MEMORY, plan.getMemoryMode());
+    assertEquals(ExecutionPlan.ParseStrategy.SEQUENTIAL, plan.getParseStrategy());
+    assertEquals(4, plan.getParallelism());
+    assertTrue(plan.isParallel());
+  }
+
+  @Test
+  void plan_largeReportsOfSeveralModules_parallelParse() {
+    //act
+    final ExecutionPlan plan = automatic.plan(10 * MB, new long[] {10 * MB, 0, 20 * MB}, HEAP, 4);
+
+    //assert
+    assertEquals(ExecutionPlan.MemoryMode.IN_MEMORY, plan.getMemoryMode());
+    assertEquals(ExecutionPlan.ParseStrategy.PARALLEL, plan.getParseStrategy());
+    assertEquals(4, plan.getParallelism());
+    assertTrue(plan.getReasons().contains("2 module reports are parsed concurrently"));
+  }
+
+  @Test
+  void plan_singleProcessor_sequential() {
+    //act
+    final ExecutionPlan plan = automatic.plan(10 * MB, new long[] {10 * MB, 20 * MB}, HEAP, 1);
+
+    //assert
+    assertEquals(ExecutionPlan.ParseStrategy.SEQUENTIAL, plan.getParseStrategy());
+    assertEquals(1, plan.getParallelism());
+    assertTrue(plan.getReasons().contains("single processor available"));
+  }
+
+  @Test
+  void plan_reportExceedingHeapBudget_lowMemory() {
+    //act
+    final ExecutionPlan plan = automatic.plan(200 * MB, new long[0], HEAP, 4);
+
+    //assert
+    assertEquals(ExecutionPlan.MemoryMode.LOW_MEMORY, plan.getMemoryMode());
+    assertEquals(ExecutionPlan.ParseStrategy.SEQUENTIAL, plan.getParseStrategy());
+    assertTrue(plan.getReasons().contains("estimated 600.0 MB for the mutants exceed half of the 1024.0 MB heap"));
+  }
+
+  @Test
+  void plan_globalReportsExceedingHeapBudget_lowMemory() {
+    //act
+    final ExecutionPlan plan = automatic.plan(50 * MB, new long[] {50 * MB, 60 * MB, 70 * MB}, HEAP, 4);
+
+    //assert
+    assertEquals(ExecutionPlan.MemoryMode.LOW_MEMORY, plan.getMemoryMode());
+    assertEquals(ExecutionPlan.ParseStrategy.SEQUENTIAL, plan.getParseStrategy());
+  }
+
+  @Test
+  void plan_configuredSizeExceeded_lowMemory() {
+    //arrange
+    final ExecutionPlanner planner = new ExecutionPlanner(OptionalDouble.of(1.0));
+
+    //act
+    final ExecutionPlan plan = planner.plan(2 * MB, new long[0], HEAP, 4);
+
+    //assert
+    assertEquals(ExecutionPlan.MemoryMode.LOW_MEMORY, plan.getMemoryMode());
+    assertTrue(plan.getReasons().contains("report of 2.0 MB exceeds the configured 1.0 MB"));
+  }
+
+  @Test
+  void plan_configuredSizeNotExceeded_inMemoryDespiteHeap() {
+    //arrange
+    final ExecutionPlanner planner = new ExecutionPlanner(OptionalDouble.of(500.0));
+
+    //act
+    final ExecutionPlan plan = planner.plan(200 * MB, new long[0], HEAP, 4);
+
+    //assert
+    assertEquals(ExecutionPlan.MemoryMode.IN_MEMORY, plan.getMemoryMode());
+  }
+
+  @Test
+  void plan_lowMemoryDisabled_inMemory() {
+    //arrange
+    final ExecutionPlanner planner = new ExecutionPlanner(OptionalDouble.of(0.0));
+
+    //act
+    final ExecutionPlan plan = planner.plan(2000 * MB, new long[0], HEAP, 4);
+
+    //assert
+    assertEquals(ExecutionPlan.MemoryMode.IN_MEMORY, plan.getMemoryMode());
+    assertTrue(plan.getReasons().contains("low-memory mode disabled"));
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MutantSpillStoreTest {
+
+  @TempDir
+  public Path folder;
+
+  @Test
+  void encode_detectedMutantWithSuffixAndDescription_decodedEqual() {
+    //arrange
+    final Mutant mutant = Mutant.builder()
+        .mutantStatus(Mutant.State.KILLED)
+        .inSourceFile("Example.java")
+        .inClass("ch.example.Example")
+        .inMethod("compute")
+        .withMethodParameters("(II)I")
+        .inLine(123456)
+        .atIndex(3)
+        .numberOfTestsRun(42)
+        .usingMutator("org.pitest.mutationtest.engine.gregor.mutators.RemoveConditionalMutator_EQUAL_ELSE")
+        .withDescription("removed conditional - replaced equality check with false \u00e4")
+        .killedBy("ch.example.ExampleTest.testCompute(ch.example.ExampleTest)")
+        .build();
+
+    //act
+    final Mutant decoded = MutantSpillStore.decode(MutantSpillStore.encode(mutant));
+
+    //assert
+    assertEquals(mutant, decoded);
+    assertEquals("EQUAL_ELSE", decoded.getMutatorSuffix());
+    assertEquals(42, decoded.getNumberOfTestsRun());
+  }
+
+  @Test
+  void encode_aliveMutantWithoutDescription_decodedEqual() {
+    //arrange
+    final Mutant mutant = newMutant("Example.java", 7, Mutant.State.SURVIVED);
+
+    //act
+    final Mutant decoded = MutantSpillStore.decode(MutantSpillStore.encode(mutant));
+
+    //assert
+    assertEquals(mutant, decoded);
+    assertFalse(decoded.getDescription().isPresent());
+    assertEquals("", decoded.getKillingTest());
+  }
+
+  @Test
+  void forEachFile_bufferNotExceeded_groupedInMemory() throws IOException {
+    //arrange
+    final Map<Integer, List<Integer>> result = new LinkedHashMap<>();
+    try (MutantSpillStore store = new MutantSpillStore(folder, 100)) {
+      store.add(1, newMutant("B.java", 1, Mutant.State.KILLED));
+      store.add(0, newMutant("A.java", 2, Mutant.State.SURVIVED));
+      store.add(1, newMutant("B.java", 3, Mutant.State.NO_COVERAGE));
+
+      //act
+      store.forEachFile((fileId, mutants) -> result.put(fileId, lines(mutants)));
+
+      //assert
+      assertEquals(3, store.size());
+      assertEquals(0, store.getRunCount());
+      assertEquals(0, store.getBytesWritten());
+    }
+    assertEquals(Arrays.asList(0, 1), new ArrayList<>(result.keySet()));
+    assertEquals(Arrays.asList(2), result.get(0));
+    assertEquals(Arrays.asList(1, 3), result.get(1));
+  }
+
+  @Test
+  void forEachFile_bufferExceeded_runsMergedInInsertionOrder() throws IOException {
+    //arrange
+    final Map<Integer, List<Integer>> result = new LinkedHashMap<>();
+    try (MutantSpillStore store = new MutantSpillStore(folder, 2)) {
+      for (int line = 1; line <= 9; line++) {
+        store.add(line % 3, newMutant("File" + line % 3 + ".java", line, Mutant.State.KILLED));
+      }
+
+      //act
+      store.forEachFile((fileId, mutants) -> result.put(fileId, lines(mutants)));
+
+      //assert
+      assertEquals(9, store.size());
+      assertEquals(5, store.getRunCount());
+      assertTrue(store.getBytesWritten() > 0);
+    }
+    assertEquals(Arrays.asList(0, 1, 2), new ArrayList<>(result.keySet()));
+    assertEquals(Arrays.asList(3, 6, 9), result.get(0));
+    assertEquals(Arrays.asList(1, 4, 7), result.get(1));
+    assertEquals(Arrays.asList(2, 5, 8), result.get(2));
+  }
+
+  @Test
+  void close_afterSpilling_runFilesDeleted() throws IOException {
+    //arrange
+    final MutantSpillStore store = new MutantSpillStore(folder, 1);
+    store.add(0, newMutant("A.java", 1, Mutant.State.KILLED));
+    store.add(0, newMutant("A.java", 2, Mutant.State.KILLED));
+
+    //act
+    store.close();
+
+    //assert
+    try (Stream<Path> files = Files.list(folder)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  private static List<Integer> lines(final List<Mutant> mutants) {
+    return mutants.stream().map(Mutant::getLineNumber).collect(Collectors.toList());
+  }
+
+  private static Mutant newMutant(final String file, final int line, final Mutant.State state) {
+    return Mutant.builder()
+        .mutantStatus(state)
+        .inSourceFile(file)
+        .inClass("ch.example." + file.replace(".java", ""))
+        .inMethod("method")
+        .withMethodParameters("()V")
+        .inLine(line)
+        .usingMutator("MATH")
+        .killedBy(state.isDetected() ? "ch.example.ExampleTest" : "")
+        .build();
+  }
+}
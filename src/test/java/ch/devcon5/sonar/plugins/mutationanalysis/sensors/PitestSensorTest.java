@@ -22,7 +22,12 @@ package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
 
 import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.EFFORT_FACTOR_MISSING_COVERAGE;
 import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.EXPERIMENTAL_FEATURE_ENABLED;
+import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.LOW_MEMORY_BUFFER_SIZE;
+import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.LOW_MEMORY_REPORT_SIZE;
+import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.SUMMARY_ONLY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.MUTATIONS_DETECTED_KEY;
 import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.MUTATIONS_KILLED_KEY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.MUTATIONS_SURVIVED_KEY;
 import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.MUTATIONS_TOTAL_KEY;
 import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.TEST_KILLS_KEY;
 import static ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics.UTILITY_GLOBAL_MUTATIONS_KEY;
@@ -60,6 +65,7 @@ import org.sonar.api.batch.sensor.measure.Measure;
 public class PitestSensorTest {
 
   public static final int EXPECTED_QUANTITATIVE_METRICS = 12;
+  public static final int EXPECTED_DATA_METRICS = 1;
 
   @RegisterExtension
   public final SystemLocaleExtension extension = SystemLocaleExtension.overrideDefault(Locale.ENGLISH);
@@ -246,7 +252,7 @@ public class PitestSensorTest {
     sensor.execute(context);
 
     assertTrue(context.getStorage().getIssues().isEmpty());
-    assertEquals(12, context.getStorage().getMeasures().size());
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS, context.getStorage().getMeasures().size());
   }
 
 
@@ -285,7 +291,7 @@ public class PitestSensorTest {
           "Alive Mutant: A conditional expression has been negated without being detected by a test. (WITH_SUFFIX)",
           i.primaryLocation().message());
     });
-    assertEquals(12, context.getStorage().getMeasures().size());
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS, context.getStorage().getMeasures().size());
   }
 
   @Test
@@ -312,7 +318,7 @@ public class PitestSensorTest {
           "Alive Mutant: A conditional expression has been negated without being detected by a test. (WITH_SUFFIX)",
           i.primaryLocation().message());
     });
-    assertEquals(12, context.getStorage().getMeasures().size());
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS, context.getStorage().getMeasures().size());
   }
 
   @Test
@@ -338,7 +344,7 @@ public class PitestSensorTest {
           "Alive Mutant: A return value has been replaced by a method argument without being detected by a test.",
           i.primaryLocation().message());
     });
-    assertEquals(EXPECTED_QUANTITATIVE_METRICS, context.getStorage().getMeasures().size());
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS, context.getStorage().getMeasures().size());
   }
 
   @Test
@@ -444,7 +450,7 @@ public class PitestSensorTest {
     sensor.execute(context);
 
     final List<Measure> measures = context.getStorage().getMeasures();
-    assertEquals(EXPECTED_QUANTITATIVE_METRICS + 2, measures.size());
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS + 2, measures.size());
     assertEquals(3, assertContains(measures, m -> assertEquals(TEST_KILLS_KEY, m.metric().key())).value());
     assertEquals(6,
         assertContains(measures, m -> assertEquals(UTILITY_GLOBAL_MUTATIONS_KEY, m.metric().key())).value());
@@ -467,7 +473,7 @@ public class PitestSensorTest {
     sensor.execute(context);
 
     final List<Measure> measures = context.getStorage().getMeasures();
-    assertEquals(12, measures.size());
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS, measures.size());
     assertNotContains(measures, m -> assertEquals(TEST_KILLS_KEY, m.metric().key()));
     assertNotContains(measures, m -> assertEquals(UTILITY_GLOBAL_MUTATIONS_KEY, m.metric().key()));
   }
@@ -497,7 +503,67 @@ public class PitestSensorTest {
           "Alive Mutant: A conditional expression has been negated without being detected by a test. Mutation: negated conditional",
           i.primaryLocation().message());
     });
-    assertEquals(12, context.getStorage().getMeasures().size());
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS, context.getStorage().getMeasures().size());
+  }
+
+  @Test
+  void execute_lowMemoryMode_sameIssuesAndMeasuresCreated() throws Exception {
+    createReportFile("PitestSensorTest_Java_mutations.xml");
+    final TestSensorContext context = harness.createSensorContext().scanFiles();
+    context.addTestFile("src/main/java/ch/devcon5/sonar/plugins/mutationanalysis/model/Mutant.java",
+        md -> md.lines = 200);
+    context.setConfiguration(LOW_MEMORY_REPORT_SIZE, "0.0001");
+    context.setConfiguration(LOW_MEMORY_BUFFER_SIZE, "2");
+
+    final ActiveRules profile = harness.createActiveRules("mutant.uncovered");
+    final PitestSensor sensor = new PitestSensor(context.getConfiguration(), profile, context.fileSystem());
+
+    sensor.execute(context);
+
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(1, issues.size());
+    assertContains(issues, i -> {
+      assertEquals("mutant.uncovered", i.ruleKey().rule());
+      assertTextRangeOnLine(i.primaryLocation().textRange(), 175, 79);
+      assertEquals(
+          "Alive Mutant: A conditional expression has been negated without being detected by a test. (WITH_SUFFIX)",
+          i.primaryLocation().message());
+    });
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS, context.getStorage().getMeasures().size());
+  }
+
+  @Test
+  void execute_summaryOnly_onlyProjectMeasuresCreated() throws Exception {
+    createReportFile("PitestSensorTest_Java_mutations.xml");
+    final TestSensorContext context = harness.createSensorContext().scanFiles();
+    context.addTestFile("src/main/java/ch/devcon5/sonar/plugins/mutationanalysis/model/Mutant.java",
+        md -> md.lines = 200);
+    context.setConfiguration(SUMMARY_ONLY, "true");
+    final ActiveRules profile = harness.createActiveRules("mutant.uncovered");
+    final PitestSensor sensor = new PitestSensor(context.getConfiguration(), profile, context.fileSystem());
+
+    sensor.execute(context);
+
+    final List<Measure> measures = context.getStorage().getMeasures();
+    assertTrue(context.getStorage().getIssues().isEmpty());
+    assertTrue(context.getStorage().getCoverages().isEmpty());
+    assertEquals(10, measures.size());
+    measures.forEach(m -> assertEquals("test-module", m.inputComponent().key()));
+    assertEquals(6, assertContains(measures, m -> assertEquals(MUTATIONS_TOTAL_KEY, m.metric().key())).value());
+    assertEquals(3, assertContains(measures, m -> assertEquals(MUTATIONS_DETECTED_KEY, m.metric().key())).value());
+    assertEquals(1, assertContains(measures, m -> assertEquals(MUTATIONS_SURVIVED_KEY, m.metric().key())).value());
+  }
+
+  @Test
+  void execute_summaryOnly_noReport_noMeasuresCreated() throws Exception {
+    final TestSensorContext context = harness.createSensorContext();
+    context.setConfiguration(SUMMARY_ONLY, "true");
+    final PitestSensor sensor = new PitestSensor(context.getConfiguration(), harness.createEmptyActiveRules(),
+        context.fileSystem());
+
+    sensor.execute(context);
+
+    assertTrue(context.getStorage().getMeasures().isEmpty());
   }
 
   private void createReportFile(String reportFile) throws IOException {
@@ -20,16 +20,21 @@
 
 package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
 
+import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.AGGREGATED_REPORT;
 import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.EXPERIMENTAL_FEATURE_ENABLED;
+import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.MUTANT_EXCLUSIONS;
+import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.MUTANT_INCLUSIONS;
 import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.REPORT_DIRECTORY_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.report.MutantFilter;
 import ch.devcon5.sonar.plugins.mutationanalysis.testharness.SensorTestHarness;
 import ch.devcon5.sonar.plugins.mutationanalysis.testharness.TestConfiguration;
 import ch.devcon5.sonar.plugins.mutationanalysis.testharness.TestSensorContext;
@@ -43,7 +48,10 @@ import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.spi.FileSystemProvider;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -69,6 +77,32 @@ public class ReportCollectorTest {
     this.configuration = harness.createConfiguration();
   }
 
+  @Test
+  void createMutantFilter_withConfiguredAndSonarExclusions() {
+    configuration.set(MUTANT_EXCLUSIONS, "*_$$_*");
+    configuration.set("sonar.exclusions", "**/generated/**,src/main/java/legacy/**");
+
+    final MutantFilter filter = ReportCollector.createMutantFilter(configuration);
+
+    assertFalse(filter.accepts("com.example.Foo_$$_javassist_1", "Foo.java"));
+    assertFalse(filter.accepts("com.example.generated.Foo", "Foo.java"));
+    //source directory relative sonar exclusions can not be evaluated on the report
+    assertTrue(filter.accepts("legacy.Foo", "Foo.java"));
+    assertTrue(filter.accepts("com.example.Foo", "Foo.java"));
+  }
+
+  @Test
+  void collectLocalMutants_withInclusions_onlyIncludedMutants() throws IOException {
+    configuration.set(MUTANT_INCLUSIONS, "**/OtherClass.java");
+    final Path moduleRoot = Files.createDirectories(folder.resolve("test-module"));
+    createMutationReportsFile(moduleRoot, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+    final TestSensorContext context = harness.changeBasePath(moduleRoot).createSensorContext();
+
+    final Collection<Mutant> mutants = new ReportCollector(configuration, context.fileSystem()).collectLocalMutants();
+
+    assertTrue(mutants.isEmpty());
+  }
+
   @Test
   void findProjectRoot_noMavenOrGradleProject_noModules() throws IOException {
     final Path moduleRoot = Files.createDirectories(folder.resolve("test-module"));
@@ -306,6 +340,24 @@ public class ReportCollectorTest {
     assertEquals(6, mutants.size());
   }
 
+  @Test
+  void getLocalReportSize_compressedReport_uncompressedSize() throws IOException {
+    final Path moduleRoot = Files.createDirectories(folder.resolve("test-module"));
+    createPom(moduleRoot);
+    final Path plainReport = createMutationReportsFile(moduleRoot, DEFAULT_PIT_REPORTS_DIR,
+        "ReportCollectorTest_mutations.xml");
+    try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(plainReport.resolveSibling("mutations.xml.gz")))) {
+      Files.copy(plainReport, os);
+    }
+    final long uncompressedSize = Files.size(plainReport);
+    Files.delete(plainReport);
+
+    final TestSensorContext context = harness.changeBasePath(moduleRoot).createSensorContext();
+    final ReportCollector collector = new ReportCollector(configuration, context.fileSystem());
+
+    assertEquals(uncompressedSize, collector.getLocalReportSize());
+  }
+
   @Test
   void collectLocalMutants_customReportDirectory() throws IOException {
     final String reportsDirectory = "target/reports";
@@ -394,6 +446,54 @@ public class ReportCollectorTest {
     assertEquals(12, mutants.size());
   }
 
+  @Test
+  void collectGlobalMutants_multiModuleParallel_allMutantsInModuleOrder() throws IOException {
+    configuration.set(EXPERIMENTAL_FEATURE_ENABLED, true);
+
+    final Path moduleRoot = Files.createDirectories(folder.resolve("root-module"));
+    final Path childModule1Root = Files.createDirectories(moduleRoot.resolve("child-module1"));
+    final Path childModule2Root = Files.createDirectories(moduleRoot.resolve("child-module2"));
+
+    createPom(moduleRoot, "child-module1", "child-module2");
+    createPom(childModule1Root);
+    createPom(childModule2Root);
+
+    createMutationReportsFile(childModule1Root, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+    createMutationReportsFile(childModule2Root, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+
+    final TestSensorContext context = harness.changeBasePath(moduleRoot).createSensorContext();
+    final ReportCollector collector = new ReportCollector(configuration, context.fileSystem());
+
+    final List<Mutant> sequential = new ArrayList<>(collector.collectGlobalMutants(context));
+    final List<Mutant> parallel = new ArrayList<>(collector.collectGlobalMutants(context, 4));
+
+    assertEquals(12, parallel.size());
+    assertEquals(sequential, parallel);
+  }
+
+  @Test
+  void getGlobalReportSizes_multiModule_sizePerModule() throws IOException {
+    final Path moduleRoot = Files.createDirectories(folder.resolve("root-module"));
+    final Path childModule1Root = Files.createDirectories(moduleRoot.resolve("child-module1"));
+    final Path childModule2Root = Files.createDirectories(moduleRoot.resolve("child-module2"));
+
+    createPom(moduleRoot, "child-module1", "child-module2");
+    createPom(childModule1Root);
+    createPom(childModule2Root);
+
+    createMutationReportsFile(childModule1Root, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+
+    final TestSensorContext context = harness.changeBasePath(moduleRoot).createSensorContext();
+    final ReportCollector collector = new ReportCollector(configuration, context.fileSystem());
+
+    final long[] sizes = collector.getGlobalReportSizes(context);
+
+    assertEquals(3, sizes.length);
+    assertEquals(0, sizes[0]);
+    assertTrue(sizes[1] > 0);
+    assertEquals(0, sizes[2]);
+  }
+
   @Test
   void collectGlobalMutants_multiModule_rootFolderFromSettings() throws IOException {
     configuration.set(EXPERIMENTAL_FEATURE_ENABLED, true);
@@ -470,6 +570,159 @@ public class ReportCollectorTest {
     assertEquals(12, mutants.size());
   }
 
+  @Test
+  void collectGlobalMutants_multiModuleWithAggregatedReport_onlyAggregatedReport() throws IOException {
+    configuration.set(EXPERIMENTAL_FEATURE_ENABLED, true);
+
+    final Path moduleRoot = Files.createDirectories(folder.resolve("root-module"));
+    final Path childModule1Root = Files.createDirectories(moduleRoot.resolve("child-module1"));
+    final Path childModule2Root = Files.createDirectories(moduleRoot.resolve("child-module2"));
+
+    createPom(moduleRoot, "child-module1", "child-module2");
+    createPom(childModule1Root);
+    createPom(childModule2Root);
+    createSourceFile(childModule1Root, "src/main/java/ch/example/a/Foo.java");
+    createSourceFile(childModule2Root, "src/main/java/ch/example/b/Bar.java");
+
+    createMutationReportsFile(moduleRoot, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_aggregated.xml");
+    createMutationReportsFile(childModule1Root, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+    createMutationReportsFile(childModule2Root, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+
+    final TestSensorContext context = harness.changeBasePath(childModule1Root).createSensorContext();
+    final ReportCollector collector = new ReportCollector(configuration, context.fileSystem());
+
+    final Collection<Mutant> mutants = collector.collectGlobalMutants(context);
+    final long[] sizes = collector.getGlobalReportSizes(context);
+
+    assertEquals(3, mutants.size());
+    assertEquals(1, sizes.length);
+    assertEquals(Files.size(moduleRoot.resolve(DEFAULT_PIT_REPORTS_DIR).resolve("mutations.xml")), sizes[0]);
+  }
+
+  @Test
+  void collectGlobalMutants_multiModuleWithReportOfRootCode_reportsOfAllModules() throws IOException {
+    configuration.set(EXPERIMENTAL_FEATURE_ENABLED, true);
+
+    final Path moduleRoot = Files.createDirectories(folder.resolve("root-module"));
+    final Path childModule1Root = Files.createDirectories(moduleRoot.resolve("child-module1"));
+    final Path childModule2Root = Files.createDirectories(moduleRoot.resolve("child-module2"));
+
+    createPom(moduleRoot, "child-module1", "child-module2");
+    createPom(childModule1Root);
+    createPom(childModule2Root);
+    //the root report only contains the classes of the code at the root
+    createSourceFile(moduleRoot, "src/main/java/ch/devcon5/sonar/plugins/mutationanalysis/model/Mutant.java");
+
+    createMutationReportsFile(moduleRoot, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+    createMutationReportsFile(childModule1Root, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+    createMutationReportsFile(childModule2Root, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+
+    final TestSensorContext context = harness.changeBasePath(childModule1Root).createSensorContext();
+    final ReportCollector collector = new ReportCollector(configuration, context.fileSystem());
+
+    final Collection<Mutant> mutants = collector.collectGlobalMutants(context);
+
+    assertFalse(collector.findAggregateReport().isPresent());
+    assertEquals(18, mutants.size());
+  }
+
+  @Test
+  void collectGlobalMutants_aggregatedReportAlways_rootReportUsedWithoutCheck() throws IOException {
+    configuration.set(EXPERIMENTAL_FEATURE_ENABLED, true);
+    configuration.set(AGGREGATED_REPORT, "always");
+
+    final Path moduleRoot = Files.createDirectories(folder.resolve("root-module"));
+    final Path childModule1Root = Files.createDirectories(moduleRoot.resolve("child-module1"));
+    final Path childModule2Root = Files.createDirectories(moduleRoot.resolve("child-module2"));
+
+    createPom(moduleRoot, "child-module1", "child-module2");
+    createPom(childModule1Root);
+    createPom(childModule2Root);
+
+    createMutationReportsFile(moduleRoot, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+    createMutationReportsFile(childModule1Root, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+
+    final TestSensorContext context = harness.changeBasePath(childModule1Root).createSensorContext();
+    final ReportCollector collector = new ReportCollector(configuration, context.fileSystem());
+
+    final Collection<Mutant> mutants = collector.collectGlobalMutants(context);
+
+    assertEquals(6, mutants.size());
+  }
+
+  @Test
+  void collectGlobalMutants_aggregatedReportNever_reportsOfAllModules() throws IOException {
+    configuration.set(EXPERIMENTAL_FEATURE_ENABLED, true);
+    configuration.set(AGGREGATED_REPORT, "never");
+
+    final Path moduleRoot = Files.createDirectories(folder.resolve("root-module"));
+    final Path childModule1Root = Files.createDirectories(moduleRoot.resolve("child-module1"));
+    final Path childModule2Root = Files.createDirectories(moduleRoot.resolve("child-module2"));
+
+    createPom(moduleRoot, "child-module1", "child-module2");
+    createPom(childModule1Root);
+    createPom(childModule2Root);
+    createSourceFile(childModule1Root, "src/main/java/ch/example/a/Foo.java");
+    createSourceFile(childModule2Root, "src/main/java/ch/example/b/Bar.java");
+
+    createMutationReportsFile(moduleRoot, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_aggregated.xml");
+    createMutationReportsFile(childModule1Root, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+
+    final TestSensorContext context = harness.changeBasePath(childModule1Root).createSensorContext();
+    final ReportCollector collector = new ReportCollector(configuration, context.fileSystem());
+
+    final Collection<Mutant> mutants = collector.collectGlobalMutants(context);
+
+    assertEquals(9, mutants.size());
+  }
+
+  @Test
+  void collectLocalMutants_aggregatedReportWithoutModuleReport_mutantsOfModuleClasses() throws IOException {
+    final Path moduleRoot = Files.createDirectories(folder.resolve("root-module"));
+    final Path childModule1Root = Files.createDirectories(moduleRoot.resolve("child-module1"));
+    final Path childModule2Root = Files.createDirectories(moduleRoot.resolve("child-module2"));
+
+    createPom(moduleRoot, "child-module1", "child-module2");
+    createPom(childModule1Root);
+    createPom(childModule2Root);
+    createSourceFile(childModule1Root, "src/main/java/ch/example/a/Foo.java");
+    createSourceFile(childModule2Root, "src/main/java/ch/example/b/Bar.java");
+
+    createMutationReportsFile(moduleRoot, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_aggregated.xml");
+
+    final TestSensorContext context1 = harness.changeBasePath(childModule1Root).createSensorContext();
+    context1.registerFile("src/main/java/ch/example/a/Foo.java");
+    final TestSensorContext context2 = harness.changeBasePath(childModule2Root).createSensorContext();
+
+    final Collection<Mutant> mutants1 = new ReportCollector(configuration, context1.fileSystem()).collectLocalMutants();
+    final Collection<Mutant> mutants2 = new ReportCollector(configuration, context2.fileSystem()).collectLocalMutants();
+
+    assertEquals(2, mutants1.size());
+    assertTrue(mutants2.isEmpty());
+  }
+
+  @Test
+  void collectLocalMutants_aggregatedReportAndModuleReport_moduleReport() throws IOException {
+    final Path moduleRoot = Files.createDirectories(folder.resolve("root-module"));
+    final Path childModuleRoot = Files.createDirectories(moduleRoot.resolve("child-module"));
+
+    createPom(moduleRoot, "child-module");
+    createPom(childModuleRoot);
+
+    createMutationReportsFile(moduleRoot, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+    createMutationReportsFile(childModuleRoot, DEFAULT_PIT_REPORTS_DIR, "ReportCollectorTest_mutations.xml");
+
+    //the source file of the mutated class is not registered, so only the module's own report provides mutants
+    final TestSensorContext context = harness.changeBasePath(childModuleRoot).createSensorContext();
+    final ReportCollector collector = new ReportCollector(configuration, context.fileSystem());
+
+    final Collection<Mutant> mutants = collector.collectLocalMutants();
+
+    assertEquals(6, mutants.size());
+    assertEquals(Files.size(childModuleRoot.resolve(DEFAULT_PIT_REPORTS_DIR).resolve("mutations.xml")),
+        collector.getLocalReportSize());
+  }
+
   @Test
   void exceptionHandling_of_isSamePath_fsMockCausesIOException_false() throws Exception {
     //I found no other efficient way than using mockito to induce IOException on working with Path
@@ -570,6 +823,12 @@ public class ReportCollectorTest {
     Files.write(moduleRoot.resolve("settings.gradle"), b.toString().getBytes(StandardCharsets.UTF_8));
   }
 
+  private void createSourceFile(final Path moduleRoot, final String path) throws IOException {
+    final Path sourceFile = moduleRoot.resolve(path);
+    Files.createDirectories(sourceFile.getParent());
+    Files.write(sourceFile, "class Dummy {}".getBytes(StandardCharsets.UTF_8));
+  }
+
   private Path createMutationReportsFile(final Path moduleRoot, final String reportsDirectory, final String resourceName) throws IOException {
     final Path reportsDir = Files.createDirectories(moduleRoot.resolve(reportsDirectory));
     final Path reportFile = reportsDir.resolve("mutations.xml");
@@ -21,6 +21,7 @@
 package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.testharness.SensorTestHarness;
@@ -95,4 +96,42 @@ public class ResourceResolverTest {
     assertEquals("Example.kt", resolver.resolve("ch.example.kotlin.Example$Nested$Nested").get().filename());
   }
 
+  @Test
+  void resolve_kotlinTopLevelFunctionsBySourceFile() {
+    assertTrue(resolver.resolve("ch.example.kotlin.ExampleKt", "Example.kt").isPresent());
+    assertEquals("Example.kt", resolver.resolve("ch.example.kotlin.ExampleKt", "Example.kt").get().filename());
+  }
+
+  @Test
+  void resolve_classInOtherFileOfPackageBySourceFile() {
+    assertTrue(resolver.resolve("ch.example.java.Helper", "Example.java").isPresent());
+    assertEquals("Example.java", resolver.resolve("ch.example.java.Helper", "Example.java").get().filename());
+    assertTrue(resolver.getMisses().isEmpty());
+  }
+
+  @Test
+  void resolve_unknownSourceFile_resolvedByClassName() {
+    assertTrue(resolver.resolve("ch.example.java.Example", "Generated.java").isPresent());
+    assertEquals("Example.java", resolver.resolve("ch.example.java.Example", "Generated.java").get().filename());
+  }
+
+  @Test
+  void resolve_unresolvableClass_missesCounted() {
+    assertFalse(resolver.resolve("ch.example.java.Missing", "Missing.java").isPresent());
+    assertFalse(resolver.resolve("ch.example.java.Missing", "Missing.java").isPresent());
+    assertFalse(resolver.resolve("ch.example.java.Other").isPresent());
+
+    assertEquals(2, resolver.getMisses().size());
+    assertEquals(Integer.valueOf(2), resolver.getMisses().get("ch.example.java.Missing"));
+    assertEquals(Integer.valueOf(1), resolver.getMisses().get("ch.example.java.Other"));
+  }
+
+  @Test
+  void isResolvable_noMissesCounted() {
+    assertTrue(resolver.isResolvable("ch.example.java.Helper", "Example.java"));
+    assertFalse(resolver.isResolvable("ch.example.java.Missing", "Missing.java"));
+
+    assertTrue(resolver.getMisses().isEmpty());
+  }
+
 }
@@ -22,8 +22,14 @@ package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
 
 import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.EFFORT_FACTOR_MISSING_COVERAGE;
 import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.EFFORT_FACTOR_SURVIVED_MUTANT;
+import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.ISSUES_MAX_PER_ANALYSIS;
+import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.ISSUES_MAX_PER_FILE;
+import static ch.devcon5.sonar.plugins.mutationanalysis.MutationAnalysisPlugin.ISSUE_GRANULARITY;
+import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.PARAM_ISSUE_GRANULARITY;
 import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.PARAM_MUTANT_COVERAGE_THRESHOLD;
+import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.PARAM_MUTATION_COST_FACTOR;
 import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.RULE_MUTANT_COVERAGE;
+import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.RULE_MUTATION_COST;
 import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.RULE_SURVIVED_MUTANT;
 import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.RULE_UNCOVERED_MUTANT;
 import static ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition.RULE_UNKNOWN_MUTANT_STATUS;
@@ -32,6 +38,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperator;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
 import ch.devcon5.sonar.plugins.mutationanalysis.rules.JavaRulesDefinition;
@@ -42,6 +49,7 @@ import ch.devcon5.sonar.plugins.mutationanalysis.testharness.SystemLocaleExtensi
 import ch.devcon5.sonar.plugins.mutationanalysis.testharness.TestConfiguration;
 import ch.devcon5.sonar.plugins.mutationanalysis.testharness.TestSensorContext;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -54,6 +62,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.api.io.TempDir;
+import org.sonar.api.batch.fs.TextRange;
 import org.sonar.api.batch.rule.ActiveRules;
 import org.sonar.api.batch.sensor.issue.Issue;
 import org.sonar.api.rules.Rule;
@@ -329,6 +338,381 @@ class RulesProcessorTest {
     assertTrue(appender.getEvents().isEmpty());
   }
 
+  @Test
+  void processRules_survivorRuleActive_lineGranularity_oneIssuePerLine() {
+    //arrange
+    configuration.set(ISSUE_GRANULARITY, "line");
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_SURVIVED_MUTANT);
+    final Collection<ResourceMutationMetrics> metrics = Collections.singletonList(
+        context.newResourceMutationMetrics("Test.java", md -> {
+          md.lines = 100;
+          md.mutants.noCoverage = 3;
+          md.mutants.survived = 3;
+          md.mutants.killed = 9;
+        }));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, "java");
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(3, issues.size());
+    assertIssueAtLine(issues.get(0), RULE_SURVIVED_MUTANT, "test-module:Test.java", 3, 2.0, " (2 mutants)");
+    assertIssueAtLine(issues.get(1), RULE_SURVIVED_MUTANT, "test-module:Test.java", 4, 2.0, " (2 mutants)");
+    assertIssueAtLine(issues.get(2), RULE_SURVIVED_MUTANT, "test-module:Test.java", 5, 2.0, " (2 mutants)");
+    assertTrue(appender.getEvents().isEmpty());
+  }
+
+  @Test
+  void processRules_survivorRuleActive_lineGranularity_customEffortFactor_effortScaledByCount() {
+    //arrange
+    configuration.set(ISSUE_GRANULARITY, "line");
+    configuration.set(EFFORT_FACTOR_SURVIVED_MUTANT, 10.0);
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_SURVIVED_MUTANT);
+    final Collection<ResourceMutationMetrics> metrics = Collections.singletonList(
+        context.newResourceMutationMetrics("Test.java", md -> {
+          md.lines = 100;
+          md.mutants.noCoverage = 2;
+          md.mutants.survived = 2;
+        }));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, "java");
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(2, issues.size());
+    assertIssueAtLine(issues.get(0), RULE_SURVIVED_MUTANT, "test-module:Test.java", 2, 20.0, " (2 mutants)");
+    assertIssueAtLine(issues.get(1), RULE_SURVIVED_MUTANT, "test-module:Test.java", 3, 20.0, " (2 mutants)");
+  }
+
+  @Test
+  void processRules_survivorRuleActive_methodGranularityRuleParam_oneIssuePerMethod() {
+    //arrange
+    configuration.set(ISSUE_GRANULARITY, "line");
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(harness.createRule(RULE_SURVIVED_MUTANT,
+        PARAM_ISSUE_GRANULARITY, "method"));
+    final Collection<ResourceMutationMetrics> metrics = Collections.singletonList(
+        context.newResourceMutationMetrics("Test.java", md -> {
+          md.lines = 100;
+          md.mutants.noCoverage = 3;
+          md.mutants.survived = 3;
+          md.mutants.killed = 9;
+        }));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, "java");
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(1, issues.size());
+    final Issue issue = issues.get(0);
+    assertEquals(RULE_SURVIVED_MUTANT, issue.ruleKey().rule());
+    assertEquals(6.0, issue.gap(), 0.05);
+    assertEquals(3, issue.primaryLocation().textRange().start().line());
+    assertEquals(5, issue.primaryLocation().textRange().end().line());
+    assertEquals(TestSensorContext.getMutationOperatorForLine(3).getViolationDescription() + " "
+            + TestSensorContext.getMutationOperatorForLine(4).getViolationDescription() + " "
+            + TestSensorContext.getMutationOperatorForLine(5).getViolationDescription()
+            + " (6 mutants in method aMethod)",
+        issue.primaryLocation().message());
+  }
+
+  @Test
+  void processRules_survivorRuleActive_unknownGranularity_oneIssuePerMutant() {
+    //arrange
+    configuration.set(ISSUE_GRANULARITY, "class");
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_SURVIVED_MUTANT);
+    final Collection<ResourceMutationMetrics> metrics = Collections.singletonList(
+        context.newResourceMutationMetrics("Test.java", md -> {
+          md.lines = 100;
+          md.mutants.noCoverage = 2;
+          md.mutants.survived = 2;
+        }));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, "java");
+
+    //assert
+    assertEquals(4, context.getStorage().getIssues().size());
+  }
+
+  @Test
+  void processRules_survivorRuleActive_maxIssuesPerFileExceeded_uncoveredReportedFirst_summaryIssueCreated() {
+    //arrange
+    configuration.set(ISSUES_MAX_PER_FILE, 2);
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_SURVIVED_MUTANT);
+    final Collection<ResourceMutationMetrics> metrics = Collections.singletonList(
+        context.newResourceMutationMetrics("Test.java", md -> {
+          md.lines = 100;
+          md.mutants.noCoverage = 2;
+          md.mutants.survived = 3;
+        }));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, "java");
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(3, issues.size());
+    assertIssueAtLine(issues.get(0), RULE_SURVIVED_MUTANT, "test-module:Test.java", 3.0,
+        "3 further issues for 3 mutants have been suppressed because the limit of 2 issues per file has been reached");
+    assertIssueAtLine(issues.get(1), RULE_SURVIVED_MUTANT, "test-module:Test.java", 2, 1.0);
+    assertIssueAtLine(issues.get(2), RULE_SURVIVED_MUTANT, "test-module:Test.java", 3, 1.0);
+  }
+
+  @Test
+  void processRules_survivorRuleActive_manyResources_issuesSavedInResourceOrder() {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_SURVIVED_MUTANT);
+    final List<ResourceMutationMetrics> metrics = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      metrics.add(context.newResourceMutationMetrics("Test" + i + ".java", md -> {
+        md.lines = 100;
+        md.mutants.survived = 2;
+      }));
+    }
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, "java");
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(40, issues.size());
+    for (int i = 0; i < 20; i++) {
+      assertIssueAtLine(issues.get(2 * i), RULE_SURVIVED_MUTANT, "test-module:Test" + i + ".java", 2, 1.0);
+      assertIssueAtLine(issues.get(2 * i + 1), RULE_SURVIVED_MUTANT, "test-module:Test" + i + ".java", 3, 1.0);
+    }
+  }
+
+  @Test
+  void processRules_severalRulesActive_issuesOfEachResourceSavedTogetherInRuleOrder() {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(
+        harness.createRule(RULE_MUTANT_COVERAGE, PARAM_MUTANT_COVERAGE_THRESHOLD, "80"),
+        harness.createRule(RULE_SURVIVED_MUTANT));
+    final List<ResourceMutationMetrics> metrics = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      metrics.add(context.newResourceMutationMetrics("Test" + i + ".java", md -> {
+        md.lines = 100;
+        md.mutants.survived = 2;
+        md.mutants.killed = 2;
+      }));
+    }
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, "java");
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(6, issues.size());
+    for (int i = 0; i < 2; i++) {
+      assertIssueAtLine(issues.get(3 * i), RULE_MUTANT_COVERAGE, "test-module:Test" + i + ".java", 2.0,
+          "2 more mutants need to be killed to get the mutation coverage from 50.0% to 80.0%");
+      assertIssueAtLine(issues.get(3 * i + 1), RULE_SURVIVED_MUTANT, "test-module:Test" + i + ".java", 2, 1.0);
+      assertIssueAtLine(issues.get(3 * i + 2), RULE_SURVIVED_MUTANT, "test-module:Test" + i + ".java", 3, 1.0);
+    }
+  }
+
+  @Test
+  void processRules_severalRulesActive_withIssueLimits_parallelSavesSameIssuesAsSequential() {
+    //arrange
+    configuration.set(ISSUES_MAX_PER_FILE, 3);
+    configuration.set(ISSUES_MAX_PER_ANALYSIS, 40);
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(
+        harness.createRule(RULE_MUTANT_COVERAGE, PARAM_MUTANT_COVERAGE_THRESHOLD, "80"),
+        harness.createRule(RULE_SURVIVED_MUTANT), harness.createRule(RULE_UNCOVERED_MUTANT),
+        harness.createRule(RULE_UNKNOWN_MUTANT_STATUS));
+    final List<ResourceMutationMetrics> metrics = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      final int variant = i;
+      metrics.add(context.newResourceMutationMetrics("Test" + i + ".java", md -> {
+        md.lines = 100;
+        md.mutants.survived = variant % 4;
+        md.mutants.noCoverage = variant % 3;
+        md.mutants.unknown = variant % 2;
+        md.mutants.killed = variant % 5;
+      }));
+    }
+
+    //act
+    final RulesProcessor sequential = new RulesProcessor(configuration, profile);
+    sequential.setParallel(false);
+    sequential.processRules(metrics, context, "java");
+    final int sequentialIssues = context.getStorage().getIssues().size();
+    final RulesProcessor parallel = new RulesProcessor(configuration, profile);
+    parallel.setParallel(true);
+    parallel.processRules(metrics, context, "java");
+
+    //assert
+    final List<String> issues = describeIssues(context.getStorage().getIssues());
+    assertEquals(2 * sequentialIssues, issues.size());
+    final List<String> expected = issues.subList(0, sequentialIssues);
+    assertEquals(expected, issues.subList(sequentialIssues, issues.size()));
+    assertTrue(expected.get(expected.size() - 1).contains("limit of 40 issues per analysis"));
+    assertTrue(expected.stream().anyMatch(issue -> issue.contains("limit of 3 issues per file")));
+  }
+
+  @Test
+  void processRules_survivorRuleActive_maxIssuesPerAnalysisExceeded_summaryIssueOnProject() {
+    //arrange
+    configuration.set(ISSUES_MAX_PER_ANALYSIS, 3);
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_SURVIVED_MUTANT);
+    final Collection<ResourceMutationMetrics> metrics = Arrays.asList(
+        context.newResourceMutationMetrics("Survived.java", md -> {
+          md.lines = 100;
+          md.mutants.survived = 2;
+        }),
+        context.newResourceMutationMetrics("Uncovered.java", md -> {
+          md.lines = 100;
+          md.mutants.noCoverage = 2;
+        }));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, "java");
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(4, issues.size());
+    assertIssueAtLine(issues.get(0), RULE_SURVIVED_MUTANT, "test-module:Survived.java", 2, 1.0);
+    assertIssueAtLine(issues.get(1), RULE_SURVIVED_MUTANT, "test-module:Uncovered.java", 2, 1.0);
+    assertIssueAtLine(issues.get(2), RULE_SURVIVED_MUTANT, "test-module:Uncovered.java", 3, 1.0);
+    assertIssueAtLine(issues.get(3), RULE_SURVIVED_MUTANT, "test-module", 1.0,
+        "1 further issues for 1 mutants have been suppressed because the limit of 3 issues per analysis has been reached");
+  }
+
+  @Test
+  void processRules_survivorRuleActive_maxIssuesPerAnalysisSpansLanguages() {
+    //arrange
+    configuration.set(ISSUES_MAX_PER_ANALYSIS, 2);
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_SURVIVED_MUTANT);
+    final Collection<ResourceMutationMetrics> metrics = Arrays.asList(
+        context.newResourceMutationMetrics("Test.java", md -> {
+          md.lines = 100;
+          md.mutants.survived = 2;
+        }),
+        context.newResourceMutationMetrics("Test.kt", md -> {
+          md.lines = 100;
+          md.mutants.survived = 2;
+        }));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, Arrays.asList("java", "kotlin"));
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(3, issues.size());
+    assertIssueAtLine(issues.get(2), RULE_SURVIVED_MUTANT, "test-module", 2.0,
+        "2 further issues for 2 mutants have been suppressed because the limit of 2 issues per analysis has been reached");
+  }
+
+  @Test
+  void processRules_survivorRuleActive_maxIssuesPerAnalysisRankedAcrossLanguages_singleSummaryIssue() {
+    //arrange
+    configuration.set(ISSUES_MAX_PER_ANALYSIS, 2);
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_SURVIVED_MUTANT);
+    final Collection<ResourceMutationMetrics> metrics = Arrays.asList(
+        context.newResourceMutationMetrics("Survived.java", md -> {
+          md.lines = 100;
+          md.mutants.survived = 2;
+        }),
+        context.newResourceMutationMetrics("Uncovered.kt", md -> {
+          md.lines = 100;
+          md.mutants.noCoverage = 2;
+        }));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, Arrays.asList("java", "kotlin"));
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(3, issues.size());
+    assertIssueAtLine(issues.get(0), RULE_SURVIVED_MUTANT, "test-module:Uncovered.kt", 2, 1.0);
+    assertIssueAtLine(issues.get(1), RULE_SURVIVED_MUTANT, "test-module:Uncovered.kt", 3, 1.0);
+    assertIssueAtLine(issues.get(2), RULE_SURVIVED_MUTANT, "test-module", 2.0,
+        "2 further issues for 2 mutants have been suppressed because the limit of 2 issues per analysis has been reached");
+  }
+
+  @Test
+  void processBatch_survivorRuleActive_maxIssuesPerAnalysisRankedAcrossBatches_singleSummaryIssue() {
+    //arrange
+    configuration.set(ISSUES_MAX_PER_ANALYSIS, 2);
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_SURVIVED_MUTANT);
+    final List<ResourceMutationMetrics> firstBatch = Collections.singletonList(
+        context.newResourceMutationMetrics("Survived.java", md -> {
+          md.lines = 100;
+          md.mutants.survived = 2;
+        }));
+    final List<ResourceMutationMetrics> secondBatch = Collections.singletonList(
+        context.newResourceMutationMetrics("Uncovered.java", md -> {
+          md.lines = 100;
+          md.mutants.noCoverage = 2;
+        }));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processBatch(firstBatch, context, Collections.singletonList("java"), 0.0);
+    processor.processBatch(secondBatch, context, Collections.singletonList("java"), 0.0);
+    final int issuesBeforeCompletion = context.getStorage().getIssues().size();
+    processor.completeBatches(context);
+
+    //assert
+    assertEquals(0, issuesBeforeCompletion);
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(3, issues.size());
+    assertIssueAtLine(issues.get(0), RULE_SURVIVED_MUTANT, "test-module:Uncovered.java", 2, 1.0);
+    assertIssueAtLine(issues.get(1), RULE_SURVIVED_MUTANT, "test-module:Uncovered.java", 3, 1.0);
+    assertIssueAtLine(issues.get(2), RULE_SURVIVED_MUTANT, "test-module", 2.0,
+        "2 further issues for 2 mutants have been suppressed because the limit of 2 issues per analysis has been reached");
+  }
+
+  @Test
+  void processBatch_noIssueLimit_issuesOfEachBatchSavedImmediately() {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_SURVIVED_MUTANT);
+    final List<ResourceMutationMetrics> batch = Collections.singletonList(
+        context.newResourceMutationMetrics("Test.java", md -> {
+          md.lines = 100;
+          md.mutants.survived = 2;
+        }));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processBatch(batch, context, Collections.singletonList("java"), 0.0);
+    final int issuesBeforeCompletion = context.getStorage().getIssues().size();
+    processor.completeBatches(context);
+
+    //assert
+    assertEquals(2, issuesBeforeCompletion);
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(2, issues.size());
+    assertIssueAtLine(issues.get(0), RULE_SURVIVED_MUTANT, "test-module:Test.java", 2, 1.0);
+    assertIssueAtLine(issues.get(1), RULE_SURVIVED_MUTANT, "test-module:Test.java", 3, 1.0);
+  }
+
   @Test
   void processRules_coverageThresholdRuleActive_defaultEffortFactor_coverageTooLow_issueCreated() {
     //arrange
@@ -460,6 +844,96 @@ class RulesProcessorTest {
     assertTrue(appender.getEvents().isEmpty());
   }
 
+  @Test
+  void processRules_costRuleActive_classFarAboveMedian_issueCreated() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_MUTATION_COST);
+    final ResourceMutationMetrics cheap = new ResourceMutationMetrics(context.addTestFile("Cheap.java"));
+    cheap.addMutant(newMutantWithTestsRun("Cheap", "run", 10));
+    final ResourceMutationMetrics median = new ResourceMutationMetrics(context.addTestFile("Median.java"));
+    median.addMutant(newMutantWithTestsRun("Median", "run", 20));
+    final ResourceMutationMetrics expensive = new ResourceMutationMetrics(context.addTestFile("Expensive.java"));
+    expensive.addMutant(newMutantWithTestsRun("Expensive", "fast", 100));
+    expensive.addMutant(newMutantWithTestsRun("Expensive", "slow", 250));
+    expensive.addMutant(newMutantWithTestsRun("Expensive", "slow", 150));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(Arrays.asList(cheap, median, expensive), context, "java");
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(1, issues.size());
+    final Issue issue = issues.get(0);
+    assertEquals(RULE_MUTATION_COST, issue.ruleKey().rule());
+    assertEquals("test-module:Expensive.java", issue.primaryLocation().inputComponent().key());
+    assertEquals("The mutation analysis ran 500 tests for this class, 25.0 times the median of 20 tests per class. "
+        + "Most expensive methods: slow (400), fast (100)", issue.primaryLocation().message());
+  }
+
+  @Test
+  void processRules_costRuleActive_customFactorNotExceeded_noIssueCreated() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(harness.createRule(RULE_MUTATION_COST,
+        PARAM_MUTATION_COST_FACTOR, "30"));
+    final ResourceMutationMetrics median = new ResourceMutationMetrics(context.addTestFile("Median.java"));
+    median.addMutant(newMutantWithTestsRun("Median", "run", 20));
+    final ResourceMutationMetrics expensive = new ResourceMutationMetrics(context.addTestFile("Expensive.java"));
+    expensive.addMutant(newMutantWithTestsRun("Expensive", "slow", 500));
+    final ResourceMutationMetrics cheap = new ResourceMutationMetrics(context.addTestFile("Cheap.java"));
+    cheap.addMutant(newMutantWithTestsRun("Cheap", "run", 10));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(Arrays.asList(cheap, median, expensive), context, "java");
+
+    //assert
+    assertTrue(context.getStorage().getIssues().isEmpty());
+  }
+
+  @Test
+  void processRules_costRuleActive_noTestsRun_noIssueCreated() {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final ActiveRules profile = harness.createActiveRules(RULE_MUTATION_COST);
+    final Collection<ResourceMutationMetrics> metrics = Collections.singletonList(
+        context.newResourceMutationMetrics("Test.java", md -> md.mutants.killed = 9));
+
+    //act
+    final RulesProcessor processor = new RulesProcessor(configuration, profile);
+    processor.processRules(metrics, context, "java");
+
+    //assert
+    assertTrue(context.getStorage().getIssues().isEmpty());
+  }
+
+  private List<String> describeIssues(final List<Issue> issues) {
+    final List<String> descriptions = new ArrayList<>();
+    for (final Issue issue : issues) {
+      final TextRange range = issue.primaryLocation().textRange();
+      descriptions.add(issue.ruleKey() + " " + issue.primaryLocation().inputComponent().key() + " "
+          + (range == null ? "-" : range.start().line() + "-" + range.end().line()) + " "
+          + issue.primaryLocation().message() + " " + issue.gap());
+    }
+    return descriptions;
+  }
+
+  private Mutant newMutantWithTestsRun(final String className, final String method, final int testsRun) {
+    return Mutant.builder()
+        .mutantStatus(Mutant.State.KILLED)
+        .inSourceFile(className + ".java")
+        .inClass(className)
+        .inMethod(method)
+        .withMethodParameters("()")
+        .usingMutator("BOOLEAN_FALSE_RETURN")
+        .killedBy("Test")
+        .inLine(1)
+        .numberOfTestsRun(testsRun)
+        .build();
+  }
+
   private Rule[] createMutationOperatorRules() {
     return Arrays.stream(MUTATION_OPERATORS).map(o -> harness.createRule("mutant." + o.getId())).toArray(Rule[]::new);
   }
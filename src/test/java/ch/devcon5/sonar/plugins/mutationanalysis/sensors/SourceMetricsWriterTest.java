@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationsDataCodec;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
 import ch.devcon5.sonar.plugins.mutationanalysis.testharness.SensorTestHarness;
@@ -52,6 +53,7 @@ import org.sonar.api.batch.sensor.measure.Measure;
 public class SourceMetricsWriterTest {
 
   public static final int EXPECTED_QUANTITATIVE_METRICS = 12;
+  public static final int EXPECTED_DATA_METRICS = 1;
 
   @TempDir
   public Path folder;
@@ -87,7 +89,7 @@ public class SourceMetricsWriterTest {
     smw.writeMetrics(metrics, context, globalMutants);
 
     final Map<String, Serializable> measures = getMeasuresByKey("test-module:Test.java", context);
-    assertEquals(EXPECTED_QUANTITATIVE_METRICS, measures.size());
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS, measures.size());
 
     assertEquals(15, measures.get(MutationMetrics.MUTATIONS_TOTAL.key()));
     assertEquals(1, measures.get(MutationMetrics.MUTATIONS_NO_COVERAGE.key()));
@@ -100,6 +102,10 @@ public class SourceMetricsWriterTest {
     assertEquals(12, measures.get(MutationMetrics.MUTATIONS_DETECTED.key()));
     assertEquals(20, measures.get(MutationMetrics.UTILITY_GLOBAL_MUTATIONS.key()));
     assertEquals(0, measures.get(MutationMetrics.UTILITY_GLOBAL_ALIVE.key()));
+    final List<MutationsDataCodec.Entry> data = MutationsDataCodec.decode(
+        (String) measures.get(MutationMetrics.MUTATIONS_DATA.key()));
+    assertEquals(15, data.size());
+    assertEquals(5, data.stream().filter(e -> e.getState() == Mutant.State.KILLED).count());
 
     //the coverage should be equal the number of killed mutations (so it's implemented in the testcontext)
     final DefaultCoverage coverages = getCoveragesByKey("Test.java", context);
@@ -117,7 +123,7 @@ public class SourceMetricsWriterTest {
     smw.writeMetrics(metrics, context, globalMutants);
 
     final Map<String, Serializable> measures = getMeasuresByKey("test-module:Test.java", context);
-    assertEquals(EXPECTED_QUANTITATIVE_METRICS, measures.size());
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS, measures.size());
 
     assertEquals(15, measures.get(MutationMetrics.MUTATIONS_TOTAL.key()));
     assertEquals(1, measures.get(MutationMetrics.MUTATIONS_NO_COVERAGE.key()));
@@ -207,7 +213,8 @@ public class SourceMetricsWriterTest {
     smw.writeMetrics(metrics, context, globalMutants);
 
     final Map<String, Serializable> values1 = getMeasuresByKey("test-module:Test1.java", context);
-    assertEquals(EXPECTED_QUANTITATIVE_METRICS, values1.size());
+    //reports with the number of tests run have the global test executions as additional utility metric
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS + 1, values1.size());
     assertEquals(15, values1.get(MutationMetrics.MUTATIONS_TOTAL.key()));
     assertEquals(15*2, values1.get(MutationMetrics.TEST_TOTAL_EXECUTED.key()));
     assertEquals(1, values1.get(MutationMetrics.MUTATIONS_NO_COVERAGE.key()));
@@ -220,9 +227,11 @@ public class SourceMetricsWriterTest {
     assertEquals(12, values1.get(MutationMetrics.MUTATIONS_DETECTED.key()));
     assertEquals(24, values1.get(MutationMetrics.UTILITY_GLOBAL_MUTATIONS.key()));
     assertEquals(8, values1.get(MutationMetrics.UTILITY_GLOBAL_ALIVE.key()));
+    assertEquals(57, values1.get(MutationMetrics.UTILITY_GLOBAL_TESTS_EXECUTED.key()));
 
     final Map<String, Serializable> values2 = getMeasuresByKey("test-module:Test2.java", context);
-    assertEquals(EXPECTED_QUANTITATIVE_METRICS, values2.size());
+    //reports with the number of tests run have the global test executions as additional utility metric
+    assertEquals(EXPECTED_QUANTITATIVE_METRICS + EXPECTED_DATA_METRICS + 1, values2.size());
     assertEquals(9, values2.get(MutationMetrics.MUTATIONS_TOTAL.key()));
     assertEquals(9*3, values2.get(MutationMetrics.TEST_TOTAL_EXECUTED.key()));
     assertEquals(2, values2.get(MutationMetrics.MUTATIONS_NO_COVERAGE.key()));
@@ -235,6 +244,7 @@ public class SourceMetricsWriterTest {
     assertEquals(4, values2.get(MutationMetrics.MUTATIONS_DETECTED.key()));
     assertEquals(24, values2.get(MutationMetrics.UTILITY_GLOBAL_MUTATIONS.key()));
     assertEquals(8, values2.get(MutationMetrics.UTILITY_GLOBAL_ALIVE.key()));
+    assertEquals(57, values2.get(MutationMetrics.UTILITY_GLOBAL_TESTS_EXECUTED.key()));
 
     final DefaultCoverage coverage1 = getCoveragesByKey("Test1.java", context);
     assertEquals(5, coverage1.coveredLines());
@@ -0,0 +1,153 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.testharness.SensorTestHarness;
+import ch.devcon5.sonar.plugins.mutationanalysis.testharness.TestSensorContext;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+
+class TargetsExporterTest {
+
+  private static final List<String> LANGUAGES = Arrays.asList("java", "kotlin");
+
+  @TempDir
+  public Path folder;
+
+  private SensorTestHarness harness;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    this.harness = SensorTestHarness.builder().withTempFolder(folder).build();
+  }
+
+  @Test
+  void export_changedSourceAndTestFiles_affectedTargetsWritten() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final InputFile foo = addFile(context, "src/main/java/a/Foo.java", false, InputFile.Status.CHANGED);
+    final InputFile bar = addFile(context, "src/main/java/a/Bar.java", false, InputFile.Status.SAME);
+    addFile(context, "src/test/java/a/BarTest.java", true, InputFile.Status.ADDED);
+    final ResourceMutationMetrics fooMetrics = new ResourceMutationMetrics(foo);
+    fooMetrics.addMutant(newMutant("a.Foo", "a.FooTest.test(a.FooTest)"));
+    final ResourceMutationMetrics barMetrics = new ResourceMutationMetrics(bar);
+    barMetrics.addMutant(newMutant("a.Bar$Inner", "a.BarTest.test(a.BarTest)"));
+    barMetrics.addMutant(newMutant("a.Bar", "a.OtherTest.test(a.OtherTest)"));
+    final Path targetFile = folder.resolve("target/pit-targets.properties");
+
+    //act
+    new TargetsExporter(context.fileSystem()).export(Arrays.asList(fooMetrics, barMetrics), LANGUAGES, targetFile);
+
+    //assert
+    final List<String> lines = Files.readAllLines(targetFile, StandardCharsets.UTF_8);
+    assertEquals(3, lines.size());
+    assertEquals("targetClasses=a.Bar,a.Bar$*,a.Foo,a.Foo$*", lines.get(1));
+    assertEquals("targetTests=a.BarTest,a.BarTest$*,a.FooTest,a.FooTest$*", lines.get(2));
+  }
+
+  @Test
+  void export_changedNonSourceFiles_ignored() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final InputFile foo = addFile(context, "src/main/java/a/Foo.java", false, InputFile.Status.CHANGED);
+    addFile(context, "README.md", false, InputFile.Status.CHANGED);
+    addFile(context, "src/main/resources/application.properties", false, InputFile.Status.ADDED);
+    final ResourceMutationMetrics fooMetrics = new ResourceMutationMetrics(foo);
+    fooMetrics.addMutant(newMutant("a.Foo", "a.FooTest.test(a.FooTest)"));
+    final Path targetFile = folder.resolve("pit-targets.properties");
+
+    //act
+    new TargetsExporter(context.fileSystem()).export(Arrays.asList(fooMetrics), LANGUAGES, targetFile);
+
+    //assert
+    final List<String> lines = Files.readAllLines(targetFile, StandardCharsets.UTF_8);
+    assertEquals("targetClasses=a.Foo,a.Foo$*", lines.get(1));
+    assertEquals("targetTests=a.FooTest,a.FooTest$*", lines.get(2));
+  }
+
+  @Test
+  void export_noChangedFiles_noTargetsFile() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final InputFile foo = addFile(context, "src/main/java/a/Foo.java", false, InputFile.Status.SAME);
+    final ResourceMutationMetrics fooMetrics = new ResourceMutationMetrics(foo);
+    fooMetrics.addMutant(newMutant("a.Foo", "a.FooTest.test(a.FooTest)"));
+    final Path targetFile = folder.resolve("pit-targets.properties");
+
+    //act
+    new TargetsExporter(context.fileSystem()).export(Arrays.asList(fooMetrics), LANGUAGES, targetFile);
+
+    //assert
+    assertFalse(Files.exists(targetFile));
+  }
+
+  @Test
+  void export_noChangedFiles_outdatedTargetsFileRemoved() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final InputFile foo = addFile(context, "src/main/java/a/Foo.java", false, InputFile.Status.SAME);
+    final ResourceMutationMetrics fooMetrics = new ResourceMutationMetrics(foo);
+    final Path targetFile = folder.resolve("pit-targets.properties");
+    Files.write(targetFile, "targetClasses=a.Foo,a.Foo$*\n".getBytes(StandardCharsets.UTF_8));
+
+    //act
+    new TargetsExporter(context.fileSystem()).export(Arrays.asList(fooMetrics), LANGUAGES, targetFile);
+
+    //assert
+    assertFalse(Files.exists(targetFile));
+  }
+
+  private InputFile addFile(final TestSensorContext context, final String path, final boolean test, final InputFile.Status status) throws IOException {
+    final DefaultInputFile file = (DefaultInputFile) context.addTestFile(path, md -> md.isTestResource = test);
+    Files.write(file.path(), "package a;\n\nclass Dummy {}\n".getBytes(StandardCharsets.UTF_8));
+    file.setCharset(StandardCharsets.UTF_8);
+    file.setStatus(status);
+    return file;
+  }
+
+  private Mutant newMutant(final String mutatedClass, final String killingTest) {
+    return Mutant.builder()
+        .mutantStatus(Mutant.State.KILLED)
+        .inSourceFile(mutatedClass.substring(mutatedClass.lastIndexOf('.') + 1) + ".java")
+        .inClass(mutatedClass)
+        .inMethod("aMethod")
+        .withMethodParameters("()")
+        .usingMutator("BOOLEAN_FALSE_RETURN")
+        .killedBy(killingTest)
+        .inLine(1)
+        .build();
+  }
+
+}
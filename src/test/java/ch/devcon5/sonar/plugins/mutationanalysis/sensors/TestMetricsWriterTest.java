@@ -20,12 +20,16 @@
 
 package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
 
+import static ch.devcon5.sonar.plugins.mutationanalysis.testharness.TestUtils.assertContains;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics;
 import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
 import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.TestDictionary;
+import ch.devcon5.sonar.plugins.mutationanalysis.rules.MutationAnalysisRulesDefinition;
 import ch.devcon5.sonar.plugins.mutationanalysis.testharness.SensorTestHarness;
 import ch.devcon5.sonar.plugins.mutationanalysis.testharness.TestSensorContext;
 import java.io.Serializable;
@@ -41,7 +45,10 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.sonar.api.batch.rule.internal.NewActiveRule;
+import org.sonar.api.batch.sensor.issue.Issue;
 import org.sonar.api.batch.sensor.measure.Measure;
+import org.sonar.api.rule.RuleKey;
 
 /**
  * Test Metrics Writer Tests
@@ -175,6 +182,118 @@ class TestMetricsWriterTest {
     assertEquals(12, measures2.get(MutationMetrics.UTILITY_GLOBAL_MUTATIONS_KEY));
   }
 
+  @Test
+  void writeMetrics_fullMutationMatrix_uniqueKillsMeasureCreated() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    context.addTestFile("ATest.java");
+    context.addTestFile("BTest.java");
+    final TestDictionary dictionary = new TestDictionary();
+    final ResourceMutationMetrics rmm = new ResourceMutationMetrics(context.addTestFile("Product.java"));
+    rmm.addMutant(newMutantBuilder(1).killedByTests(dictionary, "ATest.a(ATest)|BTest.b(BTest)").build());
+    rmm.addMutant(newMutantBuilder(2).killedByTests(dictionary, "ATest.a(ATest)").build());
+    rmm.addMutant(newMutantBuilder(3).killedByTests(dictionary, "ATest.c(ATest)").build());
+
+    //act
+    final TestMetricsWriter smw = new TestMetricsWriter(context.fileSystem());
+    smw.writeMetrics(Collections.singletonList(rmm), context, Collections.emptyList());
+
+    //assert
+    final Map<String, Serializable> measures1 = getMeasuresByKey("test-module:ATest.java", context);
+    assertEquals(4, measures1.size());
+    assertEquals(3, measures1.get(MutationMetrics.TEST_KILLS_KEY));
+    assertEquals(2, measures1.get(MutationMetrics.TEST_UNIQUE_KILLS_KEY));
+    assertEquals(0, measures1.get(MutationMetrics.TEST_REDUNDANT_KEY));
+
+    final Map<String, Serializable> measures2 = getMeasuresByKey("test-module:BTest.java", context);
+    assertEquals(1, measures2.get(MutationMetrics.TEST_KILLS_KEY));
+    assertEquals(0, measures2.get(MutationMetrics.TEST_UNIQUE_KILLS_KEY));
+    assertEquals(1, measures2.get(MutationMetrics.TEST_REDUNDANT_KEY));
+    assertTrue(context.getStorage().getIssues().isEmpty());
+  }
+
+  @Test
+  void writeMetrics_redundantTestRuleActive_issueOnRedundantTestClass() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext()
+        .withActiveRules(new NewActiveRule.Builder()
+            .setRuleKey(RuleKey.of(MutationAnalysisRulesDefinition.REPOSITORY_KEY + ".java",
+                MutationAnalysisRulesDefinition.RULE_REDUNDANT_TEST))
+            .build());
+    context.addTestFile("ATest.java");
+    context.addTestFile("BTest.java");
+    final TestDictionary dictionary = new TestDictionary();
+    final ResourceMutationMetrics rmm = new ResourceMutationMetrics(context.addTestFile("Product.java"));
+    rmm.addMutant(newMutantBuilder(1).killedByTests(dictionary, "ATest.a(ATest)|BTest.b(BTest)").build());
+    rmm.addMutant(newMutantBuilder(2).killedByTests(dictionary, "ATest.a(ATest)|ATest.c(ATest)").build());
+
+    //act
+    final TestMetricsWriter smw = new TestMetricsWriter(context.fileSystem());
+    smw.writeMetrics(Collections.singletonList(rmm), context, Collections.emptyList());
+
+    //assert
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(2, issues.size());
+    assertContains(issues, i -> {
+      assertEquals(MutationAnalysisRulesDefinition.RULE_REDUNDANT_TEST, i.ruleKey().rule());
+      assertEquals("test-module:ATest.java", i.primaryLocation().inputComponent().key());
+      assertEquals("Redundant tests only killing mutants that are killed by other tests: c", i.primaryLocation().message());
+    });
+    assertContains(issues, i -> {
+      assertEquals("test-module:BTest.java", i.primaryLocation().inputComponent().key());
+      assertEquals("All 1 mutants killed by this test class are killed by other tests", i.primaryLocation().message());
+    });
+  }
+
+  @Test
+  void writeMetrics_timedOutMutants_timeoutMeasureAndIssueCreated() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext()
+        .withActiveRules(new NewActiveRule.Builder()
+            .setRuleKey(RuleKey.of(MutationAnalysisRulesDefinition.REPOSITORY_KEY + ".java",
+                MutationAnalysisRulesDefinition.RULE_TEST_TIMEOUT))
+            .build());
+    context.addTestFile("ATest.java");
+    final ResourceMutationMetrics rmm = new ResourceMutationMetrics(context.addTestFile("Product.java"));
+    rmm.addMutant(newMutantBuilder(1).mutantStatus(Mutant.State.TIMED_OUT).killedBy("ATest.loop(ATest)").build());
+    rmm.addMutant(newMutantBuilder(2).mutantStatus(Mutant.State.TIMED_OUT).killedBy("ATest.slow(ATest)").build());
+    rmm.addMutant(newMutantBuilder(3).mutantStatus(Mutant.State.TIMED_OUT).killedBy("ATest.slow(ATest)").build());
+    rmm.addMutant(newMutantBuilder(4).killedBy("ATest.fast(ATest)").build());
+
+    //act
+    final TestMetricsWriter smw = new TestMetricsWriter(context.fileSystem());
+    smw.writeMetrics(Collections.singletonList(rmm), context, Collections.emptyList());
+
+    //assert
+    final Map<String, Serializable> measures = getMeasuresByKey("test-module:ATest.java", context);
+    assertEquals(3, measures.get(MutationMetrics.TEST_TIMEOUTS_KEY));
+
+    final List<Issue> issues = context.getStorage().getIssues();
+    assertEquals(1, issues.size());
+    assertEquals(MutationAnalysisRulesDefinition.RULE_TEST_TIMEOUT, issues.get(0).ruleKey().rule());
+    assertEquals("3 mutants timed out in the tests of this class: slow (2), loop (1)",
+        issues.get(0).primaryLocation().message());
+    assertEquals(3.0, issues.get(0).gap(), 0.01);
+  }
+
+  @Test
+  void writeMetrics_noTimedOutMutants_noTimeoutMeasure() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    context.addTestFile("ATest.java");
+    final ResourceMutationMetrics rmm = new ResourceMutationMetrics(context.addTestFile("Product.java"));
+    rmm.addMutant(newMutantBuilder(1).killedBy("ATest.fast(ATest)").build());
+
+    //act
+    final TestMetricsWriter smw = new TestMetricsWriter(context.fileSystem());
+    smw.writeMetrics(Collections.singletonList(rmm), context, Collections.emptyList());
+
+    //assert
+    final Map<String, Serializable> measures = getMeasuresByKey("test-module:ATest.java", context);
+    assertEquals(2, measures.size());
+    assertFalse(measures.containsKey(MutationMetrics.TEST_TIMEOUTS_KEY));
+  }
+
   private Map<String, Serializable> getMeasuresByKey(String expectedComponentKey, final TestSensorContext context) {
     return context.getStorage()
         .getMeasures()
@@ -188,6 +307,10 @@ class TestMetricsWriterTest {
   }
 
   private Mutant newMutant(int i) {
+    return newMutantBuilder(i).build();
+  }
+
+  private Mutant.Builder newMutantBuilder(int i) {
     return Mutant.builder()
         .mutantStatus(Mutant.State.KILLED)
         .inSourceFile("Example.java")
@@ -196,8 +319,7 @@ class TestMetricsWriterTest {
         .withMethodParameters("()")
         .usingMutator("BOOLEAN_FALSE_RETURN")
         .killedBy("Test")
-        .inLine(i)
-        .build();
+        .inLine(i);
   }
 
 }
@@ -0,0 +1,134 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.sensors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.ResourceMutationMetrics;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.TestDictionary;
+import ch.devcon5.sonar.plugins.mutationanalysis.testharness.SensorTestHarness;
+import ch.devcon5.sonar.plugins.mutationanalysis.testharness.TestSensorContext;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestOrderExporterTest {
+
+  @TempDir
+  public Path folder;
+
+  private SensorTestHarness harness;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    this.harness = SensorTestHarness.builder().withTempFolder(folder).build();
+  }
+
+  @Test
+  void export_fullMutationMatrix_testsRankedByKillsPerCost() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final TestDictionary dictionary = new TestDictionary();
+    final ResourceMutationMetrics metrics = new ResourceMutationMetrics(context.addTestFile("src/main/java/a/Foo.java"));
+    metrics.addMutant(newMutant(dictionary, "a.ATest.t1(a.ATest)", "a.ATest.t2(a.ATest)|a.BTest.t1(a.BTest)", 3));
+    metrics.addMutant(newMutant(dictionary, "a.BTest.t1(a.BTest)", "", 1));
+    final Path targetFile = folder.resolve("target/pit-test-order.csv");
+
+    //act
+    new TestOrderExporter().export(Collections.singletonList(metrics), targetFile);
+
+    //assert
+    final List<String> lines = Files.readAllLines(targetFile, StandardCharsets.UTF_8);
+    assertEquals(Arrays.asList("type,test,kills,cost,efficiency",
+        "class,a.ATest,1,2,0.5",
+        "class,a.BTest,1,2,0.5",
+        "method,a.ATest.t1(a.ATest),1,1,1",
+        "method,a.BTest.t1(a.BTest),1,2,0.5",
+        "method,a.ATest.t2(a.ATest),0,1,0"), lines);
+  }
+
+  @Test
+  void export_severalMethodsOfClassKillMutant_classKillsOnce() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final TestDictionary dictionary = new TestDictionary();
+    final ResourceMutationMetrics metrics = new ResourceMutationMetrics(context.addTestFile("src/main/java/a/Foo.java"));
+    metrics.addMutant(newMutant(dictionary, "a.ATest.t1(a.ATest)|a.ATest.t2(a.ATest)", "", 2));
+    final Path targetFile = folder.resolve("pit-test-order.csv");
+
+    //act
+    new TestOrderExporter().export(Collections.singletonList(metrics), targetFile);
+
+    //assert
+    final List<String> lines = Files.readAllLines(targetFile, StandardCharsets.UTF_8);
+    assertEquals(Arrays.asList("type,test,kills,cost,efficiency",
+        "class,a.ATest,1,2,0.5",
+        "method,a.ATest.t1(a.ATest),1,1,1",
+        "method,a.ATest.t2(a.ATest),1,1,1"), lines);
+  }
+
+  @Test
+  void export_killingTestsOnly_noRankingWritten() throws Exception {
+    //arrange
+    final TestSensorContext context = harness.createSensorContext();
+    final ResourceMutationMetrics metrics = new ResourceMutationMetrics(context.addTestFile("src/main/java/a/Foo.java"));
+    metrics.addMutant(newMutant("a.ATest.t1(a.ATest)", 4));
+    metrics.addMutant(newMutant("a.BTest.t1(a.BTest)", 1));
+    final Path targetFile = folder.resolve("pit-test-order.csv");
+
+    //act
+    new TestOrderExporter().export(Collections.singletonList(metrics), targetFile);
+
+    //assert
+    assertFalse(Files.exists(targetFile));
+  }
+
+  private Mutant newMutant(final String killingTest, final int numberOfTestsRun) {
+    return newMutantBuilder(numberOfTestsRun).killedBy(killingTest).build();
+  }
+
+  private Mutant newMutant(final TestDictionary dictionary, final String killingTests, final String succeedingTests, final int numberOfTestsRun) {
+    return newMutantBuilder(numberOfTestsRun).killedByTests(dictionary, killingTests)
+        .succeededTests(dictionary, succeedingTests)
+        .build();
+  }
+
+  private Mutant.Builder newMutantBuilder(final int numberOfTestsRun) {
+    return Mutant.builder()
+        .mutantStatus(Mutant.State.KILLED)
+        .inSourceFile("Foo.java")
+        .inClass("a.Foo")
+        .inMethod("aMethod")
+        .withMethodParameters("()")
+        .usingMutator("BOOLEAN_FALSE_RETURN")
+        .inLine(1)
+        .numberOfTestsRun(numberOfTestsRun);
+  }
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.ws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationsDataCodec;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.server.ws.LocalConnector;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.api.utils.text.JsonWriter;
+import org.sonar.api.utils.text.XmlWriter;
+
+class MutantsActionTest {
+
+  @Test
+  void handle_componentWithMutants_pageWritten() {
+    //arrange
+    final String data = MutationsDataCodec.encode(Arrays.asList(
+        newMutant(4, Mutant.State.SURVIVED),
+        newMutant(2, Mutant.State.KILLED),
+        newMutant(8, Mutant.State.SURVIVED)));
+    final MutantsAction action = new MutantsAction(new StaticLoader(data));
+    final TestRequest request = new TestRequest();
+    request.params.put(MutantsAction.PARAM_STATES, "SURVIVED");
+    request.params.put(WebService.Param.PAGE_SIZE, "1");
+    final TestResponse response = new TestResponse();
+
+    //act
+    action.handle(request, response);
+
+    //assert
+    assertEquals("{\"component\":\"p:A.java\","
+            + "\"paging\":{\"pageIndex\":1,\"pageSize\":1,\"total\":2},"
+            + "\"mutants\":[{\"line\":4,\"operator\":\"MATH\",\"operatorName\":\"Math Mutator\","
+            + "\"state\":\"SURVIVED\",\"detected\":false}]}",
+        response.body.toString());
+  }
+
+  @Test
+  void handle_componentWithoutData_emptyPage() {
+    //arrange
+    final MutantsAction action = new MutantsAction(new StaticLoader(null));
+    final TestResponse response = new TestResponse();
+
+    //act
+    action.handle(new TestRequest(), response);
+
+    //assert
+    assertTrue(response.body.toString().contains("\"total\":0"));
+    assertTrue(response.body.toString().endsWith("\"mutants\":[]}"));
+  }
+
+  @Test
+  void handle_missingComponent_exception() {
+    //arrange
+    final MutantsAction action = new MutantsAction(new StaticLoader(null));
+    final TestRequest request = new TestRequest();
+    request.params.remove(MutantsAction.PARAM_COMPONENT);
+
+    //act
+    assertThrows(IllegalArgumentException.class, () -> action.handle(request, new TestResponse()));
+  }
+
+  private Mutant newMutant(final int line, final Mutant.State state) {
+    return Mutant.builder()
+        .mutantStatus(state)
+        .inSourceFile("A.java")
+        .inClass("example.A")
+        .inMethod("helloWorld")
+        .withMethodParameters("(Ljava/lang/Object;)Z")
+        .usingMutator(MutationOperators.find("MATH"))
+        .killedBy("example.ATest")
+        .inLine(line)
+        .build();
+  }
+
+  private static class StaticLoader extends MutationsDataLoader {
+
+    private final String data;
+
+    StaticLoader(final String data) {
+      this.data = data;
+    }
+
+    @Override
+    public Optional<String> load(final LocalConnector connector, final String componentKey) {
+      return Optional.ofNullable(data);
+    }
+  }
+
+  private static class TestRequest extends Request {
+
+    private final Map<String, String> params = new HashMap<>();
+
+    TestRequest() {
+      params.put(MutantsAction.PARAM_COMPONENT, "p:A.java");
+      params.put(WebService.Param.PAGE, "1");
+      params.put(WebService.Param.PAGE_SIZE, "100");
+      params.put(WebService.Param.SORT, "line");
+      params.put(WebService.Param.ASCENDING, "true");
+    }
+
+    @Override
+    public String method() {
+      return "GET";
+    }
+
+    @Override
+    public String getMediaType() {
+      return "application/json";
+    }
+
+    @Override
+    public boolean hasParam(final String key) {
+      return params.containsKey(key);
+    }
+
+    @Override
+    public List<String> paramAsStrings(final String key) {
+      return params.containsKey(key) ? Arrays.asList(params.get(key).split(",")) : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParams() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public String param(final String key) {
+      return params.get(key);
+    }
+
+    @Override
+    public List<String> multiParam(final String key) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public InputStream paramAsInputStream(final String key) {
+      return null;
+    }
+
+    @Override
+    public Part paramAsPart(final String key) {
+      return null;
+    }
+
+    @Override
+    public Optional<String> header(final String name) {
+      return Optional.empty();
+    }
+
+    @Override
+    public LocalConnector localConnector() {
+      return null;
+    }
+
+    @Override
+    public String getPath() {
+      return MutationAnalysisWebService.CONTROLLER_PATH + "/" + MutantsAction.ACTION;
+    }
+  }
+
+  private static class TestResponse implements Response {
+
+    private final StringWriter body = new StringWriter();
+
+    @Override
+    public JsonWriter newJsonWriter() {
+      return JsonWriter.of(body);
+    }
+
+    @Override
+    public XmlWriter newXmlWriter() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Response noContent() {
+      return this;
+    }
+
+    @Override
+    public Response setHeader(final String name, final String value) {
+      return this;
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public String getHeader(final String name) {
+      return null;
+    }
+
+    @Override
+    public Stream stream() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.ws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationsDataCodec;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.Mutant;
+import ch.devcon5.sonar.plugins.mutationanalysis.model.MutationOperators;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class MutantsQueryTest {
+
+  private final String data = MutationsDataCodec.encode(Arrays.asList(
+      newMutant(10, "MATH", Mutant.State.SURVIVED),
+      newMutant(3, "NEGATE_CONDITIONALS", Mutant.State.KILLED),
+      newMutant(7, "MATH", Mutant.State.KILLED),
+      newMutant(12, "NEGATE_CONDITIONALS", Mutant.State.NO_COVERAGE),
+      newMutant(1, "MATH", Mutant.State.NO_COVERAGE)));
+
+  @Test
+  void select_defaultQuery_allMutantsOrderedByLine() {
+    //arrange
+    final MutantsQuery query = MutantsQuery.builder().build();
+
+    //act
+    final MutantsQuery.Result result = query.select(MutationsDataCodec.stream(data));
+
+    //assert
+    assertEquals(5, result.getTotal());
+    assertEquals(Arrays.asList(1, 3, 7, 10, 12), lines(result));
+  }
+
+  @Test
+  void select_secondPage_pageAndTotalReturned() {
+    //arrange
+    final MutantsQuery query = MutantsQuery.builder().page(2, 2).build();
+
+    //act
+    final MutantsQuery.Result result = query.select(MutationsDataCodec.stream(data));
+
+    //assert
+    assertEquals(5, result.getTotal());
+    assertEquals(Arrays.asList(7, 10), lines(result));
+  }
+
+  @Test
+  void select_pageBeyondLastMutant_emptyPage() {
+    //arrange
+    final MutantsQuery query = MutantsQuery.builder().page(4, 2).sortedBy(MutantsQuery.Sort.STATE, true).build();
+
+    //act
+    final MutantsQuery.Result result = query.select(MutationsDataCodec.stream(data));
+
+    //assert
+    assertEquals(5, result.getTotal());
+    assertTrue(result.getEntries().isEmpty());
+  }
+
+  @Test
+  void select_stateFilter_onlyMatchingMutants() {
+    //arrange
+    final MutantsQuery query = MutantsQuery.builder()
+        .withStates(Arrays.asList(Mutant.State.NO_COVERAGE, Mutant.State.SURVIVED))
+        .build();
+
+    //act
+    final MutantsQuery.Result result = query.select(MutationsDataCodec.stream(data));
+
+    //assert
+    assertEquals(3, result.getTotal());
+    assertEquals(Arrays.asList(1, 10, 12), lines(result));
+  }
+
+  @Test
+  void select_operatorFilter_onlyMatchingMutants() {
+    //arrange
+    final MutantsQuery query = MutantsQuery.builder()
+        .withOperators(Collections.singletonList("NEGATE_CONDITIONALS"))
+        .build();
+
+    //act
+    final MutantsQuery.Result result = query.select(MutationsDataCodec.stream(data));
+
+    //assert
+    assertEquals(2, result.getTotal());
+    assertEquals(Arrays.asList(3, 12), lines(result));
+  }
+
+  @Test
+  void select_sortedByStateDescending_mutantsInStateOrder() {
+    //arrange
+    final MutantsQuery query = MutantsQuery.builder().sortedBy(MutantsQuery.Sort.STATE, false).build();
+
+    //act
+    final MutantsQuery.Result result = query.select(MutationsDataCodec.stream(data));
+
+    //assert
+    //survived before killed before no coverage, each in descending line order
+    assertEquals(Arrays.asList(10, 7, 3, 12, 1), lines(result));
+  }
+
+  @Test
+  void select_sortedByOperator_mutantsGroupedByOperator() {
+    //arrange
+    final MutantsQuery query = MutantsQuery.builder().sortedBy(MutantsQuery.Sort.parse("Operator"), true).build();
+
+    //act
+    final MutantsQuery.Result result = query.select(MutationsDataCodec.stream(data));
+
+    //assert
+    assertEquals(Arrays.asList(1, 7, 10, 3, 12), lines(result));
+  }
+
+  @Test
+  void select_noData_emptyResult() {
+    //act
+    final MutantsQuery.Result result = MutantsQuery.builder().build().select(Stream.empty());
+
+    //assert
+    assertEquals(0, result.getTotal());
+    assertTrue(result.getEntries().isEmpty());
+  }
+
+  @Test
+  void page_invalidPage_exception() {
+    assertThrows(IllegalArgumentException.class, () -> MutantsQuery.builder().page(0, 10));
+  }
+
+  private List<Integer> lines(final MutantsQuery.Result result) {
+    return result.getEntries()
+        .stream()
+        .map(MutationsDataCodec.Entry::getLineNumber)
+        .collect(Collectors.toList());
+  }
+
+  private Mutant newMutant(final int line, final String operator, final Mutant.State state) {
+    return Mutant.builder()
+        .mutantStatus(state)
+        .inSourceFile("Test.java")
+        .inClass("example.Test")
+        .inMethod("helloWorld")
+        .withMethodParameters("(Ljava/lang/Object;)Z")
+        .usingMutator(MutationOperators.find(operator))
+        .killedBy("example.TestTest")
+        .inLine(line)
+        .build();
+  }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.ws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.sonar.api.server.ws.WebService;
+
+class MutationAnalysisWebServiceTest {
+
+  @Test
+  void define_mutantsActionDefined() {
+    //arrange
+    final WebService.Context context = new WebService.Context();
+
+    //act
+    new MutationAnalysisWebService().define(context);
+
+    //assert
+    final WebService.Controller controller = context.controller(MutationAnalysisWebService.CONTROLLER_PATH);
+    assertNotNull(controller);
+    final WebService.Action action = controller.action(MutantsAction.ACTION);
+    assertNotNull(action);
+    assertNotNull(action.handler());
+    assertEquals("1.8", action.since());
+    assertNotNull(action.responseExample());
+    assertTrue(action.responseExampleAsString().contains("\"mutants\""));
+    assertTrue(action.param(MutantsAction.PARAM_COMPONENT).isRequired());
+    assertEquals(6, action.param(MutantsAction.PARAM_STATES).possibleValues().size());
+    assertNotNull(action.param(MutantsAction.PARAM_OPERATORS));
+    assertEquals("100", action.param(WebService.Param.PAGE_SIZE).defaultValue());
+    assertEquals(Integer.valueOf(500), action.param(WebService.Param.PAGE_SIZE).maximumValue());
+    assertEquals("line", action.param(WebService.Param.SORT).defaultValue());
+    assertEquals(3, action.param(WebService.Param.SORT).possibleValues().size());
+  }
+
+}
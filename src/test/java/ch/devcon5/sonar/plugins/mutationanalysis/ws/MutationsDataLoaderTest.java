@@ -0,0 +1,171 @@
+/*
+ * Mutation Analysis Plugin
+ * Copyright (C) 2015-2018 DevCon5 GmbH, Switzerland
+ * info@devcon5.ch
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+
+package ch.devcon5.sonar.plugins.mutationanalysis.ws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ch.devcon5.sonar.plugins.mutationanalysis.metrics.MutationMetrics;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.server.ws.LocalConnector;
+
+class MutationsDataLoaderTest {
+
+  private static final String DATA_KEY = MutationMetrics.MUTATIONS_DATA.key();
+
+  private final MutationsDataLoader subject = new MutationsDataLoader();
+
+  @Test
+  void readMeasureValue_measurePresent_unescapedValue() {
+    //arrange
+    final String json = "{\"component\":{\"key\":\"p:A.java\",\"qualifier\":\"FIL\",\"measures\":[{\"metric\":\""
+        + DATA_KEY + "\",\"value\":\"AQIE\\u003d\\/x\"}]}}";
+
+    //act
+    final Optional<String> value = MutationsDataLoader.readMeasureValue(json, DATA_KEY);
+
+    //assert
+    assertEquals(Optional.of("AQIE=/x"), value);
+  }
+
+  @Test
+  void readMeasureValue_valueBeforeMetric_value() {
+    //arrange
+    final String json = "{\"component\":{\"measures\":[{\"value\":\"AQ\",\"metric\":\"" + DATA_KEY + "\"}]}}";
+
+    //act
+    final Optional<String> value = MutationsDataLoader.readMeasureValue(json, DATA_KEY);
+
+    //assert
+    assertEquals(Optional.of("AQ"), value);
+  }
+
+  @Test
+  void readMeasureValue_metricKeyInOtherProperties_valueOfMeasure() {
+    //arrange
+    final String json = "{\"component\":{\"name\":\"" + DATA_KEY + "\",\"description\":\"{\\\"value\\\":\\\"x\\\"}\","
+        + "\"measures\":[{\"metric\":\"coverage\",\"value\":\"80.0\"},"
+        + "{\"metric\":\"" + DATA_KEY + "\",\"periods\":[{\"index\":1,\"value\":\"old\"}],\"value\":\"AQ\"}]},"
+        + "\"metrics\":[{\"key\":\"" + DATA_KEY + "\"}]}";
+
+    //act
+    final Optional<String> value = MutationsDataLoader.readMeasureValue(json, DATA_KEY);
+
+    //assert
+    assertEquals(Optional.of("AQ"), value);
+  }
+
+  @Test
+  void readMeasureValue_invalidJson_exception() {
+    //arrange
+    final String json = "{\"component\":{\"measures\":[{\"metric\":\"" + DATA_KEY + "\",\"value\":\"AQ";
+
+    //act
+    assertThrows(IllegalArgumentException.class, () -> MutationsDataLoader.readMeasureValue(json, DATA_KEY));
+  }
+
+  @Test
+  void readMeasureValue_noMeasure_empty() {
+    //arrange
+    final String json = "{\"component\":{\"key\":\"p:A.java\",\"measures\":[]}}";
+
+    //act
+    final Optional<String> value = MutationsDataLoader.readMeasureValue(json, DATA_KEY);
+
+    //assert
+    assertFalse(value.isPresent());
+  }
+
+  @Test
+  void load_componentFound_dataMetricRequested() {
+    //arrange
+    final List<LocalConnector.LocalRequest> requests = new ArrayList<>();
+    final LocalConnector connector = request -> {
+      requests.add(request);
+      return response(200, "{\"component\":{\"measures\":[{\"metric\":\"" + DATA_KEY + "\",\"value\":\"AQ\"}]}}");
+    };
+
+    //act
+    final Optional<String> data = subject.load(connector, "p:A.java");
+
+    //assert
+    assertEquals(Optional.of("AQ"), data);
+    assertEquals(1, requests.size());
+    assertEquals(MutationsDataLoader.MEASURES_PATH, requests.get(0).getPath());
+    assertEquals("p:A.java", requests.get(0).getParam("component"));
+    assertEquals(DATA_KEY, requests.get(0).getParam("metricKeys"));
+  }
+
+  @Test
+  void load_componentNotFound_exception() {
+    //arrange
+    final LocalConnector connector = request -> response(404, "{\"errors\":[]}");
+
+    //act
+    assertThrows(IllegalArgumentException.class, () -> subject.load(connector, "p:A.java"));
+  }
+
+  @Test
+  void load_serverError_exception() {
+    //arrange
+    final LocalConnector connector = request -> response(500, "{\"errors\":[]}");
+
+    //act
+    assertThrows(IllegalStateException.class, () -> subject.load(connector, "p:A.java"));
+  }
+
+  private LocalConnector.LocalResponse response(final int status, final String body) {
+    return new LocalConnector.LocalResponse() {
+      @Override
+      public int getStatus() {
+        return status;
+      }
+
+      @Override
+      public String getMediaType() {
+        return "application/json";
+      }
+
+      @Override
+      public byte[] getBytes() {
+        return body.getBytes(StandardCharsets.UTF_8);
+      }
+
+      @Override
+      public Collection<String> getHeaderNames() {
+        return Collections.emptyList();
+      }
+
+      @Override
+      public String getHeader(final String name) {
+        return null;
+      }
+    };
+  }
+
+}